@@ -8,4 +8,4 @@ MAIN_CLASS="com.huerta.fleetmanagementsystem.app.FleetManagementApplication"
 
 echo "Running FleetManagementSystem..."
 
-java -cp "$BIN_DIR:$LIB_DIR/lombok.jar" "$MAIN_CLASS"
+java -cp "$BIN_DIR:$LIB_DIR/lombok.jar" "$MAIN_CLASS" "$@"
@@ -0,0 +1,333 @@
+package com.huerta.fleetmanagementsystem.app;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import com.huerta.fleetmanagementsystem.distribution.DistributionMetric;
+import com.huerta.fleetmanagementsystem.distribution.FleetDistributions;
+import com.huerta.fleetmanagementsystem.distribution.Percentiles;
+import com.huerta.fleetmanagementsystem.io.FleetCsv;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.FleetSnapshot;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.ranking.FleetLeaderboards;
+import com.huerta.fleetmanagementsystem.ranking.Ranked;
+import com.huerta.fleetmanagementsystem.ranking.RankingMetric;
+import com.huerta.fleetmanagementsystem.replication.SnapshotFile;
+import com.huerta.fleetmanagementsystem.scheduling.MaintenanceDue;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+import com.huerta.fleetmanagementsystem.service.SampleData;
+
+/**
+ * Headless batch mode: loads a fleet, runs a list of commands over it and
+ * exits ({@code app → service → model}, without {@code gui}).
+ *
+ * <pre>
+ * --batch [--snapshot &lt;file&gt; | --import &lt;file.csv&gt; | --sample] &lt;command&gt;...
+ *
+ *   reports [out]          one report line per vehicle
+ *   details [out]          type-specific details per vehicle
+ *   cost                   total operating cost
+ *   valuation              depreciation per vehicle type
+ *   due &lt;days&gt;             vehicles due for maintenance within days
+ *   search &lt;prefix&gt;        vehicles whose plate, make or model starts with prefix
+ *   top &lt;metric&gt; [k]       k (default 100) highest by operating-cost, mileage,
+ *                          maintenance-cost or depreciation ({@link FleetLeaderboards})
+ *   percentiles [type]     p50/p90/p99 of mileage, operating cost, age and maintenance
+ *                          cost, for one vehicle type or all ({@link FleetDistributions})
+ *   export-csv &lt;out&gt;       vehicles and drivers as CSV ({@link FleetCsv})
+ *   export-snapshot &lt;out&gt;  the whole fleet ({@link SnapshotFile})
+ * </pre>
+ *
+ * <p>Results go to standard output, or to {@code out} when given
+ * ({@code -} is standard output). Reports, details and exports are
+ * written line by line as they are produced, so memory use does not grow
+ * with the output. After every phase, its elapsed time is printed to
+ * standard error, keeping standard output clean for pipes.</p>
+ *
+ * <p>No AWT or Swing class is touched on this path, and
+ * {@code java.awt.headless} is set in case a library does.</p>
+ */
+final class FleetCli {
+
+  /** First argument selecting this mode. */
+  static final String OPTION = "--batch";
+
+  private static final String STDOUT = "-";
+
+  /** Rows of {@code top} when no count is given. */
+  private static final int DEFAULT_TOP = 100;
+
+  private final FleetService service = new FleetService(new Fleet());
+  private final Writer stdout = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+      1 << 16);
+  private FleetLeaderboards leaderboards;
+  private FleetDistributions distributions;
+
+  private FleetCli() {
+  }
+
+  /**
+   * Runs the batch mode.
+   *
+   * @param args arguments after {@value #OPTION}; see class documentation
+   * @throws IOException if an input or output file fails
+   * @throws IllegalArgumentException if the arguments are invalid
+   */
+  static void run(List<String> args) throws IOException {
+    System.setProperty("java.awt.headless", "true");
+    new FleetCli().execute(args);
+  }
+
+  private void execute(List<String> args) throws IOException {
+    int i = 0;
+    long t = System.nanoTime();
+    String source = args.isEmpty() ? null : args.get(0);
+    if ("--snapshot".equals(source)) {
+      SnapshotFile.read(Path.of(argument(args, ++i, source)), service.fleet());
+      i++;
+    } else if ("--import".equals(source)) {
+      try (Reader in = Files.newBufferedReader(Path.of(argument(args, ++i, source)), StandardCharsets.UTF_8)) {
+        FleetCsv.ImportSummary summary = FleetCsv.importInto(in, service);
+        if (summary.rejected() > 0) {
+          System.err.printf("%,d rows or assignments rejected%n", summary.rejected());
+        }
+      }
+      i++;
+    } else {
+      if ("--sample".equals(source)) {
+        i++;
+      }
+      SampleData.loadInto(service);
+    }
+    FleetSnapshot loaded = service.fleet().snapshot();
+    phase("load", t, loaded.vehicleCount() + " vehicles, " + loaded.driverCount() + " drivers");
+    if (i == args.size()) {
+      throw new IllegalArgumentException("No command given; see FleetCli for the list.");
+    }
+    try {
+      while (i < args.size()) {
+        i = command(args, i);
+      }
+    } finally {
+      stdout.flush();
+    }
+  }
+
+  /** Runs the command at {@code args[i]}; @return index of the next command */
+  private int command(List<String> args, int i) throws IOException {
+    String name = args.get(i++);
+    long t = System.nanoTime();
+    switch (name) {
+      case "reports":
+      case "details": {
+        String out = optionalArgument(args, i);
+        if (out != null) {
+          i++;
+        }
+        int lines;
+        try (Output o = open(out)) {
+          lines = name.equals("reports") ? service.writeFleetReports(o.writer)
+              : service.writeVehicleSpecificDetails(o.writer);
+        }
+        phase(name, t, lines + " vehicles");
+        return i;
+      }
+      case "cost":
+        stdout.write(String.format(Locale.ROOT, "Total operating cost: %.2f%n", service.totalOperatingCost()));
+        phase(name, t, "");
+        return i;
+      case "valuation":
+        writeValuation();
+        phase(name, t, "");
+        return i;
+      case "due": {
+        int days = Integer.parseInt(argument(args, i++, name));
+        List<MaintenanceDue> due = service.vehiclesDueForMaintenance(days);
+        for (MaintenanceDue d : due) {
+          Vehicle v = d.vehicle();
+          stdout.write(String.format(Locale.ROOT, "%s\t%s\t%s %s\tdue %s%s%n", v.getId(), v.getLicensePlate(),
+              v.getMake(), v.getModel(), d.dueDate(), d.mileageDue() ? " (mileage)" : ""));
+        }
+        phase(name, t, due.size() + " vehicles");
+        return i;
+      }
+      case "search": {
+        List<Vehicle> found = service.searchVehicles(argument(args, i++, name), Integer.MAX_VALUE);
+        for (Vehicle v : found) {
+          stdout.append(v.generateReport()).append('\n');
+        }
+        phase(name, t, found.size() + " vehicles");
+        return i;
+      }
+      case "percentiles": {
+        String type = optionalArgument(args, i);
+        if (type != null) {
+          i++;
+        }
+        writePercentiles(type);
+        phase(name, t, type == null ? "all types" : type);
+        return i;
+      }
+      case "top": {
+        RankingMetric metric = RankingMetric.parse(argument(args, i++, name));
+        int k = DEFAULT_TOP;
+        if (i < args.size() && args.get(i).matches("\\d+")) {
+          k = Integer.parseInt(args.get(i++));
+        }
+        if (leaderboards == null) {
+          leaderboards = FleetLeaderboards.attach(service.fleet());
+        }
+        List<Ranked> rows = leaderboards.top(metric, k);
+        for (Ranked r : rows) {
+          Vehicle v = r.vehicle();
+          stdout.write(String.format(Locale.ROOT, "%d\t%.2f\t%s\t%s\t%s %s%n", r.rank(), r.score(), v.getId(),
+              v.getLicensePlate(), v.getMake(), v.getModel()));
+        }
+        phase(name + " " + metric.key(), t, rows.size() + " vehicles");
+        return i;
+      }
+      case "export-csv": {
+        int rows;
+        try (Output o = open(argument(args, i++, name))) {
+          rows = FleetCsv.export(service.fleet(), o.writer);
+        }
+        phase(name, t, rows + " vehicles");
+        return i;
+      }
+      case "export-snapshot": {
+        int vehicles = SnapshotFile.write(service.fleet(), Path.of(argument(args, i++, name)));
+        phase(name, t, vehicles + " vehicles");
+        return i;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown command: " + name);
+    }
+  }
+
+  /** Average and maximum depreciation, and count at the 90 % cap, per vehicle type. */
+  private void writeValuation() throws IOException {
+    String[] types = { "Car", "Truck", "Bus", "Motorcycle" };
+    int[] count = new int[types.length];
+    int[] capped = new int[types.length];
+    double[] sum = new double[types.length];
+    double[] max = new double[types.length];
+    for (Vehicle v : service.vehicles()) {
+      int type;
+      if (v instanceof Car) {
+        type = 0;
+      } else if (v instanceof Truck) {
+        type = 1;
+      } else if (v instanceof Bus) {
+        type = 2;
+      } else if (v instanceof Motorcycle) {
+        type = 3;
+      } else {
+        continue;
+      }
+      double d = v.calculateDepreciation();
+      count[type]++;
+      sum[type] += d;
+      max[type] = Math.max(max[type], d);
+      if (d >= 0.90) {
+        capped[type]++;
+      }
+    }
+    stdout.write(String.format(Locale.ROOT, "%-10s %10s %14s %14s %10s%n", "type", "vehicles", "avg deprec.",
+        "max deprec.", "at cap"));
+    for (int i = 0; i < types.length; i++) {
+      stdout.write(String.format(Locale.ROOT, "%-10s %10d %13.1f%% %13.1f%% %10d%n", types[i], count[i],
+          count[i] == 0 ? 0.0 : 100 * sum[i] / count[i], 100 * max[i], capped[i]));
+    }
+  }
+
+  /** Percentiles of every distribution, for one vehicle type or all. */
+  private void writePercentiles(String type) throws IOException {
+    if (distributions == null) {
+      distributions = FleetDistributions.attach(service.fleet());
+    }
+    stdout.write(String.format(Locale.ROOT, "%-26s %10s %14s %14s %14s%n", "distribution", "count", "p50", "p90",
+        "p99"));
+    for (DistributionMetric m : DistributionMetric.values()) {
+      writePercentiles(m.key(), distributions.percentiles(m, type));
+    }
+    for (MaintenanceType t : MaintenanceType.values()) {
+      writePercentiles("maintenance " + t.name().toLowerCase(Locale.ROOT),
+          distributions.maintenancePercentiles(t, type));
+    }
+  }
+
+  private void writePercentiles(String name, Percentiles p) throws IOException {
+    stdout.write(String.format(Locale.ROOT, "%-26s %10d %14.2f %14.2f %14.2f%n", name, p.count(), p.p50(), p.p90(),
+        p.p99()));
+  }
+
+  private static String argument(List<String> args, int i, String option) {
+    if (i >= args.size()) {
+      throw new IllegalArgumentException(option + " needs an argument.");
+    }
+    return args.get(i);
+  }
+
+  /** @return the optional argument at {@code i}, or {@code null} if {@code args[i]} is a command */
+  private static String optionalArgument(List<String> args, int i) {
+    if (i >= args.size()) {
+      return null;
+    }
+    String s = args.get(i);
+    switch (s) {
+      case "reports":
+      case "details":
+      case "cost":
+      case "valuation":
+      case "due":
+      case "search":
+      case "top":
+      case "percentiles":
+      case "export-csv":
+      case "export-snapshot":
+        return null;
+      default:
+        return s;
+    }
+  }
+
+  /** Flushes the phase's output, then reports its time. */
+  private void phase(String name, long start, String detail) throws IOException {
+    stdout.flush();
+    System.err.printf(Locale.ROOT, "[fleet] %-16s %10.1f ms  %s%n", name, (System.nanoTime() - start) / 1e6,
+        detail);
+  }
+
+  /** Standard output (left open) or a file (closed). */
+  private Output open(String out) throws IOException {
+    if (out == null || out.equals(STDOUT)) {
+      return new Output(stdout, false);
+    }
+    return new Output(Files.newBufferedWriter(Path.of(out), StandardCharsets.UTF_8), true);
+  }
+
+  private record Output(Writer writer, boolean owned) implements AutoCloseable {
+    @Override
+    public void close() throws IOException {
+      if (owned) {
+        writer.close();
+      } else {
+        writer.flush();
+      }
+    }
+  }
+}
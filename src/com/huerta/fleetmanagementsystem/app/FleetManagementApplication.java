@@ -1,8 +1,21 @@
 package com.huerta.fleetmanagementsystem.app;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
 import javax.swing.SwingUtilities;
 
 import com.huerta.fleetmanagementsystem.gui.MainWindow;
+import com.huerta.fleetmanagementsystem.management.FleetManagement;
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+import com.huerta.fleetmanagementsystem.model.cost.CostModelReloader;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.replication.FleetFollower;
+import com.huerta.fleetmanagementsystem.replication.FleetLeader;
+import com.huerta.fleetmanagementsystem.server.FleetHttpServer;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+import com.huerta.fleetmanagementsystem.service.SampleData;
 
 /**
  * Application entry point.
@@ -12,18 +25,103 @@ import com.huerta.fleetmanagementsystem.gui.MainWindow;
  * layered architecture (
  * {@code app → gui → service → model}) is wired together,
  * illustrating <b>modularity</b> across packages.</p>
+ *
+ * <p>With {@code --server [port]} the same service layer is exposed
+ * headlessly through {@link FleetHttpServer} instead
+ * ({@code app → server → service → model}).</p>
+ *
+ * <p>A server can replicate its fleet: {@code --leader <replPort>} streams
+ * every change to followers, and {@code --follow <host:replPort>} starts
+ * a read-only replica that mirrors a leader instead of loading sample
+ * data.</p>
+ *
+ * <p>With {@code --batch ...} the application runs {@link FleetCli}
+ * instead: it loads a fleet from a snapshot or CSV file, runs reports,
+ * cost totals, exports or queries, prints their timings and exits without
+ * initialising AWT.</p>
+ *
+ * <p>In GUI and server mode, {@code -Dfleet.costModel=<file>} loads
+ * operating-cost coefficients from a properties file and reloads them
+ * whenever the file changes; in batch mode it is loaded once.</p>
  */
 public class FleetManagementApplication {
 
+  /** System property naming the cost-model file to load and watch. */
+  public static final String COST_MODEL_PROPERTY = "fleet.costModel";
+
   /**
    * Bootstraps the application.
    *
-   * @param args command-line arguments (unused)
+   * @param args {@code --server [port] [--leader replPort | --follow host:replPort]}
+   *             for headless mode, {@code --batch ...} for batch mode (see
+   *             {@link FleetCli}); otherwise unused
+   * @throws IOException if a port cannot be bound, or the cost model or a
+   *                     batch input or output file cannot be read or written
    */
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException {
+    String costModel = System.getProperty(COST_MODEL_PROPERTY);
+    if (args.length > 0 && args[0].equals(FleetCli.OPTION)) {
+      if (costModel != null) {
+        CostModel.install(CostModel.load(Path.of(costModel)));
+      }
+      FleetCli.run(List.of(args).subList(1, args.length));
+      return;
+    }
+    if (costModel != null) {
+      new CostModelReloader(Path.of(costModel), CostModelReloader.DEFAULT_INTERVAL_MILLIS).start();
+    }
+    if (args.length > 0 && args[0].equals("--server")) {
+      int next = 1;
+      int port = FleetHttpServer.DEFAULT_PORT;
+      if (args.length > next && !args[next].startsWith("--")) {
+        port = Integer.parseInt(args[next++]);
+      }
+      String role = args.length > next ? args[next] : null;
+      String target = args.length > next + 1 ? args[next + 1] : null;
+      if (role != null && target == null) {
+        throw new IllegalArgumentException(role + " needs an argument.");
+      }
+      startServer(port, role, target);
+    } else {
+      startGui();
+    }
+  }
+
+  private static void startGui() {
     SwingUtilities.invokeLater(() -> {
       MainWindow w = new MainWindow();
       w.setVisible(true);
     });
   }
-}
\ No newline at end of file
+
+  private static void startServer(int port, String role, String target) throws IOException {
+    FleetService service = new FleetService(new Fleet());
+    FleetHttpServer server = new FleetHttpServer(service, port);
+    if ("--follow".equals(role)) {
+      int colon = target.lastIndexOf(':');
+      if (colon < 0) {
+        throw new IllegalArgumentException("--follow expects host:port.");
+      }
+      FleetFollower follower = new FleetFollower(target.substring(0, colon),
+          Integer.parseInt(target.substring(colon + 1)), service.fleet());
+      follower.start();
+      server.setReadOnly(true);
+      Runtime.getRuntime().addShutdownHook(new Thread(follower::close));
+      System.out.println("Following leader at " + target);
+    } else {
+      SampleData.loadInto(service);
+      if ("--leader".equals(role)) {
+        FleetLeader leader = new FleetLeader(service.fleet(), Integer.parseInt(target));
+        leader.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(leader::close));
+        System.out.println("Replicating to followers on port " + leader.getPort());
+      } else if (role != null) {
+        throw new IllegalArgumentException("Unknown option: " + role);
+      }
+    }
+    FleetManagement.register(service, "server");
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+    server.start();
+    System.out.println("Fleet API listening on http://localhost:" + server.getPort() + "/api/");
+  }
+}
@@ -0,0 +1,22 @@
+package com.huerta.fleetmanagementsystem.assignment;
+
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.model.fleet.DriverAssignment;
+
+/**
+ * Result of an {@link AssignmentSolver} run.
+ *
+ * @param assignments       driver for each covered vehicle
+ * @param totalScore        sum of the pairings' scores
+ * @param unmatchedVehicles candidate vehicles left without a driver
+ * @param idleDrivers       candidate drivers left without a vehicle
+ */
+public record AssignmentPlan(List<DriverAssignment> assignments, long totalScore, int unmatchedVehicles,
+    int idleDrivers) {
+
+  /** @return number of vehicles covered by the plan */
+  public int assignedCount() {
+    return assignments.size();
+  }
+}
@@ -0,0 +1,90 @@
+package com.huerta.fleetmanagementsystem.assignment;
+
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Eligibility and scoring rules of the assignment engine.
+ *
+ * <p>A vehicle that {@link VehicleCategory#COMMERCIAL requires a commercial
+ * licence} may only go to a driver with at least
+ * {@code minCommercialExperience} years of experience. Every eligible
+ * pairing scores {@value #COVERAGE_SCORE} plus the category's
+ * {@linkplain VehicleCategory#demand() demand} times the driver's
+ * experience (capped at {@code experienceCap} years). The large constant
+ * makes covering one more vehicle outweigh any reshuffle of experience,
+ * so an optimal plan assigns as many vehicles as possible and, among
+ * those plans, puts the most experience where it matters most.</p>
+ *
+ * <p>The score depends only on the vehicle category and the (capped)
+ * experience, which is what lets {@link AssignmentSolver} solve large
+ * problems on a handful of classes instead of on individual pairs.</p>
+ *
+ * @param minCommercialExperience years required for commercial vehicles
+ * @param experienceCap           experience beyond which no extra score is given
+ */
+public record AssignmentPolicy(int minCommercialExperience, int experienceCap) {
+
+  /** Score of any eligible pairing before experience is considered. */
+  public static final long COVERAGE_SCORE = 1_000_000;
+
+  /** Three years for commercial vehicles; experience counts up to 30 years. */
+  public static final AssignmentPolicy DEFAULT = new AssignmentPolicy(3, 30);
+
+  /**
+   * Validates the policy.
+   *
+   * @throws IllegalArgumentException if a value is negative or the cap
+   *                                  exceeds 1000 years
+   */
+  public AssignmentPolicy {
+    if (minCommercialExperience < 0 || experienceCap < 0) {
+      throw new IllegalArgumentException("Experience thresholds cannot be negative.");
+    }
+    if (experienceCap > 1000) {
+      throw new IllegalArgumentException("Experience cap cannot exceed 1000 years.");
+    }
+  }
+
+  /**
+   * Tells whether a driver may drive a vehicle.
+   *
+   * @param vehicle the vehicle
+   * @param driver  the driver
+   * @return {@code true} if the pairing is allowed
+   */
+  public boolean isEligible(Vehicle vehicle, Driver driver) {
+    return isEligible(VehicleCategory.of(vehicle), driver.getYearsOfExperience());
+  }
+
+  /**
+   * Tells whether a driver with {@code years} of experience may drive a
+   * vehicle of {@code category}.
+   *
+   * @param category vehicle category
+   * @param years    driver experience
+   * @return {@code true} if the pairing is allowed
+   */
+  public boolean isEligible(VehicleCategory category, int years) {
+    return category != VehicleCategory.COMMERCIAL || years >= minCommercialExperience;
+  }
+
+  /**
+   * Scores an eligible pairing.
+   *
+   * @param category vehicle category
+   * @param years    driver experience
+   * @return the pairing's score; higher is better
+   */
+  public long score(VehicleCategory category, int years) {
+    return COVERAGE_SCORE + (long) category.demand() * Math.min(years, experienceCap);
+  }
+
+  /**
+   * Smallest experience class that distinguishes every eligibility and
+   * score difference; experience above it behaves identically.
+   */
+  int experienceClasses() {
+    return Math.max(experienceCap, minCommercialExperience) + 1;
+  }
+}
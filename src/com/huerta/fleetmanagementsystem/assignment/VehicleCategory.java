@@ -0,0 +1,48 @@
+package com.huerta.fleetmanagementsystem.assignment;
+
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.HeavyVehicle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * How demanding a vehicle is to drive, as seen by the assignment engine.
+ *
+ * <p>The {@link #demand()} weight multiplies a driver's experience in
+ * {@link AssignmentPolicy#score(VehicleCategory, int)}, so experienced
+ * drivers are worth most on the most demanding vehicles.</p>
+ */
+public enum VehicleCategory {
+
+  /** Heavy vehicle above the commercial-licence threshold. */
+  COMMERCIAL(4),
+  /** Heavy vehicle below the threshold. */
+  HEAVY(3),
+  /** Passenger car. */
+  CAR(2),
+  /** Motorcycle or any other light vehicle. */
+  LIGHT(1);
+
+  private final int demand;
+
+  VehicleCategory(int demand) {
+    this.demand = demand;
+  }
+
+  /** @return weight applied to a driver's experience on this category */
+  public int demand() {
+    return demand;
+  }
+
+  /**
+   * Classifies a vehicle (<b>downcasting</b> via {@code instanceof}).
+   *
+   * @param vehicle the vehicle
+   * @return its category
+   */
+  public static VehicleCategory of(Vehicle vehicle) {
+    if (vehicle instanceof HeavyVehicle) {
+      return ((HeavyVehicle) vehicle).requiresCommercialLicense() ? COMMERCIAL : HEAVY;
+    }
+    return vehicle instanceof Car ? CAR : LIGHT;
+  }
+}
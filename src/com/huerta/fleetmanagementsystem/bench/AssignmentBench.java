@@ -0,0 +1,74 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPlan;
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPolicy;
+import com.huerta.fleetmanagementsystem.assignment.AssignmentSolver;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Times {@link AssignmentSolver} on a random fleet.
+ *
+ * <p>Vehicles are an even mix of cars, motorcycles, light and heavy
+ * trucks, and buses; driver experience is uniform in 0–40 years.</p>
+ *
+ * <pre>
+ * java ... bench.AssignmentBench [vehicles=50000] [drivers=50000] [rounds=5]
+ * </pre>
+ */
+public final class AssignmentBench {
+
+  private AssignmentBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int vehicleCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    int driverCount = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+    Random random = new Random(42);
+    List<Vehicle> vehicles = new ArrayList<>(vehicleCount);
+    for (int i = 0; i < vehicleCount; i++) {
+      String plate = String.format("A-%07d", i);
+      switch (i % 5) {
+        case 0 -> vehicles.add(new Car(i, plate, "Make", "Model", 2020, 5, FuelType.DIESEL, 0));
+        case 1 -> vehicles.add(new Motorcycle(i, plate, "Make", "Model", 2020, 600, 0));
+        case 2 -> vehicles.add(new Truck(i, plate, "Make", "Model", 2020, 2, 2, 0, 3.0));
+        case 3 -> vehicles.add(new Truck(i, plate, "Make", "Model", 2020, 20, 3, 0, 18.0));
+        default -> vehicles.add(new Bus(i, plate, "Make", "Model", 2020, 50, ServiceType.CITY, 0, 12.0));
+      }
+    }
+    List<Driver> drivers = new ArrayList<>(driverCount);
+    for (int i = 0; i < driverCount; i++) {
+      drivers.add(new Driver("Driver " + i, String.format("L-%07d", i), random.nextInt(41)));
+    }
+
+    AssignmentSolver solver = new AssignmentSolver(AssignmentPolicy.DEFAULT);
+    long best = Long.MAX_VALUE;
+    AssignmentPlan plan = null;
+    for (int r = 0; r < rounds; r++) {
+      long t = System.nanoTime();
+      plan = solver.solve(vehicles, drivers);
+      best = Math.min(best, System.nanoTime() - t);
+    }
+    System.out.printf("%,d vehicles x %,d drivers: best of %d rounds %.1f ms%n",
+        vehicleCount, driverCount, rounds, best / 1e6);
+    System.out.printf("Assigned %,d, unmatched vehicles %,d, idle drivers %,d, score %,d%n",
+        plan.assignedCount(), plan.unmatchedVehicles(), plan.idleDrivers(), plan.totalScore());
+  }
+}
@@ -0,0 +1,133 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.DriverAssignment;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.fleet.MaintenanceEntry;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Compares single-item mutations on {@link FleetService} with their batch
+ * variants.
+ *
+ * <p>Every run uses a fresh fleet with a built search index and one extra
+ * listener, as in the GUI and server modes, so event delivery and index
+ * maintenance are part of the measured cost. The extra listener spins for
+ * {@code deliveryMicros} per delivery, standing in for consumers whose cost
+ * is per notification rather than per event (a table repaint, a network
+ * frame); with {@code 0} only the in-process overhead is measured, and
+ * the batch validation can make cheap operations slightly slower.</p>
+ *
+ * <pre>
+ * java ... bench.BatchMutationBench [items=100000] [batchSize=1000] [rounds=5] [deliveryMicros=5]
+ * </pre>
+ */
+public final class BatchMutationBench {
+
+  private BatchMutationBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int items = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    long deliveryNanos = (args.length > 3 ? Long.parseLong(args[3]) : 5) * 1000;
+
+    System.out.printf("%d items, batches of %d, best of %d rounds, %d us per delivery%n",
+        items, batchSize, rounds, deliveryNanos / 1000);
+    System.out.printf("%-14s %14s %14s %8s%n", "operation", "single ops/s", "batch ops/s", "speedup");
+    for (String op : new String[] { "addVehicles", "addMaintenance", "assignDrivers" }) {
+      double single = 0;
+      double batch = 0;
+      for (int r = 0; r < rounds; r++) {
+        single = Math.max(single, run(op, items, 1, deliveryNanos));
+        batch = Math.max(batch, run(op, items, batchSize, deliveryNanos));
+      }
+      System.out.printf("%-14s %,14.0f %,14.0f %7.1fx%n", op, single, batch, batch / single);
+    }
+  }
+
+  /** Runs one operation over {@code items} items and returns ops/s. */
+  private static double run(String op, int items, int batchSize, long deliveryNanos) {
+    FleetService service = new FleetService(new Fleet());
+    LongAdder delivered = new LongAdder();
+    service.subscribe(events -> {
+      delivered.add(events.size());
+      long until = System.nanoTime() + deliveryNanos;
+      while (System.nanoTime() < until) {
+        Thread.onSpinWait();
+      }
+    });
+    service.searchVehicles("", 1); // build the index so it receives events
+
+    List<Vehicle> vehicles = new ArrayList<>(items);
+    List<Driver> drivers = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      vehicles.add(new Car(i, String.format("B-%07d", i), "Make" + (i % 40), "Model" + (i % 300),
+          2020, 5, FuelType.GASOLINE, 1000));
+      drivers.add(new Driver("Driver " + i, "LIC-" + i, 5));
+    }
+    if (!op.equals("addVehicles")) {
+      service.addVehicles(vehicles);
+      service.addDrivers(drivers);
+    }
+    MaintenanceRecord record = new MaintenanceRecord(LocalDate.of(2026, 1, 1), MaintenanceType.PREVENTIVE,
+        "Oil change", 100);
+
+    // requests are prepared up front: callers already hold their data
+    List<MaintenanceEntry> entries = new ArrayList<>(items);
+    List<DriverAssignment> assignments = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      entries.add(new MaintenanceEntry(vehicles.get(i), record));
+      assignments.add(new DriverAssignment(vehicles.get(i), drivers.get(i)));
+    }
+
+    long t0 = System.nanoTime();
+    for (int from = 0; from < items; from += batchSize) {
+      int to = Math.min(items, from + batchSize);
+      switch (op) {
+        case "addVehicles":
+          if (batchSize == 1) {
+            service.addVehicle(vehicles.get(from));
+          } else {
+            service.addVehicles(vehicles.subList(from, to));
+          }
+          break;
+        case "addMaintenance":
+          if (batchSize == 1) {
+            service.addMaintenance(vehicles.get(from), record);
+          } else {
+            service.addMaintenanceBatch(entries.subList(from, to));
+          }
+          break;
+        default:
+          if (batchSize == 1) {
+            service.assignDriver(vehicles.get(from), drivers.get(from));
+          } else {
+            service.assignDrivers(assignments.subList(from, to));
+          }
+          break;
+      }
+    }
+    double seconds = (System.nanoTime() - t0) / 1e9;
+    if (delivered.sum() < (op.equals("addVehicles") ? items : 3L * items)) {
+      throw new IllegalStateException("Listener missed events: " + delivered.sum());
+    }
+    return items / seconds;
+  }
+}
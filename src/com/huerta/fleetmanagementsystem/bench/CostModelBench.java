@@ -0,0 +1,211 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Compares operating-cost evaluation through a compiled {@link CostModel}
+ * with the formulas the vehicle classes used to hard-code, including the
+ * {@code switch} over fuel and service type.
+ *
+ * <p>Both variants walk the same shuffled mix of cars, trucks, buses and
+ * motorcycles and pick the formula with the same {@code instanceof}
+ * chain, so the rows differ only in how coefficients are found. A third
+ * row times {@link Vehicle#calculateOperatingCost()} itself, and a last
+ * one repeats the compiled row while another thread installs a new model
+ * every millisecond, showing that hot reload costs readers neither
+ * throughput nor pauses. The totals of the first two rows must match.</p>
+ *
+ * <pre>
+ * java ... bench.CostModelBench [vehicles=1000000] [passes=30]
+ * </pre>
+ */
+public final class CostModelBench {
+
+  private static volatile boolean reloading;
+
+  private CostModelBench() {
+  }
+
+  /** Cost evaluation under test. */
+  private interface Evaluator {
+    double total(List<Vehicle> vehicles);
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   * @throws InterruptedException if interrupted while stopping the reloader
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int passes = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+    List<Vehicle> vehicles = mixedFleet(count);
+
+    System.out.printf("%,d vehicles, best and worst of %d passes%n", count, passes);
+    System.out.printf("%-14s %12s %12s %20s%n", "variant", "ns/vehicle", "worst ms", "total cost");
+    run("hardcoded", vehicles, passes, CostModelBench::hardcodedTotal);
+    run("compiled", vehicles, passes, CostModelBench::compiledTotal);
+    run("virtual", vehicles, passes, CostModelBench::virtualTotal);
+
+    Properties tariff = new Properties();
+    tariff.setProperty("car.fuel.DIESEL", "27.5");
+    tariff.setProperty("bus.perKm", "0.03");
+    CostModel[] models = { CostModel.DEFAULT, CostModel.compile(tariff) };
+    reloading = true;
+    long[] installs = new long[1];
+    Thread reloader = Thread.ofPlatform().daemon().start(() -> {
+      while (reloading) {
+        CostModel.install(models[(int) (installs[0]++ & 1)]);
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    });
+    run("compiled+hot", vehicles, passes, CostModelBench::compiledTotal);
+    reloading = false;
+    reloader.join();
+    CostModel.install(CostModel.DEFAULT);
+    System.out.printf("(%,d models installed during the last row)%n", installs[0]);
+  }
+
+  private static void run(String variant, List<Vehicle> vehicles, int passes, Evaluator evaluator) {
+    for (int w = 0; w < 5; w++) {
+      evaluator.total(vehicles);
+    }
+    long best = Long.MAX_VALUE;
+    long worst = 0;
+    double total = 0;
+    for (int p = 0; p < passes; p++) {
+      long t = System.nanoTime();
+      total = evaluator.total(vehicles);
+      long elapsed = System.nanoTime() - t;
+      best = Math.min(best, elapsed);
+      worst = Math.max(worst, elapsed);
+    }
+    System.out.printf("%-14s %12.2f %12.2f %,20.2f%n", variant, (double) best / vehicles.size(), worst / 1e6, total);
+  }
+
+  private static double hardcodedTotal(List<Vehicle> vehicles) {
+    double total = 0;
+    for (int i = 0, n = vehicles.size(); i < n; i++) {
+      total += hardcoded(vehicles.get(i));
+    }
+    return total;
+  }
+
+  private static double compiledTotal(List<Vehicle> vehicles) {
+    double total = 0;
+    for (int i = 0, n = vehicles.size(); i < n; i++) {
+      total += compiled(vehicles.get(i));
+    }
+    return total;
+  }
+
+  private static double virtualTotal(List<Vehicle> vehicles) {
+    double total = 0;
+    for (int i = 0, n = vehicles.size(); i < n; i++) {
+      total += vehicles.get(i).calculateOperatingCost();
+    }
+    return total;
+  }
+
+  /** The vehicle classes' formulas before the cost model, verbatim. */
+  private static double hardcoded(Vehicle v) {
+    if (v instanceof Car c) {
+      double powerFactor;
+      switch (c.getFuelType()) {
+        case ELECTRIC:
+          powerFactor = 10.0;
+          break;
+        case DIESEL:
+          powerFactor = 25.0;
+          break;
+        case GASOLINE:
+          powerFactor = 20.0;
+          break;
+        case HYBRID:
+          powerFactor = 15.0;
+          break;
+        default:
+          powerFactor = 15.0;
+      }
+      return 100.0 + c.getMileage() * 0.02 + c.getSeatingCapacity() * 5.0 + powerFactor;
+    } else if (v instanceof Truck t) {
+      return 200.0 + t.getMileage() * 0.03 + t.getPayloadCapacity() * 2.5 + t.getAxleCount() * 30.0;
+    } else if (v instanceof Bus b) {
+      double serviceFactor;
+      switch (b.getServiceType()) {
+        case CITY:
+          serviceFactor = 40.0;
+          break;
+        case INTERCITY:
+          serviceFactor = 70.0;
+          break;
+        default:
+          serviceFactor = 50.0;
+      }
+      return 150.0 + b.getMileage() * 0.025 + b.getPassengerCapacity() * 4.0 + serviceFactor;
+    } else {
+      Motorcycle m = (Motorcycle) v;
+      return 60.0 + m.getMileage() * 0.015 + m.getEngineDisplacement() * 0.05;
+    }
+  }
+
+  /** The same dispatch, with coefficients from the current compiled model. */
+  private static double compiled(Vehicle v) {
+    CostModel model = CostModel.current();
+    if (v instanceof Car c) {
+      return model.car(c.getMileage(), c.getSeatingCapacity(), c.getFuelType());
+    } else if (v instanceof Truck t) {
+      return model.truck(t.getMileage(), t.getPayloadCapacity(), t.getAxleCount());
+    } else if (v instanceof Bus b) {
+      return model.bus(b.getMileage(), b.getPassengerCapacity(), b.getServiceType());
+    } else {
+      Motorcycle m = (Motorcycle) v;
+      return model.motorcycle(m.getMileage(), m.getEngineDisplacement());
+    }
+  }
+
+  private static List<Vehicle> mixedFleet(int count) {
+    Random random = new Random(42);
+    FuelType[] fuels = FuelType.values();
+    ServiceType[] services = ServiceType.values();
+    List<Vehicle> vehicles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      double mileage = random.nextInt(300_000);
+      switch (random.nextInt(4)) {
+        case 0:
+          vehicles.add(new Car(i, "C-" + i, "Toyota", "Corolla", 2020, 2 + random.nextInt(6),
+              fuels[random.nextInt(fuels.length)], mileage));
+          break;
+        case 1:
+          vehicles.add(new Truck(i, "T-" + i, "Volvo", "FH16", 2019, random.nextInt(40_000),
+              2 + random.nextInt(4), mileage, 40));
+          break;
+        case 2:
+          vehicles.add(new Bus(i, "B-" + i, "Mercedes-Benz", "Citaro", 2018, 20 + random.nextInt(60),
+              services[random.nextInt(services.length)], mileage, 18));
+          break;
+        default:
+          vehicles.add(new Motorcycle(i, "M-" + i, "Honda", "CB500", 2021, 125 + random.nextInt(1000), mileage));
+          break;
+      }
+    }
+    return vehicles;
+  }
+}
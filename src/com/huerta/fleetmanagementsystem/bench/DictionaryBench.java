@@ -0,0 +1,108 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.huerta.fleetmanagementsystem.model.dictionary.StringDictionary;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Measures what dictionary-encoding make and model buys: the heap taken
+ * by vehicles whose names were parsed from input (a new string per
+ * vehicle), and grouping vehicles by make and model.
+ *
+ * <p>The "strings" rows keep one parsed copy of each name per vehicle and
+ * group on a string key, as the model did before; the "codes" rows use
+ * real {@link Vehicle}s, whose names are {@link StringDictionary} codes,
+ * and group on a {@code long} built from the two codes.</p>
+ *
+ * <pre>
+ * java ... bench.DictionaryBench [vehicles=1000000] [distinctModels=200]
+ * </pre>
+ */
+public final class DictionaryBench {
+
+  private static final String[] MAKES = { "Volvo", "Scania", "Mercedes-Benz", "MAN", "DAF", "Iveco", "Toyota" };
+
+  private DictionaryBench() {
+  }
+
+  /** A make and model held as strings, the layout before dictionary encoding. */
+  private record Names(String make, String model) {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int models = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+    long base = usedHeap();
+    List<Names> names = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      names.add(new Names(parsed(MAKES[i % MAKES.length]), parsed("FH" + (i % models))));
+    }
+    long stringHeap = usedHeap() - base;
+    long best = Long.MAX_VALUE;
+    int groups = 0;
+    for (int r = 0; r < 5; r++) {
+      long t = System.nanoTime();
+      Map<String, int[]> byName = new HashMap<>();
+      for (Names n : names) {
+        byName.computeIfAbsent(n.make() + '\u0000' + n.model(), k -> new int[1])[0]++;
+      }
+      best = Math.min(best, System.nanoTime() - t);
+      groups = byName.size();
+    }
+    long stringGroup = best;
+    Reference.reachabilityFence(names);
+    names = null;
+
+    base = usedHeap();
+    List<Vehicle> vehicles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      vehicles.add(new Car(i, "D-" + i, parsed(MAKES[i % MAKES.length]), parsed("FH" + (i % models)), 2020, 5,
+          FuelType.DIESEL, 0));
+    }
+    long vehicleHeap = usedHeap() - base;
+    best = Long.MAX_VALUE;
+    for (int r = 0; r < 5; r++) {
+      long t = System.nanoTime();
+      Map<Long, int[]> byCode = new HashMap<>();
+      for (Vehicle v : vehicles) {
+        byCode.computeIfAbsent(((long) v.getMakeCode() << 32) | v.getModelCode(), k -> new int[1])[0]++;
+      }
+      best = Math.min(best, System.nanoTime() - t);
+      groups = byCode.size();
+    }
+    Reference.reachabilityFence(vehicles);
+
+    System.out.printf("%,d vehicles, %d make/model groups, %d dictionary entries%n",
+        count, groups, StringDictionary.shared().size());
+    System.out.printf("%-8s %20s %14s%n", "layout", "name B/vehicle", "group ms");
+    System.out.printf("%-8s %20d %14.1f%n", "strings", stringHeap / count, stringGroup / 1e6);
+    System.out.printf("%-8s %20d %14.1f%n", "codes", 2 * Integer.BYTES, best / 1e6);
+    System.out.printf("(a whole Car with its components takes %d B)%n", vehicleHeap / count);
+  }
+
+  /** Copies a string the way a parser would, with its own backing array. */
+  private static String parsed(String s) {
+    return new String(s.toCharArray());
+  }
+
+  private static long usedHeap() {
+    Runtime rt = Runtime.getRuntime();
+    for (int i = 0; i < 2; i++) {
+      System.gc();
+    }
+    return rt.totalMemory() - rt.freeMemory();
+  }
+}
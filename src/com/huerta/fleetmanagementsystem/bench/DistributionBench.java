@@ -0,0 +1,147 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import com.huerta.fleetmanagementsystem.distribution.DistributionMetric;
+import com.huerta.fleetmanagementsystem.distribution.FleetDistributions;
+import com.huerta.fleetmanagementsystem.distribution.QuantileSketch;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.fleet.ShardedFleet;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Compares p50/p90/p99 computed by sorting the fleet with the same
+ * percentiles read from {@link FleetDistributions} over a
+ * {@link ShardedFleet}, and reports the sketches' relative error and size
+ * and what keeping them current adds to a mileage update.
+ *
+ * <pre>
+ * java ... bench.DistributionBench [vehicles=1000000] [shards=4] [updates=200000] [queries=10]
+ * </pre>
+ */
+public final class DistributionBench {
+
+  private static final double[] QUANTILES = { 0.50, 0.90, 0.99 };
+
+  /** Keeps query results alive so they are not optimized away. */
+  private static volatile double sink;
+
+  private DistributionBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int shardCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+    int updates = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+    int queries = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+    ShardedFleet fleet = new ShardedFleet(shardCount);
+    SplittableRandom random = new SplittableRandom(7);
+    List<Vehicle> batch = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      batch.add(vehicle(i, random));
+    }
+    fleet.addVehicles(batch);
+    LocalDate day = LocalDate.of(2024, 1, 1);
+    for (int i = 0; i < count / 2; i++) {
+      Vehicle v = batch.get(random.nextInt(count));
+      fleet.registerMaintenance(v, new MaintenanceRecord(day.plusDays(random.nextInt(365)),
+          random.nextBoolean() ? MaintenanceType.PREVENTIVE : MaintenanceType.CORRECTIVE, "Service",
+          50 + random.nextInt(5_000)));
+    }
+    List<Vehicle> vehicles = fleet.getVehicles();
+    System.out.printf("%,d vehicles in %d shards, %,d maintenance records, %,d mileage updates%n", count,
+        shardCount, count / 2, updates);
+
+    double plain = updateNanos(vehicles, updates, random);
+    long t = System.nanoTime();
+    FleetDistributions distributions = FleetDistributions.attach(fleet);
+    System.out.printf(Locale.ROOT, "attach: %.0f ms%n", (System.nanoTime() - t) / 1e6);
+    double tracked = updateNanos(vehicles, updates, random);
+    System.out.printf(Locale.ROOT, "mileage update: %.2f us without, %.2f us with distributions%n%n", plain / 1e3,
+        tracked / 1e3);
+
+    int year = Year.now().getValue();
+    System.out.printf("%-16s %14s %14s %14s %10s%n", "metric", "sort ms", "sketch us", "max rel err", "buckets");
+    for (DistributionMetric metric : DistributionMetric.values()) {
+      long sortNanos = Long.MAX_VALUE;
+      long sketchNanos = Long.MAX_VALUE;
+      double[] exact = null;
+      QuantileSketch sketch = null;
+      for (int q = 0; q < queries; q++) {
+        t = System.nanoTime();
+        exact = new double[vehicles.size()];
+        for (int i = 0; i < exact.length; i++) {
+          exact[i] = metric.value(vehicles.get(i), year);
+        }
+        Arrays.sort(exact);
+        sink += exact[rank(0.99, exact.length)];
+        sortNanos = Math.min(sortNanos, System.nanoTime() - t);
+
+        t = System.nanoTime();
+        sketch = distributions.sketch(metric, null);
+        for (double quantile : QUANTILES) {
+          sink += sketch.quantile(quantile);
+        }
+        sketchNanos = Math.min(sketchNanos, System.nanoTime() - t);
+      }
+      double error = 0;
+      for (double quantile : QUANTILES) {
+        double e = exact[rank(quantile, exact.length)];
+        if (e > 0) {
+          error = Math.max(error, Math.abs(sketch.quantile(quantile) - e) / e);
+        }
+      }
+      System.out.printf(Locale.ROOT, "%-16s %14.1f %14.1f %13.2f%% %10d%n", metric.key(), sortNanos / 1e6,
+          sketchNanos / 1e3, 100 * error, sketch.bucketCount());
+    }
+    distributions.detach();
+  }
+
+  /** @return index of the value at {@code quantile} in a sorted array, as the sketch ranks */
+  private static int rank(double quantile, int n) {
+    return (int) Math.max(0, Math.ceil(quantile * n) - 1);
+  }
+
+  /** @return mean time of one {@link Vehicle#setMileage(double)} on a random vehicle */
+  private static double updateNanos(List<Vehicle> vehicles, int updates, SplittableRandom random) {
+    long t = System.nanoTime();
+    for (int i = 0; i < updates; i++) {
+      Vehicle v = vehicles.get(random.nextInt(vehicles.size()));
+      v.setMileage(v.getMileage() + 1 + random.nextInt(500));
+    }
+    return (double) (System.nanoTime() - t) / updates;
+  }
+
+  private static Vehicle vehicle(int i, SplittableRandom random) {
+    int year = 2000 + random.nextInt(25);
+    switch (i % 4) {
+      case 0:
+        return new Car(i, "C-" + i, "Toyota", "Corolla", year, 5, FuelType.GASOLINE, random.nextInt(200_000));
+      case 1:
+        return new Truck(i, "T-" + i, "Volvo", "FH16", year, 20_000, 3, random.nextInt(400_000), 16);
+      case 2:
+        return new Bus(i, "B-" + i, "Mercedes-Benz", "Citaro", year, 50, ServiceType.CITY, random.nextInt(300_000), 18);
+      default:
+        return new Motorcycle(i, "M-" + i, "Yamaha", "MT-07", year, 689, random.nextInt(50_000));
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.event.FleetEventPublisher;
+import com.huerta.fleetmanagementsystem.event.FleetEventPublisher.OverflowPolicy;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Shows that a slow {@link FleetEventPublisher} subscriber does not slow
+ * down fleet writers.
+ *
+ * <p>One thread updates vehicle mileages as fast as it can while three
+ * subscribers listen. In the first row all three keep up (unbounded
+ * demand); in the second, two of them take a millisecond per event — one
+ * with a buffer that drops the oldest events, one whose buffer overflow
+ * cancels it. The writer's rate should be about the same in both rows.
+ * Each row also shows what the first subscriber received, how many
+ * events were dropped in total and how the last subscriber ended. On a
+ * single core the fast subscribers compete with the writer for the CPU
+ * and drop events too.</p>
+ *
+ * <pre>
+ * java ... bench.FleetFlowBench [updates=2000000] [buffer=256]
+ * </pre>
+ */
+public final class FleetFlowBench {
+
+  private FleetFlowBench() {
+  }
+
+  /** Counts deliveries, optionally sleeping per event, requesting one at a time. */
+  private static final class CountingSubscriber implements Flow.Subscriber<FleetEvent> {
+
+    private final long pauseMillis;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicReference<String> outcome = new AtomicReference<>("open");
+    private Flow.Subscription subscription;
+
+    CountingSubscriber(long pauseMillis) {
+      this.pauseMillis = pauseMillis;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription s) {
+      subscription = s;
+      s.request(pauseMillis == 0 ? Long.MAX_VALUE : 1);
+    }
+
+    @Override
+    public void onNext(FleetEvent item) {
+      received.incrementAndGet();
+      if (pauseMillis > 0) {
+        try {
+          Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        subscription.request(1);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      outcome.set("error: " + t.getMessage());
+    }
+
+    @Override
+    public void onComplete() {
+      outcome.set("completed");
+    }
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int updates = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int buffer = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+
+    Fleet fleet = new Fleet();
+    for (int i = 0; i < 1000; i++) {
+      fleet.addVehicle(new Car(i, "F-" + i, "Toyota", "Prius", 2020, 5, FuelType.HYBRID, 0));
+    }
+
+    System.out.printf("%,d mileage updates, subscriber buffers of %d events%n", updates, buffer);
+    System.out.printf("%-14s %14s %14s %14s  %s%n", "subscribers", "updates/s", "1st received", "dropped",
+        "3rd subscriber");
+    row("warm-up", fleet, updates, buffer, 0, false);
+    row("3 fast", fleet, updates, buffer, 0, true);
+    row("1 fast+2 slow", fleet, updates, buffer, 1, true);
+  }
+
+  private static void row(String label, Fleet fleet, int updates, int buffer, long slowPause, boolean print) {
+    FleetEventPublisher publisher = FleetEventPublisher.attach(fleet);
+    EnumSet<FleetEvent.Type> all = EnumSet.allOf(FleetEvent.Type.class);
+    CountingSubscriber first = new CountingSubscriber(0);
+    CountingSubscriber dropping = new CountingSubscriber(slowPause);
+    CountingSubscriber strict = new CountingSubscriber(slowPause);
+    publisher.subscribe(first, buffer, OverflowPolicy.DROP_OLDEST, all);
+    publisher.subscribe(dropping, buffer, OverflowPolicy.DROP_OLDEST, all);
+    publisher.subscribe(strict, buffer, OverflowPolicy.ERROR, all);
+    double rate = write(fleet.getVehicles(), updates);
+    publisher.close();
+    if (print) {
+      System.out.printf("%-14s %,14.0f %,14d %,14d  %s after %,d events%n", label, rate, first.received.get(),
+          publisher.droppedEvents(), strict.outcome.get(), strict.received.get());
+    }
+  }
+
+  private static double write(List<Vehicle> vehicles, int updates) {
+    long t = System.nanoTime();
+    for (int i = 0; i < updates; i++) {
+      Vehicle v = vehicles.get(i % vehicles.size());
+      v.setMileage(v.getMileage() + 1);
+    }
+    return updates / ((System.nanoTime() - t) / 1e9);
+  }
+}
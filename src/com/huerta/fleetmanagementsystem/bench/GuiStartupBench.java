@@ -0,0 +1,205 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.awt.BorderLayout;
+import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JTabbedPane;
+import javax.swing.SwingUtilities;
+
+import com.huerta.fleetmanagementsystem.gui.AssignmentPanel;
+import com.huerta.fleetmanagementsystem.gui.DriverPanel;
+import com.huerta.fleetmanagementsystem.gui.MainWindow;
+import com.huerta.fleetmanagementsystem.gui.MaintenancePanel;
+import com.huerta.fleetmanagementsystem.gui.MetricsPanel;
+import com.huerta.fleetmanagementsystem.gui.VehiclePanel;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Measures GUI time-to-first-paint for fleets of different sizes.
+ *
+ * <p>The "eager" rows reproduce the former startup: load the fleet on the
+ * Event Dispatch Thread, then build all five panels (each reading the
+ * whole fleet) before the frame is shown. The "lazy" rows open
+ * {@link MainWindow}, which paints at once and loads in the background;
+ * for them the benchmark also reports when loading finished and when the
+ * first tab, now built, was painted. Every time is measured from the
+ * start of construction.</p>
+ *
+ * <p>Needs a display (e.g. {@code xvfb-run} on a server).</p>
+ *
+ * <pre>
+ * java ... bench.GuiStartupBench [sizes=1000,100000,1000000]
+ * </pre>
+ */
+public final class GuiStartupBench {
+
+  private static final long TIMEOUT_MINUTES = 10;
+
+  private GuiStartupBench() {
+  }
+
+  /** Transparent glass pane recording when the frame is painted. */
+  private static final class PaintProbe extends JComponent {
+
+    private final CountDownLatch firstPaint = new CountDownLatch(1);
+    private final CountDownLatch paintAfterLoad = new CountDownLatch(1);
+    private volatile long firstPaintNanos;
+    private volatile long paintAfterLoadNanos;
+    private volatile boolean loaded;
+
+    @Override
+    protected void paintComponent(Graphics g) {
+      long now = System.nanoTime();
+      if (firstPaintNanos == 0) {
+        firstPaintNanos = now;
+        firstPaint.countDown();
+      }
+      if (loaded && paintAfterLoadNanos == 0) {
+        paintAfterLoadNanos = now;
+        paintAfterLoad.countDown();
+      }
+    }
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   * @throws Exception if the EDT fails or a window does not paint in time
+   */
+  public static void main(String[] args) throws Exception {
+    if (GraphicsEnvironment.isHeadless()) {
+      System.out.println("GuiStartupBench needs a display.");
+      return;
+    }
+    String[] sizes = (args.length > 0 ? args[0] : "1000,100000,1000000").split(",");
+
+    System.out.printf("%-6s %10s %16s %12s %18s%n", "mode", "vehicles", "first paint ms", "loaded ms",
+        "first tab ms");
+    measureLazy(1000); // warm-up of Swing and the model classes
+    for (String size : sizes) {
+      int vehicles = Integer.parseInt(size.trim());
+      long eager = measureEager(vehicles);
+      System.out.printf("%-6s %,10d %16.1f %12s %18s%n", "eager", vehicles, eager / 1e6, "-", "-");
+      long[] lazy = measureLazy(vehicles);
+      System.out.printf("%-6s %,10d %16.1f %12.1f %18.1f%n", "lazy", vehicles, lazy[0] / 1e6, lazy[1] / 1e6,
+          lazy[2] / 1e6);
+    }
+    System.exit(0);
+  }
+
+  /** The former MainWindow constructor: load, build every panel, show. */
+  private static long measureEager(int vehicles) throws InterruptedException, InvocationTargetException {
+    PaintProbe probe = new PaintProbe();
+    JFrame[] frame = new JFrame[1];
+    long[] start = new long[1];
+    SwingUtilities.invokeAndWait(() -> {
+      start[0] = System.nanoTime();
+      FleetService service = new FleetService(new Fleet(null, null));
+      generate(service, vehicles, p -> {
+      });
+      JFrame f = new JFrame("Fleet Management System (eager)");
+      f.setSize(800, 600);
+      JTabbedPane tabs = new JTabbedPane();
+      tabs.addTab("Vehicles", new VehiclePanel(service));
+      tabs.addTab("Drivers", new DriverPanel(service));
+      tabs.addTab("Assignments", new AssignmentPanel(service));
+      tabs.addTab("Maintenance", new MaintenancePanel(service));
+      tabs.addTab("Metrics", new MetricsPanel(service));
+      f.setLayout(new BorderLayout());
+      f.add(tabs, BorderLayout.CENTER);
+      f.setGlassPane(probe);
+      probe.setVisible(true);
+      f.setVisible(true);
+      frame[0] = f;
+    });
+    await(probe.firstPaint);
+    long elapsed = probe.firstPaintNanos - start[0];
+    SwingUtilities.invokeAndWait(frame[0]::dispose);
+    return elapsed;
+  }
+
+  /** @return first paint, loading finished, first tab painted (ns from start) */
+  private static long[] measureLazy(int vehicles) throws InterruptedException, InvocationTargetException {
+    PaintProbe probe = new PaintProbe();
+    MainWindow[] window = new MainWindow[1];
+    long[] start = new long[1];
+    long[] loadedAt = new long[1];
+    SwingUtilities.invokeAndWait(() -> {
+      start[0] = System.nanoTime();
+      MainWindow w = new MainWindow(new FleetService(new Fleet(null, null)),
+          (service, progress) -> generate(service, vehicles, progress));
+      w.addPropertyChangeListener(MainWindow.LOADED_PROPERTY, e -> {
+        loadedAt[0] = System.nanoTime();
+        probe.loaded = true;
+        probe.repaint();
+      });
+      w.setGlassPane(probe);
+      probe.setVisible(true);
+      w.setVisible(true);
+      window[0] = w;
+    });
+    await(probe.firstPaint);
+    await(probe.paintAfterLoad);
+    long[] result = {
+      probe.firstPaintNanos - start[0], loadedAt[0] - start[0], probe.paintAfterLoadNanos - start[0] };
+    SwingUtilities.invokeAndWait(window[0]::dispose);
+    return result;
+  }
+
+  /** Adds a mix of vehicles and one driver per ten vehicles, in batches. */
+  private static void generate(FleetService service, int vehicles, IntConsumer progress) {
+    int chunk = 10_000;
+    for (int from = 0; from < vehicles; from += chunk) {
+      int to = Math.min(vehicles, from + chunk);
+      List<Vehicle> batch = new ArrayList<>(to - from);
+      List<Driver> drivers = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        batch.add(vehicle(i));
+        if (i % 10 == 0) {
+          drivers.add(new Driver("Driver " + i, "LIC-" + i, i % 30));
+        }
+      }
+      service.addVehicles(batch);
+      service.addDrivers(drivers);
+      progress.accept((int) (100L * to / vehicles));
+    }
+  }
+
+  private static Vehicle vehicle(int i) {
+    switch (i % 4) {
+      case 0:
+        return new Car(i, "C-" + i, "Toyota", "Corolla", 2020, 5, FuelType.GASOLINE, i % 200_000);
+      case 1:
+        return new Truck(i, "T-" + i, "Volvo", "FH16", 2019, 20_000, 3, i % 400_000, 16);
+      case 2:
+        return new Bus(i, "B-" + i, "Mercedes-Benz", "Citaro", 2018, 50, ServiceType.CITY, i % 300_000, 18);
+      default:
+        return new Motorcycle(i, "M-" + i, "Yamaha", "MT-07", 2022, 689, i % 50_000);
+    }
+  }
+
+  private static void await(CountDownLatch latch) throws InterruptedException {
+    if (!latch.await(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Window did not paint within " + TIMEOUT_MINUTES + " minutes.");
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.server.FleetHttpServer;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+import com.huerta.fleetmanagementsystem.service.SampleData;
+
+/**
+ * Closed-loop load generator for {@link FleetHttpServer}.
+ *
+ * <p>Each of {@code concurrency} virtual threads issues requests
+ * back-to-back for the given duration, cycling through the read endpoints
+ * (vehicle list, vehicle detail, search, cost report). Prints throughput,
+ * error count and latency percentiles.</p>
+ *
+ * <pre>
+ * java ... bench.HttpLoadTest [baseUrl|-] [concurrency=1000] [seconds=10] [vehicles=10000]
+ * </pre>
+ *
+ * <p>With no base URL (or {@code -}) an embedded server is started on a
+ * free port and filled with {@code vehicles} synthetic cars.</p>
+ */
+public final class HttpLoadTest {
+
+  /** Latency samples kept per worker (older ones are overwritten). */
+  private static final int SAMPLES_PER_WORKER = 4096;
+
+  private HttpLoadTest() {
+  }
+
+  /**
+   * Runs the load test.
+   *
+   * @param args see class documentation
+   * @throws Exception if the embedded server cannot start
+   */
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : "-";
+    int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    int vehicleCount = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+
+    FleetHttpServer embedded = null;
+    if (baseUrl.equals("-")) {
+      FleetService service = new FleetService(new Fleet());
+      SampleData.loadInto(service);
+      for (int i = 0; i < vehicleCount; i++) {
+        service.addVehicle(new Car(1000 + i, String.format("SYN-%06d", i), "Make" + (i % 50),
+            "Model" + (i % 200), 2015 + i % 10, 5, FuelType.GASOLINE, i * 7.0));
+      }
+      embedded = new FleetHttpServer(service, 0);
+      embedded.start();
+      baseUrl = "http://localhost:" + embedded.getPort();
+    }
+
+    String[] paths = {
+        "/api/vehicles?limit=20",
+        "/api/vehicles/1",
+        "/api/vehicles?q=syn-00&limit=10",
+        "/api/reports/cost",
+    };
+    URI[] uris = new URI[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      uris[i] = URI.create(baseUrl + paths[i]);
+    }
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    LongAdder ok = new LongAdder();
+    LongAdder failed = new LongAdder();
+    long[][] samples = new long[concurrency][SAMPLES_PER_WORKER];
+    AtomicLong[] counts = new AtomicLong[concurrency];
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+    System.out.printf("Target %s, %d connections, %d s%n", baseUrl, concurrency, seconds);
+    long start = System.nanoTime();
+    try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int w = 0; w < concurrency; w++) {
+        int worker = w;
+        counts[w] = new AtomicLong();
+        workers.submit(() -> {
+          long n = 0;
+          while (System.nanoTime() < deadline) {
+            HttpRequest req = HttpRequest.newBuilder(uris[(int) ((n + worker) % uris.length)])
+                .timeout(Duration.ofSeconds(30)).GET().build();
+            long t0 = System.nanoTime();
+            try {
+              HttpResponse<Void> resp = client.send(req, HttpResponse.BodyHandlers.discarding());
+              if (resp.statusCode() == 200) {
+                ok.increment();
+              } else {
+                failed.increment();
+              }
+            } catch (Exception e) {
+              failed.increment();
+            }
+            samples[worker][(int) (n % SAMPLES_PER_WORKER)] = System.nanoTime() - t0;
+            n++;
+          }
+          counts[worker].set(n);
+        });
+      }
+    }
+    double elapsed = (System.nanoTime() - start) / 1e9;
+
+    int total = 0;
+    for (int w = 0; w < concurrency; w++) {
+      total += (int) Math.min(counts[w].get(), SAMPLES_PER_WORKER);
+    }
+    long[] all = new long[total];
+    int k = 0;
+    for (int w = 0; w < concurrency; w++) {
+      int n = (int) Math.min(counts[w].get(), SAMPLES_PER_WORKER);
+      System.arraycopy(samples[w], 0, all, k, n);
+      k += n;
+    }
+    Arrays.sort(all);
+
+    long requests = ok.sum() + failed.sum();
+    System.out.printf("Requests: %d (%d failed) in %.1f s -> %.0f req/s%n",
+        requests, failed.sum(), elapsed, requests / elapsed);
+    if (all.length > 0) {
+      System.out.printf("Latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+          percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    if (embedded != null) {
+      embedded.stop(0);
+    }
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    int i = (int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)));
+    return sorted[i] / 1e6;
+  }
+}
@@ -0,0 +1,132 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.ranking.FleetLeaderboards;
+import com.huerta.fleetmanagementsystem.ranking.RankingMetric;
+
+/**
+ * Compares top-100 and rank queries answered by sorting the fleet with
+ * the same queries answered by {@link FleetLeaderboards}, and measures
+ * what keeping the leaderboards current adds to a mileage update.
+ *
+ * <pre>
+ * java ... bench.LeaderboardBench [vehicles=1000000] [updates=200000] [queries=20]
+ * </pre>
+ */
+public final class LeaderboardBench {
+
+  private static final int K = 100;
+
+  /** Keeps query results alive so they are not optimized away. */
+  private static volatile long sink;
+
+  private LeaderboardBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int updates = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+    int queries = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+    Fleet fleet = new Fleet();
+    List<Vehicle> batch = new ArrayList<>(count);
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < count; i++) {
+      batch.add(vehicle(i, random));
+    }
+    fleet.addVehicles(batch);
+    List<Vehicle> vehicles = fleet.getVehicles();
+    System.out.printf("%,d vehicles, %,d mileage updates, %d queries per metric%n", count, updates, queries);
+
+    double plain = updateNanos(vehicles, updates, random);
+    long t = System.nanoTime();
+    FleetLeaderboards boards = FleetLeaderboards.attach(fleet);
+    System.out.printf(Locale.ROOT, "attach: %.0f ms%n", (System.nanoTime() - t) / 1e6);
+    double ranked = updateNanos(vehicles, updates, random);
+    System.out.printf(Locale.ROOT, "mileage update: %.2f us without, %.2f us with leaderboards%n%n", plain / 1e3,
+        ranked / 1e3);
+
+    System.out.printf("%-18s %14s %14s %14s %14s%n", "metric", "sort top ms", "board top us", "scan rank ms",
+        "board rank us");
+    for (RankingMetric metric : RankingMetric.values()) {
+      Comparator<Vehicle> order = Comparator.comparingDouble(metric::score).reversed();
+      long sortNanos = Long.MAX_VALUE;
+      long scanNanos = Long.MAX_VALUE;
+      long topNanos = Long.MAX_VALUE;
+      long rankNanos = Long.MAX_VALUE;
+      for (int q = 0; q < queries; q++) {
+        Vehicle probe = vehicles.get(random.nextInt(vehicles.size()));
+
+        t = System.nanoTime();
+        List<Vehicle> sorted = new ArrayList<>(vehicles);
+        sorted.sort(order);
+        sink += sorted.subList(0, Math.min(K, sorted.size())).size();
+        sortNanos = Math.min(sortNanos, System.nanoTime() - t);
+
+        t = System.nanoTime();
+        double score = metric.score(probe);
+        int above = 0;
+        for (Vehicle v : vehicles) {
+          if (metric.score(v) > score) {
+            above++;
+          }
+        }
+        sink += above;
+        scanNanos = Math.min(scanNanos, System.nanoTime() - t);
+
+        t = System.nanoTime();
+        sink += boards.top(metric, K).size();
+        topNanos = Math.min(topNanos, System.nanoTime() - t);
+
+        t = System.nanoTime();
+        sink += boards.rank(metric, probe);
+        rankNanos = Math.min(rankNanos, System.nanoTime() - t);
+      }
+      System.out.printf(Locale.ROOT, "%-18s %14.1f %14.1f %14.1f %14.1f%n", metric.key(), sortNanos / 1e6,
+          topNanos / 1e3, scanNanos / 1e6, rankNanos / 1e3);
+    }
+    boards.detach();
+  }
+
+  /** @return mean time of one {@link Vehicle#setMileage(double)} on a random vehicle */
+  private static double updateNanos(List<Vehicle> vehicles, int updates, SplittableRandom random) {
+    long t = System.nanoTime();
+    for (int i = 0; i < updates; i++) {
+      Vehicle v = vehicles.get(random.nextInt(vehicles.size()));
+      v.setMileage(v.getMileage() + 1 + random.nextInt(500));
+    }
+    return (double) (System.nanoTime() - t) / updates;
+  }
+
+  private static Vehicle vehicle(int i, SplittableRandom random) {
+    int year = 2000 + random.nextInt(25);
+    switch (i % 4) {
+      case 0:
+        return new Car(i, "C-" + i, "Toyota", "Corolla", year, 5, FuelType.GASOLINE, random.nextInt(200_000));
+      case 1:
+        return new Truck(i, "T-" + i, "Volvo", "FH16", year, 20_000, 3, random.nextInt(400_000), 16);
+      case 2:
+        return new Bus(i, "B-" + i, "Mercedes-Benz", "Citaro", year, 50, ServiceType.CITY, random.nextInt(300_000), 18);
+      default:
+        return new Motorcycle(i, "M-" + i, "Yamaha", "MT-07", year, 689, random.nextInt(50_000));
+    }
+  }
+}
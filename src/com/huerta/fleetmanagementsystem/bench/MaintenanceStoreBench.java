@@ -0,0 +1,133 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceHistory;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecordStore;
+
+/**
+ * Compares garbage-collection cost of maintenance history kept as heap
+ * objects (the previous layout: a record object with a {@link LocalDate},
+ * an enum and its own {@link String}) with the off-heap
+ * {@link MaintenanceRecordStore}.
+ *
+ * <p>For each layout the same number of records is spread over the
+ * vehicles' histories and kept live. The benchmark then reports heap in
+ * use, the pause of a full collection, and the collector time spent while
+ * the application allocates short-lived garbage on top of the history.</p>
+ *
+ * <pre>
+ * java ... bench.MaintenanceStoreBench [records=2000000] [vehicles=10000] [churnMiB=2048]
+ * </pre>
+ */
+public final class MaintenanceStoreBench {
+
+  private static final String[] DESCRIPTIONS = {
+    "Oil change and filter replacement", "Brake pad replacement", "Tyre rotation", "Annual inspection",
+  };
+
+  private static final LocalDate BASE_DATE = LocalDate.of(2020, 1, 1);
+
+  private static volatile Object sink;
+
+  private MaintenanceStoreBench() {
+  }
+
+  /** The former on-heap record layout. */
+  private record HeapRecord(LocalDate date, MaintenanceType type, String description, double cost) {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int records = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int vehicles = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+    int churn = args.length > 2 ? Integer.parseInt(args[2]) : 2048;
+
+    System.out.printf("%,d records over %,d vehicles, %,d MiB of churn%n", records, vehicles, churn);
+    System.out.printf("%-10s %10s %14s %12s %14s %10s%n",
+        "layout", "heap MiB", "off-heap MiB", "full GC ms", "churn GC ms", "GCs");
+
+    measure("heap", churn, heapHistories(records, vehicles), 0);
+    MaintenanceRecordStore store = new MaintenanceRecordStore();
+    measure("off-heap", churn, storeHistories(store, records, vehicles), store.offHeapBytes());
+  }
+
+  private static Object heapHistories(int records, int vehicles) {
+    List<List<HeapRecord>> histories = new ArrayList<>(vehicles);
+    for (int v = 0; v < vehicles; v++) {
+      histories.add(new ArrayList<>());
+    }
+    for (int i = 0; i < records; i++) {
+      histories.get(i % vehicles).add(new HeapRecord(date(i), type(i), description(i), cost(i)));
+    }
+    return histories;
+  }
+
+  private static Object storeHistories(MaintenanceRecordStore store, int records, int vehicles) {
+    List<MaintenanceHistory> histories = new ArrayList<>(vehicles);
+    for (int v = 0; v < vehicles; v++) {
+      histories.add(new MaintenanceHistory());
+    }
+    for (int i = 0; i < records; i++) {
+      histories.get(i % vehicles).add(new MaintenanceRecord(store, date(i), type(i), description(i), cost(i)));
+    }
+    return histories;
+  }
+
+  private static LocalDate date(int i) {
+    return BASE_DATE.plusDays(i % 2000);
+  }
+
+  private static MaintenanceType type(int i) {
+    return MaintenanceType.values()[i & 1];
+  }
+
+  private static String description(int i) {
+    return new String(DESCRIPTIONS[i & 3].toCharArray()); // own bytes, as when parsed from input
+  }
+
+  private static double cost(int i) {
+    return 100 + i % 500;
+  }
+
+  private static void measure(String layout, int churnMiB, Object live, long offHeapBytes) {
+    System.gc();
+    Runtime rt = Runtime.getRuntime();
+    long heap = rt.totalMemory() - rt.freeMemory();
+    long full = Long.MAX_VALUE;
+    for (int r = 0; r < 3; r++) {
+      long t = System.nanoTime();
+      System.gc();
+      full = Math.min(full, System.nanoTime() - t);
+    }
+    long[] before = gcTotals();
+    for (long allocated = 0; allocated < (long) churnMiB << 20; allocated += 1024) {
+      sink = new byte[1024 - 16];
+    }
+    long[] after = gcTotals();
+    System.out.printf("%-10s %,10d %,14d %12.1f %,14d %,10d%n", layout, heap >> 20, offHeapBytes >> 20,
+        full / 1e6, after[0] - before[0], after[1] - before[1]);
+    Reference.reachabilityFence(live);
+  }
+
+  private static long[] gcTotals() {
+    long millis = 0;
+    long count = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      millis += Math.max(0, gc.getCollectionTime());
+      count += Math.max(0, gc.getCollectionCount());
+    }
+    return new long[] { millis, count };
+  }
+}
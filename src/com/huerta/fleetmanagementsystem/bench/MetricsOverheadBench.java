@@ -0,0 +1,73 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import com.huerta.fleetmanagementsystem.metrics.FleetMetrics;
+import com.huerta.fleetmanagementsystem.metrics.OperationStats;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Measures what the metrics layer adds to a cheap service call
+ * ({@link FleetService#findVehicle(long)}): calling the fleet directly,
+ * through the service with metrics disabled, and with metrics enabled.
+ *
+ * <pre>
+ * java ... bench.MetricsOverheadBench [calls=20000000] [rounds=5]
+ * </pre>
+ */
+public final class MetricsOverheadBench {
+
+  private static final int VEHICLES = 1024;
+
+  private MetricsOverheadBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int calls = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+    Fleet fleet = new Fleet();
+    for (int i = 0; i < VEHICLES; i++) {
+      fleet.addVehicle(new Car(i, "M-" + i, "Make", "Model", 2022, 5, FuelType.GASOLINE, 0));
+    }
+    FleetMetrics metrics = new FleetMetrics(false);
+    FleetService service = new FleetService(fleet, null, metrics, null);
+
+    long sink = 0;
+    for (int r = 0; r < rounds; r++) {
+      long t0 = System.nanoTime();
+      for (int i = 0; i < calls; i++) {
+        sink += fleet.findVehicle(i & (VEHICLES - 1)).getYear();
+      }
+      long direct = System.nanoTime() - t0;
+
+      metrics.setEnabled(false);
+      t0 = System.nanoTime();
+      for (int i = 0; i < calls; i++) {
+        sink += service.findVehicle(i & (VEHICLES - 1)).getYear();
+      }
+      long disabled = System.nanoTime() - t0;
+
+      metrics.setEnabled(true);
+      t0 = System.nanoTime();
+      for (int i = 0; i < calls; i++) {
+        sink += service.findVehicle(i & (VEHICLES - 1)).getYear();
+      }
+      long enabled = System.nanoTime() - t0;
+
+      System.out.printf("round %d: direct %.1f ns, disabled %.1f ns, enabled %.1f ns per call%n",
+          r + 1, (double) direct / calls, (double) disabled / calls, (double) enabled / calls);
+    }
+    for (OperationStats s : metrics.snapshot()) {
+      System.out.printf("%s: %,d calls, p50 %.2f us, p99 %.2f us, p99.9 %.2f us%n",
+          s.operation(), s.count(), s.p50Micros(), s.p99Micros(), s.p999Micros());
+    }
+    System.out.println("(checksum " + sink + ")");
+  }
+}
@@ -0,0 +1,99 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.fleet.PersistentFleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Compares a "what-if" scenario — drop 10% of the trucks and recompute the
+ * operating cost — on a copied {@link Fleet} and on a forked
+ * {@link PersistentFleet}.
+ *
+ * <p>A quarter of the vehicles are trucks. Each round derives a fresh
+ * scenario from the same base; the copy is what the
+ * {@code Fleet(List, List)} constructor costs today, the fork only
+ * allocates the trie paths of the removed vehicles. Allocation is read
+ * from the HotSpot per-thread allocation counter.</p>
+ *
+ * <pre>
+ * java ... bench.PersistentFleetBench [vehicles=200000] [rounds=20]
+ * </pre>
+ */
+public final class PersistentFleetBench {
+
+  private PersistentFleetBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    List<Vehicle> vehicles = new ArrayList<>(count);
+    List<Long> doomed = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      if (i % 4 == 0) {
+        vehicles.add(new Truck(i, String.format("W-%07d", i), "Make", "Model", 2020, 10, 3, 0, 12));
+        if (i % 40 == 0) {
+          doomed.add((long) i);
+        }
+      } else {
+        vehicles.add(new Car(i, String.format("W-%07d", i), "Make", "Model", 2020, 5, FuelType.DIESEL, 0));
+      }
+    }
+    Fleet base = new Fleet(vehicles, null);
+    PersistentFleet persistentBase = PersistentFleet.of(base);
+
+    System.out.printf("%,d vehicles, removing %,d trucks per scenario, best of %d rounds%n",
+        count, doomed.size(), rounds);
+    System.out.printf("%-18s %12s %14s%n", "scenario", "ms", "allocated KiB");
+    long[] copy = { Long.MAX_VALUE, Long.MAX_VALUE };
+    long[] fork = { Long.MAX_VALUE, Long.MAX_VALUE };
+    double copyCost = 0;
+    double forkCost = 0;
+    for (int r = 0; r < rounds; r++) {
+      long bytes = allocatedBytes();
+      long t = System.nanoTime();
+      Fleet scenario = new Fleet(base.getVehicles(), base.getDrivers());
+      for (Long id : doomed) {
+        scenario.removeVehicle(scenario.findVehicle(id));
+      }
+      min(copy, System.nanoTime() - t, allocatedBytes() - bytes);
+      copyCost = scenario.calculateTotalOperatingCost();
+
+      bytes = allocatedBytes();
+      t = System.nanoTime();
+      PersistentFleet version = persistentBase;
+      for (Long id : doomed) {
+        version = version.withoutVehicle(id);
+      }
+      min(fork, System.nanoTime() - t, allocatedBytes() - bytes);
+      forkCost = version.calculateTotalOperatingCost();
+    }
+    System.out.printf("%-18s %12.2f %,14d%n", "Fleet copy", copy[0] / 1e6, copy[1] / 1024);
+    System.out.printf("%-18s %12.2f %,14d%n", "PersistentFleet", fork[0] / 1e6, fork[1] / 1024);
+    System.out.printf("Operating cost %.2f vs %.2f, base keeps %,d vehicles%n",
+        copyCost, forkCost, persistentBase.vehicleCount());
+  }
+
+  private static void min(long[] best, long nanos, long bytes) {
+    best[0] = Math.min(best[0], nanos);
+    best[1] = Math.min(best[1], bytes);
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getCurrentThreadAllocatedBytes();
+  }
+}
@@ -0,0 +1,175 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.huerta.fleetmanagementsystem.metrics.LatencyHistogram;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.replication.FleetFollower;
+import com.huerta.fleetmanagementsystem.replication.FleetLeader;
+
+/**
+ * Runs a {@link FleetLeader} and several {@link FleetFollower}s on
+ * localhost in one JVM, drives a paced write load into the leader and
+ * reports replication lag.
+ *
+ * <p>Each writer thread owns a disjoint range of vehicles and mixes
+ * mileage updates (60%), driver assignments and releases (20%),
+ * maintenance registrations (10%) and vehicle additions and removals
+ * (10%). Lag is measured per frame, from the leader logging its first
+ * operation to a follower having applied it. At the end every follower
+ * must reach the leader's sequence and hold the same state.</p>
+ *
+ * <pre>
+ * java ... bench.ReplicationBench [followers=2] [seconds=5] [ops/s=20000] [vehicles=20000] [writers=2]
+ * </pre>
+ */
+public final class ReplicationBench {
+
+  private ReplicationBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   * @throws Exception if the leader cannot be bound or a thread is interrupted
+   */
+  public static void main(String[] args) throws Exception {
+    int followers = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    int rate = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+    int vehicles = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+    int writers = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+
+    Fleet fleet = new Fleet();
+    List<Vehicle> initial = new ArrayList<>(vehicles);
+    for (int i = 0; i < vehicles; i++) {
+      initial.add(vehicle(i));
+    }
+    fleet.addVehicles(initial);
+    List<Driver> drivers = new ArrayList<>();
+    for (int i = 0; i < vehicles / 4; i++) {
+      drivers.add(new Driver("Driver " + i, "R-" + i, i % 20));
+    }
+    fleet.addDrivers(drivers);
+
+    try (FleetLeader leader = new FleetLeader(fleet, 0)) {
+      leader.start();
+      List<FleetFollower> replicas = new ArrayList<>();
+      long t = System.nanoTime();
+      for (int f = 0; f < followers; f++) {
+        FleetFollower follower = new FleetFollower("localhost", leader.getPort(), new Fleet());
+        follower.start();
+        replicas.add(follower);
+      }
+      for (FleetFollower follower : replicas) {
+        follower.awaitSequence(leader.sequence(), 30_000);
+      }
+      System.out.printf("%,d vehicles, %d followers synced from snapshot in %.1f ms%n",
+          vehicles, followers, (System.nanoTime() - t) / 1e6);
+
+      long ops = write(fleet, drivers, writers, seconds, rate, vehicles);
+      long last = leader.sequence();
+      System.out.printf("%,d operations in %d s (%,d ops/s target), log sequence %,d%n",
+          ops, seconds, rate, last);
+
+      System.out.printf("%-10s %10s %10s %10s %10s %10s %8s%n",
+          "follower", "frames", "ops/frame", "p50 us", "p99 us", "max us", "state");
+      for (int f = 0; f < followers; f++) {
+        FleetFollower follower = replicas.get(f);
+        boolean caughtUp = follower.awaitSequence(last, 30_000);
+        LatencyHistogram lag = follower.getLag();
+        boolean same = caughtUp && fingerprint(fleet).equals(fingerprint(follower.getFleet()));
+        System.out.printf("%-10d %,10d %10.1f %10.1f %10.1f %10.1f %8s%n", f, follower.framesApplied(),
+            (double) ops / Math.max(1, follower.framesApplied()), lag.percentile(0.50) / 1e3,
+            lag.percentile(0.99) / 1e3, lag.max() / 1e3, same ? "equal" : "DIVERGED");
+        follower.close();
+      }
+    }
+  }
+
+  private static Vehicle vehicle(long id) {
+    String plate = String.format("R-%07d", id);
+    return id % 4 == 0
+        ? new Truck(id, plate, "Make", "Model", 2020, 10, 3, 0, 12)
+        : new Car(id, plate, "Make", "Model", 2020, 5, FuelType.DIESEL, 0);
+  }
+
+  private static long write(Fleet fleet, List<Driver> drivers, int writers, int seconds, int rate, int vehicles)
+      throws InterruptedException {
+    LongAdder total = new LongAdder();
+    long start = System.nanoTime();
+    long end = start + TimeUnit.SECONDS.toNanos(seconds);
+    long interval = TimeUnit.SECONDS.toNanos(1) * writers / rate;
+    List<Thread> threads = new ArrayList<>();
+    for (int w = 0; w < writers; w++) {
+      int first = vehicles * w / writers;
+      int last = vehicles * (w + 1) / writers;
+      threads.add(Thread.ofPlatform().start(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long next = start;
+        long n = 0;
+        while (next < end) {
+          long now = System.nanoTime();
+          if (now < next) {
+            LockSupport.parkNanos(next - now);
+          }
+          next += interval;
+          Vehicle v = fleet.findVehicle(random.nextInt(first, last));
+          int roll = random.nextInt(10);
+          if (v == null) {
+            continue; // removed; re-added below eventually
+          }
+          if (roll < 6) {
+            v.setMileage(v.getMileage() + random.nextInt(1, 50));
+          } else if (roll < 8) {
+            if (v.getDriver() == null) {
+              fleet.assignDriver(v, drivers.get(random.nextInt(drivers.size())));
+            } else {
+              fleet.releaseDriver(v);
+            }
+          } else if (roll < 9) {
+            fleet.registerMaintenance(v, new MaintenanceRecord(LocalDate.now(),
+                MaintenanceType.PREVENTIVE, "Service", random.nextInt(50, 500)));
+          } else {
+            fleet.removeVehicle(v);
+            fleet.addVehicle(vehicle(v.getId()));
+          }
+          n++;
+        }
+        total.add(n);
+      }));
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    return total.sum();
+  }
+
+  /** Summarizes the state a follower must reproduce, independent of member order. */
+  private static String fingerprint(Fleet fleet) {
+    long mileage = 0;
+    long assigned = 0;
+    long records = 0;
+    for (Vehicle v : fleet.getVehicles()) {
+      mileage += Math.round(v.getMileage()) * (v.getId() % 7 + 1);
+      assigned += v.getDriver() == null ? 0 : v.getDriver().getLicenseNumber().hashCode();
+      records += v.getMaintenanceHistory().size();
+    }
+    return fleet.vehicleCount() + "/" + fleet.getDrivers().size() + "/" + mileage + "/" + assigned + "/"
+        + records + "/" + Math.round(fleet.calculateTotalOperatingCost());
+  }
+}
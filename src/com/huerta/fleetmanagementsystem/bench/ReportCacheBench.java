@@ -0,0 +1,76 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Times {@link Fleet#generateFleetReports()} when only part of the fleet
+ * changed since the previous run, which is what the memoized
+ * {@link Vehicle#generateReport()} is for.
+ *
+ * <p>Before each run the given share of vehicles is changed: half of them
+ * get a new year, the other half have their driver renamed. Both must be
+ * re-rendered; every other vehicle reuses its last report. The 100 % row
+ * renders every vehicle, as every run did before reports were cached.
+ * Mileage changes, which reports do not show, are applied to every vehicle
+ * before every run.</p>
+ *
+ * <pre>
+ * java ... bench.ReportCacheBench [vehicles=200000] [runs=10]
+ * </pre>
+ */
+public final class ReportCacheBench {
+
+  private ReportCacheBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   */
+  public static void main(String[] args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+    Fleet fleet = new Fleet();
+    for (int i = 0; i < count; i++) {
+      Car car = new Car(i, "R-" + i, "Toyota", "Corolla", 2015 + i % 8, 5, FuelType.HYBRID, i);
+      fleet.addVehicle(car);
+      Driver driver = new Driver("Driver " + i, "L-" + i, 5);
+      fleet.addDriver(driver);
+      fleet.assignDriver(car, driver);
+    }
+    List<Vehicle> vehicles = fleet.getVehicles();
+    fleet.generateFleetReports();
+
+    System.out.printf("%,d vehicles, best of %d runs%n", count, runs);
+    System.out.printf("%-10s %12s %14s%n", "changed", "reports ms", "ns/vehicle");
+    for (int percent : new int[] { 100, 10, 1, 0 }) {
+      int step = percent == 0 ? 1 : 100 / percent;
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < runs; r++) {
+        for (int i = 0; i < count; i++) {
+          Vehicle v = vehicles.get(i);
+          v.setMileage(v.getMileage() + 1);
+          if (percent > 0 && i % step == 0) {
+            if ((i / step & 1) == 0) {
+              v.setYear(v.getYear() == 2020 ? 2021 : 2020);
+            } else {
+              v.getDriver().setFullName(r % 2 == 0 ? "Renamed " + i : "Driver " + i);
+            }
+          }
+        }
+        long t = System.nanoTime();
+        fleet.generateFleetReports();
+        best = Math.min(best, System.nanoTime() - t);
+      }
+      System.out.printf("%-10s %12.2f %14.1f%n", percent + " %", best / 1e6, (double) best / count);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.ShardedFleet;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Compares a single-shard {@link ShardedFleet} (one lock, as a plain
+ * {@code Fleet}) with a multi-shard one under a mixed workload.
+ *
+ * <p>Every worker thread loops over random vehicles: half of the
+ * operations are id lookups, half assign or release a driver under the
+ * shard's write lock. Afterwards the scatter-gather total operating cost
+ * is timed on the same fleet. Gains need as many free cores as threads;
+ * on a single core both layouts perform the same.</p>
+ *
+ * <pre>
+ * java ... bench.ShardedFleetBench [shards=8] [threads=cores] [seconds=5] [vehicles=100000]
+ * </pre>
+ */
+public final class ShardedFleetBench {
+
+  private ShardedFleetBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   * @throws InterruptedException if interrupted while waiting for workers
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int shards = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    int vehicles = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+
+    System.out.printf("%,d vehicles, %d threads, %d s per layout, %d cores%n",
+        vehicles, threads, seconds, Runtime.getRuntime().availableProcessors());
+    System.out.printf("%-8s %16s %18s%n", "shards", "ops/s", "total cost ms");
+    for (int layout : new int[] { 1, shards }) {
+      ShardedFleet fleet = populate(layout, vehicles);
+      double opsPerSecond = run(fleet, threads, seconds, vehicles);
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < 5; r++) {
+        long t = System.nanoTime();
+        fleet.calculateTotalOperatingCost();
+        best = Math.min(best, System.nanoTime() - t);
+      }
+      System.out.printf("%-8d %,16.0f %18.2f%n", layout, opsPerSecond, best / 1e6);
+    }
+  }
+
+  private static ShardedFleet populate(int shards, int count) {
+    ShardedFleet fleet = new ShardedFleet(shards);
+    List<Vehicle> vehicles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String plate = String.format("S-%07d", i);
+      vehicles.add(i % 4 == 0
+          ? new Truck(i, plate, "Make", "Model", 2020, 10, 3, 0, 12)
+          : new Car(i, plate, "Make", "Model", 2020, 5, FuelType.DIESEL, 0));
+    }
+    fleet.addVehicles(vehicles);
+    return fleet;
+  }
+
+  private static double run(ShardedFleet fleet, int threads, int seconds, int vehicles)
+      throws InterruptedException {
+    LongAdder ops = new LongAdder();
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Driver driver = new Driver("Worker " + t, "W-" + t, 10);
+      Thread worker = new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long n = 0;
+        while ((n & 1023) != 0 || System.nanoTime() < deadline) {
+          Vehicle v = fleet.findVehicle(random.nextInt(vehicles));
+          if ((n & 1) == 0) {
+            if (v.getDriver() == null) {
+              fleet.assignDriver(v, driver);
+            } else {
+              fleet.releaseDriver(v);
+            }
+          }
+          n++;
+        }
+        ops.add(n);
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    long start = System.nanoTime();
+    for (Thread w : workers) {
+      w.join();
+    }
+    return ops.sum() / ((System.nanoTime() - start) / 1e9);
+  }
+}
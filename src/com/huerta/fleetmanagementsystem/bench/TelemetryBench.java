@@ -0,0 +1,97 @@
+package com.huerta.fleetmanagementsystem.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.telemetry.CostAggregate;
+import com.huerta.fleetmanagementsystem.telemetry.IngestStats;
+import com.huerta.fleetmanagementsystem.telemetry.TelemetryIngestor;
+
+/**
+ * Measures sustained odometer ingestion through {@link TelemetryIngestor}.
+ *
+ * <p>Each producer thread owns a disjoint slice of the vehicles and
+ * reports ever-increasing mileages for them as fast as it can; every
+ * 100th reading is deliberately stale to exercise the monotonicity check.
+ * At the end the incrementally maintained {@link CostAggregate} is
+ * compared with a full {@link Fleet#calculateTotalOperatingCost()}.</p>
+ *
+ * <pre>
+ * java ... bench.TelemetryBench [vehicles=10000] [producers=2] [seconds=5]
+ * </pre>
+ */
+public final class TelemetryBench {
+
+  private TelemetryBench() {
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args see class documentation
+   * @throws InterruptedException if interrupted while waiting for producers
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int vehicleCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int producers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+    Fleet fleet = new Fleet();
+    List<Vehicle> vehicles = new ArrayList<>(vehicleCount);
+    for (int i = 0; i < vehicleCount; i++) {
+      vehicles.add(new Car(i, String.format("T-%06d", i), "Make", "Model", 2022, 5, FuelType.DIESEL, 0));
+    }
+    fleet.addVehicles(vehicles);
+    CostAggregate costs = CostAggregate.attach(fleet);
+
+    TelemetryIngestor ingestor = new TelemetryIngestor(fleet);
+    ingestor.start();
+
+    LongAdder fullRetries = new LongAdder();
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      int first = p;
+      Thread t = new Thread(() -> {
+        double[] odometer = new double[vehicleCount];
+        long n = 0;
+        while ((n & 1023) != 0 || System.nanoTime() < deadline) {
+          int id = first + (int) ((n * producers) % vehicleCount);
+          if (id >= vehicleCount) {
+            id = first;
+          }
+          double reading = n % 100 == 99 ? odometer[id] - 1 : (odometer[id] += 1.5);
+          while (!ingestor.submit(id, reading)) {
+            fullRetries.increment();
+            Thread.yield();
+          }
+          n++;
+        }
+      }, "producer-" + p);
+      threads.add(t);
+      t.start();
+    }
+    long start = System.nanoTime();
+    for (Thread t : threads) {
+      t.join();
+    }
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    ingestor.close();
+
+    IngestStats s = ingestor.stats();
+    System.out.printf("%d vehicles, %d producers, %.1f s%n", vehicleCount, producers, elapsed);
+    System.out.printf("Ingested %,d readings -> %,.0f readings/s (%,d full-buffer retries)%n",
+        s.accepted(), s.accepted() / elapsed, fullRetries.sum());
+    System.out.printf("Applied %,d, duplicates %,d, non-monotonic %,d, invalid %,d, unknown %,d%n",
+        s.applied(), s.duplicates(), s.nonMonotonic(), s.invalid(), s.unknownVehicle());
+    System.out.printf("%,d batches, %,d vehicle writes after coalescing%n", s.batches(), s.vehicleUpdates());
+    System.out.printf("Lag: mean %.1f us, max %,d us%n", s.meanLagMicros(), s.maxLagMicros());
+    System.out.printf("Cost aggregate %.2f vs full recomputation %.2f%n",
+        costs.total(), fleet.calculateTotalOperatingCost());
+  }
+}
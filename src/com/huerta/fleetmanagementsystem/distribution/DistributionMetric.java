@@ -0,0 +1,61 @@
+package com.huerta.fleetmanagementsystem.distribution;
+
+import java.util.Locale;
+
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Per-vehicle quantities whose distribution {@link FleetDistributions}
+ * tracks. Maintenance costs are tracked per record instead, by
+ * {@link com.huerta.fleetmanagementsystem.model.enums.MaintenanceType}.
+ */
+public enum DistributionMetric {
+
+  /** Odometer reading, in kilometres. */
+  MILEAGE,
+  /** {@link Vehicle#calculateOperatingCost()}; depends on the installed cost model. */
+  OPERATING_COST,
+  /** Years since the model year; depends on the current year. */
+  AGE;
+
+  /**
+   * Computes the value of a vehicle.
+   *
+   * @param v           the vehicle
+   * @param currentYear the year ages are counted to
+   * @return its value, never negative
+   */
+  public double value(Vehicle v, int currentYear) {
+    switch (this) {
+      case MILEAGE:
+        return v.getMileage();
+      case OPERATING_COST:
+        return Math.max(0, v.calculateOperatingCost());
+      case AGE:
+        return Math.max(0, currentYear - v.getYear());
+      default:
+        throw new AssertionError(this);
+    }
+  }
+
+  /**
+   * Parses a metric name as used in URLs and on the command line
+   * ({@code mileage}, {@code operating-cost}, {@code age}).
+   *
+   * @param name the name, case-insensitive; {@code -} and {@code _} are equivalent
+   * @return the metric
+   * @throws IllegalArgumentException if there is no such metric
+   */
+  public static DistributionMetric parse(String name) {
+    try {
+      return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown distribution metric: " + name);
+    }
+  }
+
+  /** @return the name in URL form, e.g. {@code operating-cost} */
+  public String key() {
+    return name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+}
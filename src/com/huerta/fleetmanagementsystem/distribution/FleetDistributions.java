@@ -0,0 +1,349 @@
+package com.huerta.fleetmanagementsystem.distribution;
+
+import java.time.Year;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.fleet.ShardedFleet;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Distributions of fleet metrics kept current from {@link FleetEvent}s,
+ * for dashboards that show percentiles.
+ *
+ * <p>For every vehicle type (e.g. {@code Truck}) there is one
+ * {@link QuantileSketch} per {@link DistributionMetric} and one per
+ * {@link MaintenanceType} holding the costs of that type's records. When
+ * a vehicle is added, updated or removed, or gains a record, only its own
+ * values are added to or removed from the sketches of its type, so no
+ * query ever sorts the fleet.</p>
+ *
+ * <p>Over a {@link ShardedFleet} every shard gets its own part, subscribed
+ * to that shard alone, so shards never wait for each other; a query merges
+ * the parts' sketches, which gives the same answer as a single sketch
+ * over the whole fleet. A query for all vehicle types merges the types the
+ * same way.</p>
+ *
+ * <p>The sketches' memory is bounded, but removing a vehicle's values
+ * exactly requires remembering them: a few numbers per vehicle plus one
+ * per maintenance record. Records are counted with the type and cost they
+ * had when registered. Operating cost depends on the installed
+ * {@link CostModel} and age on the current year; when either has changed,
+ * the next query recomputes that metric from the vehicles already known.</p>
+ */
+public class FleetDistributions {
+
+  private static final DistributionMetric[] METRICS = DistributionMetric.values();
+  private static final MaintenanceType[] MAINTENANCE_TYPES = MaintenanceType.values();
+
+  private final Fleet[] fleets;
+  private final Part[] parts;
+
+  private FleetDistributions(Fleet[] fleets) {
+    this.fleets = fleets;
+    this.parts = new Part[fleets.length];
+  }
+
+  /**
+   * Creates distributions over {@code fleet} and subscribes them.
+   *
+   * @param fleet the fleet to follow
+   * @return the attached distributions
+   */
+  public static FleetDistributions attach(Fleet fleet) {
+    return attach(new Fleet[] { fleet });
+  }
+
+  /**
+   * Creates distributions over every shard of {@code fleet} and
+   * subscribes one part to each shard.
+   *
+   * @param fleet the sharded fleet to follow
+   * @return the attached distributions
+   */
+  public static FleetDistributions attach(ShardedFleet fleet) {
+    Fleet[] shards = new Fleet[fleet.shardCount()];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = fleet.shard(i);
+    }
+    return attach(shards);
+  }
+
+  private static FleetDistributions attach(Fleet[] fleets) {
+    FleetDistributions distributions = new FleetDistributions(fleets);
+    for (int i = 0; i < fleets.length; i++) {
+      Part part = new Part();
+      distributions.parts[i] = part;
+      fleets[i].subscribeWithSnapshot(part, (vehicles, drivers) -> part.addAll(vehicles));
+    }
+    return distributions;
+  }
+
+  /** Unsubscribes from the fleet; the last distributions remain readable. */
+  public void detach() {
+    for (int i = 0; i < fleets.length; i++) {
+      fleets[i].unsubscribe(parts[i]);
+    }
+  }
+
+  /** @return simple class names of the vehicle types seen, sorted */
+  public SortedSet<String> vehicleTypes() {
+    SortedSet<String> types = new TreeSet<>();
+    for (Part part : parts) {
+      part.collectTypes(types);
+    }
+    return types;
+  }
+
+  /**
+   * Returns the distribution of a metric.
+   *
+   * @param metric      the metric
+   * @param vehicleType simple class name such as {@code Truck}, or
+   *                    {@code null} for every type
+   * @return a new sketch; empty if the type has no vehicles
+   */
+  public QuantileSketch sketch(DistributionMetric metric, String vehicleType) {
+    QuantileSketch merged = new QuantileSketch();
+    for (Part part : parts) {
+      part.mergeInto(merged, metric.ordinal(), vehicleType);
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the distribution of the costs of one kind of maintenance.
+   *
+   * @param type        the kind of maintenance
+   * @param vehicleType simple class name such as {@code Truck}, or
+   *                    {@code null} for every type
+   * @return a new sketch; empty if there are no such records
+   */
+  public QuantileSketch maintenanceSketch(MaintenanceType type, String vehicleType) {
+    QuantileSketch merged = new QuantileSketch();
+    for (Part part : parts) {
+      part.mergeInto(merged, METRICS.length + type.ordinal(), vehicleType);
+    }
+    return merged;
+  }
+
+  /**
+   * Returns p50, p90 and p99 of a metric; see {@link #sketch}.
+   *
+   * @param metric      the metric
+   * @param vehicleType vehicle type, or {@code null} for every type
+   * @return the percentiles
+   */
+  public Percentiles percentiles(DistributionMetric metric, String vehicleType) {
+    return Percentiles.of(sketch(metric, vehicleType));
+  }
+
+  /**
+   * Returns p50, p90 and p99 of a kind of maintenance; see
+   * {@link #maintenanceSketch}.
+   *
+   * @param type        the kind of maintenance
+   * @param vehicleType vehicle type, or {@code null} for every type
+   * @return the percentiles
+   */
+  public Percentiles maintenancePercentiles(MaintenanceType type, String vehicleType) {
+    return Percentiles.of(maintenanceSketch(type, vehicleType));
+  }
+
+  /**
+   * Sketches of one vehicle type: the metrics by ordinal, then the
+   * maintenance types by ordinal.
+   */
+  private static final class Group {
+    final QuantileSketch[] sketches = new QuantileSketch[METRICS.length + MAINTENANCE_TYPES.length];
+
+    Group() {
+      for (int i = 0; i < sketches.length; i++) {
+        sketches[i] = new QuantileSketch();
+      }
+    }
+
+    QuantileSketch maintenance(MaintenanceType type) {
+      return sketches[METRICS.length + type.ordinal()];
+    }
+  }
+
+  /** Values of one vehicle as they were added to its group. */
+  private static final class State {
+    final Group group;
+    final double[] values = new double[METRICS.length];
+    MaintenanceType[] recordTypes;
+    double[] recordCosts;
+    int records;
+
+    State(Group group) {
+      this.group = group;
+    }
+  }
+
+  /** The distributions of one fleet or shard. */
+  private static final class Part implements FleetChangeListener {
+
+    private final Map<Vehicle, State> vehicles = new IdentityHashMap<>();
+    private final Map<String, Group> groups = new HashMap<>();
+
+    /** Model the operating costs were computed with. */
+    private CostModel model = CostModel.current();
+    /** Year the ages were computed in. */
+    private int year = Year.now().getValue();
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void fleetChanged(List<FleetEvent> events) {
+      for (FleetEvent e : events) {
+        switch (e.type()) {
+          case VEHICLE_ADDED:
+          case VEHICLE_UPDATED:
+            refresh(e.vehicle());
+            break;
+          case MAINTENANCE_REGISTERED: {
+            State state = vehicles.get(e.vehicle());
+            if (state != null) {
+              addRecords(e.vehicle(), state);
+            }
+            break;
+          }
+          case VEHICLE_REMOVED:
+            remove(e.vehicle());
+            break;
+          default:
+            break; // drivers do not affect any distribution
+        }
+      }
+    }
+
+    /** Adds the subscription snapshot; runs under the fleet lock. */
+    synchronized void addAll(List<Vehicle> snapshot) {
+      for (Vehicle v : snapshot) {
+        refresh(v);
+      }
+    }
+
+    synchronized void collectTypes(SortedSet<String> types) {
+      for (Map.Entry<String, Group> e : groups.entrySet()) {
+        if (!e.getValue().sketches[0].isEmpty()) {
+          types.add(e.getKey());
+        }
+      }
+    }
+
+    /** Merges sketch {@code index} of one group, or of every group, into {@code target}. */
+    synchronized void mergeInto(QuantileSketch target, int index, String vehicleType) {
+      refreshStale();
+      if (vehicleType != null) {
+        Group group = groups.get(vehicleType);
+        if (group != null) {
+          target.merge(group.sketches[index]);
+        }
+        return;
+      }
+      for (Group group : groups.values()) {
+        target.merge(group.sketches[index]);
+      }
+    }
+
+    /** Recomputes the values of a vehicle, moving only those that changed, and adds new records. */
+    private void refresh(Vehicle v) {
+      State state = vehicles.get(v);
+      boolean added = state == null;
+      if (added) {
+        state = new State(groups.computeIfAbsent(v.getClass().getSimpleName(), k -> new Group()));
+        vehicles.put(v, state);
+      }
+      for (int i = 0; i < METRICS.length; i++) {
+        double value = METRICS[i].value(v, year);
+        if (added) {
+          state.group.sketches[i].add(value);
+        } else if (value != state.values[i]) {
+          state.group.sketches[i].remove(state.values[i]);
+          state.group.sketches[i].add(value);
+        } else {
+          continue;
+        }
+        state.values[i] = value;
+      }
+      addRecords(v, state);
+    }
+
+    /**
+     * Adds the records appended to the vehicle's history since the last
+     * call; histories only grow, so a record is never counted twice.
+     */
+    private void addRecords(Vehicle v, State state) {
+      List<MaintenanceRecord> history = v.getMaintenanceHistory();
+      int n = history.size();
+      if (n <= state.records) {
+        return;
+      }
+      if (state.recordTypes == null || state.recordTypes.length < n) {
+        int capacity = Math.max(n, state.records * 2);
+        state.recordTypes = state.recordTypes == null ? new MaintenanceType[capacity]
+            : Arrays.copyOf(state.recordTypes, capacity);
+        state.recordCosts = state.recordCosts == null ? new double[capacity]
+            : Arrays.copyOf(state.recordCosts, capacity);
+      }
+      for (int i = state.records; i < n; i++) {
+        MaintenanceRecord r = history.get(i);
+        state.recordTypes[i] = r.getType();
+        state.recordCosts[i] = r.getCost();
+        state.group.maintenance(r.getType()).add(r.getCost());
+      }
+      state.records = n;
+    }
+
+    private void remove(Vehicle v) {
+      State state = vehicles.remove(v);
+      if (state == null) {
+        return;
+      }
+      for (int i = 0; i < METRICS.length; i++) {
+        state.group.sketches[i].remove(state.values[i]);
+      }
+      for (int i = 0; i < state.records; i++) {
+        state.group.maintenance(state.recordTypes[i]).remove(state.recordCosts[i]);
+      }
+    }
+
+    /** Recomputes operating costs and ages if the cost model or the year changed. */
+    private void refreshStale() {
+      if (model != CostModel.current()) {
+        model = CostModel.current();
+        recompute(DistributionMetric.OPERATING_COST);
+      }
+      int now = Year.now().getValue();
+      if (year != now) {
+        year = now;
+        recompute(DistributionMetric.AGE);
+      }
+    }
+
+    private void recompute(DistributionMetric metric) {
+      int i = metric.ordinal();
+      for (Group group : groups.values()) {
+        group.sketches[i].clear();
+      }
+      for (Map.Entry<Vehicle, State> e : vehicles.entrySet()) {
+        State state = e.getValue();
+        state.values[i] = metric.value(e.getKey(), year);
+        state.group.sketches[i].add(state.values[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.huerta.fleetmanagementsystem.distribution;
+
+/**
+ * The percentiles a dashboard shows for one distribution.
+ *
+ * @param count number of values
+ * @param p50   median, {@code NaN} if there are no values
+ * @param p90   90th percentile, {@code NaN} if there are no values
+ * @param p99   99th percentile, {@code NaN} if there are no values
+ */
+public record Percentiles(long count, double p50, double p90, double p99) {
+
+  /**
+   * Reads the percentiles of a sketch.
+   *
+   * @param sketch the sketch
+   * @return its percentiles
+   */
+  public static Percentiles of(QuantileSketch sketch) {
+    return new Percentiles(sketch.count(), sketch.quantile(0.50), sketch.quantile(0.90), sketch.quantile(0.99));
+  }
+}
@@ -0,0 +1,262 @@
+package com.huerta.fleetmanagementsystem.distribution;
+
+/**
+ * Mergeable streaming quantile sketch with relative-error guarantees, in
+ * the style of DDSketch.
+ *
+ * <p>Non-negative values are counted in logarithmic buckets: bucket
+ * {@code i} holds the values in {@code (γ^(i-1), γ^i]} with
+ * {@code γ = (1 + α) / (1 - α)}, so the value reported for a quantile is
+ * within a factor {@code 1 ± α} of a value actually recorded at that rank.
+ * Values below {@value #MIN_VALUE} count as zero and values above
+ * {@value #MAX_VALUE} are clamped, so memory never exceeds about
+ * {@code ln(MAX/MIN) / α} counters (about 16 KB at 1 %) however many
+ * values are added.</p>
+ *
+ * <p>Unlike sample-based sketches (KLL, t-digest), buckets are plain
+ * counters, so a value can be {@linkplain #remove removed} again when a
+ * vehicle changes or leaves the fleet, and two sketches with the same
+ * accuracy {@linkplain #merge merge} exactly by adding their counters —
+ * merging per-shard sketches gives the same answer as one sketch over
+ * the whole fleet.</p>
+ *
+ * <p>Adding or removing a value costs one logarithm. A quantile walks
+ * the occupied buckets, a number bounded by the value range and the
+ * accuracy, not by the number of values.</p>
+ *
+ * <p>Not thread-safe; {@link FleetDistributions} guards its sketches and
+ * hands out copies.</p>
+ */
+public final class QuantileSketch {
+
+  /** Relative accuracy used by {@link #QuantileSketch()}. */
+  public static final double DEFAULT_ACCURACY = 0.01;
+
+  /** Smallest value told apart from zero. */
+  public static final double MIN_VALUE = 1e-6;
+
+  /** Largest value told apart from larger ones. */
+  public static final double MAX_VALUE = 1e12;
+
+  /** Buckets added around the first value, and at least on every growth. */
+  private static final int INITIAL_BUCKETS = 64;
+
+  private final double accuracy;
+  private final double gamma;
+  private final double logGamma;
+  private final int minIndex;
+  private final int maxIndex;
+
+  /** {@code counts[i]} counts bucket {@code offset + i}. */
+  private long[] counts = new long[0];
+  private int offset;
+  private long zeroCount;
+  private long count;
+
+  /** Creates an empty sketch with {@value #DEFAULT_ACCURACY} relative accuracy. */
+  public QuantileSketch() {
+    this(DEFAULT_ACCURACY);
+  }
+
+  /**
+   * Creates an empty sketch.
+   *
+   * @param accuracy relative accuracy {@code α}, in {@code (0, 1)}
+   * @throws IllegalArgumentException if the accuracy is out of range
+   */
+  public QuantileSketch(double accuracy) {
+    if (!(accuracy > 0 && accuracy < 1)) {
+      throw new IllegalArgumentException("Accuracy must be between 0 and 1 (exclusive): " + accuracy);
+    }
+    this.accuracy = accuracy;
+    this.gamma = (1 + accuracy) / (1 - accuracy);
+    this.logGamma = Math.log(gamma);
+    this.minIndex = bucket(MIN_VALUE);
+    this.maxIndex = bucket(MAX_VALUE);
+  }
+
+  /** @return relative accuracy {@code α} */
+  public double accuracy() {
+    return accuracy;
+  }
+
+  /** @return number of values in the sketch */
+  public long count() {
+    return count;
+  }
+
+  /** @return number of bucket counters allocated (eight bytes each) */
+  public int bucketCount() {
+    return counts.length;
+  }
+
+  /** @return {@code true} if the sketch holds no value */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Adds a value.
+   *
+   * @param value the value, not negative
+   * @throws IllegalArgumentException if the value is negative or NaN
+   */
+  public void add(double value) {
+    if (!(value >= MIN_VALUE)) {
+      checkValue(value);
+      zeroCount++;
+    } else {
+      int index = index(value);
+      ensureCapacity(index);
+      counts[index - offset]++;
+    }
+    count++;
+  }
+
+  /**
+   * Removes a value added before. A value that was never added may
+   * remove a nearby one from the same bucket, within the accuracy.
+   *
+   * @param value the value, as it was added
+   * @return {@code false} if no value of its bucket was left to remove
+   * @throws IllegalArgumentException if the value is negative or NaN
+   */
+  public boolean remove(double value) {
+    if (!(value >= MIN_VALUE)) {
+      checkValue(value);
+      if (zeroCount == 0) {
+        return false;
+      }
+      zeroCount--;
+    } else {
+      int i = index(value) - offset;
+      if (i < 0 || i >= counts.length || counts[i] == 0) {
+        return false;
+      }
+      counts[i]--;
+    }
+    count--;
+    return true;
+  }
+
+  /**
+   * Adds every value of another sketch to this one.
+   *
+   * @param other sketch with the same accuracy
+   * @throws IllegalArgumentException if the accuracies differ
+   */
+  public void merge(QuantileSketch other) {
+    if (other.gamma != gamma) {
+      throw new IllegalArgumentException("Cannot merge sketches of accuracy " + accuracy + " and "
+          + other.accuracy + ".");
+    }
+    long[] theirs = other.counts;
+    int first = -1;
+    int last = -1;
+    for (int i = 0; i < theirs.length; i++) {
+      if (theirs[i] != 0) {
+        if (first < 0) {
+          first = i;
+        }
+        last = i;
+      }
+    }
+    if (first >= 0) {
+      ensureCapacity(other.offset + first);
+      ensureCapacity(other.offset + last);
+      for (int i = first; i <= last; i++) {
+        counts[other.offset + i - offset] += theirs[i];
+      }
+    }
+    zeroCount += other.zeroCount;
+    count += other.count;
+  }
+
+  /**
+   * Returns the value at a quantile.
+   *
+   * @param quantile fraction in {@code [0, 1]}, e.g. {@code 0.99}
+   * @return the estimated value, or {@code NaN} if the sketch is empty
+   * @throws IllegalArgumentException if the quantile is out of range
+   */
+  public double quantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+    }
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = zeroCount;
+    if (seen >= rank) {
+      return 0;
+    }
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+      }
+    }
+    throw new IllegalStateException("Bucket counts do not add up to " + count + ".");
+  }
+
+  /** @return an independent sketch with the same values */
+  public QuantileSketch copy() {
+    QuantileSketch copy = new QuantileSketch(accuracy);
+    copy.counts = counts.clone();
+    copy.offset = offset;
+    copy.zeroCount = zeroCount;
+    copy.count = count;
+    return copy;
+  }
+
+  /** Removes every value and releases the buckets. */
+  public void clear() {
+    counts = new long[0];
+    offset = 0;
+    zeroCount = 0;
+    count = 0;
+  }
+
+  private static void checkValue(double value) {
+    if (!(value >= 0)) {
+      throw new IllegalArgumentException("Sketch values must not be negative: " + value);
+    }
+  }
+
+  private int bucket(double value) {
+    return (int) Math.ceil(Math.log(value) / logGamma);
+  }
+
+  /** @return the bucket of a value of at least {@link #MIN_VALUE}, clamped to the range */
+  private int index(double value) {
+    return value >= MAX_VALUE ? maxIndex : Math.max(bucket(value), minIndex);
+  }
+
+  /** Grows the counter window so that it covers bucket {@code index}. */
+  private void ensureCapacity(int index) {
+    if (counts.length == 0) {
+      offset = Math.max(minIndex, Math.min(index - INITIAL_BUCKETS / 2, maxIndex - INITIAL_BUCKETS + 1));
+      counts = new long[Math.min(INITIAL_BUCKETS, maxIndex - minIndex + 1)];
+      return;
+    }
+    int end = offset + counts.length;
+    if (index >= offset && index < end) {
+      return;
+    }
+    int growth = Math.max(INITIAL_BUCKETS, counts.length / 2);
+    int from = index < offset ? Math.max(minIndex, Math.min(index, offset - growth)) : offset;
+    int to = index >= end ? Math.min(maxIndex + 1, Math.max(index + 1, end + growth)) : end;
+    long[] grown = new long[to - from];
+    System.arraycopy(counts, 0, grown, offset - from, counts.length);
+    counts = grown;
+    offset = from;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "QuantileSketch[count=" + count + ", accuracy=" + accuracy + ", buckets=" + counts.length
+        + ", p50=" + quantile(0.5) + ", p99=" + quantile(0.99) + "]";
+  }
+}
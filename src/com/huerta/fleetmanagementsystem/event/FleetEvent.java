@@ -0,0 +1,105 @@
+package com.huerta.fleetmanagementsystem.event;
+
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * A single fine-grained change published by a
+ * {@link com.huerta.fleetmanagementsystem.model.fleet.Fleet}.
+ *
+ * <p>Only the components relevant to the {@link Type} are set; the others
+ * are {@code null}. Instances are created through the static factory
+ * methods.</p>
+ *
+ * @param type      kind of change
+ * @param vehicle   affected vehicle, if any
+ * @param driver    affected driver, if any
+ * @param record    registered maintenance record, if any
+ * @param attribute changed attribute name for {@code *_UPDATED} events
+ * @param oldValue  previous attribute value for {@code *_UPDATED} events
+ * @param newValue  new attribute value for {@code *_UPDATED} events
+ */
+public record FleetEvent(Type type, Vehicle vehicle, Driver driver, MaintenanceRecord record,
+    String attribute, Object oldValue, Object newValue) {
+
+  /**
+   * Enumerates the kinds of change a fleet can publish.
+   */
+  public enum Type {
+    /** A vehicle joined the fleet. */
+    VEHICLE_ADDED,
+    /** A vehicle left the fleet. */
+    VEHICLE_REMOVED,
+    /** An attribute of a vehicle changed (plate, mileage, ...). */
+    VEHICLE_UPDATED,
+    /** A driver joined the fleet. */
+    DRIVER_ADDED,
+    /** A driver left the fleet. */
+    DRIVER_REMOVED,
+    /** An attribute of a driver changed (name, licence, ...). */
+    DRIVER_UPDATED,
+    /** A driver was assigned to a vehicle. */
+    DRIVER_ASSIGNED,
+    /** A driver was released from a vehicle. */
+    DRIVER_RELEASED,
+    /** A maintenance record was registered against a vehicle. */
+    MAINTENANCE_REGISTERED
+  }
+
+  /** @return event for a vehicle added to the fleet */
+  public static FleetEvent vehicleAdded(Vehicle v) {
+    return new FleetEvent(Type.VEHICLE_ADDED, v, null, null, null, null, null);
+  }
+
+  /** @return event for a vehicle removed from the fleet */
+  public static FleetEvent vehicleRemoved(Vehicle v) {
+    return new FleetEvent(Type.VEHICLE_REMOVED, v, null, null, null, null, null);
+  }
+
+  /** @return event for a changed vehicle attribute */
+  public static FleetEvent vehicleUpdated(Vehicle v, String attribute, Object oldValue, Object newValue) {
+    return new FleetEvent(Type.VEHICLE_UPDATED, v, null, null, attribute, oldValue, newValue);
+  }
+
+  /** @return event for a driver added to the fleet */
+  public static FleetEvent driverAdded(Driver d) {
+    return new FleetEvent(Type.DRIVER_ADDED, null, d, null, null, null, null);
+  }
+
+  /** @return event for a driver removed from the fleet */
+  public static FleetEvent driverRemoved(Driver d) {
+    return new FleetEvent(Type.DRIVER_REMOVED, null, d, null, null, null, null);
+  }
+
+  /** @return event for a changed driver attribute */
+  public static FleetEvent driverUpdated(Driver d, String attribute, Object oldValue, Object newValue) {
+    return new FleetEvent(Type.DRIVER_UPDATED, null, d, null, attribute, oldValue, newValue);
+  }
+
+  /** @return event for a driver assigned to a vehicle */
+  public static FleetEvent driverAssigned(Vehicle v, Driver d) {
+    return new FleetEvent(Type.DRIVER_ASSIGNED, v, d, null, null, null, null);
+  }
+
+  /** @return event for a driver released from a vehicle */
+  public static FleetEvent driverReleased(Vehicle v, Driver d) {
+    return new FleetEvent(Type.DRIVER_RELEASED, v, d, null, null, null, null);
+  }
+
+  /** @return event for a maintenance record registered against a vehicle */
+  public static FleetEvent maintenanceRegistered(Vehicle v, MaintenanceRecord r) {
+    return new FleetEvent(Type.MAINTENANCE_REGISTERED, v, null, r, null, null, null);
+  }
+
+  /**
+   * Tells whether this event adds or removes a vehicle or driver, i.e.
+   * whether list-shaped views must insert or delete rows.
+   *
+   * @return {@code true} for the {@code *_ADDED} and {@code *_REMOVED} types
+   */
+  public boolean isStructural() {
+    return type == Type.VEHICLE_ADDED || type == Type.VEHICLE_REMOVED
+        || type == Type.DRIVER_ADDED || type == Type.DRIVER_REMOVED;
+  }
+}
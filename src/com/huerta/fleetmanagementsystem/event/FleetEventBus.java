@@ -0,0 +1,211 @@
+package com.huerta.fleetmanagementsystem.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+
+/**
+ * Publishes {@link FleetEvent}s to subscribed {@link FleetChangeListener}s.
+ *
+ * <p>Every published event is stamped with a sequence number and queued
+ * at once. Fleet mutations publish while holding the fleet's write lock,
+ * so the queue is in commit order. Queued events reach the listeners
+ * when the publisher calls {@link #flush()} after releasing that lock;
+ * one thread at a time drains the queue and dispatches, so every
+ * listener sees the events in queue order even if the publishers race,
+ * and no listener runs while a writer holds the fleet lock.</p>
+ *
+ * <p>Code wrapped in {@link #batch(Runnable)} defers its flush until the
+ * outermost batch completes, so a bulk operation of 10 000 mutations
+ * usually reaches each listener as a single list. Events that other
+ * threads queued meanwhile are delivered in the same drain, in order.</p>
+ *
+ * <p>A failing listener is logged and skipped; it never aborts the
+ * mutation that produced the event nor starves the other listeners.</p>
+ *
+ * <p>A single {@linkplain #setJournal journal} may additionally receive
+ * every event the moment it is published, before queueing (e.g. to ship
+ * them to replicas).</p>
+ */
+public class FleetEventBus {
+
+  private static final System.Logger LOG = System.getLogger(FleetEventBus.class.getName());
+
+  /** Subscribers; copy-on-write because subscriptions are rare and dispatch is hot. */
+  private final List<Subscription> listeners = new CopyOnWriteArrayList<>();
+
+  /** Published events not yet dispatched, in publish order. */
+  private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+
+  /** Sequence number of the next published event. */
+  private final AtomicLong nextSequence = new AtomicLong();
+
+  /** Held by the thread that drains and dispatches the queue. */
+  private final ReentrantLock dispatchLock = new ReentrantLock();
+
+  /** Nesting depth of the current thread's open batches. */
+  private final ThreadLocal<int[]> batchDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+  /** Receives every event synchronously at publish time, if set. */
+  private volatile Consumer<FleetEvent> journal;
+
+  /**
+   * Registers a listener. It receives the events published from now on,
+   * but none that were still queued when it subscribed.
+   *
+   * @param listener listener to add; ignored if {@code null}
+   */
+  public void subscribe(FleetChangeListener listener) {
+    if (listener != null) {
+      listeners.add(new Subscription(listener, nextSequence.get()));
+    }
+  }
+
+  /**
+   * Unregisters a listener.
+   *
+   * @param listener listener to remove
+   * @return {@code true} if it was subscribed
+   */
+  public boolean unsubscribe(FleetChangeListener listener) {
+    return listeners.removeIf(s -> s.listener().equals(listener));
+  }
+
+  /**
+   * Tells whether anyone is listening, so publishers can skip building
+   * events nobody will receive.
+   *
+   * @return {@code true} if at least one listener is subscribed
+   */
+  public boolean hasListeners() {
+    return !listeners.isEmpty() || journal != null;
+  }
+
+  /**
+   * Installs the journal, which is called on the publishing thread for
+   * every event, in publish order. It must be fast and must not call back
+   * into the fleet.
+   *
+   * @param journal the journal, or {@code null} to remove it
+   */
+  public void setJournal(Consumer<FleetEvent> journal) {
+    this.journal = journal;
+  }
+
+  /**
+   * Passes an event to the journal and queues it for the listeners. It
+   * is delivered by the next {@link #flush()}.
+   *
+   * @param event event to publish; ignored if {@code null}
+   */
+  public void publish(FleetEvent event) {
+    if (event == null) {
+      return;
+    }
+    Consumer<FleetEvent> j = journal;
+    if (j != null) {
+      try {
+        j.accept(event);
+      } catch (RuntimeException ex) {
+        LOG.log(System.Logger.Level.WARNING, "Fleet journal failed", ex);
+      }
+    }
+    if (!listeners.isEmpty()) {
+      pending.add(new Pending(nextSequence.getAndIncrement(), event));
+    }
+  }
+
+  /**
+   * Delivers every queued event, in order. When this returns, the events
+   * the calling thread published before have reached the listeners.
+   *
+   * <p>Does nothing inside a {@link #batch(Runnable)}, or when called
+   * from a listener; the dispatch already running delivers the events.
+   * Must not be called while holding a lock that listeners may take,
+   * such as the fleet's write lock.</p>
+   */
+  public void flush() {
+    if (batchDepth.get()[0] > 0 || dispatchLock.isHeldByCurrentThread()) {
+      return;
+    }
+    if (pending.isEmpty() && !dispatchLock.isLocked()) {
+      return; // nothing queued and no dispatch of our events in progress
+    }
+    dispatchLock.lock();
+    try {
+      List<Pending> drained = new ArrayList<>();
+      for (Pending p = pending.poll(); p != null; p = pending.poll()) {
+        drained.add(p);
+        if (pending.isEmpty()) {
+          dispatch(drained);
+          drained = new ArrayList<>();
+        }
+      }
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Runs {@code action} and delivers every event it publishes once it
+   * returns (or throws), usually as one list. Batches may be nested; only
+   * the outermost one flushes.
+   *
+   * @param action the mutations to group
+   */
+  public void batch(Runnable action) {
+    int[] depth = batchDepth.get();
+    depth[0]++;
+    try {
+      action.run();
+    } finally {
+      if (--depth[0] == 0) {
+        flush();
+      }
+    }
+  }
+
+  private void dispatch(List<Pending> drained) {
+    List<FleetEvent> events = new ArrayList<>(drained.size());
+    for (Pending p : drained) {
+      events.add(p.event());
+    }
+    events = Collections.unmodifiableList(events);
+    long first = drained.get(0).sequence();
+    for (Subscription s : listeners) {
+      List<FleetEvent> delivered = events;
+      if (s.since() > first) {
+        delivered = new ArrayList<>();
+        for (Pending p : drained) {
+          if (p.sequence() >= s.since()) {
+            delivered.add(p.event());
+          }
+        }
+        if (delivered.isEmpty()) {
+          continue;
+        }
+      }
+      try {
+        s.listener().fleetChanged(delivered);
+      } catch (RuntimeException ex) {
+        LOG.log(System.Logger.Level.WARNING, "Fleet listener " + s.listener() + " failed", ex);
+      }
+    }
+  }
+
+  /** A queued event and its sequence number. */
+  private record Pending(long sequence, FleetEvent event) {
+  }
+
+  /** A listener and the sequence number of the first event it receives. */
+  private record Subscription(FleetChangeListener listener, long since) {
+  }
+}
@@ -0,0 +1,391 @@
+package com.huerta.fleetmanagementsystem.event;
+
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+
+/**
+ * Live feed of a fleet's {@link FleetEvent}s as a
+ * {@link Flow.Publisher}.
+ *
+ * <p>The publisher listens to the fleet like any
+ * {@link FleetChangeListener}, but never runs subscriber code on the
+ * writer's thread. Every subscriber has its own bounded buffer: the
+ * writer only appends to it (or applies the subscriber's
+ * {@link OverflowPolicy} when it is full) and returns. Events are
+ * delivered from an executor, one subscriber at a time in publish order,
+ * and only as far as the subscriber has {@linkplain Flow.Subscription#request
+ * requested} — a slow subscriber loses events or its subscription, it
+ * never slows down fleet mutations or other subscribers.</p>
+ *
+ * <p>Subscribers may restrict themselves to some {@link FleetEvent.Type}s;
+ * other events never enter their buffer. {@link #close()} completes every
+ * subscriber once it has received what is buffered.</p>
+ */
+public class FleetEventPublisher implements Flow.Publisher<FleetEvent>, FleetChangeListener, AutoCloseable {
+
+  /** Buffer capacity of subscribers that do not choose one. */
+  public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+
+  /** Runs each delivery on a new virtual thread. */
+  private static final Executor VIRTUAL_THREADS = r -> Thread.ofVirtual().name("fleet-flow").start(r);
+
+  private static final System.Logger LOG = System.getLogger(FleetEventPublisher.class.getName());
+
+  /** Most events taken from a buffer per lock acquisition. */
+  private static final int DRAIN_CHUNK = 64;
+
+  /** Handed to a subscriber that is rejected before its error signal. */
+  private static final Flow.Subscription NO_OP = new Flow.Subscription() {
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  };
+
+  /**
+   * What to do with an event for a subscriber whose buffer is full.
+   */
+  public enum OverflowPolicy {
+    /** Discard the oldest buffered event to make room; the feed stays current. */
+    DROP_OLDEST,
+    /** Discard the new event; the subscriber sees the oldest undelivered events. */
+    DROP_NEWEST,
+    /** Cancel the subscription and signal {@code onError}. */
+    ERROR
+  }
+
+  private final Fleet fleet;
+  private final Executor executor;
+  private final int defaultCapacity;
+  private final OverflowPolicy defaultPolicy;
+  private final List<FleetSubscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final LongAdder dropped = new LongAdder();
+  private volatile boolean closed;
+
+  private FleetEventPublisher(Fleet fleet, Executor executor, int defaultCapacity, OverflowPolicy defaultPolicy) {
+    this.fleet = fleet;
+    this.executor = executor;
+    this.defaultCapacity = defaultCapacity;
+    this.defaultPolicy = defaultPolicy;
+  }
+
+  /**
+   * Creates a publisher over {@code fleet} delivering on virtual threads,
+   * with {@value #DEFAULT_BUFFER_CAPACITY}-event buffers that drop the
+   * oldest event when full.
+   *
+   * @param fleet the fleet to publish
+   * @return the attached publisher
+   */
+  public static FleetEventPublisher attach(Fleet fleet) {
+    return attach(fleet, VIRTUAL_THREADS, DEFAULT_BUFFER_CAPACITY, OverflowPolicy.DROP_OLDEST);
+  }
+
+  /**
+   * Creates a publisher over {@code fleet} and subscribes it.
+   *
+   * @param fleet    the fleet to publish
+   * @param executor runs deliveries to subscribers
+   * @param capacity default buffer capacity per subscriber (≥ 1)
+   * @param policy   default overflow policy
+   * @return the attached publisher
+   * @throws IllegalArgumentException if an argument is invalid
+   */
+  public static FleetEventPublisher attach(Fleet fleet, Executor executor, int capacity, OverflowPolicy policy) {
+    if (fleet == null || executor == null || policy == null) {
+      throw new IllegalArgumentException("Fleet, executor and overflow policy are required.");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Buffer capacity must be at least 1.");
+    }
+    FleetEventPublisher publisher = new FleetEventPublisher(fleet, executor, capacity, policy);
+    fleet.subscribe(publisher);
+    return publisher;
+  }
+
+  /**
+   * Subscribes with the publisher's default buffer capacity and overflow
+   * policy, to every event type.
+   *
+   * @param subscriber the subscriber
+   */
+  @Override
+  public void subscribe(Flow.Subscriber<? super FleetEvent> subscriber) {
+    subscribe(subscriber, defaultCapacity, defaultPolicy, EnumSet.allOf(FleetEvent.Type.class));
+  }
+
+  /**
+   * Subscribes with an own buffer capacity, overflow policy and event
+   * filter.
+   *
+   * @param subscriber the subscriber
+   * @param capacity   buffer capacity (≥ 1)
+   * @param policy     what to do when the buffer is full
+   * @param types      event types to deliver
+   * @throws IllegalArgumentException if an argument is invalid
+   */
+  public void subscribe(Flow.Subscriber<? super FleetEvent> subscriber, int capacity, OverflowPolicy policy,
+      Set<FleetEvent.Type> types) {
+    if (subscriber == null) {
+      throw new NullPointerException("Subscriber cannot be null."); // required by Flow.Publisher
+    }
+    if (policy == null || types == null || types.isEmpty()) {
+      throw new IllegalArgumentException("Overflow policy and at least one event type are required.");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Buffer capacity must be at least 1.");
+    }
+    for (FleetSubscription s : subscriptions) {
+      if (s.subscriber == subscriber) {
+        subscriber.onSubscribe(NO_OP);
+        subscriber.onError(new IllegalStateException("Already subscribed."));
+        return;
+      }
+    }
+    FleetSubscription subscription = new FleetSubscription(subscriber, capacity, policy, EnumSet.copyOf(types));
+    subscriptions.add(subscription);
+    if (closed) {
+      subscription.complete();
+    }
+    subscription.start();
+  }
+
+  /** {@inheritDoc} Called by the fleet; only appends to subscriber buffers. */
+  @Override
+  public void fleetChanged(List<FleetEvent> events) {
+    for (FleetSubscription s : subscriptions) {
+      s.offer(events);
+    }
+  }
+
+  /** @return number of active subscriptions */
+  public int subscriberCount() {
+    return subscriptions.size();
+  }
+
+  /** @return events discarded by {@link OverflowPolicy#DROP_OLDEST} or {@link OverflowPolicy#DROP_NEWEST} so far */
+  public long droppedEvents() {
+    return dropped.sum();
+  }
+
+  /**
+   * Stops listening to the fleet and completes every subscriber after its
+   * buffered events.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    fleet.unsubscribe(this);
+    for (FleetSubscription s : subscriptions) {
+      s.complete();
+    }
+  }
+
+  /**
+   * One subscriber's buffer and demand. Signals are sent by {@link #run()}
+   * on the executor; the {@code draining} flag keeps at most one run
+   * active, so signals to a subscriber never overlap.
+   */
+  private final class FleetSubscription implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super FleetEvent> subscriber;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Set<FleetEvent.Type> types;
+    private final ArrayDeque<FleetEvent> buffer = new ArrayDeque<>();
+
+    private long demand;
+    private boolean started;
+    private boolean draining;
+    private boolean completing;
+    private boolean done;
+    private Throwable error;
+
+    FleetSubscription(Flow.Subscriber<? super FleetEvent> subscriber, int capacity, OverflowPolicy policy,
+        Set<FleetEvent.Type> types) {
+      this.subscriber = subscriber;
+      this.capacity = capacity;
+      this.policy = policy;
+      this.types = types;
+    }
+
+    /** Schedules the first run, which signals {@code onSubscribe}. */
+    void start() {
+      synchronized (this) {
+        draining = true;
+      }
+      schedule();
+    }
+
+    void offer(List<FleetEvent> events) {
+      synchronized (this) {
+        if (done || completing || error != null) {
+          return;
+        }
+        for (FleetEvent e : events) {
+          if (!types.contains(e.type())) {
+            continue;
+          }
+          if (buffer.size() == capacity) {
+            switch (policy) {
+              case DROP_OLDEST:
+                buffer.poll();
+                dropped.increment();
+                break;
+              case DROP_NEWEST:
+                dropped.increment();
+                continue;
+              default:
+                buffer.clear();
+                error = new IllegalStateException("Subscriber fell more than " + capacity + " events behind.");
+                break;
+            }
+            if (error != null) {
+              break;
+            }
+          }
+          buffer.add(e);
+        }
+        if (!claimDrain()) {
+          return;
+        }
+      }
+      schedule();
+    }
+
+    void complete() {
+      synchronized (this) {
+        completing = true;
+        if (!claimDrain()) {
+          return;
+        }
+      }
+      schedule();
+    }
+
+    @Override
+    public void request(long n) {
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+        if (n <= 0) {
+          buffer.clear();
+          error = new IllegalArgumentException("Requested " + n + " events; demand must be positive.");
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // unbounded once it overflows
+        }
+        if (!claimDrain()) {
+          return;
+        }
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        done = true;
+        buffer.clear();
+      }
+      subscriptions.remove(this);
+    }
+
+    /** Delivers what the subscriber asked for, then any terminal signal. */
+    @Override
+    public void run() {
+      if (!started) {
+        started = true;
+        if (!signal(() -> subscriber.onSubscribe(this))) {
+          return;
+        }
+      }
+      FleetEvent[] chunk = new FleetEvent[DRAIN_CHUNK];
+      while (true) {
+        int n = 0;
+        Throwable failure = null;
+        synchronized (this) {
+          if (done) {
+            draining = false;
+            return;
+          }
+          if (error != null) {
+            failure = error;
+          } else if (demand > 0 && !buffer.isEmpty()) {
+            n = (int) Math.min(Math.min(demand, buffer.size()), DRAIN_CHUNK);
+            for (int i = 0; i < n; i++) {
+              chunk[i] = buffer.poll();
+            }
+            demand -= n;
+          } else if (!completing || !buffer.isEmpty()) {
+            draining = false; // nothing requested or nothing buffered: the next request or offer reschedules
+            return;
+          }
+        }
+        if (n > 0) {
+          for (int i = 0; i < n; i++) {
+            FleetEvent event = chunk[i];
+            chunk[i] = null;
+            if (!signal(() -> subscriber.onNext(event))) {
+              return;
+            }
+          }
+          continue;
+        }
+        cancel();
+        Throwable t = failure;
+        signal(t != null ? () -> subscriber.onError(t) : subscriber::onComplete);
+        return;
+      }
+    }
+
+    /** Runs a signal; a subscriber that throws is cancelled. */
+    private boolean signal(Runnable signal) {
+      try {
+        signal.run();
+        return true;
+      } catch (RuntimeException e) {
+        LOG.log(System.Logger.Level.WARNING, "Fleet event subscriber " + subscriber + " failed; cancelling", e);
+        cancel();
+        return false;
+      }
+    }
+
+    /**
+     * Claims the right to run if there is something to signal and no run
+     * is active. Caller holds the lock.
+     */
+    private boolean claimDrain() {
+      if (draining || !started) {
+        return false; // the active run, or the first one once started, picks the work up
+      }
+      if (error != null || completing || demand > 0 && !buffer.isEmpty()) {
+        draining = true;
+        return true;
+      }
+      return false;
+    }
+
+    private void schedule() {
+      try {
+        executor.execute(this);
+      } catch (RejectedExecutionException e) {
+        LOG.log(System.Logger.Level.WARNING, "Cannot deliver fleet events to " + subscriber + "; cancelling", e);
+        cancel();
+      }
+    }
+  }
+}
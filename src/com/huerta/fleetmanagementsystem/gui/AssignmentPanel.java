@@ -2,17 +2,18 @@ package com.huerta.fleetmanagementsystem.gui;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
-import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
-import javax.swing.table.DefaultTableModel;
 
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPlan;
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
 import com.huerta.fleetmanagementsystem.model.person.Driver;
 import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
 import com.huerta.fleetmanagementsystem.service.FleetService;
@@ -28,9 +29,9 @@ public class AssignmentPanel extends JPanel {
   /** Shared service reference (<b>aggregation</b>). */
   private final FleetService service;
 
-  private final DefaultTableModel tableModel;
-  private final JComboBox<Vehicle> vehicleBox;
-  private final JComboBox<Driver> driverBox;
+  private final ListTableModel<Vehicle> tableModel;
+  private final SearchPicker<Vehicle> vehiclePicker;
+  private final SearchPicker<Driver> driverPicker;
 
   public AssignmentPanel(FleetService service) {
     this.service = service;
@@ -39,13 +40,14 @@ public class AssignmentPanel extends JPanel {
     setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
     // ---- Table showing current assignments ----
-    tableModel = new DefaultTableModel(
-        new Object[] { "Vehicle", "Plate", "Assigned Driver", "License #", "Experience (yrs)" }, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false;
-      }
-    };
+    tableModel = new ListTableModel<>("Assignments",
+        new String[] { "Vehicle", "Plate", "Assigned Driver", "License #", "Experience (yrs)" },
+        List.of(
+            v -> v.getClass().getSimpleName() + " - " + v.getMake() + " " + v.getModel(),
+            Vehicle::getLicensePlate,
+            v -> v.getDriver() != null ? v.getDriver().getFullName() : "— Unassigned —",
+            v -> v.getDriver() != null ? v.getDriver().getLicenseNumber() : "",
+            v -> v.getDriver() != null ? v.getDriver().getYearsOfExperience() : ""));
     JTable table = new JTable(tableModel);
     add(new JScrollPane(table), BorderLayout.CENTER);
 
@@ -53,22 +55,24 @@ public class AssignmentPanel extends JPanel {
     JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
     form.setBorder(BorderFactory.createTitledBorder("Assign / Release Driver"));
 
-    vehicleBox = new JComboBox<>();
-    driverBox = new JComboBox<>();
+    vehiclePicker = SearchPicker.forVehicles(service);
+    driverPicker = SearchPicker.forDrivers(service);
 
-    form.add(new JLabel("Vehicle:"));
-    form.add(vehicleBox);
-    form.add(new JLabel("Driver:"));
-    form.add(driverBox);
+    form.add(new JLabel("Vehicle (plate, make, model):"));
+    form.add(vehiclePicker);
+    form.add(new JLabel("Driver (name, license):"));
+    form.add(driverPicker);
 
     // ---- Buttons ----
     JButton assignBtn = new JButton("Assign Driver");
     JButton releaseBtn = new JButton("Release Driver");
+    JButton autoBtn = new JButton("Auto-Assign Idle Drivers");
     JButton refreshBtn = new JButton("Refresh");
 
     JPanel actions = new JPanel();
     actions.add(assignBtn);
     actions.add(releaseBtn);
+    actions.add(autoBtn);
     actions.add(refreshBtn);
 
     JPanel south = new JPanel(new BorderLayout(10, 10));
@@ -80,14 +84,13 @@ public class AssignmentPanel extends JPanel {
     // ---- Actions ----
     assignBtn.addActionListener(e -> {
       try {
-        Vehicle v = (Vehicle) vehicleBox.getSelectedItem();
-        Driver d = (Driver) driverBox.getSelectedItem();
+        Vehicle v = vehiclePicker.getSelectedItem();
+        Driver d = driverPicker.getSelectedItem();
         if (v == null) throw new IllegalStateException("No vehicle selected.");
         if (d == null) throw new IllegalStateException("No driver selected.");
 
         service.assignDriver(v, d);
         JOptionPane.showMessageDialog(this, "Driver assigned successfully.");
-        refreshTable();
       } catch (Exception ex) {
         JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
             "Assignment Error", JOptionPane.ERROR_MESSAGE);
@@ -96,7 +99,7 @@ public class AssignmentPanel extends JPanel {
 
     releaseBtn.addActionListener(e -> {
       try {
-        Vehicle v = (Vehicle) vehicleBox.getSelectedItem();
+        Vehicle v = vehiclePicker.getSelectedItem();
         if (v == null) throw new IllegalStateException("No vehicle selected.");
 
         if (v.getDriver() == null) {
@@ -105,48 +108,77 @@ public class AssignmentPanel extends JPanel {
           return;
         }
 
-        v.releaseDriver();
+        service.releaseDriver(v);
         JOptionPane.showMessageDialog(this, "Driver released successfully.");
-        refreshTable();
       } catch (Exception ex) {
         JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(),
             "Release Error", JOptionPane.ERROR_MESSAGE);
       }
     });
 
+    autoBtn.addActionListener(e -> {
+      AssignmentPlan plan = service.autoAssignDrivers();
+      JOptionPane.showMessageDialog(this, String.format(
+          "Assigned %d driver(s).%nVehicles still without a driver: %d%nIdle drivers: %d",
+          plan.assignedCount(), plan.unmatchedVehicles(), plan.idleDrivers()));
+    });
+
     refreshBtn.addActionListener(e -> refreshAll());
 
-    refreshAll();
+    // Loading the rows from the subscription snapshot leaves no gap in which
+    // an event could be missed; the pickers query the fleet afterwards.
+    service.subscribeWithSnapshot(new EdtCoalescingListener(this::applyChanges),
+        (vehicles, drivers) -> tableModel.setRows(vehicles));
+    refreshPickers(true, true);
   }
 
   private void refreshAll() {
-    refreshComboBoxes();
+    refreshPickers(true, true);
     refreshTable();
   }
 
-  private void refreshComboBoxes() {
-    vehicleBox.removeAllItems();
-    for (Vehicle v : service.vehicles()) {
-      vehicleBox.addItem(v);
+  private void refreshPickers(boolean vehicles, boolean drivers) {
+    if (vehicles) {
+      vehiclePicker.refresh();
     }
-
-    driverBox.removeAllItems();
-    for (Driver d : service.drivers()) {
-      driverBox.addItem(d);
+    if (drivers) {
+      driverPicker.refresh();
     }
   }
 
   private void refreshTable() {
-    tableModel.setRowCount(0);
-    for (Vehicle v : service.vehicles()) {
-      Driver d = v.getDriver();
-      tableModel.addRow(new Object[] {
-          v.getClass().getSimpleName() + " - " + v.getMake() + " " + v.getModel(),
-          v.getLicensePlate(),
-          d != null ? d.getFullName() : "— Unassigned —",
-          d != null ? d.getLicenseNumber() : "",
-          d != null ? d.getYearsOfExperience() : ""
-      });
+    tableModel.setRows(service.vehicles());
+  }
+
+  /**
+   * Applies a coalesced batch of fleet events as a delta (runs on the EDT):
+   * a picker re-runs its query only if its members or the assignments
+   * changed, and the table repaints once.
+   */
+  private void applyChanges(List<FleetEvent> events) {
+    boolean vehicles = false;
+    boolean drivers = false;
+    for (FleetEvent e : events) {
+      switch (e.type()) {
+        case VEHICLE_ADDED:
+        case VEHICLE_REMOVED:
+          vehicles = true;
+          break;
+        case DRIVER_ADDED:
+        case DRIVER_REMOVED:
+          drivers = true;
+          break;
+        case DRIVER_ASSIGNED:
+        case DRIVER_RELEASED:
+          vehicles = true;
+          drivers = true;
+          break;
+        default:
+          break;
+      }
     }
+    refreshPickers(vehicles, drivers);
+    tableModel.applyEvents(events, FleetEvent.Type.VEHICLE_ADDED, FleetEvent.Type.VEHICLE_REMOVED,
+        FleetEvent::vehicle);
   }
 }
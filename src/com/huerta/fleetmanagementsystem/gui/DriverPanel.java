@@ -2,6 +2,7 @@ package com.huerta.fleetmanagementsystem.gui;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -11,8 +12,8 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
-import javax.swing.table.DefaultTableModel;
 
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
 import com.huerta.fleetmanagementsystem.model.person.Driver;
 import com.huerta.fleetmanagementsystem.service.FleetService;
 
@@ -27,7 +28,7 @@ public class DriverPanel extends JPanel {
   /** Shared service reference (<b>aggregation</b>). */
   private final FleetService service;
 
-  private final DefaultTableModel tableModel;
+  private final ListTableModel<Driver> tableModel;
   private final JTable table;
 
   public DriverPanel(FleetService service) {
@@ -36,12 +37,9 @@ public class DriverPanel extends JPanel {
     setLayout(new BorderLayout(10, 10));
     setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-    tableModel = new DefaultTableModel(new Object[] { "Full Name", "License Number", "Years of Experience" }, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false;
-      }
-    };
+    tableModel = new ListTableModel<>("Drivers",
+        new String[] { "Full Name", "License Number", "Years of Experience" },
+        List.of(Driver::getFullName, Driver::getLicenseNumber, Driver::getYearsOfExperience));
     table = new JTable(tableModel);
     add(new JScrollPane(table), BorderLayout.CENTER);
 
@@ -79,7 +77,6 @@ public class DriverPanel extends JPanel {
 
         service.addDriver(new Driver(name, license, years));
         JOptionPane.showMessageDialog(this, "Driver added successfully.");
-        refreshTable();
       } catch (Exception ex) {
         JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Invalid Input", JOptionPane.ERROR_MESSAGE);
       }
@@ -87,13 +84,19 @@ public class DriverPanel extends JPanel {
 
     refreshBtn.addActionListener(e -> refreshTable());
 
-    refreshTable();
+    // Loading the rows from the subscription snapshot leaves no gap in which
+    // an event could be missed.
+    service.subscribeWithSnapshot(new EdtCoalescingListener(this::applyChanges),
+        (vehicles, drivers) -> tableModel.setRows(drivers));
   }
 
   private void refreshTable() {
-    tableModel.setRowCount(0);
-    for (Driver d : service.drivers()) {
-      tableModel.addRow(new Object[] { d.getFullName(), d.getLicenseNumber(), d.getYearsOfExperience() });
-    }
+    tableModel.setRows(service.drivers());
+  }
+
+  /** Applies a coalesced batch of fleet events as a delta (runs on the EDT). */
+  private void applyChanges(List<FleetEvent> events) {
+    tableModel.applyEvents(events, FleetEvent.Type.DRIVER_ADDED, FleetEvent.Type.DRIVER_REMOVED,
+        FleetEvent::driver);
   }
 }
\ No newline at end of file
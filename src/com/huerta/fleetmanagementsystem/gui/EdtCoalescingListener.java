@@ -0,0 +1,58 @@
+package com.huerta.fleetmanagementsystem.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+
+/**
+ * Adapter that forwards fleet events to a panel on the Event Dispatch
+ * Thread, coalescing everything that arrives before the EDT gets to run.
+ *
+ * <p>Events may be published from any thread. They are queued and at most
+ * one {@link SwingUtilities#invokeLater(Runnable)} task is pending at a
+ * time, so a burst of 10 000 updates is delivered to the delegate as one
+ * list and results in a single repaint.</p>
+ */
+class EdtCoalescingListener implements FleetChangeListener {
+
+  /** Panel-side handler, always invoked on the EDT. */
+  private final FleetChangeListener delegate;
+
+  private final ConcurrentLinkedQueue<FleetEvent> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  /**
+   * @param delegate handler to call on the EDT with each coalesced batch
+   */
+  EdtCoalescingListener(FleetChangeListener delegate) {
+    this.delegate = delegate;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void fleetChanged(List<FleetEvent> events) {
+    pending.addAll(events);
+    if (scheduled.compareAndSet(false, true)) {
+      SwingUtilities.invokeLater(this::drain);
+    }
+  }
+
+  private void drain() {
+    scheduled.set(false);
+    List<FleetEvent> batch = new ArrayList<>();
+    FleetEvent e;
+    while ((e = pending.poll()) != null) {
+      batch.add(e);
+    }
+    if (!batch.isEmpty()) {
+      delegate.fleetChanged(Collections.unmodifiableList(batch));
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.huerta.fleetmanagementsystem.gui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.swing.table.AbstractTableModel;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.jfr.GuiRefreshEvent;
+
+/**
+ * Read-only table model whose rows are live domain objects.
+ *
+ * <p>Cell values are computed from the row object on demand, so an
+ * attribute change only needs {@link #rowsChanged()} instead of rebuilding
+ * the model. Rows are added and removed incrementally from fleet events.
+ * Every reload and delta emits a {@link GuiRefreshEvent}.</p>
+ *
+ * @param <T> row type (e.g. {@code Vehicle} or {@code Driver})
+ */
+class ListTableModel<T> extends AbstractTableModel {
+
+  /** Name reported in {@link GuiRefreshEvent}s. */
+  private final String name;
+  private final String[] columnNames;
+  private final List<Function<T, Object>> columns;
+  private final List<T> rows = new ArrayList<>();
+
+  /** Identity set mirroring {@link #rows}, so replayed add events never duplicate a row. */
+  private final Set<T> members = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /**
+   * @param name        table name used in flight recordings
+   * @param columnNames header of each column
+   * @param columns     value extractor of each column, same order
+   */
+  ListTableModel(String name, String[] columnNames, List<Function<T, Object>> columns) {
+    this.name = name;
+    this.columnNames = columnNames.clone();
+    this.columns = List.copyOf(columns);
+  }
+
+  /** @return the row objects currently displayed */
+  List<T> getRows() {
+    return Collections.unmodifiableList(rows);
+  }
+
+  /**
+   * Replaces every row (full reload).
+   *
+   * @param items new rows
+   */
+  void setRows(Collection<? extends T> items) {
+    GuiRefreshEvent jfr = GuiRefreshEvent.start(name, "full", 0);
+    rows.clear();
+    members.clear();
+    for (T item : items) {
+      if (members.add(item)) {
+        rows.add(item);
+      }
+    }
+    fireTableDataChanged();
+    jfr.finish(rows.size());
+  }
+
+  /**
+   * Applies a coalesced batch of fleet events: rows are inserted for
+   * {@code addedType} events, deleted for {@code removedType} events, and
+   * the table is repainted exactly once whatever the batch size.
+   *
+   * @param events      batch of events, in publication order
+   * @param addedType   event type that inserts a row
+   * @param removedType event type that deletes a row
+   * @param subject     extracts the row object from an event
+   */
+  void applyEvents(List<FleetEvent> events, FleetEvent.Type addedType, FleetEvent.Type removedType,
+      Function<FleetEvent, T> subject) {
+    GuiRefreshEvent jfr = GuiRefreshEvent.start(name, "delta", events.size());
+    boolean structural = false;
+    Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (FleetEvent e : events) {
+      T item = subject.apply(e);
+      if (e.type() == addedType) {
+        if (removed.remove(item)) {
+          members.add(item); // removed and re-added in the same batch: keep its row
+        } else if (members.add(item)) {
+          rows.add(item);
+          structural = true;
+        }
+      } else if (e.type() == removedType && members.remove(item)) {
+        removed.add(item);
+        structural = true;
+      }
+    }
+    if (!removed.isEmpty()) {
+      rows.removeIf(removed::contains);
+    }
+    if (structural) {
+      fireTableDataChanged();
+    } else {
+      rowsChanged();
+    }
+    jfr.finish(rows.size());
+  }
+
+  /** Signals that attribute values of existing rows may have changed. */
+  void rowsChanged() {
+    if (!rows.isEmpty()) {
+      fireTableRowsUpdated(0, rows.size() - 1);
+    }
+  }
+
+  @Override
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnNames.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columnNames[column];
+  }
+
+  @Override
+  public Object getValueAt(int rowIndex, int columnIndex) {
+    return columns.get(columnIndex).apply(rows.get(rowIndex));
+  }
+}
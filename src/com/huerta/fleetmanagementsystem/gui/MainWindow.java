@@ -1,23 +1,27 @@
 package com.huerta.fleetmanagementsystem.gui;
 
 import java.awt.BorderLayout;
-import java.time.LocalDate;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import javax.swing.BorderFactory;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JTabbedPane;
+import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 
-import com.huerta.fleetmanagementsystem.model.enums.FuelType;
-import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
-import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.management.FleetManagement;
 import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
-import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
-import com.huerta.fleetmanagementsystem.model.person.Driver;
-import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
-import com.huerta.fleetmanagementsystem.model.vehicle.Car;
-import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
-import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
-import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
 import com.huerta.fleetmanagementsystem.service.FleetService;
+import com.huerta.fleetmanagementsystem.service.SampleData;
 
 /**
  * Main application window (Swing {@link JFrame}).
@@ -28,89 +32,161 @@ import com.huerta.fleetmanagementsystem.service.FleetService;
  *
  * <p><b>OOP concept – Modularity:</b> each tab is implemented in its
  * own panel class, keeping responsibilities separated.</p>
+ *
+ * <p>The window paints before any fleet data exists: the initial data is
+ * loaded by a {@link SwingWorker} while a progress bar is shown, and each
+ * panel is only built — and only reads the fleet — when its tab is first
+ * selected after loading. Startup time therefore no longer grows with the
+ * fleet, and tabs never opened cost nothing.</p>
  */
 public class MainWindow extends JFrame {
 
+  /** Bound property fired ({@code false → true}) once the initial data is loaded. */
+  public static final String LOADED_PROPERTY = "loaded";
+
+  /**
+   * Fills a fleet with its initial data, off the Event Dispatch Thread.
+   */
+  @FunctionalInterface
+  public interface DataLoader {
+
+    /**
+     * Loads the data.
+     *
+     * @param service  service to load into
+     * @param progress receives percentages (0–100) if the loader can tell;
+     *                 otherwise the progress bar stays indeterminate
+     * @throws Exception if loading fails; the window reports it
+     */
+    void load(FleetService service, IntConsumer progress) throws Exception;
+  }
+
   /** Service façade shared by all panels (<b>composition</b> — created here). */
   private final FleetService fleetService;
 
+  private final JTabbedPane tabs = new JTabbedPane();
+
+  /** Builds the panel of each tab; an entry is cleared once its panel exists. */
+  private final List<Supplier<JComponent>> pendingPanels = new ArrayList<>();
+
+  private final JPanel statusBar = new JPanel(new BorderLayout(8, 0));
+  private boolean loaded;
+
   /**
-   * Constructs the main window, loads sample data and creates all tabs.
+   * Constructs the main window over a new fleet, loads sample data in the
+   * background and registers the fleet MBeans.
    */
   public MainWindow() {
-    super("Fleet Management System");
+    this(new FleetService(new Fleet(null, null)), (service, progress) -> SampleData.loadInto(service));
+    FleetManagement.register(fleetService, "gui");
+  }
 
-    this.fleetService = new FleetService(new Fleet(null, null));
-    loadSampleData();
+  /**
+   * Constructs the main window over an existing service and starts
+   * loading its initial data. Must be called on the Event Dispatch
+   * Thread.
+   *
+   * @param fleetService service shown by every panel
+   * @param loader       initial data to load, or {@code null} if the
+   *                     service is ready as it is
+   */
+  public MainWindow(FleetService fleetService, DataLoader loader) {
+    super("Fleet Management System");
+    this.fleetService = fleetService;
 
     setSize(800, 600);
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     setLocationRelativeTo(null);
 
-    JTabbedPane tabs = new JTabbedPane();
-    tabs.addTab("Vehicles", new VehiclePanel(fleetService));
-    tabs.addTab("Drivers", new DriverPanel(fleetService));
-    tabs.addTab("Assignments", new AssignmentPanel(fleetService));
-    tabs.addTab("Maintenance", new MaintenancePanel(fleetService));
+    addLazyTab("Vehicles", () -> new VehiclePanel(fleetService));
+    addLazyTab("Drivers", () -> new DriverPanel(fleetService));
+    addLazyTab("Assignments", () -> new AssignmentPanel(fleetService));
+    addLazyTab("Maintenance", () -> new MaintenancePanel(fleetService));
+    addLazyTab("Metrics", () -> new MetricsPanel(fleetService));
+    tabs.addChangeListener(e -> buildSelectedTab());
 
     setLayout(new BorderLayout());
     add(tabs, BorderLayout.CENTER);
-  }
+    add(statusBar, BorderLayout.SOUTH);
 
-  /**
-   * Pre-populates the fleet with sample vehicles, drivers and
-   * maintenance records for demonstration purposes.
-   */
-  private void loadSampleData() {
-    // -- Vehicles --
-    Car car1 = new Car(1, "ABC-1234", "Toyota", "Corolla", 2022, 5, FuelType.GASOLINE, 35000);
-    Car car2 = new Car(2, "DEF-5678", "Tesla", "Model 3", 2023, 5, FuelType.ELECTRIC, 12000);
-    Car car3 = new Car(3, "GHI-9012", "Honda", "Civic", 2021, 5, FuelType.HYBRID, 48000);
+    if (loader == null) {
+      finishLoading();
+    } else {
+      startLoading(loader);
+    }
+  }
 
-    Truck truck1 = new Truck(4, "TRK-0001", "Volvo", "FH16", 2020, 25000, 3, 120000, 16.0);
-    Truck truck2 = new Truck(5, "TRK-0002", "Scania", "R500", 2021, 18000, 2, 85000, 12.0);
+  /** @return the service shown by this window */
+  public FleetService getFleetService() {
+    return fleetService;
+  }
 
-    Bus bus1 = new Bus(6, "BUS-0001", "Mercedes-Benz", "Citaro", 2019, 50, ServiceType.CITY, 95000, 18.0);
-    Bus bus2 = new Bus(7, "BUS-0002", "Volvo", "9700", 2022, 55, ServiceType.INTERCITY, 42000, 20.0);
+  /** @return whether the initial data is loaded (read on the EDT) */
+  public boolean isLoaded() {
+    return loaded;
+  }
 
-    Motorcycle moto1 = new Motorcycle(8, "MOT-0001", "Yamaha", "MT-07", 2023, 689, 8000);
-    Motorcycle moto2 = new Motorcycle(9, "MOT-0002", "Honda", "CB500F", 2022, 471, 15000);
+  private void addLazyTab(String title, Supplier<JComponent> panel) {
+    JLabel placeholder = new JLabel("Loading fleet…", SwingConstants.CENTER);
+    tabs.addTab(title, placeholder);
+    pendingPanels.add(panel);
+  }
 
-    Vehicle[] vehicles = { car1, car2, car3, truck1, truck2, bus1, bus2, moto1, moto2 };
-    for (Vehicle v : vehicles) {
-      fleetService.addVehicle(v);
+  /** Replaces the selected tab's placeholder by its panel, once data is loaded. */
+  private void buildSelectedTab() {
+    int index = tabs.getSelectedIndex();
+    if (!loaded || index < 0 || pendingPanels.get(index) == null) {
+      return;
     }
+    JComponent panel = pendingPanels.get(index).get();
+    pendingPanels.set(index, null);
+    tabs.setComponentAt(index, panel);
+  }
 
-    // -- Drivers --
-    Driver d1 = new Driver("Carlos Garcia", "LIC-10001", 8);
-    Driver d2 = new Driver("Maria Lopez", "LIC-10002", 12);
-    Driver d3 = new Driver("Andres Martinez", "LIC-10003", 5);
-    Driver d4 = new Driver("Laura Fernandez", "LIC-10004", 15);
-    Driver d5 = new Driver("Pedro Sanchez", "LIC-10005", 3);
-
-    Driver[] drivers = { d1, d2, d3, d4, d5 };
-    for (Driver d : drivers) {
-      fleetService.addDriver(d);
-    }
+  private void startLoading(DataLoader loader) {
+    JProgressBar bar = new JProgressBar(0, 100);
+    bar.setIndeterminate(true);
+    bar.setStringPainted(true);
+    bar.setString("Loading fleet…");
+    statusBar.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+    statusBar.add(bar, BorderLayout.CENTER);
+
+    SwingWorker<Void, Void> worker = new SwingWorker<>() {
+      @Override
+      protected Void doInBackground() throws Exception {
+        loader.load(fleetService, p -> setProgress(Math.max(0, Math.min(100, p))));
+        return null;
+      }
+
+      @Override
+      protected void done() {
+        try {
+          get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          JOptionPane.showMessageDialog(MainWindow.this, "Could not load the fleet: " + e.getCause().getMessage(),
+              "Loading Failed", JOptionPane.ERROR_MESSAGE);
+        }
+        finishLoading();
+      }
+    };
+    worker.addPropertyChangeListener(e -> {
+      if ("progress".equals(e.getPropertyName())) {
+        bar.setIndeterminate(false);
+        bar.setValue((Integer) e.getNewValue());
+        bar.setString(null);
+      }
+    });
+    worker.execute();
+  }
 
-    // -- Maintenance records --
-    fleetService.addMaintenance(car1,
-        new MaintenanceRecord(LocalDate.of(2025, 6, 15), MaintenanceType.PREVENTIVE, "Oil change and filter replacement", 120.0));
-    fleetService.addMaintenance(car1,
-        new MaintenanceRecord(LocalDate.of(2025, 11, 3), MaintenanceType.CORRECTIVE, "Brake pad replacement", 280.0));
-    fleetService.addMaintenance(car2,
-        new MaintenanceRecord(LocalDate.of(2026, 1, 10), MaintenanceType.PREVENTIVE, "Tire rotation and alignment", 95.0));
-    fleetService.addMaintenance(truck1,
-        new MaintenanceRecord(LocalDate.of(2025, 8, 20), MaintenanceType.CORRECTIVE, "Transmission fluid change", 450.0));
-    fleetService.addMaintenance(truck1,
-        new MaintenanceRecord(LocalDate.of(2026, 1, 5), MaintenanceType.PREVENTIVE, "Full inspection and oil change", 600.0));
-    fleetService.addMaintenance(bus1,
-        new MaintenanceRecord(LocalDate.of(2025, 9, 12), MaintenanceType.CORRECTIVE, "Engine coolant system repair", 850.0));
-    fleetService.addMaintenance(bus2,
-        new MaintenanceRecord(LocalDate.of(2025, 12, 1), MaintenanceType.PREVENTIVE, "Brake system inspection", 320.0));
-    fleetService.addMaintenance(moto1,
-        new MaintenanceRecord(LocalDate.of(2026, 2, 8), MaintenanceType.PREVENTIVE, "Chain and sprocket replacement", 180.0));
-    fleetService.addMaintenance(moto2,
-        new MaintenanceRecord(LocalDate.of(2025, 10, 25), MaintenanceType.CORRECTIVE, "Battery replacement", 150.0));
+  private void finishLoading() {
+    loaded = true;
+    statusBar.removeAll();
+    statusBar.setBorder(null);
+    statusBar.revalidate();
+    buildSelectedTab();
+    firePropertyChange(LOADED_PROPERTY, false, true);
   }
 }
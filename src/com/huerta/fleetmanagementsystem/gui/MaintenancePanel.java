@@ -3,6 +3,7 @@ package com.huerta.fleetmanagementsystem.gui;
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
 import java.time.LocalDate;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -10,24 +11,39 @@ import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
 import javax.swing.JTextField;
 
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
 import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Page;
 import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
 import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.scheduling.MaintenanceDue;
 import com.huerta.fleetmanagementsystem.service.FleetService;
 
 /**
- * Panel for registering maintenance records against vehicles.
+ * Panel for registering maintenance records against vehicles, browsing a
+ * vehicle's maintenance history page by page and listing the vehicles due
+ * for preventive service.
  *
  * <p><b>OOP concept – Aggregation:</b> shares the
  * {@link FleetService} reference with the other panels.</p>
  */
 public class MaintenancePanel extends JPanel {
 
+  /** Look-ahead of the due-for-service list, in days. */
+  private static final int DUE_DAYS = 30;
+
+  /** Records fetched per "Load More" in the history dialog. */
+  private static final int HISTORY_PAGE = 50;
+
   /** Shared service reference (<b>aggregation</b>). */
   private final FleetService service;
 
+  private final SearchPicker<Vehicle> vehiclePicker;
+
   public MaintenancePanel(FleetService service) {
     this.service = service;
 
@@ -37,16 +53,15 @@ public class MaintenancePanel extends JPanel {
     JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
     form.setBorder(BorderFactory.createTitledBorder("Register Maintenance"));
 
-    JComboBox<Vehicle> vehicleBox = new JComboBox<>();
-    refreshVehicleBox(vehicleBox);
+    vehiclePicker = SearchPicker.forVehicles(service);
 
     JTextField dateField = new JTextField("2026-02-23"); // ISO date
     JComboBox<MaintenanceType> typeBox = new JComboBox<>(MaintenanceType.values());
     JTextField descField = new JTextField();
     JTextField costField = new JTextField();
 
-    form.add(new JLabel("Vehicle:"));
-    form.add(vehicleBox);
+    form.add(new JLabel("Vehicle (plate, make, model):"));
+    form.add(vehiclePicker);
     form.add(new JLabel("Date (YYYY-MM-DD):"));
     form.add(dateField);
     form.add(new JLabel("Type:"));
@@ -58,17 +73,21 @@ public class MaintenancePanel extends JPanel {
 
     JButton addBtn = new JButton("Register Maintenance");
     JButton refreshBtn = new JButton("Refresh Vehicles");
+    JButton historyBtn = new JButton("History");
+    JButton dueBtn = new JButton("Due in " + DUE_DAYS + " Days");
 
     JPanel actions = new JPanel();
     actions.add(addBtn);
     actions.add(refreshBtn);
+    actions.add(historyBtn);
+    actions.add(dueBtn);
 
     add(form, BorderLayout.CENTER);
     add(actions, BorderLayout.SOUTH);
 
     addBtn.addActionListener(e -> {
       try {
-        Vehicle v = (Vehicle) vehicleBox.getSelectedItem();
+        Vehicle v = vehiclePicker.getSelectedItem();
         if (v == null)
           throw new IllegalStateException("No vehicle available. Add a vehicle first.");
 
@@ -84,13 +103,73 @@ public class MaintenancePanel extends JPanel {
       }
     });
 
-    refreshBtn.addActionListener(e -> refreshVehicleBox(vehicleBox));
+    refreshBtn.addActionListener(e -> vehiclePicker.refresh());
+    historyBtn.addActionListener(e -> showHistory());
+    dueBtn.addActionListener(e -> showDue());
+    service.subscribe(new EdtCoalescingListener(this::applyChanges));
+  }
+
+  /**
+   * Shows the selected vehicle's maintenance history by date, fetching
+   * one page at a time instead of copying the whole history.
+   */
+  private void showHistory() {
+    Vehicle v = vehiclePicker.getSelectedItem();
+    if (v == null) {
+      JOptionPane.showMessageDialog(this, "Select a vehicle first.", "Maintenance History",
+          JOptionPane.INFORMATION_MESSAGE);
+      return;
+    }
+    JTextArea area = new JTextArea(15, 60);
+    area.setEditable(false);
+    JButton more = new JButton("Load More");
+    String[] cursor = new String[1];
+    Runnable loadPage = () -> {
+      Page<MaintenanceRecord> page = service.maintenancePage(v, cursor[0], HISTORY_PAGE);
+      for (MaintenanceRecord r : page.items()) {
+        area.append(String.format("%s  %-10s %10.2f  %s%n", r.getDate(), r.getType(), r.getCost(),
+            r.getDescription()));
+      }
+      cursor[0] = page.next();
+      more.setEnabled(page.hasNext());
+    };
+    loadPage.run();
+    if (area.getDocument().getLength() == 0) {
+      area.setText("No maintenance recorded.");
+    }
+    more.addActionListener(e -> loadPage.run());
+
+    JPanel content = new JPanel(new BorderLayout(0, 8));
+    content.add(new JScrollPane(area), BorderLayout.CENTER);
+    content.add(more, BorderLayout.SOUTH);
+    JOptionPane.showMessageDialog(this, content, "Maintenance History – " + v.getLicensePlate(),
+        JOptionPane.INFORMATION_MESSAGE);
   }
 
-  private void refreshVehicleBox(JComboBox<Vehicle> vehicleBox) {
-    vehicleBox.removeAllItems();
-    for (Vehicle v : service.vehicles()) {
-      vehicleBox.addItem(v);
+  /** Lists the vehicles due for preventive service in a dialog. */
+  private void showDue() {
+    List<MaintenanceDue> due = service.vehiclesDueForMaintenance(DUE_DAYS);
+    StringBuilder text = new StringBuilder();
+    for (MaintenanceDue d : due) {
+      Vehicle v = d.vehicle();
+      text.append(String.format("%s %s %s - due %s or at %.0f km%s%n", v.getLicensePlate(), v.getMake(),
+          v.getModel(), d.dueDate(), d.dueMileage(), d.mileageDue() ? " (mileage reached)" : ""));
+    }
+    if (due.isEmpty()) {
+      text.append("No vehicle is due for service.");
+    }
+    JTextArea area = new JTextArea(text.toString(), Math.min(Math.max(due.size(), 1), 15), 60);
+    area.setEditable(false);
+    JOptionPane.showMessageDialog(this, new JScrollPane(area), "Due for Service", JOptionPane.INFORMATION_MESSAGE);
+  }
+
+  /** Re-runs the picker query when vehicles come or go (runs on the EDT). */
+  private void applyChanges(List<FleetEvent> events) {
+    for (FleetEvent e : events) {
+      if (e.isStructural()) {
+        vehiclePicker.refresh();
+        return;
+      }
     }
   }
 }
\ No newline at end of file
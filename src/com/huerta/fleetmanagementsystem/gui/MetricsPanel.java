@@ -0,0 +1,123 @@
+package com.huerta.fleetmanagementsystem.gui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+
+import com.huerta.fleetmanagementsystem.metrics.FleetMetrics;
+import com.huerta.fleetmanagementsystem.metrics.OperationStats;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Panel showing invocation counts and latency percentiles of every
+ * {@link FleetService} operation.
+ *
+ * <p><b>OOP concept – Aggregation:</b> reads the shared service's
+ * {@link FleetMetrics} (not owned; received via constructor).</p>
+ *
+ * <p>The table is refreshed once per second, and only while the panel is
+ * showing.</p>
+ */
+public class MetricsPanel extends JPanel {
+
+  /** Refresh period of the table, in milliseconds. */
+  private static final int REFRESH_MILLIS = 1000;
+
+  private static final String[] COLUMNS = {
+      "Operation", "Kind", "Calls", "Calls/s", "Mean µs", "p50 µs", "p99 µs", "p99.9 µs", "Max µs" };
+
+  private final FleetMetrics metrics;
+  private final StatsTableModel tableModel = new StatsTableModel();
+
+  public MetricsPanel(FleetService service) {
+    this.metrics = service.metrics();
+
+    setLayout(new BorderLayout(10, 10));
+    setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+    JCheckBox enabledBox = new JCheckBox("Record metrics", metrics.isEnabled());
+    enabledBox.addActionListener(e -> metrics.setEnabled(enabledBox.isSelected()));
+    JButton resetButton = new JButton("Reset");
+    resetButton.addActionListener(e -> {
+      metrics.reset();
+      refresh();
+    });
+    JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    controls.add(enabledBox);
+    controls.add(resetButton);
+
+    add(controls, BorderLayout.NORTH);
+    add(new JScrollPane(new JTable(tableModel)), BorderLayout.CENTER);
+
+    Timer timer = new Timer(REFRESH_MILLIS, e -> {
+      if (isShowing()) {
+        refresh();
+      }
+    });
+    timer.start();
+  }
+
+  private void refresh() {
+    tableModel.setStats(metrics.snapshot());
+  }
+
+  /** Read-only table over the latest snapshot. */
+  private static final class StatsTableModel extends AbstractTableModel {
+    private List<OperationStats> stats = new ArrayList<>();
+
+    void setStats(List<OperationStats> stats) {
+      this.stats = stats;
+      fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+      return stats.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+      return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+      return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+      OperationStats s = stats.get(row);
+      switch (column) {
+        case 0:
+          return s.operation();
+        case 1:
+          return s.operation().kind();
+        case 2:
+          return s.count();
+        case 3:
+          return String.format("%.1f", s.ratePerSecond());
+        case 4:
+          return String.format("%.1f", s.meanMicros());
+        case 5:
+          return String.format("%.1f", s.p50Micros());
+        case 6:
+          return String.format("%.1f", s.p99Micros());
+        case 7:
+          return String.format("%.1f", s.p999Micros());
+        default:
+          return String.format("%.1f", s.maxMicros());
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.huerta.fleetmanagementsystem.gui;
+
+import java.awt.Component;
+import java.awt.GridLayout;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JComboBox;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.huerta.fleetmanagementsystem.jfr.GuiRefreshEvent;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Search-as-you-type picker: a text field plus a combo box holding only
+ * the top matches for what has been typed.
+ *
+ * <p>Unlike a combo box filled with the whole fleet, the combo never holds
+ * more than {@link #MAX_MATCHES} items, and each item is rendered with a
+ * cheap label function rather than {@code toString()}.</p>
+ *
+ * @param <T> picked item type
+ */
+class SearchPicker<T> extends JPanel {
+
+  /** Maximum number of matches shown at once. */
+  static final int MAX_MATCHES = 50;
+
+  /** Name reported in {@link GuiRefreshEvent}s. */
+  private final String name;
+  private final BiFunction<String, Integer, List<T>> search;
+  private final JTextField queryField = new JTextField();
+  private final DefaultComboBoxModel<T> matches = new DefaultComboBoxModel<>();
+
+  /**
+   * @param name   picker name used in flight recordings
+   * @param search prefix search returning at most the requested number of
+   *               matches (e.g. {@code FleetService::searchVehicles})
+   * @param label  label shown for each match
+   */
+  SearchPicker(String name, BiFunction<String, Integer, List<T>> search, Function<T, String> label) {
+    super(new GridLayout(1, 2, 4, 0));
+    this.name = name;
+    this.search = search;
+
+    JComboBox<T> resultBox = new JComboBox<>(matches);
+    resultBox.setRenderer(new DefaultListCellRenderer() {
+      @Override
+      public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+          boolean isSelected, boolean cellHasFocus) {
+        @SuppressWarnings("unchecked")
+        String text = value == null ? "" : label.apply((T) value);
+        return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+      }
+    });
+    queryField.setToolTipText("Type to search");
+    queryField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        refresh();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        refresh();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        refresh();
+      }
+    });
+
+    add(queryField);
+    add(resultBox);
+    refresh();
+  }
+
+  /**
+   * Creates a picker over the service's vehicles (plate, make, model).
+   *
+   * @param service fleet service providing the search index
+   * @return vehicle picker
+   */
+  static SearchPicker<Vehicle> forVehicles(FleetService service) {
+    return new SearchPicker<>("Vehicle picker", service::searchVehicles,
+        v -> v.getLicensePlate() + " - " + v.getMake() + " " + v.getModel());
+  }
+
+  /**
+   * Creates a picker over the service's drivers (name, licence number).
+   *
+   * @param service fleet service providing the search index
+   * @return driver picker
+   */
+  static SearchPicker<Driver> forDrivers(FleetService service) {
+    return new SearchPicker<>("Driver picker", service::searchDrivers,
+        d -> d.getFullName() + " (" + d.getLicenseNumber() + ")");
+  }
+
+  /**
+   * Re-runs the current query, keeping the selection if it still matches.
+   */
+  void refresh() {
+    GuiRefreshEvent jfr = GuiRefreshEvent.start(name, "query", 0);
+    Object selected = matches.getSelectedItem();
+    List<T> found = search.apply(queryField.getText(), MAX_MATCHES);
+    matches.removeAllElements();
+    matches.addAll(found);
+    if (selected != null && matches.getIndexOf(selected) >= 0) {
+      matches.setSelectedItem(selected);
+    } else if (!found.isEmpty()) {
+      matches.setSelectedItem(found.get(0));
+    }
+    jfr.finish(found.size());
+  }
+
+  /**
+   * Returns the currently selected match.
+   *
+   * @return selected item, or {@code null} if nothing matches
+   */
+  @SuppressWarnings("unchecked")
+  T getSelectedItem() {
+    return (T) matches.getSelectedItem();
+  }
+}
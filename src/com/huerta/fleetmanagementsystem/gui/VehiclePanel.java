@@ -3,6 +3,7 @@ package com.huerta.fleetmanagementsystem.gui;
 import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.GridLayout;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -14,8 +15,8 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
-import javax.swing.table.DefaultTableModel;
 
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
 import com.huerta.fleetmanagementsystem.model.enums.FuelType;
 import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
 import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
@@ -39,7 +40,7 @@ public class VehiclePanel extends JPanel {
   /** Shared service reference (<b>aggregation</b>). */
   private final FleetService service;
 
-  private final DefaultTableModel tableModel;
+  private final ListTableModel<Vehicle> tableModel;
   private final JTable table;
 
   // Common fields
@@ -79,13 +80,17 @@ public class VehiclePanel extends JPanel {
     setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
     // ---- Table ----
-    tableModel = new DefaultTableModel(
-        new Object[] { "Type", "ID", "Plate", "Make", "Model", "Year", "Mileage", "OpCost" }, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false;
-      }
-    };
+    tableModel = new ListTableModel<>("Vehicles",
+        new String[] { "Type", "ID", "Plate", "Make", "Model", "Year", "Mileage", "OpCost" },
+        List.of(
+            v -> v.getClass().getSimpleName(),
+            Vehicle::getId,
+            Vehicle::getLicensePlate,
+            Vehicle::getMake,
+            Vehicle::getModel,
+            Vehicle::getYear,
+            Vehicle::getMileage,
+            Vehicle::calculateOperatingCost));
     table = new JTable(tableModel);
     add(new JScrollPane(table), BorderLayout.CENTER);
 
@@ -205,7 +210,10 @@ public class VehiclePanel extends JPanel {
     detailsBtn.addActionListener(e -> showVehicleSpecificDetails());
     commercialBtn.addActionListener(e -> showCommercialLicenseVehicles());
 
-    refreshTable();
+    // Loading the rows from the subscription snapshot leaves no gap in which
+    // an event could be missed.
+    service.subscribeWithSnapshot(new EdtCoalescingListener(this::applyChanges),
+        (vehicles, drivers) -> tableModel.setRows(vehicles));
   }
 
   private void addVehicle() {
@@ -248,7 +256,6 @@ public class VehiclePanel extends JPanel {
 
       service.addVehicle(v);
       JOptionPane.showMessageDialog(this, "Vehicle added successfully.");
-      refreshTable();
     } catch (Exception ex) {
       JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Invalid Input",
           JOptionPane.ERROR_MESSAGE);
@@ -308,18 +315,12 @@ public class VehiclePanel extends JPanel {
   }
 
   private void refreshTable() {
-    tableModel.setRowCount(0);
-    for (Vehicle v : service.vehicles()) {
-      tableModel.addRow(new Object[] {
-          v.getClass().getSimpleName(),
-          v.getId(),
-          v.getLicensePlate(),
-          v.getMake(),
-          v.getModel(),
-          v.getYear(),
-          v.getMileage(),
-          v.calculateOperatingCost()
-      });
-    }
+    tableModel.setRows(service.vehicles());
+  }
+
+  /** Applies a coalesced batch of fleet events as a delta (runs on the EDT). */
+  private void applyChanges(List<FleetEvent> events) {
+    tableModel.applyEvents(events, FleetEvent.Type.VEHICLE_ADDED, FleetEvent.Type.VEHICLE_REMOVED,
+        FleetEvent::vehicle);
   }
 }
@@ -0,0 +1,191 @@
+package com.huerta.fleetmanagementsystem.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Type-ahead search over the vehicles and drivers of a {@link Fleet}.
+ *
+ * <p>Vehicles are indexed by licence plate, make, model and
+ * "make model"; drivers by full name, each name word and licence number.
+ * The index is built lazily on the first query and then kept current by
+ * applying {@link FleetEvent} deltas, so it never rescans the fleet.</p>
+ */
+public class FleetSearchIndex implements FleetChangeListener {
+
+  private final Fleet fleet;
+  private final PrefixIndex<Vehicle> vehicles = new PrefixIndex<>();
+  private final PrefixIndex<Driver> drivers = new PrefixIndex<>();
+
+  /** Set once the initial load has happened. */
+  private volatile boolean built;
+
+  /**
+   * Creates an index over the given fleet (built on first use).
+   *
+   * @param fleet the fleet to index
+   */
+  public FleetSearchIndex(Fleet fleet) {
+    this.fleet = fleet;
+  }
+
+  /**
+   * Returns up to {@code limit} vehicles whose plate, make or model starts
+   * with {@code prefix}.
+   *
+   * @param prefix text typed so far (case-insensitive)
+   * @param limit  maximum number of results
+   * @return matching vehicles
+   */
+  public List<Vehicle> searchVehicles(String prefix, int limit) {
+    ensureBuilt();
+    return vehicles.search(prefix, limit);
+  }
+
+  /**
+   * Returns up to {@code limit} drivers whose name, any name word or
+   * licence number starts with {@code prefix}.
+   *
+   * @param prefix text typed so far (case-insensitive)
+   * @param limit  maximum number of results
+   * @return matching drivers
+   */
+  public List<Driver> searchDrivers(String prefix, int limit) {
+    ensureBuilt();
+    return drivers.search(prefix, limit);
+  }
+
+  /** @return number of (key, vehicle) entries, {@code 0} until first use */
+  public int vehicleEntryCount() {
+    return vehicles.size();
+  }
+
+  /** @return number of (key, driver) entries, {@code 0} until first use */
+  public int driverEntryCount() {
+    return drivers.size();
+  }
+
+  private void ensureBuilt() {
+    if (built) {
+      return;
+    }
+    synchronized (this) {
+      if (built) {
+        return;
+      }
+      // Indexing the subscription snapshot under the fleet lock lines the
+      // initial load up with the events, so no removal can overtake it.
+      fleet.subscribeWithSnapshot(this, (vs, ds) -> {
+        for (Vehicle v : vs) {
+          indexVehicle(v, v.getLicensePlate(), v.getMake(), v.getModel(), true);
+        }
+        for (Driver d : ds) {
+          indexDriver(d, d.getFullName(), d.getLicenseNumber(), true);
+        }
+      });
+      built = true;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void fleetChanged(List<FleetEvent> events) {
+    for (FleetEvent e : events) {
+      Vehicle v = e.vehicle();
+      Driver d = e.driver();
+      switch (e.type()) {
+        case VEHICLE_ADDED:
+          indexVehicle(v, v.getLicensePlate(), v.getMake(), v.getModel(), true);
+          break;
+        case VEHICLE_REMOVED:
+          indexVehicle(v, v.getLicensePlate(), v.getMake(), v.getModel(), false);
+          break;
+        case VEHICLE_UPDATED:
+          reindexVehicle(v, e);
+          break;
+        case DRIVER_ADDED:
+          indexDriver(d, d.getFullName(), d.getLicenseNumber(), true);
+          break;
+        case DRIVER_REMOVED:
+          indexDriver(d, d.getFullName(), d.getLicenseNumber(), false);
+          break;
+        case DRIVER_UPDATED:
+          reindexDriver(d, e);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private void reindexVehicle(Vehicle v, FleetEvent e) {
+    String plate = v.getLicensePlate();
+    String make = v.getMake();
+    String model = v.getModel();
+    switch (e.attribute()) {
+      case "licensePlate":
+        plate = (String) e.oldValue();
+        break;
+      case "make":
+        make = (String) e.oldValue();
+        break;
+      case "model":
+        model = (String) e.oldValue();
+        break;
+      default:
+        return; // attribute not indexed
+    }
+    indexVehicle(v, plate, make, model, false);
+    indexVehicle(v, v.getLicensePlate(), v.getMake(), v.getModel(), true);
+  }
+
+  private void reindexDriver(Driver d, FleetEvent e) {
+    String name = d.getFullName();
+    String license = d.getLicenseNumber();
+    switch (e.attribute()) {
+      case "fullName":
+        name = (String) e.oldValue();
+        break;
+      case "licenseNumber":
+        license = (String) e.oldValue();
+        break;
+      default:
+        return; // attribute not indexed
+    }
+    indexDriver(d, name, license, false);
+    indexDriver(d, d.getFullName(), d.getLicenseNumber(), true);
+  }
+
+  private void indexVehicle(Vehicle v, String plate, String make, String model, boolean add) {
+    for (String key : List.of(plate, make, model, make + " " + model)) {
+      if (add) {
+        vehicles.put(key, v);
+      } else {
+        vehicles.remove(key, v);
+      }
+    }
+  }
+
+  private void indexDriver(Driver d, String fullName, String license, boolean add) {
+    List<String> keys = new ArrayList<>();
+    keys.add(fullName);
+    keys.add(license);
+    String[] words = fullName.trim().split("\\s+");
+    for (int i = 1; i < words.length; i++) {
+      keys.add(words[i]); // first word is already covered by the full name
+    }
+    for (String key : keys) {
+      if (add) {
+        drivers.put(key, d);
+      } else {
+        drivers.remove(key, d);
+      }
+    }
+  }
+}
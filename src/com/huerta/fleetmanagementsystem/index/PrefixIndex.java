@@ -0,0 +1,266 @@
+package com.huerta.fleetmanagementsystem.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix index (trie) mapping string keys to items.
+ *
+ * <p>Each node keeps its children in a sorted {@code char} array, so a
+ * lookup walks the prefix in {@code O(|prefix| · log σ)} and then collects
+ * matches depth-first in lexicographic key order. Empty branches are
+ * pruned on removal, so every visited subtree holds at least one item and
+ * collecting the top {@code N} matches touches at most
+ * {@code O(N · depth)} nodes regardless of how many items are indexed.</p>
+ *
+ * <p>An item may be stored under several keys (e.g. plate and model);
+ * results are de-duplicated by identity. Each node counts its items in
+ * an identity map, so removing one costs O(1) however many items share
+ * the key; items under the same key come out in no particular order. The index is thread-safe:
+ * searches share a read lock, mutations take the write lock.</p>
+ *
+ * @param <T> indexed item type
+ */
+public class PrefixIndex<T> {
+
+  private final Node<T> root = new Node<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Number of (key, item) entries currently stored. */
+  private int entryCount;
+
+  /**
+   * Indexes {@code item} under {@code key}.
+   *
+   * @param key  key to index; ignored if {@code null} or blank
+   * @param item item to store; ignored if {@code null}
+   */
+  public void put(String key, T item) {
+    if (key == null || key.isBlank() || item == null) {
+      return;
+    }
+    String k = normalize(key);
+    lock.writeLock().lock();
+    try {
+      Node<T> node = root;
+      for (int i = 0; i < k.length(); i++) {
+        node = node.childOrCreate(k.charAt(i));
+      }
+      node.add(item);
+      entryCount++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes every occurrence of {@code item} stored under {@code key}.
+   *
+   * @param key  key the item was indexed under
+   * @param item item to remove (compared by identity)
+   * @return {@code true} if anything was removed
+   */
+  public boolean remove(String key, T item) {
+    if (key == null || key.isBlank() || item == null) {
+      return false;
+    }
+    String k = normalize(key);
+    lock.writeLock().lock();
+    try {
+      Node<T>[] path = newPath(k.length() + 1);
+      Node<T> node = root;
+      path[0] = root;
+      for (int i = 0; i < k.length(); i++) {
+        node = node.child(k.charAt(i));
+        if (node == null) {
+          return false;
+        }
+        path[i + 1] = node;
+      }
+      int removed = node.remove(item);
+      if (removed == 0) {
+        return false;
+      }
+      entryCount -= removed;
+      // prune now-empty branches bottom-up
+      for (int i = k.length(); i > 0 && path[i].isEmpty(); i--) {
+        path[i - 1].removeChild(k.charAt(i - 1));
+      }
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} distinct items having a key that starts
+   * with {@code prefix}, in lexicographic key order.
+   *
+   * @param prefix prefix to match (case-insensitive); {@code null} or
+   *               empty matches everything
+   * @param limit  maximum number of results
+   * @return matching items (never {@code null})
+   */
+  public List<T> search(String prefix, int limit) {
+    if (limit <= 0) {
+      return Collections.emptyList();
+    }
+    String p = prefix == null ? "" : normalize(prefix);
+    lock.readLock().lock();
+    try {
+      Node<T> node = root;
+      for (int i = 0; i < p.length() && node != null; i++) {
+        node = node.child(p.charAt(i));
+      }
+      if (node == null) {
+        return Collections.emptyList();
+      }
+      List<T> out = new ArrayList<>(Math.min(limit, 64));
+      Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+      collect(node, limit, out, seen);
+      return out;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of (key, item) entries in the index.
+   *
+   * @return entry count
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entryCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Removes every entry. */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      root.clear();
+      entryCount = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static <T> boolean collect(Node<T> node, int limit, List<T> out, Set<T> seen) {
+    for (T item : node.items()) {
+      if (seen.add(item)) {
+        out.add(item);
+        if (out.size() >= limit) {
+          return true;
+        }
+      }
+    }
+    for (int i = 0; i < node.size; i++) {
+      if (collect(node.children[i], limit, out, seen)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String normalize(String key) {
+    return key.trim().toLowerCase(Locale.ROOT);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Node<T>[] newPath(int length) {
+    return (Node<T>[]) new Node<?>[length];
+  }
+
+  /** Trie node with children kept in parallel sorted arrays. */
+  private static final class Node<T> {
+    private static final char[] NO_KEYS = new char[0];
+
+    private char[] keys = NO_KEYS;
+    private Node<T>[] children = newPath(0);
+    private int size;
+    /** Occurrences of each item stored under this node's key; {@code null} while there are none. */
+    private Map<T, Integer> items;
+
+    Set<T> items() {
+      return items == null ? Collections.emptySet() : items.keySet();
+    }
+
+    void add(T item) {
+      if (items == null) {
+        items = new IdentityHashMap<>(2);
+      }
+      items.merge(item, 1, Integer::sum);
+    }
+
+    /** @return occurrences of {@code item} removed */
+    int remove(T item) {
+      Integer count = items == null ? null : items.remove(item);
+      if (count == null) {
+        return 0;
+      }
+      if (items.isEmpty()) {
+        items = null;
+      }
+      return count;
+    }
+
+    Node<T> child(char c) {
+      int i = Arrays.binarySearch(keys, 0, size, c);
+      return i >= 0 ? children[i] : null;
+    }
+
+    Node<T> childOrCreate(char c) {
+      int i = Arrays.binarySearch(keys, 0, size, c);
+      if (i >= 0) {
+        return children[i];
+      }
+      int at = -i - 1;
+      if (size == keys.length) {
+        int cap = Math.max(2, size * 2);
+        keys = Arrays.copyOf(keys, cap);
+        children = Arrays.copyOf(children, cap);
+      }
+      System.arraycopy(keys, at, keys, at + 1, size - at);
+      System.arraycopy(children, at, children, at + 1, size - at);
+      Node<T> n = new Node<>();
+      keys[at] = c;
+      children[at] = n;
+      size++;
+      return n;
+    }
+
+    void removeChild(char c) {
+      int i = Arrays.binarySearch(keys, 0, size, c);
+      if (i < 0) {
+        return;
+      }
+      System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+      System.arraycopy(children, i + 1, children, i, size - i - 1);
+      size--;
+      children[size] = null;
+    }
+
+    boolean isEmpty() {
+      return size == 0 && items == null;
+    }
+
+    void clear() {
+      keys = NO_KEYS;
+      children = newPath(0);
+      size = 0;
+      items = null;
+    }
+  }
+}
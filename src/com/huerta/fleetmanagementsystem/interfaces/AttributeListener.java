@@ -0,0 +1,24 @@
+package com.huerta.fleetmanagementsystem.interfaces;
+
+/**
+ * Callback notified whenever a model object changes one of its attributes.
+ *
+ * <p><b>OOP concept – Abstraction:</b> model classes such as
+ * {@link com.huerta.fleetmanagementsystem.model.vehicle.Vehicle} and
+ * {@link com.huerta.fleetmanagementsystem.model.person.Driver} only know
+ * this interface, not the {@code Fleet} that observes them, keeping the
+ * model free of any dependency on the event infrastructure.</p>
+ */
+@FunctionalInterface
+public interface AttributeListener {
+
+  /**
+   * Invoked after an attribute has been changed.
+   *
+   * @param source    the object whose attribute changed
+   * @param attribute the attribute (field) name, e.g. {@code "mileage"}
+   * @param oldValue  the previous value; may be {@code null}
+   * @param newValue  the new value; may be {@code null}
+   */
+  void attributeChanged(Object source, String attribute, Object oldValue, Object newValue);
+}
@@ -0,0 +1,26 @@
+package com.huerta.fleetmanagementsystem.interfaces;
+
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+
+/**
+ * Defines the contract for components that react to changes in a fleet.
+ *
+ * <p>Events are always delivered in batches: a single mutation yields a
+ * one-element list, while a batch of mutations (or a burst coalesced by
+ * the receiver) arrives as one list, so subscribers can apply all deltas
+ * and refresh once.</p>
+ *
+ * @see com.huerta.fleetmanagementsystem.event.FleetEventBus
+ */
+@FunctionalInterface
+public interface FleetChangeListener {
+
+  /**
+   * Receives a batch of fleet events in the order they happened.
+   *
+   * @param events non-empty, read-only list of events
+   */
+  void fleetChanged(List<FleetEvent> events);
+}
@@ -0,0 +1,409 @@
+package com.huerta.fleetmanagementsystem.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.huerta.fleetmanagementsystem.jfr.FleetReportEvent;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.fleet.BatchResult;
+import com.huerta.fleetmanagementsystem.model.fleet.DriverAssignment;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Imports and exports vehicles, with their assigned drivers, as CSV.
+ *
+ * <p>One vehicle per row under the {@link #HEADER} line. The meaning of
+ * {@code capacity} depends on the type — seats, payload (tons),
+ * passengers or engine displacement (cc) — and {@code class} holds a
+ * car's {@link FuelType} or a bus's {@link ServiceType}. Columns that do
+ * not apply to a type, and the driver columns of an unassigned vehicle,
+ * are empty. Fields containing a comma, quote or line break are quoted
+ * as in RFC 4180, and a quoted field may span lines on import.
+ * Maintenance history is not part of the format; use a snapshot
+ * file to keep it.</p>
+ *
+ * <p>Both directions stream: an export writes row by row, and an import
+ * reads {@value #IMPORT_BATCH} rows at a time and adds them through the
+ * service's batch operations, so each batch is one fleet mutation (and
+ * one JFR {@code FleetMutation} event) rather than one per vehicle.</p>
+ */
+public final class FleetCsv {
+
+  /** First line of every file. */
+  public static final String HEADER = "type,id,licensePlate,make,model,year,mileage,capacity,class,axles,"
+      + "grossWeight,driverLicense,driverName,driverExperience";
+
+  /** Rows added to the fleet per batch on import. */
+  public static final int IMPORT_BATCH = 10_000;
+
+  private static final int COLUMNS = 14;
+
+  private static final System.Logger LOG = System.getLogger(FleetCsv.class.getName());
+
+  /**
+   * Outcome of an import.
+   *
+   * @param vehicles vehicles added
+   * @param drivers  drivers added
+   * @param rejected rows or assignments the fleet refused (e.g. a
+   *                 duplicate id); the first few are logged
+   */
+  public record ImportSummary(int vehicles, int drivers, int rejected) {
+  }
+
+  private FleetCsv() {
+  }
+
+  // ---- Export ----
+
+  /**
+   * Writes the fleet's vehicles as CSV.
+   *
+   * @param fleet fleet to export
+   * @param out   receives the header and one line per vehicle
+   * @return number of vehicles written
+   * @throws IOException if {@code out} fails
+   */
+  public static int export(Fleet fleet, Appendable out) throws IOException {
+    FleetReportEvent jfr = FleetReportEvent.start("csvExport");
+    List<Vehicle> vehicles = fleet.snapshot().vehicles();
+    int written = 0;
+    try {
+      out.append(HEADER).append('\n');
+      StringBuilder row = new StringBuilder(128);
+      for (Vehicle v : vehicles) {
+        row.setLength(0);
+        appendRow(v, row);
+        out.append(row).append('\n');
+        written++;
+      }
+      return written;
+    } finally {
+      jfr.finish(vehicles.size(), written);
+    }
+  }
+
+  private static void appendRow(Vehicle v, StringBuilder row) {
+    int capacity;
+    Enum<?> kind = null;
+    Integer axles = null;
+    Double grossWeight = null;
+    if (v instanceof Car c) {
+      row.append("car");
+      capacity = c.getSeatingCapacity();
+      kind = c.getFuelType();
+    } else if (v instanceof Truck t) {
+      row.append("truck");
+      capacity = t.getPayloadCapacity();
+      axles = t.getAxleCount();
+      grossWeight = t.getGrossVehicleWeight();
+    } else if (v instanceof Bus b) {
+      row.append("bus");
+      capacity = b.getPassengerCapacity();
+      kind = b.getServiceType();
+      grossWeight = b.getGrossVehicleWeight();
+    } else if (v instanceof Motorcycle m) {
+      row.append("motorcycle");
+      capacity = m.getEngineDisplacement();
+    } else {
+      throw new IllegalArgumentException("Cannot export vehicle type " + v.getClass().getName());
+    }
+    row.append(',').append(v.getId());
+    appendField(row, v.getLicensePlate());
+    appendField(row, v.getMake());
+    appendField(row, v.getModel());
+    row.append(',').append(v.getYear());
+    row.append(',').append(v.getMileage());
+    row.append(',').append(capacity);
+    appendField(row, kind == null ? null : kind.name());
+    appendField(row, axles == null ? null : axles.toString());
+    appendField(row, grossWeight == null ? null : grossWeight.toString());
+    Driver d = v.getDriver();
+    appendField(row, d == null ? null : d.getLicenseNumber());
+    appendField(row, d == null ? null : d.getFullName());
+    appendField(row, d == null ? null : Integer.toString(d.getYearsOfExperience()));
+  }
+
+  /** Appends a comma and the field, quoted if needed; {@code null} as empty. */
+  private static void appendField(StringBuilder row, String value) {
+    row.append(',');
+    if (value == null) {
+      return;
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      row.append(value);
+      return;
+    }
+    row.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        row.append('"');
+      }
+      row.append(c);
+    }
+    row.append('"');
+  }
+
+  // ---- Import ----
+
+  /**
+   * Adds the vehicles of a CSV file to the service's fleet, together with
+   * drivers not yet in it, and assigns them.
+   *
+   * @param in      CSV starting with {@link #HEADER}; not closed
+   * @param service service to add to
+   * @return what was added
+   * @throws IOException if reading fails
+   * @throws IllegalArgumentException if a row is malformed; rows before
+   *                                  its batch have been added
+   */
+  public static ImportSummary importInto(Reader in, FleetService service) throws IOException {
+    BufferedReader lines = in instanceof BufferedReader br ? br : new BufferedReader(in);
+    String header = lines.readLine();
+    if (header == null || !header.strip().equals(HEADER)) {
+      throw new IllegalArgumentException("Line 1: expected header " + HEADER);
+    }
+    Map<String, Driver> drivers = new HashMap<>();
+    List<Vehicle> vehicles = new ArrayList<>(IMPORT_BATCH);
+    List<Driver> newDrivers = new ArrayList<>();
+    List<DriverAssignment> assignments = new ArrayList<>();
+    int[] totals = new int[3]; // vehicles, drivers, rejected
+    RowReader rows = new RowReader(lines);
+    List<String> fields;
+    while ((fields = rows.next()) != null) {
+      int lineNumber = rows.rowLine;
+      Vehicle v;
+      try {
+        v = parseVehicle(fields);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+      }
+      vehicles.add(v);
+      String license = fields.get(11);
+      if (!license.isEmpty()) {
+        Driver d = drivers.get(license);
+        if (d == null) {
+          d = service.findDriver(license);
+        }
+        if (d == null) {
+          try {
+            d = new Driver(fields.get(12), license, parseInt(fields.get(13), "driverExperience"));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+          }
+          newDrivers.add(d);
+        }
+        drivers.put(license, d);
+        assignments.add(new DriverAssignment(v, d));
+      }
+      if (vehicles.size() == IMPORT_BATCH) {
+        flush(service, vehicles, newDrivers, assignments, totals);
+      }
+    }
+    flush(service, vehicles, newDrivers, assignments, totals);
+    return new ImportSummary(totals[0], totals[1], totals[2]);
+  }
+
+  /**
+   * Adds one batch. Assignments of a vehicle or new driver the fleet
+   * refused are dropped rather than submitted, so each refused row is
+   * counted once.
+   */
+  private static void flush(FleetService service, List<Vehicle> vehicles, List<Driver> newDrivers,
+      List<DriverAssignment> assignments, int[] totals) {
+    Set<Object> refused = Collections.newSetFromMap(new IdentityHashMap<>());
+    if (!newDrivers.isEmpty()) {
+      totals[1] += count(service.addDrivers(newDrivers), totals, refused);
+    }
+    if (!vehicles.isEmpty()) {
+      totals[0] += count(service.addVehicles(vehicles), totals, refused);
+    }
+    if (!refused.isEmpty()) {
+      assignments.removeIf(a -> refused.contains(a.vehicle()) || refused.contains(a.driver()));
+    }
+    if (!assignments.isEmpty()) {
+      count(service.assignDrivers(assignments), totals, refused);
+    }
+    vehicles.clear();
+    newDrivers.clear();
+    assignments.clear();
+  }
+
+  /**
+   * @return applied results; rejections are added to {@code totals[2]}
+   *         and their items to {@code refused}
+   */
+  private static int count(List<? extends BatchResult<?>> results, int[] totals, Set<Object> refused) {
+    int applied = 0;
+    for (BatchResult<?> r : results) {
+      if (r.isApplied()) {
+        applied++;
+        continue;
+      }
+      refused.add(r.item());
+      if (totals[2]++ < 10) {
+        LOG.log(System.Logger.Level.WARNING, "CSV import rejected " + r.item() + ": " + r.error());
+      }
+    }
+    return applied;
+  }
+
+  private static Vehicle parseVehicle(List<String> f) {
+    long id = parseLong(f.get(1), "id");
+    String plate = f.get(2);
+    String make = f.get(3);
+    String model = f.get(4);
+    int year = parseInt(f.get(5), "year");
+    double mileage = parseDouble(f.get(6), "mileage");
+    int capacity = parseInt(f.get(7), "capacity");
+    switch (f.get(0)) {
+      case "car":
+        return new Car(id, plate, make, model, year, capacity, parseEnum(FuelType.class, f.get(8)), mileage);
+      case "truck":
+        return new Truck(id, plate, make, model, year, capacity, parseInt(f.get(9), "axles"), mileage,
+            parseDouble(f.get(10), "grossWeight"));
+      case "bus":
+        return new Bus(id, plate, make, model, year, capacity, parseEnum(ServiceType.class, f.get(8)), mileage,
+            parseDouble(f.get(10), "grossWeight"));
+      case "motorcycle":
+        return new Motorcycle(id, plate, make, model, year, capacity, mileage);
+      default:
+        throw new IllegalArgumentException("unknown vehicle type '" + f.get(0) + "'");
+    }
+  }
+
+  /**
+   * Reads rows one character at a time, so that a quoted field may contain
+   * line breaks; {@link BufferedReader#readLine()} would split it.
+   */
+  private static final class RowReader {
+
+    private final BufferedReader in;
+    /** Lines consumed so far, the header included. */
+    private int line = 1;
+    /** First line of the row last returned. */
+    int rowLine;
+
+    RowReader(BufferedReader in) {
+      this.in = in;
+    }
+
+    /**
+     * Reads the next non-blank row and splits it into exactly
+     * {@value #COLUMNS} fields, unquoting quoted ones.
+     *
+     * @return the fields, or {@code null} at the end of the input
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    List<String> next() throws IOException {
+      while (true) {
+        rowLine = line + 1;
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawQuote = false;
+        int c;
+        while ((c = in.read()) >= 0) {
+          if (quoted) {
+            if (c != '"') {
+              if (c == '\n') {
+                line++;
+              }
+              field.append((char) c);
+            } else if (consume('"')) {
+              field.append('"');
+            } else {
+              quoted = false;
+            }
+          } else if (c == '"') {
+            quoted = true;
+            sawQuote = true;
+          } else if (c == ',') {
+            fields.add(field.toString());
+            field.setLength(0);
+          } else if (c == '\n' || c == '\r') {
+            if (c == '\r') {
+              consume('\n');
+            }
+            break;
+          } else {
+            field.append((char) c);
+          }
+        }
+        if (quoted) {
+          throw new IllegalArgumentException("Line " + rowLine + ": unterminated quoted field.");
+        }
+        if (c < 0 && fields.isEmpty() && field.length() == 0 && !sawQuote) {
+          return null;
+        }
+        line++;
+        if (fields.isEmpty() && !sawQuote && field.toString().isBlank()) {
+          continue;
+        }
+        fields.add(field.toString());
+        if (fields.size() != COLUMNS) {
+          throw new IllegalArgumentException("Line " + rowLine + ": expected " + COLUMNS + " fields, found "
+              + fields.size() + ".");
+        }
+        return fields;
+      }
+    }
+
+    /** Consumes the next character if it is {@code expected}. */
+    private boolean consume(char expected) throws IOException {
+      in.mark(1);
+      if (in.read() == expected) {
+        return true;
+      }
+      in.reset();
+      return false;
+    }
+  }
+
+  private static int parseInt(String s, String column) {
+    try {
+      return Integer.parseInt(s.strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " must be an integer, was '" + s + "'");
+    }
+  }
+
+  private static long parseLong(String s, String column) {
+    try {
+      return Long.parseLong(s.strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " must be an integer, was '" + s + "'");
+    }
+  }
+
+  private static double parseDouble(String s, String column) {
+    try {
+      return Double.parseDouble(s.strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " must be a number, was '" + s + "'");
+    }
+  }
+
+  /** @return the constant, or {@code null} for an empty field */
+  private static <E extends Enum<E>> E parseEnum(Class<E> type, String s) {
+    return s.isBlank() ? null : Enum.valueOf(type, s.strip());
+  }
+}
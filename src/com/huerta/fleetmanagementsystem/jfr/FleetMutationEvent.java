@@ -0,0 +1,62 @@
+package com.huerta.fleetmanagementsystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for every membership or maintenance change of a
+ * {@link com.huerta.fleetmanagementsystem.model.fleet.Fleet}.
+ *
+ * <p>The duration covers lock acquisition, the change itself and, for
+ * single-item calls, synchronous listener dispatch, so slow mutations
+ * can be lined up against GC pauses and {@code jdk.ThreadPark} events
+ * of contending threads in the same recording.</p>
+ */
+@Name("com.huerta.fleetmanagementsystem.FleetMutation")
+@Label("Fleet Mutation")
+@Category({ "Fleet Management", "Mutations" })
+@Description("Addition or removal of fleet members, driver assignment or maintenance registration")
+public final class FleetMutationEvent extends Event {
+
+  @Label("Operation")
+  private String operation;
+
+  @Label("Fleet Size")
+  @Description("Vehicles in the fleet when the operation finished")
+  private int fleetSize;
+
+  @Label("Batch Size")
+  @Description("Items submitted in this call (1 for single-item operations)")
+  private int batchSize;
+
+  /**
+   * Creates and begins an event.
+   *
+   * @param operation name of the fleet operation
+   * @param batchSize number of items submitted
+   * @return the started event
+   */
+  public static FleetMutationEvent start(String operation, int batchSize) {
+    FleetMutationEvent e = new FleetMutationEvent();
+    e.operation = operation;
+    e.batchSize = batchSize;
+    e.begin();
+    return e;
+  }
+
+  /**
+   * Ends the event and commits it if the recording wants it.
+   *
+   * @param fleetSize vehicles in the fleet at the end of the operation
+   */
+  public void finish(int fleetSize) {
+    end();
+    if (shouldCommit()) {
+      this.fleetSize = fleetSize;
+      commit();
+    }
+  }
+}
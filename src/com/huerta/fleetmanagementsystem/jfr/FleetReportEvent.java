@@ -0,0 +1,56 @@
+package com.huerta.fleetmanagementsystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for every fleet-wide report or cost computation.
+ */
+@Name("com.huerta.fleetmanagementsystem.FleetReport")
+@Label("Fleet Report")
+@Category({ "Fleet Management", "Reports" })
+@Description("Generation of a fleet-wide report or operating-cost total")
+public final class FleetReportEvent extends Event {
+
+  @Label("Report")
+  private String report;
+
+  @Label("Fleet Size")
+  @Description("Vehicles scanned")
+  private int fleetSize;
+
+  @Label("Result Count")
+  @Description("Lines or vehicles produced by the report")
+  private int resultCount;
+
+  /**
+   * Creates and begins an event.
+   *
+   * @param report name of the report
+   * @return the started event
+   */
+  public static FleetReportEvent start(String report) {
+    FleetReportEvent e = new FleetReportEvent();
+    e.report = report;
+    e.begin();
+    return e;
+  }
+
+  /**
+   * Ends the event and commits it if the recording wants it.
+   *
+   * @param fleetSize   vehicles scanned
+   * @param resultCount entries produced
+   */
+  public void finish(int fleetSize, int resultCount) {
+    end();
+    if (shouldCommit()) {
+      this.fleetSize = fleetSize;
+      this.resultCount = resultCount;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.huerta.fleetmanagementsystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for every table or picker refresh on the Event
+ * Dispatch Thread, so UI stalls show up next to the fleet operations and
+ * GC activity that caused them.
+ */
+@Name("com.huerta.fleetmanagementsystem.GuiRefresh")
+@Label("GUI Refresh")
+@Category({ "Fleet Management", "GUI" })
+@Description("Refresh of a Swing view on the Event Dispatch Thread")
+public final class GuiRefreshEvent extends Event {
+
+  @Label("Component")
+  private String component;
+
+  @Label("Kind")
+  @Description("full (rows reloaded), delta (events applied) or query (picker re-run)")
+  private String kind;
+
+  @Label("Batch Size")
+  @Description("Fleet events applied by this refresh")
+  private int batchSize;
+
+  @Label("Row Count")
+  @Description("Rows or matches shown after the refresh")
+  private int rowCount;
+
+  /**
+   * Creates and begins an event.
+   *
+   * @param component view being refreshed
+   * @param kind      {@code full}, {@code delta} or {@code query}
+   * @param batchSize fleet events applied (0 for full reloads)
+   * @return the started event
+   */
+  public static GuiRefreshEvent start(String component, String kind, int batchSize) {
+    GuiRefreshEvent e = new GuiRefreshEvent();
+    e.component = component;
+    e.kind = kind;
+    e.batchSize = batchSize;
+    e.begin();
+    return e;
+  }
+
+  /**
+   * Ends the event and commits it if the recording wants it.
+   *
+   * @param rowCount rows or matches shown after the refresh
+   */
+  public void finish(int rowCount) {
+    end();
+    if (shouldCommit()) {
+      this.rowCount = rowCount;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.huerta.fleetmanagementsystem.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.huerta.fleetmanagementsystem.service.FleetService;
+
+/**
+ * Registers the fleet MBeans of a {@link FleetService} with the platform
+ * MBean server, under the domain {@value #DOMAIN}:
+ * <ul>
+ *   <li>{@code type=FleetStatistics,name=<name>} — {@link FleetStatisticsMXBean}</li>
+ *   <li>{@code type=ServiceMetrics,name=<name>} — {@link ServiceMetricsMXBean}</li>
+ * </ul>
+ */
+public final class FleetManagement {
+
+  /** JMX domain of every fleet MBean. */
+  public static final String DOMAIN = "com.huerta.fleetmanagementsystem";
+
+  private final List<ObjectName> names;
+
+  private FleetManagement(List<ObjectName> names) {
+    this.names = names;
+  }
+
+  /**
+   * Creates and registers the MBeans of {@code service}.
+   *
+   * @param service the service to expose
+   * @param name    value of the {@code name} key, distinguishing several fleets
+   * @return handle for {@link #unregister()}
+   * @throws IllegalStateException if registration fails (e.g. the name is taken)
+   */
+  public static FleetManagement register(FleetService service, String name) {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName statsName = new ObjectName(DOMAIN + ":type=FleetStatistics,name=" + ObjectName.quote(name));
+      ObjectName metricsName = new ObjectName(DOMAIN + ":type=ServiceMetrics,name=" + ObjectName.quote(name));
+      server.registerMBean(FleetStatistics.attach(service.fleet(), service.searchIndex()), statsName);
+      server.registerMBean(new ServiceMetrics(service.metrics()), metricsName);
+      return new FleetManagement(List.of(statsName, metricsName));
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register fleet MBeans: " + e.getMessage(), e);
+    }
+  }
+
+  /** Unregisters the MBeans; names already gone are ignored. */
+  public void unregister() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for (ObjectName n : names) {
+      try {
+        server.unregisterMBean(n);
+      } catch (JMException e) {
+        // already unregistered
+      }
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.huerta.fleetmanagementsystem.management;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.index.FleetSearchIndex;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.telemetry.CostAggregate;
+
+/**
+ * Event-maintained fleet statistics, exposed as {@link FleetStatisticsMXBean}.
+ *
+ * <p>Each event updates only the members it names: the vehicle's type
+ * count, whether it has a driver and how many maintenance records it
+ * holds are re-read from that one vehicle and the difference applied to
+ * the totals. Handling is idempotent, so members present both in the
+ * initial snapshot and in a late-dispatched event are counted once.</p>
+ *
+ * <p>Updates are serialized on this object; reads go to volatile and
+ * atomic fields only, so management clients never contend with writers
+ * or with the fleet lock.</p>
+ */
+public class FleetStatistics implements FleetStatisticsMXBean, FleetChangeListener {
+
+  private final FleetSearchIndex searchIndex;
+  private final CostAggregate costs;
+
+  /** Last counted state of every member vehicle. */
+  private final Map<Vehicle, VehicleState> vehicles = new IdentityHashMap<>();
+  private final Set<Driver> drivers = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Map<String, AtomicInteger> typeCounts = new ConcurrentHashMap<>();
+
+  private volatile int vehicleCount;
+  private volatile int driverCount;
+  private volatile int assignedCount;
+  private volatile long maintenanceRecords;
+  private volatile long eventsProcessed;
+
+  private FleetStatistics(FleetSearchIndex searchIndex, CostAggregate costs) {
+    this.searchIndex = searchIndex;
+    this.costs = costs;
+  }
+
+  /**
+   * Creates statistics over {@code fleet} and subscribes them.
+   *
+   * @param fleet       the fleet to follow
+   * @param searchIndex index whose sizes are reported; may be {@code null}
+   * @return the attached statistics
+   */
+  public static FleetStatistics attach(Fleet fleet, FleetSearchIndex searchIndex) {
+    FleetStatistics stats = new FleetStatistics(searchIndex, CostAggregate.attach(fleet));
+    fleet.subscribeWithSnapshot(stats, (vs, ds) -> {
+      synchronized (stats) {
+        vs.forEach(stats::refreshVehicle);
+        ds.forEach(stats::addDriver);
+      }
+    });
+    return stats;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized void fleetChanged(List<FleetEvent> events) {
+    for (FleetEvent e : events) {
+      switch (e.type()) {
+        case VEHICLE_ADDED:
+        case DRIVER_ASSIGNED:
+        case DRIVER_RELEASED:
+        case MAINTENANCE_REGISTERED:
+          refreshVehicle(e.vehicle());
+          break;
+        case VEHICLE_REMOVED:
+          removeVehicle(e.vehicle());
+          break;
+        case DRIVER_ADDED:
+          addDriver(e.driver());
+          break;
+        case DRIVER_REMOVED:
+          if (drivers.remove(e.driver())) {
+            driverCount = drivers.size();
+          }
+          break;
+        default:
+          break; // attribute updates change neither type, assignment nor history
+      }
+    }
+    eventsProcessed += events.size();
+  }
+
+  private void refreshVehicle(Vehicle v) {
+    VehicleState old = vehicles.get(v);
+    VehicleState now = new VehicleState(v.getClass().getSimpleName(), v.getDriver() != null,
+        v.getMaintenanceHistory().size());
+    vehicles.put(v, now);
+    if (old == null) {
+      typeCounts.computeIfAbsent(now.type(), t -> new AtomicInteger()).incrementAndGet();
+      vehicleCount = vehicles.size();
+    }
+    apply(old, now);
+  }
+
+  private void removeVehicle(Vehicle v) {
+    VehicleState old = vehicles.remove(v);
+    if (old == null) {
+      return;
+    }
+    typeCounts.get(old.type()).decrementAndGet();
+    vehicleCount = vehicles.size();
+    apply(old, null);
+  }
+
+  private void addDriver(Driver d) {
+    if (drivers.add(d)) {
+      driverCount = drivers.size();
+    }
+  }
+
+  /** Moves the assignment and maintenance totals from {@code old} to {@code now}. */
+  private void apply(VehicleState old, VehicleState now) {
+    int assignedDelta = (now != null && now.assigned() ? 1 : 0) - (old != null && old.assigned() ? 1 : 0);
+    int recordDelta = (now != null ? now.records() : 0) - (old != null ? old.records() : 0);
+    if (assignedDelta != 0) {
+      assignedCount += assignedDelta;
+    }
+    if (recordDelta != 0) {
+      maintenanceRecords += recordDelta;
+    }
+  }
+
+  @Override
+  public int getVehicleCount() {
+    return vehicleCount;
+  }
+
+  @Override
+  public Map<String, Integer> getVehicleCountsByType() {
+    Map<String, Integer> counts = new TreeMap<>();
+    typeCounts.forEach((type, n) -> counts.put(type, n.get()));
+    return counts;
+  }
+
+  @Override
+  public int getDriverCount() {
+    return driverCount;
+  }
+
+  @Override
+  public int getAssignedVehicleCount() {
+    return assignedCount;
+  }
+
+  @Override
+  public int getUnassignedVehicleCount() {
+    return Math.max(0, vehicleCount - assignedCount);
+  }
+
+  @Override
+  public double getAssignedRatio() {
+    int total = vehicleCount;
+    return total == 0 ? 0 : (double) assignedCount / total;
+  }
+
+  @Override
+  public long getMaintenanceRecordCount() {
+    return maintenanceRecords;
+  }
+
+  @Override
+  public double getCachedTotalOperatingCost() {
+    return costs.total();
+  }
+
+  @Override
+  public long getCostRecomputations() {
+    return costs.recomputations();
+  }
+
+  @Override
+  public int getSearchIndexVehicleEntries() {
+    return searchIndex == null ? 0 : searchIndex.vehicleEntryCount();
+  }
+
+  @Override
+  public int getSearchIndexDriverEntries() {
+    return searchIndex == null ? 0 : searchIndex.driverEntryCount();
+  }
+
+  @Override
+  public long getEventsProcessed() {
+    return eventsProcessed;
+  }
+
+  /** What was last counted for one vehicle. */
+  private record VehicleState(String type, boolean assigned, int records) {
+  }
+}
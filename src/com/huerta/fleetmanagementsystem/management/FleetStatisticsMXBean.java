@@ -0,0 +1,49 @@
+package com.huerta.fleetmanagementsystem.management;
+
+import java.util.Map;
+
+/**
+ * Management view of a fleet's composition and internal state.
+ *
+ * <p>Every attribute is served from counters kept current by fleet
+ * events, so reading one from jconsole never takes the fleet lock or
+ * scans the fleet.</p>
+ */
+public interface FleetStatisticsMXBean {
+
+  /** @return vehicles in the fleet */
+  int getVehicleCount();
+
+  /** @return vehicles per concrete type (Car, Truck, ...) */
+  Map<String, Integer> getVehicleCountsByType();
+
+  /** @return drivers in the fleet */
+  int getDriverCount();
+
+  /** @return vehicles with a driver assigned */
+  int getAssignedVehicleCount();
+
+  /** @return vehicles without a driver */
+  int getUnassignedVehicleCount();
+
+  /** @return assigned vehicles divided by all vehicles ({@code 0} when empty) */
+  double getAssignedRatio();
+
+  /** @return maintenance records across all member vehicles */
+  long getMaintenanceRecordCount();
+
+  /** @return cached (event-maintained) total operating cost */
+  double getCachedTotalOperatingCost();
+
+  /** @return single-vehicle cost recomputations performed by the cache */
+  long getCostRecomputations();
+
+  /** @return (key, vehicle) entries in the type-ahead index; {@code 0} until first search */
+  int getSearchIndexVehicleEntries();
+
+  /** @return (key, driver) entries in the type-ahead index; {@code 0} until first search */
+  int getSearchIndexDriverEntries();
+
+  /** @return fleet events applied to these statistics */
+  long getEventsProcessed();
+}
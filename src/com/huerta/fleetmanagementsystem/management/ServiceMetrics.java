@@ -0,0 +1,89 @@
+package com.huerta.fleetmanagementsystem.management;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+import com.huerta.fleetmanagementsystem.metrics.FleetMetrics;
+import com.huerta.fleetmanagementsystem.metrics.OperationStats;
+import com.huerta.fleetmanagementsystem.metrics.ServiceOperation;
+
+/**
+ * {@link ServiceMetricsMXBean} backed by a service's {@link FleetMetrics}.
+ * Reading an attribute scans the lock-free histograms, never the fleet.
+ */
+public class ServiceMetrics implements ServiceMetricsMXBean {
+
+  private final FleetMetrics metrics;
+
+  /**
+   * @param metrics the metrics to expose
+   */
+  public ServiceMetrics(FleetMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return metrics.isEnabled();
+  }
+
+  @Override
+  public void setEnabled(boolean enabled) {
+    metrics.setEnabled(enabled);
+  }
+
+  @Override
+  public Map<String, Long> getCallCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    for (OperationStats s : metrics.snapshot()) {
+      counts.put(s.operation().name(), s.count());
+    }
+    return counts;
+  }
+
+  @Override
+  public Map<String, Double> getLastMicros() {
+    Map<String, Double> last = new TreeMap<>();
+    for (ServiceOperation op : ServiceOperation.values()) {
+      long nanos = metrics.lastNanos(op);
+      if (nanos > 0) {
+        last.put(op.name(), nanos / 1000.0);
+      }
+    }
+    return last;
+  }
+
+  @Override
+  public Map<String, Double> getMeanMicros() {
+    return byOperation(OperationStats::meanMicros);
+  }
+
+  @Override
+  public Map<String, Double> getP50Micros() {
+    return byOperation(OperationStats::p50Micros);
+  }
+
+  @Override
+  public Map<String, Double> getP99Micros() {
+    return byOperation(OperationStats::p99Micros);
+  }
+
+  @Override
+  public Map<String, Double> getP999Micros() {
+    return byOperation(OperationStats::p999Micros);
+  }
+
+  @Override
+  public void reset() {
+    metrics.reset();
+  }
+
+  private Map<String, Double> byOperation(ToDoubleFunction<OperationStats> value) {
+    Map<String, Double> result = new TreeMap<>();
+    for (OperationStats s : metrics.snapshot()) {
+      result.put(s.operation().name(), value.applyAsDouble(s));
+    }
+    return result;
+  }
+}
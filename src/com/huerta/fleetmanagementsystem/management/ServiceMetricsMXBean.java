@@ -0,0 +1,37 @@
+package com.huerta.fleetmanagementsystem.management;
+
+import java.util.Map;
+
+/**
+ * Management view of {@link com.huerta.fleetmanagementsystem.metrics.FleetMetrics}:
+ * per-operation call counts and latencies, keyed by operation name.
+ */
+public interface ServiceMetricsMXBean {
+
+  /** @return whether service operations are being timed */
+  boolean isEnabled();
+
+  /** @param enabled whether to time service operations */
+  void setEnabled(boolean enabled);
+
+  /** @return calls recorded per operation */
+  Map<String, Long> getCallCounts();
+
+  /** @return latency of the most recent call per operation, in microseconds */
+  Map<String, Double> getLastMicros();
+
+  /** @return mean latency per operation, in microseconds */
+  Map<String, Double> getMeanMicros();
+
+  /** @return median latency per operation, in microseconds */
+  Map<String, Double> getP50Micros();
+
+  /** @return 99th-percentile latency per operation, in microseconds */
+  Map<String, Double> getP99Micros();
+
+  /** @return 99.9th-percentile latency per operation, in microseconds */
+  Map<String, Double> getP999Micros();
+
+  /** Clears every histogram. */
+  void reset();
+}
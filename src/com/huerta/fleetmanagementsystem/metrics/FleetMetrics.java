@@ -0,0 +1,142 @@
+package com.huerta.fleetmanagementsystem.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Invocation counts and latency histograms for every
+ * {@link ServiceOperation}.
+ *
+ * <p>Callers bracket an operation with {@link #start()} and
+ * {@link #stop(ServiceOperation, long)}:</p>
+ *
+ * <pre>
+ * long t = metrics.start();
+ * try {
+ *   ... work ...
+ * } finally {
+ *   metrics.stop(ServiceOperation.ADD_VEHICLE, t);
+ * }
+ * </pre>
+ *
+ * <p>Histograms live in an array indexed by ordinal, so recording does no
+ * lookup and no allocation. When disabled, {@code start()} returns a
+ * sentinel without reading the clock and {@code stop} returns on a single
+ * comparison, which keeps the cost to one volatile read per call.</p>
+ */
+public class FleetMetrics {
+
+  /** Returned by {@link #start()} while disabled. */
+  private static final long NOT_TIMED = Long.MIN_VALUE;
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[ServiceOperation.values().length];
+
+  /** Latency of the most recent call of each operation, in nanoseconds. */
+  private final AtomicLongArray lastNanos = new AtomicLongArray(ServiceOperation.values().length);
+
+  private volatile boolean enabled;
+  private volatile long since = System.nanoTime();
+
+  /** Creates an enabled metrics layer. */
+  public FleetMetrics() {
+    this(true);
+  }
+
+  /**
+   * Creates a metrics layer.
+   *
+   * @param enabled whether recording starts enabled
+   */
+  public FleetMetrics(boolean enabled) {
+    this.enabled = enabled;
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /** @return {@code true} if operations are being recorded */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** @param enabled whether to record operations from now on */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Marks the start of an operation.
+   *
+   * @return token to pass to {@link #stop(ServiceOperation, long)}
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : NOT_TIMED;
+  }
+
+  /**
+   * Records an operation that began at {@code startToken}.
+   *
+   * @param operation  the operation that finished
+   * @param startToken value returned by {@link #start()}
+   */
+  public void stop(ServiceOperation operation, long startToken) {
+    if (startToken != NOT_TIMED) {
+      long nanos = System.nanoTime() - startToken;
+      histograms[operation.ordinal()].record(nanos);
+      lastNanos.lazySet(operation.ordinal(), nanos);
+    }
+  }
+
+  /**
+   * Returns the live histogram of one operation.
+   *
+   * @param operation the operation
+   * @return its histogram
+   */
+  public LatencyHistogram histogram(ServiceOperation operation) {
+    return histograms[operation.ordinal()];
+  }
+
+  /**
+   * Returns the latency of the most recent recorded call.
+   *
+   * @param operation the operation
+   * @return latency in nanoseconds, {@code 0} if never recorded since reset
+   */
+  public long lastNanos(ServiceOperation operation) {
+    return lastNanos.get(operation.ordinal());
+  }
+
+  /**
+   * Returns a snapshot of every operation invoked since the last reset.
+   *
+   * @return stats in {@link ServiceOperation} order, omitting unused operations
+   */
+  public List<OperationStats> snapshot() {
+    double seconds = Math.max(1e-9, (System.nanoTime() - since) / 1e9);
+    List<OperationStats> stats = new ArrayList<>();
+    for (ServiceOperation op : ServiceOperation.values()) {
+      LatencyHistogram h = histograms[op.ordinal()];
+      long count = h.count();
+      if (count == 0) {
+        continue;
+      }
+      stats.add(new OperationStats(op, count, count / seconds, h.mean() / 1000.0,
+          h.percentile(0.50) / 1000.0, h.percentile(0.99) / 1000.0, h.percentile(0.999) / 1000.0,
+          h.max() / 1000.0));
+    }
+    return stats;
+  }
+
+  /** Clears every histogram and restarts the rate window. */
+  public void reset() {
+    for (LatencyHistogram h : histograms) {
+      h.reset();
+    }
+    for (int i = 0; i < lastNanos.length(); i++) {
+      lastNanos.set(i, 0);
+    }
+    since = System.nanoTime();
+  }
+}
@@ -0,0 +1,125 @@
+package com.huerta.fleetmanagementsystem.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with HDR-style log-linear buckets.
+ *
+ * <p>Values (nanoseconds) below {@value #LINEAR_LIMIT} get one bucket each;
+ * above that, every power-of-two range is split into
+ * {@value #SUB_BUCKETS} equal buckets, so any recorded value is reported
+ * within about 1.6% of its true value. Values are clamped at
+ * {@code 2^}{@value #MAX_MAGNITUDE} ns (about 18 minutes).</p>
+ *
+ * <p>{@link #record(long)} computes the bucket with a few bit operations
+ * and increments an {@link AtomicLongArray} slot: it never allocates and
+ * never locks, so it is safe on any hot path and from any thread.</p>
+ */
+public final class LatencyHistogram {
+
+  /** Sub-buckets per power of two. */
+  static final int SUB_BUCKETS = 64;
+
+  /** Values below this limit are counted exactly. */
+  static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+  /** Largest tracked magnitude (bit position of the highest one bit). */
+  static final int MAX_MAGNITUDE = 40;
+
+  private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+  private static final int LINEAR_BITS = SUB_BITS + 1;
+  private static final int BUCKETS = LINEAR_LIMIT + (MAX_MAGNITUDE - LINEAR_BITS + 1) * SUB_BUCKETS;
+  private static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records one value.
+   *
+   * @param nanos latency in nanoseconds; negative values count as {@code 0}
+   */
+  public void record(long nanos) {
+    long v = Math.min(Math.max(nanos, 0), MAX_VALUE);
+    counts.getAndIncrement(indexOf(v));
+    sum.add(v);
+    long m = max.get();
+    while (v > m && !max.compareAndSet(m, v)) {
+      m = max.get();
+    }
+  }
+
+  /** @return number of recorded values (sums the buckets; meant for snapshots) */
+  public long count() {
+    long n = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      n += counts.get(i);
+    }
+    return n;
+  }
+
+  /** @return mean of the recorded values in nanoseconds, {@code 0} if empty */
+  public double mean() {
+    long n = count();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  /** @return largest recorded value in nanoseconds */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Returns the value below which the given fraction of recordings fall.
+   *
+   * @param quantile fraction in {@code [0, 1]}, e.g. {@code 0.99}
+   * @return upper bound of the bucket holding that quantile, in nanoseconds
+   */
+  public long percentile(double quantile) {
+    long n = count();
+    if (n == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * n));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(highestValueIn(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /** Clears every bucket. Not atomic with respect to concurrent recording. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    sum.reset();
+    max.set(0);
+  }
+
+  static int indexOf(long v) {
+    if (v < LINEAR_LIMIT) {
+      return (int) v;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(v);
+    int sub = (int) (v >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR_LIMIT + (magnitude - LINEAR_BITS) * SUB_BUCKETS + sub;
+  }
+
+  static long highestValueIn(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    int k = index - LINEAR_LIMIT;
+    int magnitude = k / SUB_BUCKETS + LINEAR_BITS;
+    int sub = k % SUB_BUCKETS;
+    int shift = magnitude - SUB_BITS;
+    return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+  }
+}
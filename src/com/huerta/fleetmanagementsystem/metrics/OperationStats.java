@@ -0,0 +1,17 @@
+package com.huerta.fleetmanagementsystem.metrics;
+
+/**
+ * Snapshot of one operation's timer.
+ *
+ * @param operation     the timed operation
+ * @param count         invocations recorded
+ * @param ratePerSecond invocations per second since the last reset
+ * @param meanMicros    mean latency
+ * @param p50Micros     median latency
+ * @param p99Micros     99th-percentile latency
+ * @param p999Micros    99.9th-percentile latency
+ * @param maxMicros     maximum latency
+ */
+public record OperationStats(ServiceOperation operation, long count, double ratePerSecond,
+    double meanMicros, double p50Micros, double p99Micros, double p999Micros, double maxMicros) {
+}
@@ -0,0 +1,54 @@
+package com.huerta.fleetmanagementsystem.metrics;
+
+/**
+ * Every timed {@link com.huerta.fleetmanagementsystem.service.FleetService}
+ * operation, grouped by {@link Kind}.
+ */
+public enum ServiceOperation {
+
+  ADD_VEHICLE(Kind.MUTATION),
+  ADD_DRIVER(Kind.MUTATION),
+  ASSIGN_DRIVER(Kind.MUTATION),
+  RELEASE_DRIVER(Kind.MUTATION),
+  ADD_MAINTENANCE(Kind.MUTATION),
+  ADD_VEHICLES(Kind.MUTATION),
+  ADD_DRIVERS(Kind.MUTATION),
+  ADD_MAINTENANCE_BATCH(Kind.MUTATION),
+  ASSIGN_DRIVERS(Kind.MUTATION),
+  AUTO_ASSIGN_DRIVERS(Kind.MUTATION),
+  FIND_VEHICLE(Kind.QUERY),
+  FIND_DRIVER(Kind.QUERY),
+  FIND_VEHICLES(Kind.QUERY),
+  SEARCH_VEHICLES(Kind.QUERY),
+  SEARCH_DRIVERS(Kind.QUERY),
+  MAINTENANCE_DUE(Kind.QUERY),
+  VEHICLE_PAGE(Kind.QUERY),
+  MAINTENANCE_PAGE(Kind.QUERY),
+  FLEET_REPORTS(Kind.REPORT),
+  VEHICLE_DETAILS(Kind.REPORT),
+  COMMERCIAL_LICENSE_REPORT(Kind.REPORT),
+  TOTAL_OPERATING_COST(Kind.COST);
+
+  /** Category of an operation, used to group timers in displays. */
+  public enum Kind {
+    /** Changes the fleet. */
+    MUTATION,
+    /** Looks up or searches members. */
+    QUERY,
+    /** Builds a fleet-wide report. */
+    REPORT,
+    /** Computes operating costs. */
+    COST
+  }
+
+  private final Kind kind;
+
+  ServiceOperation(Kind kind) {
+    this.kind = kind;
+  }
+
+  /** @return the operation's category */
+  public Kind kind() {
+    return kind;
+  }
+}
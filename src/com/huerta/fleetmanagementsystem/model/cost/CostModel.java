@@ -0,0 +1,276 @@
+package com.huerta.fleetmanagementsystem.model.cost;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+
+/**
+ * Operating-cost coefficients of every vehicle type, compiled from a
+ * configuration into primitive fields and lookup tables.
+ *
+ * <p>Each vehicle type has a linear formula: a base cost, a cost per
+ * kilometre, a cost per unit of its type-specific attribute and, for cars
+ * and buses, a surcharge per {@link FuelType} or {@link ServiceType}. The
+ * surcharges live in {@code double[]} tables indexed by the enum's
+ * ordinal, so evaluating a formula is a handful of multiply-adds and one
+ * array load — no {@code switch}, map or string lookup.</p>
+ *
+ * <p>A configuration is a {@link Properties} file with the keys of
+ * {@link #defaults()}:</p>
+ *
+ * <pre>
+ * car.base=100          car.perKm=0.02     car.perSeat=5
+ * car.fuel.DIESEL=25    (one key per fuel type)
+ * truck.base=200        truck.perKm=0.03   truck.perPayloadKg=2.5   truck.perAxle=30
+ * bus.base=150          bus.perKm=0.025    bus.perPassenger=4
+ * bus.service.CITY=40   (one key per service type)
+ * motorcycle.base=60    motorcycle.perKm=0.015   motorcycle.perCc=0.05
+ * </pre>
+ *
+ * <p>Keys a file leaves out keep their default, so a tariff change only
+ * lists what changes. Unknown keys, negative and non-numeric values are
+ * rejected, so a typo cannot silently leave a tariff at its old value.</p>
+ *
+ * <p>Instances are immutable. The model vehicles use is
+ * {@link #current()}; {@link #install(CostModel)} replaces it atomically
+ * without blocking readers — a cost computed concurrently uses either the
+ * old or the new model, never a mixture.</p>
+ *
+ * @see CostModelReloader
+ */
+public final class CostModel {
+
+  private static final FuelType[] FUELS = FuelType.values();
+  private static final ServiceType[] SERVICES = ServiceType.values();
+
+  private static final Map<String, Double> DEFAULTS = defaultCoefficients();
+
+  /** The coefficients the vehicle classes used to hard-code. */
+  public static final CostModel DEFAULT = new CostModel(DEFAULTS);
+
+  private static volatile CostModel current = DEFAULT;
+
+  /** Run on the installing thread after every {@link #install}. */
+  private static final List<Runnable> INSTALL_LISTENERS = new CopyOnWriteArrayList<>();
+
+  private final double carBase;
+  private final double carPerKm;
+  private final double carPerSeat;
+  private final double[] carFuel;
+
+  private final double truckBase;
+  private final double truckPerKm;
+  private final double truckPerPayloadKg;
+  private final double truckPerAxle;
+
+  private final double busBase;
+  private final double busPerKm;
+  private final double busPerPassenger;
+  private final double[] busService;
+
+  private final double motorcycleBase;
+  private final double motorcyclePerKm;
+  private final double motorcyclePerCc;
+
+  private final Map<String, Double> coefficients;
+
+  private CostModel(Map<String, Double> coefficients) {
+    this.coefficients = Collections.unmodifiableMap(new LinkedHashMap<>(coefficients));
+    carBase = coefficients.get("car.base");
+    carPerKm = coefficients.get("car.perKm");
+    carPerSeat = coefficients.get("car.perSeat");
+    carFuel = new double[FUELS.length];
+    for (FuelType f : FUELS) {
+      carFuel[f.ordinal()] = coefficients.get("car.fuel." + f.name());
+    }
+    truckBase = coefficients.get("truck.base");
+    truckPerKm = coefficients.get("truck.perKm");
+    truckPerPayloadKg = coefficients.get("truck.perPayloadKg");
+    truckPerAxle = coefficients.get("truck.perAxle");
+    busBase = coefficients.get("bus.base");
+    busPerKm = coefficients.get("bus.perKm");
+    busPerPassenger = coefficients.get("bus.perPassenger");
+    busService = new double[SERVICES.length];
+    for (ServiceType s : SERVICES) {
+      busService[s.ordinal()] = coefficients.get("bus.service." + s.name());
+    }
+    motorcycleBase = coefficients.get("motorcycle.base");
+    motorcyclePerKm = coefficients.get("motorcycle.perKm");
+    motorcyclePerCc = coefficients.get("motorcycle.perCc");
+  }
+
+  /** @return the model vehicles currently compute their costs with */
+  public static CostModel current() {
+    return current;
+  }
+
+  /**
+   * Makes {@code model} the current model. Takes effect for every cost
+   * computed afterwards; cached costs (such as a running fleet total) are
+   * the holder's to refresh, lazily or from an
+   * {@linkplain #addInstallListener install listener}.
+   *
+   * @param model compiled model
+   * @throws IllegalArgumentException if {@code model} is {@code null}
+   */
+  public static void install(CostModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Cost model cannot be null.");
+    }
+    current = model;
+    for (Runnable listener : INSTALL_LISTENERS) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Registers a callback run on the installing thread after every
+   * {@link #install}, e.g. to reprice a cached total there rather than on
+   * the next read.
+   *
+   * @param listener callback; reads {@link #current()} itself, since a
+   *                 later install may already have replaced the model
+   */
+  public static void addInstallListener(Runnable listener) {
+    if (listener != null) {
+      INSTALL_LISTENERS.add(listener);
+    }
+  }
+
+  /** @param listener callback to remove */
+  public static void removeInstallListener(Runnable listener) {
+    INSTALL_LISTENERS.remove(listener);
+  }
+
+  /** @return every coefficient key with its default value, in file order */
+  public static Map<String, Double> defaults() {
+    return Collections.unmodifiableMap(DEFAULTS);
+  }
+
+  /**
+   * Compiles a configuration; missing keys take their default.
+   *
+   * @param config coefficient values by key
+   * @return the compiled model
+   * @throws IllegalArgumentException if a key is unknown or a value is not
+   *                                  a finite, non-negative number
+   */
+  public static CostModel compile(Properties config) {
+    Map<String, Double> values = new LinkedHashMap<>(DEFAULTS);
+    for (String key : config.stringPropertyNames()) {
+      if (!values.containsKey(key)) {
+        throw new IllegalArgumentException("Unknown cost coefficient: " + key);
+      }
+      values.put(key, parse(key, config.getProperty(key)));
+    }
+    return new CostModel(values);
+  }
+
+  /**
+   * Reads and compiles a configuration file (UTF-8 properties).
+   *
+   * @param file properties file
+   * @return the compiled model
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the configuration is invalid
+   */
+  public static CostModel load(Path file) throws IOException {
+    Properties config = new Properties();
+    try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      config.load(in);
+    }
+    return compile(config);
+  }
+
+  /** @return every coefficient of this model by key */
+  public Map<String, Double> coefficients() {
+    return coefficients;
+  }
+
+  /**
+   * @param mileage total kilometres
+   * @param seats   seating capacity
+   * @param fuel    fuel type
+   * @return monthly operating cost of a car
+   */
+  public double car(double mileage, int seats, FuelType fuel) {
+    return carBase + mileage * carPerKm + seats * carPerSeat + carFuel[fuel.ordinal()];
+  }
+
+  /**
+   * @param mileage total kilometres
+   * @param payload payload capacity in kg
+   * @param axles   axle count
+   * @return monthly operating cost of a truck
+   */
+  public double truck(double mileage, int payload, int axles) {
+    return truckBase + mileage * truckPerKm + payload * truckPerPayloadKg + axles * truckPerAxle;
+  }
+
+  /**
+   * @param mileage    total kilometres
+   * @param passengers passenger capacity
+   * @param service    service type
+   * @return monthly operating cost of a bus
+   */
+  public double bus(double mileage, int passengers, ServiceType service) {
+    return busBase + mileage * busPerKm + passengers * busPerPassenger + busService[service.ordinal()];
+  }
+
+  /**
+   * @param mileage      total kilometres
+   * @param displacement engine displacement in cc
+   * @return monthly operating cost of a motorcycle
+   */
+  public double motorcycle(double mileage, int displacement) {
+    return motorcycleBase + mileage * motorcyclePerKm + displacement * motorcyclePerCc;
+  }
+
+  private static double parse(String key, String text) {
+    double value;
+    try {
+      value = Double.parseDouble(text.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Cost coefficient " + key + " is not a number: " + text);
+    }
+    if (!Double.isFinite(value) || value < 0) {
+      throw new IllegalArgumentException("Cost coefficient " + key + " must be a non-negative number: " + text);
+    }
+    return value;
+  }
+
+  private static Map<String, Double> defaultCoefficients() {
+    Map<String, Double> d = new LinkedHashMap<>();
+    d.put("car.base", 100.0);
+    d.put("car.perKm", 0.02);
+    d.put("car.perSeat", 5.0);
+    d.put("car.fuel.GASOLINE", 20.0);
+    d.put("car.fuel.DIESEL", 25.0);
+    d.put("car.fuel.ELECTRIC", 10.0);
+    d.put("car.fuel.HYBRID", 15.0);
+    d.put("truck.base", 200.0);
+    d.put("truck.perKm", 0.03);
+    d.put("truck.perPayloadKg", 2.5);
+    d.put("truck.perAxle", 30.0);
+    d.put("bus.base", 150.0);
+    d.put("bus.perKm", 0.025);
+    d.put("bus.perPassenger", 4.0);
+    d.put("bus.service.CITY", 40.0);
+    d.put("bus.service.INTERCITY", 70.0);
+    d.put("motorcycle.base", 60.0);
+    d.put("motorcycle.perKm", 0.015);
+    d.put("motorcycle.perCc", 0.05);
+    return d;
+  }
+}
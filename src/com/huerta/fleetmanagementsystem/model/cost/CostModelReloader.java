@@ -0,0 +1,109 @@
+package com.huerta.fleetmanagementsystem.model.cost;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Watches a cost-model file and {@linkplain CostModel#install installs}
+ * each new version.
+ *
+ * <p>The file is polled every few seconds; when its modification time or
+ * size changes it is read and compiled on the watcher thread, and only
+ * the finished model is swapped in. Vehicles computing costs meanwhile
+ * keep using the previous model and never wait. A file that fails to
+ * parse is logged and ignored — the last good model stays in force until
+ * the file is fixed.</p>
+ */
+public class CostModelReloader implements AutoCloseable {
+
+  /** Default pause between checks of the file. */
+  public static final long DEFAULT_INTERVAL_MILLIS = 2000;
+
+  private static final System.Logger LOG = System.getLogger(CostModelReloader.class.getName());
+
+  private final Path file;
+  private final long intervalMillis;
+
+  private volatile boolean running;
+  private volatile long reloads;
+  private Thread watcher;
+  private long lastModified;
+  private long lastSize;
+
+  /**
+   * Creates (but does not start) a reloader.
+   *
+   * @param file           properties file to watch
+   * @param intervalMillis pause between checks (≥ 1)
+   * @throws IllegalArgumentException if an argument is invalid
+   */
+  public CostModelReloader(Path file, long intervalMillis) {
+    if (file == null) {
+      throw new IllegalArgumentException("Cost model file is required.");
+    }
+    if (intervalMillis < 1) {
+      throw new IllegalArgumentException("Reload interval must be at least 1 ms.");
+    }
+    this.file = file;
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * Loads and installs the file, then starts watching it.
+   *
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a valid cost model
+   */
+  public void start() throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    CostModel.install(CostModel.load(file));
+    lastModified = attributes.lastModifiedTime().toMillis();
+    lastSize = attributes.size();
+    running = true;
+    watcher = Thread.ofPlatform().name("cost-model-reload").daemon().start(this::watchLoop);
+  }
+
+  /** @return number of times a changed file has been installed since start */
+  public long reloads() {
+    return reloads;
+  }
+
+  /** Stops watching; the current model stays installed. */
+  @Override
+  public void close() {
+    running = false;
+    if (watcher != null) {
+      watcher.interrupt();
+    }
+  }
+
+  private void watchLoop() {
+    while (running) {
+      try {
+        Thread.sleep(intervalMillis);
+      } catch (InterruptedException e) {
+        return;
+      }
+      checkOnce();
+    }
+  }
+
+  private void checkOnce() {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      long modified = attributes.lastModifiedTime().toMillis();
+      if (modified == lastModified && attributes.size() == lastSize) {
+        return;
+      }
+      lastModified = modified;
+      lastSize = attributes.size();
+      CostModel.install(CostModel.load(file));
+      reloads++;
+      LOG.log(System.Logger.Level.INFO, "Installed cost model from " + file);
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.log(System.Logger.Level.WARNING, "Keeping current cost model; cannot load " + file, e);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.huerta.fleetmanagementsystem.model.dictionary;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent interning table that maps strings to dense {@code int}
+ * codes and back.
+ *
+ * <p>Values that repeat across the fleet — makes, models, maintenance
+ * descriptions — are stored once and referenced by code, so equality and
+ * grouping become integer comparisons and each repeat costs four bytes
+ * instead of a string. Codes are assigned in first-seen order starting at
+ * {@code 0} and never change or disappear.</p>
+ *
+ * <p>{@link #encode} is lock-free for known strings; only a new string
+ * takes the dictionary's lock. {@link #decode} is lock-free and returns
+ * the single canonical instance of each string.</p>
+ */
+public final class StringDictionary {
+
+  /** Strings per page of the code table. */
+  private static final int PAGE_SIZE = 1024;
+
+  private static final int PAGE_BITS = Integer.numberOfTrailingZeros(PAGE_SIZE);
+
+  private static final StringDictionary SHARED = new StringDictionary();
+
+  private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+  /** Code table; a new page is installed before its first code is handed out. */
+  private volatile String[][] pages = new String[0][];
+
+  private int size;
+
+  /** Creates an empty dictionary; the model classes share {@link #shared()}. */
+  public StringDictionary() {
+  }
+
+  /** @return the dictionary used by the model classes */
+  public static StringDictionary shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the code of {@code value}, assigning the next free code to a
+   * string not seen before.
+   *
+   * @param value string to encode
+   * @return its code (≥ 0)
+   * @throws IllegalArgumentException if {@code value} is {@code null}
+   */
+  public int encode(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Cannot encode null.");
+    }
+    Integer code = codes.get(value);
+    return code != null ? code : add(value);
+  }
+
+  /**
+   * Returns the string of a code.
+   *
+   * @param code a code returned by {@link #encode}
+   * @return the canonical string instance
+   * @throws IllegalArgumentException if the code was never assigned
+   */
+  public String decode(int code) {
+    String[][] table = pages;
+    if (code >= 0 && (code >>> PAGE_BITS) < table.length) {
+      String value = table[code >>> PAGE_BITS][code & (PAGE_SIZE - 1)];
+      if (value != null) {
+        return value;
+      }
+    }
+    synchronized (this) { // code published through a racy field; the lock makes its slot visible
+      if (code < 0 || code >= size) {
+        throw new IllegalArgumentException("Unknown dictionary code " + code);
+      }
+      return pages[code >>> PAGE_BITS][code & (PAGE_SIZE - 1)];
+    }
+  }
+
+  /** @return number of distinct strings */
+  public synchronized int size() {
+    return size;
+  }
+
+  private synchronized int add(String value) {
+    Integer known = codes.get(value);
+    if (known != null) {
+      return known;
+    }
+    int code = size;
+    String[][] table = pages;
+    if ((code >>> PAGE_BITS) == table.length) {
+      table = Arrays.copyOf(table, table.length + 1);
+      table[table.length - 1] = new String[PAGE_SIZE];
+    }
+    table[code >>> PAGE_BITS][code & (PAGE_SIZE - 1)] = value;
+    pages = table;
+    size = code + 1;
+    codes.put(value, code);
+    return code;
+  }
+}
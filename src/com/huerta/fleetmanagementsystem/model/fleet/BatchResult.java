@@ -0,0 +1,42 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+/**
+ * Outcome of one item of a batch mutation on a {@link Fleet}.
+ *
+ * <p>Batch operations validate every item up front, apply the valid ones
+ * and report each rejection here instead of aborting the whole batch.</p>
+ *
+ * @param <T>   item type
+ * @param item  the item as it was submitted (may be {@code null})
+ * @param error rejection reason, or {@code null} if the item was applied
+ */
+public record BatchResult<T>(T item, String error) {
+
+  /**
+   * Creates the result of an applied item.
+   *
+   * @param <T>  item type
+   * @param item the applied item
+   * @return a successful result
+   */
+  public static <T> BatchResult<T> applied(T item) {
+    return new BatchResult<>(item, null);
+  }
+
+  /**
+   * Creates the result of a rejected item.
+   *
+   * @param <T>   item type
+   * @param item  the rejected item
+   * @param error why it was rejected
+   * @return a failed result
+   */
+  public static <T> BatchResult<T> rejected(T item, String error) {
+    return new BatchResult<>(item, error);
+  }
+
+  /** @return {@code true} if the item was applied */
+  public boolean isApplied() {
+    return error == null;
+  }
+}
@@ -0,0 +1,14 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * One item of a batch driver assignment.
+ *
+ * @param vehicle the target vehicle
+ * @param driver  the driver to assign to it
+ * @see Fleet#assignDrivers(java.util.Collection)
+ */
+public record DriverAssignment(Vehicle vehicle, Driver driver) {
+}
@@ -1,9 +1,29 @@
 package com.huerta.fleetmanagementsystem.model.fleet;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.event.FleetEventBus;
+import com.huerta.fleetmanagementsystem.interfaces.AttributeListener;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.jfr.FleetMutationEvent;
+import com.huerta.fleetmanagementsystem.jfr.FleetReportEvent;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceHistory;
 import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
 import com.huerta.fleetmanagementsystem.model.person.Driver;
 import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
@@ -38,7 +58,38 @@ import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
  * list.</p>
  *
  * <p><b>OOP concept – Encapsulation:</b> the internal lists are
- * {@code private final} and exposed only as unmodifiable views.</p>
+ * {@code private final} and exposed only as immutable snapshots.</p>
+ *
+ * <p><b>Change events:</b> every mutation — including attribute changes
+ * made directly on a member {@link Vehicle} or {@link Driver} — is
+ * published as a {@link FleetEvent} on the fleet's {@link FleetEventBus},
+ * so views, caches and indexes can apply deltas instead of rebuilding.</p>
+ *
+ * <p><b>Thread safety:</b> membership changes and fleet-wide queries are
+ * guarded by a read/write lock, so the fleet can be served to many
+ * concurrent clients (see the HTTP server mode).</p>
+ *
+ * <p><b>Snapshot reads:</b> every membership change bumps a version.
+ * {@link #snapshot()} returns an immutable {@link FleetSnapshot} of the
+ * current version, shared by every reader until the next change. The
+ * member lists are mirrored in persistent sequences that share structure
+ * between versions, so a snapshot costs O(log n) per member added or
+ * removed since the last one, never a copy of the fleet. Fleet-wide reports, {@link #getVehicles()}
+ * and {@link #getDrivers()} iterate such a snapshot without holding the
+ * lock, so a long report never blocks writers and never sees a
+ * concurrent modification.</p>
+ *
+ * <p><b>Batch mutations:</b> {@link #addVehicles(Collection)},
+ * {@link #addDrivers(Collection)}, {@link #registerMaintenanceBatch(Collection)}
+ * and {@link #assignDrivers(Collection)} validate every item, apply the
+ * valid ones under a single write-lock acquisition and deliver all their
+ * events to each listener as one batch. Readers therefore see either none
+ * or all of a batch, and per-call costs are paid once per batch instead
+ * of once per item.</p>
+ *
+ * <p><b>Flight recording:</b> mutations and fleet-wide reports emit
+ * {@link FleetMutationEvent} and {@link FleetReportEvent} JFR events
+ * carrying fleet size, batch size and duration.</p>
  */
 public class Fleet {
 
@@ -48,6 +99,58 @@ public class Fleet {
   /** Drivers available in this fleet (<b>aggregation</b>). */
   private final List<Driver> drivers;
 
+  /** Publishes a {@link FleetEvent} for every change of this fleet. */
+  private final FleetEventBus eventBus = new FleetEventBus();
+
+  /** Installed on every member to turn attribute changes into events. */
+  private final AttributeListener memberListener = this::memberChanged;
+
+  /** Guards the vehicle and driver lists and their indexes. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Member vehicles by identity, for constant-time membership checks. */
+  private final Set<Vehicle> vehicleMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** First member vehicle registered under each id. */
+  private final Map<Long, Vehicle> vehiclesById = new HashMap<>();
+
+  /**
+   * The same entries as {@link #vehiclesById}, sorted by id for
+   * {@link #vehiclePage}; {@code null} until the first page is requested,
+   * so fleets that are never paged do not pay for it. Written under the
+   * write lock like the hash index (which stays the constant-time path
+   * for lookups), read without any lock.
+   */
+  private volatile NavigableMap<Long, Vehicle> vehiclesInIdOrder;
+
+  /** Lets only one reader build {@link #vehiclesInIdOrder}. */
+  private final Object idOrderMonitor = new Object();
+
+  /** Member drivers by identity, for constant-time membership checks. */
+  private final Set<Driver> driverMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** First member driver registered under each licence number. */
+  private final Map<String, Driver> driversByLicense = new HashMap<>();
+
+  /** Membership version; bumped under the write lock on every add or remove. */
+  private volatile long version;
+
+  /** Most recently taken snapshot; may lag behind {@link #version}. */
+  private volatile FleetSnapshot snapshot;
+
+  /**
+   * Persistent copies of a prefix of {@link #vehicles} and
+   * {@link #drivers}: removals are applied under the write lock, members
+   * appended since the last snapshot are added by the next one. Written
+   * under the write lock, or under the read lock holding
+   * {@link #snapshotMonitor}.
+   */
+  private PersistentSequence<Vehicle> vehicleSequence = PersistentSequence.empty();
+  private PersistentSequence<Driver> driverSequence = PersistentSequence.empty();
+
+  /** Lets only one reader extend the sequences for a new version. */
+  private final Object snapshotMonitor = new Object();
+
   /**
    * Creates an empty fleet.
    */
@@ -65,24 +168,163 @@ public class Fleet {
   public Fleet(List<Vehicle> vehicles, List<Driver> drivers) {
     this.vehicles = (vehicles == null) ? new ArrayList<>() : new ArrayList<>(vehicles);
     this.drivers = (drivers == null) ? new ArrayList<>() : new ArrayList<>(drivers);
+    this.vehicles.removeIf(v -> v == null || !vehicleMembers.add(v));
+    this.drivers.removeIf(d -> d == null || !driverMembers.add(d));
+    for (Vehicle v : this.vehicles) {
+      indexVehicleId(v, v.getId());
+      v.addAttributeListener(memberListener);
+    }
+    for (Driver d : this.drivers) {
+      driversByLicense.putIfAbsent(d.getLicenseNumber(), d);
+      d.addAttributeListener(memberListener);
+    }
+  }
+
+  /**
+   * Returns the bus on which this fleet publishes its change events.
+   *
+   * @return the event bus (never {@code null})
+   */
+  public FleetEventBus getEventBus() {
+    return eventBus;
   }
 
   /**
-   * Returns an unmodifiable view of the vehicle list (<b>encapsulation</b>).
+   * Subscribes a listener to this fleet's change events.
    *
-   * @return read-only list of vehicles
+   * @param listener listener to add; ignored if {@code null}
+   */
+  public void subscribe(FleetChangeListener listener) {
+    eventBus.subscribe(listener);
+  }
+
+  /**
+   * Subscribes a listener and returns the vehicles it must start from,
+   * both under the write lock: every vehicle added or removed afterwards
+   * reaches the listener as an event, and none is missed in between.
+   *
+   * @param listener listener to add
+   * @return snapshot of the vehicles at subscription time
+   */
+  public List<Vehicle> subscribeWithSnapshot(FleetChangeListener listener) {
+    List<List<Vehicle>> snapshot = new ArrayList<>(1);
+    subscribeWithSnapshot(listener, (vs, ds) -> snapshot.add(vs));
+    return snapshot.get(0);
+  }
+
+  /**
+   * Subscribes a listener and hands copies of both member lists to
+   * {@code initializer}, all under the write lock.
+   *
+   * <p>The listener receives exactly the events committed after the
+   * snapshot, in commit order; events still queued for other listeners
+   * when it subscribes are not delivered to it.</p>
+   *
+   * @param listener    listener to add
+   * @param initializer receives the vehicles and drivers at subscription time
+   */
+  public void subscribeWithSnapshot(FleetChangeListener listener,
+      BiConsumer<List<Vehicle>, List<Driver>> initializer) {
+    lock.writeLock().lock();
+    try {
+      eventBus.subscribe(listener);
+      initializer.accept(new ArrayList<>(vehicles), new ArrayList<>(drivers));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Hands the current members to {@code inspector} while holding the
+   * write lock, so no mutation made through the fleet can interleave
+   * (e.g. to pair a full copy with a position in an event journal).
+   *
+   * @param inspector receives the vehicles and drivers; must not block
+   */
+  public void inspectExclusively(BiConsumer<List<Vehicle>, List<Driver>> inspector) {
+    lock.writeLock().lock();
+    try {
+      inspector.accept(Collections.unmodifiableList(vehicles), Collections.unmodifiableList(drivers));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Unsubscribes a listener from this fleet's change events.
+   *
+   * @param listener listener to remove
+   */
+  public void unsubscribe(FleetChangeListener listener) {
+    eventBus.unsubscribe(listener);
+  }
+
+  /**
+   * Runs a group of mutations whose events are delivered to each
+   * listener as a single batch.
+   *
+   * @param mutations the mutations to run
+   * @see FleetEventBus#batch(Runnable)
+   */
+  public void batch(Runnable mutations) {
+    eventBus.batch(mutations);
+  }
+
+  /**
+   * Returns an unmodifiable snapshot of the vehicle list
+   * (<b>encapsulation</b>).
+   *
+   * @return read-only list of vehicles at the current version
    */
   public List<Vehicle> getVehicles() {
-    return Collections.unmodifiableList(vehicles);
+    return snapshot().vehicles();
   }
 
   /**
-   * Returns an unmodifiable view of the driver list (<b>encapsulation</b>).
+   * Returns an unmodifiable snapshot of the driver list
+   * (<b>encapsulation</b>).
    *
-   * @return read-only list of drivers
+   * @return read-only list of drivers at the current version
    */
   public List<Driver> getDrivers() {
-    return Collections.unmodifiableList(drivers);
+    return snapshot().drivers();
+  }
+
+  /**
+   * Returns an immutable snapshot of the current membership.
+   *
+   * <p>While the membership is unchanged this is a single volatile read.
+   * After a change, the first caller appends the members added since the
+   * last snapshot to the persistent sequences, under the read lock, and
+   * publishes the new version for everyone else.</p>
+   *
+   * @return snapshot of the current version
+   */
+  public FleetSnapshot snapshot() {
+    FleetSnapshot s = snapshot;
+    if (s != null && s.version() == version) {
+      return s;
+    }
+    lock.readLock().lock();
+    try {
+      synchronized (snapshotMonitor) {
+        s = snapshot;
+        if (s == null || s.version() != version) {
+          vehicleSequence = vehicleSequence.appendAll(vehicles.subList(vehicleSequence.size(), vehicles.size()));
+          driverSequence = driverSequence.appendAll(drivers.subList(driverSequence.size(), drivers.size()));
+          s = new FleetSnapshot(version, vehicleSequence.asList(), driverSequence.asList());
+          snapshot = s;
+        }
+        return s;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** @return current membership version */
+  public long version() {
+    return version;
   }
 
   // ---- CRUD-like operations ----
@@ -91,11 +333,23 @@ public class Fleet {
    * Adds a vehicle to the fleet (<b>upcasting</b> — any subclass is
    * accepted as a {@code Vehicle} reference).
    *
-   * @param vehicle vehicle to add; ignored if {@code null}
+   * @param vehicle vehicle to add; ignored if {@code null} or already in
+   *                the fleet
    */
   public void addVehicle(Vehicle vehicle) {
-    if (vehicle != null) {
-      vehicles.add(vehicle);
+    if (vehicle == null) {
+      return;
+    }
+    FleetMutationEvent jfr = FleetMutationEvent.start("addVehicle", 1);
+    lock.writeLock().lock();
+    try {
+      if (vehicleMembers.contains(vehicle)) {
+        return;
+      }
+      attachVehicle(vehicle);
+    } finally {
+      jfr.finish(vehicles.size());
+      unlockWrite();
     }
   }
 
@@ -106,17 +360,46 @@ public class Fleet {
    * @return {@code true} if the vehicle was found and removed
    */
   public boolean removeVehicle(Vehicle vehicle) {
-    return vehicles.remove(vehicle);
+    FleetMutationEvent jfr = FleetMutationEvent.start("removeVehicle", 1);
+    lock.writeLock().lock();
+    try {
+      if (!vehicleMembers.remove(vehicle)) {
+        return false;
+      }
+      int i = indexOf(vehicles, vehicle);
+      vehicles.remove(i);
+      if (i < vehicleSequence.size()) {
+        vehicleSequence = vehicleSequence.removeAt(i);
+      }
+      version++;
+      unindexVehicleId(vehicle, vehicle.getId());
+      vehicle.removeAttributeListener(memberListener);
+      eventBus.publish(FleetEvent.vehicleRemoved(vehicle));
+      return true;
+    } finally {
+      jfr.finish(vehicles.size());
+      unlockWrite();
+    }
   }
 
   /**
    * Adds a driver to the fleet.
    *
-   * @param driver driver to add; ignored if {@code null}
+   * @param driver driver to add; ignored if {@code null} or already in
+   *               the fleet
    */
   public void addDriver(Driver driver) {
-    if (driver != null) {
-      drivers.add(driver);
+    if (driver == null) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (driverMembers.contains(driver)) {
+        return;
+      }
+      attachDriver(driver);
+    } finally {
+      unlockWrite();
     }
   }
 
@@ -128,13 +411,59 @@ public class Fleet {
    * @return {@code true} if the driver was found and removed
    */
   public boolean removeDriver(Driver driver) {
-    // Optional: if driver is assigned to any vehicle, release it
-    for (Vehicle v : vehicles) {
-      if (v != null && v.getDriver() == driver) {
-        v.releaseDriver();
+    lock.writeLock().lock();
+    try {
+      // Optional: if driver is assigned to any vehicle, release it
+      for (Vehicle v : vehicles) {
+        if (v != null && v.getDriver() == driver) {
+          v.releaseDriver();
+        }
+      }
+      if (!driverMembers.remove(driver)) {
+        return false;
       }
+      int i = indexOf(drivers, driver);
+      drivers.remove(i);
+      if (i < driverSequence.size()) {
+        driverSequence = driverSequence.removeAt(i);
+      }
+      version++;
+      unindexDriverLicense(driver, driver.getLicenseNumber());
+      driver.removeAttributeListener(memberListener);
+      eventBus.publish(FleetEvent.driverRemoved(driver));
+      return true;
+    } finally {
+      unlockWrite();
     }
-    return drivers.remove(driver);
+  }
+
+  /**
+   * Removes every vehicle and driver as one batch, publishing a removal
+   * event for each member. Drivers stay assigned to the removed vehicles.
+   */
+  public void clear() {
+    inBatch("clear", vehicleCount(), () -> {
+      for (Vehicle v : vehicles) {
+        v.removeAttributeListener(memberListener);
+        eventBus.publish(FleetEvent.vehicleRemoved(v));
+      }
+      for (Driver d : drivers) {
+        d.removeAttributeListener(memberListener);
+        eventBus.publish(FleetEvent.driverRemoved(d));
+      }
+      vehicles.clear();
+      vehicleSequence = PersistentSequence.empty();
+      vehicleMembers.clear();
+      vehiclesById.clear();
+      if (vehiclesInIdOrder != null) {
+        vehiclesInIdOrder.clear();
+      }
+      drivers.clear();
+      driverSequence = PersistentSequence.empty();
+      driverMembers.clear();
+      driversByLicense.clear();
+      version++;
+    });
   }
 
   // ---- Operations required by the domain ----
@@ -149,10 +478,559 @@ public class Fleet {
     if (vehicle == null || record == null)
       return;
 
-    if (!vehicles.contains(vehicle))
-      vehicles.add(vehicle);
+    FleetMutationEvent jfr = FleetMutationEvent.start("registerMaintenance", 1);
+    lock.writeLock().lock();
+    try {
+      if (!vehicleMembers.contains(vehicle))
+        attachVehicle(vehicle);
+
+      vehicle.registerMaintenance(record);
+    } finally {
+      jfr.finish(vehicles.size());
+      unlockWrite();
+    }
+  }
+
+  /**
+   * Assigns a driver to a vehicle while holding the fleet lock, so
+   * concurrent readers never observe a half-applied assignment.
+   *
+   * @param vehicle the target vehicle
+   * @param driver  the driver to assign
+   */
+  public void assignDriver(Vehicle vehicle, Driver driver) {
+    if (vehicle == null || driver == null)
+      return;
+
+    lock.writeLock().lock();
+    try {
+      vehicle.assignDriver(driver);
+    } finally {
+      unlockWrite();
+    }
+  }
+
+  /**
+   * Releases the driver of a vehicle while holding the fleet lock.
+   *
+   * @param vehicle the vehicle whose driver is released
+   */
+  public void releaseDriver(Vehicle vehicle) {
+    if (vehicle == null)
+      return;
+
+    lock.writeLock().lock();
+    try {
+      vehicle.releaseDriver();
+    } finally {
+      unlockWrite();
+    }
+  }
+
+  // ---- Batch mutations ----
 
-    vehicle.registerMaintenance(record);
+  /**
+   * Adds several vehicles as one atomic batch.
+   *
+   * <p>A vehicle is rejected if it is {@code null}, already in the fleet,
+   * or shares its id with a member or with an earlier vehicle of the same
+   * batch.</p>
+   *
+   * @param batch vehicles to add
+   * @return one result per submitted vehicle, in submission order
+   */
+  public List<BatchResult<Vehicle>> addVehicles(Collection<? extends Vehicle> batch) {
+    List<BatchResult<Vehicle>> results = new ArrayList<>(batch.size());
+    inBatch("addVehicles", batch.size(), () -> {
+      if (vehicles instanceof ArrayList) {
+        ((ArrayList<Vehicle>) vehicles).ensureCapacity(vehicles.size() + batch.size());
+      }
+      for (Vehicle v : batch) {
+        String error = v == null ? "Vehicle is null."
+            : vehicleMembers.contains(v) ? "Vehicle is already in the fleet."
+            : vehiclesById.containsKey(v.getId()) ? "Duplicate vehicle id " + v.getId() + "."
+            : null;
+        if (error == null) {
+          attachVehicle(v);
+          results.add(BatchResult.applied(v));
+        } else {
+          results.add(BatchResult.rejected(v, error));
+        }
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Adds several drivers as one atomic batch.
+   *
+   * <p>A driver is rejected if it is {@code null}, already in the fleet,
+   * or shares its licence number with a member or with an earlier driver
+   * of the same batch.</p>
+   *
+   * @param batch drivers to add
+   * @return one result per submitted driver, in submission order
+   */
+  public List<BatchResult<Driver>> addDrivers(Collection<? extends Driver> batch) {
+    List<BatchResult<Driver>> results = new ArrayList<>(batch.size());
+    inBatch("addDrivers", batch.size(), () -> {
+      for (Driver d : batch) {
+        String error = d == null ? "Driver is null."
+            : driverMembers.contains(d) ? "Driver is already in the fleet."
+            : driversByLicense.containsKey(d.getLicenseNumber())
+                ? "Duplicate licence number " + d.getLicenseNumber() + "."
+            : null;
+        if (error == null) {
+          attachDriver(d);
+          results.add(BatchResult.applied(d));
+        } else {
+          results.add(BatchResult.rejected(d, error));
+        }
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Registers several maintenance records as one atomic batch.
+   *
+   * <p>As with {@link #registerMaintenance(Vehicle, MaintenanceRecord)},
+   * a vehicle that is not yet in the fleet is added. An entry is rejected
+   * if it, its vehicle or its record is {@code null}.</p>
+   *
+   * @param batch vehicle/record pairs to register
+   * @return one result per submitted entry, in submission order
+   */
+  public List<BatchResult<MaintenanceEntry>> registerMaintenanceBatch(Collection<MaintenanceEntry> batch) {
+    List<BatchResult<MaintenanceEntry>> results = new ArrayList<>(batch.size());
+    inBatch("registerMaintenanceBatch", batch.size(), () -> {
+      for (MaintenanceEntry e : batch) {
+        if (e == null || e.vehicle() == null || e.record() == null) {
+          results.add(BatchResult.rejected(e, "Vehicle and maintenance record are required."));
+          continue;
+        }
+        if (!vehicleMembers.contains(e.vehicle())) {
+          attachVehicle(e.vehicle());
+        }
+        e.vehicle().registerMaintenance(e.record());
+        results.add(BatchResult.applied(e));
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Assigns several drivers as one atomic batch.
+   *
+   * <p>An assignment is rejected if its vehicle or driver is {@code null}
+   * or not a member of this fleet.</p>
+   *
+   * @param batch vehicle/driver pairs to assign
+   * @return one result per submitted assignment, in submission order
+   */
+  public List<BatchResult<DriverAssignment>> assignDrivers(Collection<DriverAssignment> batch) {
+    return assignDrivers("assignDrivers", batch, false);
+  }
+
+  /**
+   * Assigns idle drivers to driverless vehicles as one atomic batch, e.g.
+   * as planned on an earlier {@link #snapshot()}.
+   *
+   * <p>Besides the checks of {@link #assignDrivers(Collection)}, an
+   * assignment is rejected if its vehicle already has a driver or its
+   * driver already drives a vehicle, including one assigned earlier in
+   * the same batch. Both are checked under the write lock, so a stale
+   * plan never overrides assignments made since.</p>
+   *
+   * @param batch vehicle/driver pairs to assign
+   * @return one result per submitted assignment, in submission order
+   */
+  public List<BatchResult<DriverAssignment>> assignIdleDrivers(Collection<DriverAssignment> batch) {
+    return assignDrivers("assignIdleDrivers", batch, true);
+  }
+
+  private List<BatchResult<DriverAssignment>> assignDrivers(String operation, Collection<DriverAssignment> batch,
+      boolean idleOnly) {
+    List<BatchResult<DriverAssignment>> results = new ArrayList<>(batch.size());
+    inBatch(operation, batch.size(), () -> {
+      Set<Driver> busy = Collections.newSetFromMap(new IdentityHashMap<>());
+      if (idleOnly) {
+        for (Vehicle v : vehicles) {
+          if (v.getDriver() != null) {
+            busy.add(v.getDriver());
+          }
+        }
+      }
+      for (DriverAssignment a : batch) {
+        String error = a == null || a.vehicle() == null || a.driver() == null
+            ? "Vehicle and driver are required."
+            : !vehicleMembers.contains(a.vehicle()) ? "Vehicle is not in the fleet."
+            : !driverMembers.contains(a.driver()) ? "Driver is not in the fleet."
+            : idleOnly && a.vehicle().getDriver() != null ? "Vehicle already has a driver."
+            : idleOnly && busy.contains(a.driver()) ? "Driver is already assigned."
+            : null;
+        if (error == null) {
+          a.vehicle().assignDriver(a.driver());
+          busy.add(a.driver());
+          results.add(BatchResult.applied(a));
+        } else {
+          results.add(BatchResult.rejected(a, error));
+        }
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Runs {@code mutations} under one write-lock acquisition inside one
+   * event batch. Their events are queued in commit order under the lock
+   * and dispatched after it is released, so listeners never run while
+   * holding up other writers. The JFR event spans both the mutations and
+   * the dispatch.
+   */
+  private void inBatch(String operation, int batchSize, Runnable mutations) {
+    FleetMutationEvent jfr = FleetMutationEvent.start(operation, batchSize);
+    int[] fleetSize = new int[1];
+    try {
+      eventBus.batch(() -> {
+        lock.writeLock().lock();
+        try {
+          mutations.run();
+        } finally {
+          fleetSize[0] = vehicles.size();
+          lock.writeLock().unlock();
+        }
+      });
+    } finally {
+      jfr.finish(fleetSize[0]);
+    }
+  }
+
+  /**
+   * Releases the write lock and, unless the thread still holds it,
+   * delivers the events committed under it.
+   */
+  private void unlockWrite() {
+    lock.writeLock().unlock();
+    if (!lock.isWriteLockedByCurrentThread()) {
+      eventBus.flush();
+    }
+  }
+
+  // ---- Queries ----
+
+  /**
+   * Looks up a vehicle by identifier.
+   *
+   * @param id vehicle identifier
+   * @return the first vehicle with that id, or {@code null}
+   */
+  public Vehicle findVehicle(long id) {
+    lock.readLock().lock();
+    try {
+      return vehiclesById.get(id);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Looks up a driver by licence number.
+   *
+   * @param licenseNumber licence identifier
+   * @return the matching driver, or {@code null}
+   */
+  public Driver findDriver(String licenseNumber) {
+    lock.readLock().lock();
+    try {
+      return driversByLicense.get(licenseNumber);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Resolves many vehicle ids under a single read-lock acquisition, for
+   * callers that look up vehicles in bulk (e.g. telemetry ingestion).
+   *
+   * @param ids   identifiers to resolve
+   * @param count number of leading entries of {@code ids} to resolve
+   * @param out   receives the vehicle for each id, or {@code null} if unknown
+   */
+  public void resolveVehicles(long[] ids, int count, Vehicle[] out) {
+    lock.readLock().lock();
+    try {
+      for (int i = 0; i < count; i++) {
+        out[i] = vehiclesById.get(ids[i]);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns one page of the vehicles in id order, starting after the
+   * cursor of the previous page; see {@link Page}.
+   *
+   * <p>Pages are read without the fleet lock, from an id-ordered index
+   * kept next to the hash index, so paging through a large fleet never
+   * holds up writers. The first call builds that index in O(n log n);
+   * from then on every mutation keeps it current. A vehicle added or removed during the walk shows up
+   * in a later page, or no longer shows up, exactly when its id lies
+   * beyond the cursor. Like {@link #findVehicle}, the walk lists one
+   * member per id.</p>
+   *
+   * @param after cursor returned with the previous page, or {@code null}
+   *              for the first page
+   * @param limit maximum number of vehicles (≥ 1)
+   * @return the page
+   * @throws IllegalArgumentException if the cursor is malformed or
+   *                                  {@code limit} is not positive
+   */
+  public Page<Vehicle> vehiclePage(String after, int limit) {
+    checkPageSize(limit);
+    long afterId = after == null ? -1 : parseCursor(after);
+    List<Vehicle> items = new ArrayList<>(Math.min(limit, 1024));
+    long last = afterId;
+    Iterator<Map.Entry<Long, Vehicle>> it = idOrder().tailMap(afterId, false).entrySet().iterator();
+    while (items.size() < limit && it.hasNext()) {
+      Map.Entry<Long, Vehicle> e = it.next();
+      items.add(e.getValue());
+      last = e.getKey();
+    }
+    return new Page<>(items, it.hasNext() ? Long.toString(last) : null);
+  }
+
+  /**
+   * Returns one page of a vehicle's maintenance history in date order,
+   * starting after the cursor of the previous page; see {@link Page} and
+   * {@link MaintenanceHistory#recordsAfter}. Like the history itself, this
+   * needs no lock.
+   *
+   * @param vehicle the vehicle
+   * @param after   cursor returned with the previous page, or {@code null}
+   *                for the first page
+   * @param limit   maximum number of records (≥ 1)
+   * @return the page
+   * @throws IllegalArgumentException if the cursor is malformed or
+   *                                  {@code limit} is not positive
+   */
+  public Page<MaintenanceRecord> maintenancePage(Vehicle vehicle, String after, int limit) {
+    checkPageSize(limit);
+    long cursor = after == null ? MaintenanceHistory.START : parseCursor(after);
+    List<MaintenanceRecord> items = new ArrayList<>(Math.min(limit, 1024));
+    long next = vehicle.maintenanceRecordsAfter(cursor, limit, items);
+    return new Page<>(items, next == MaintenanceHistory.END ? null : Long.toString(next));
+  }
+
+  /** @return the id-ordered index, built from the hash index on first use */
+  private NavigableMap<Long, Vehicle> idOrder() {
+    NavigableMap<Long, Vehicle> idOrder = vehiclesInIdOrder;
+    if (idOrder != null) {
+      return idOrder;
+    }
+    lock.readLock().lock(); // keeps writers out while the index is built
+    try {
+      synchronized (idOrderMonitor) {
+        if (vehiclesInIdOrder == null) {
+          vehiclesInIdOrder = new ConcurrentSkipListMap<>(new TreeMap<>(vehiclesById));
+        }
+        return vehiclesInIdOrder;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static void checkPageSize(int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1.");
+    }
+  }
+
+  private static long parseCursor(String cursor) {
+    try {
+      return Long.parseLong(cursor);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+  }
+
+  /**
+   * Returns a copy of the vehicles matching a filter, safe to use while
+   * other threads keep mutating the fleet.
+   *
+   * @param filter condition to satisfy; {@code null} matches all
+   * @param limit  maximum number of results
+   * @return matching vehicles in fleet order
+   */
+  public List<Vehicle> findVehicles(Predicate<? super Vehicle> filter, int limit) {
+    List<Vehicle> result = new ArrayList<>();
+    for (Vehicle v : snapshot().vehicles()) {
+      if (result.size() >= limit) {
+        break;
+      }
+      if (filter == null || filter.test(v)) {
+        result.add(v);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a copy of the driver list, safe to use while other threads
+   * keep mutating the fleet.
+   *
+   * @return snapshot of the drivers
+   */
+  public List<Driver> copyDrivers() {
+    return new ArrayList<>(snapshot().drivers());
+  }
+
+  /**
+   * Returns a copy of a vehicle's maintenance history, taken under the
+   * fleet lock so it is safe while records are being registered.
+   *
+   * @param vehicle the vehicle
+   * @return snapshot of its maintenance records
+   */
+  public List<MaintenanceRecord> copyMaintenanceHistory(Vehicle vehicle) {
+    lock.readLock().lock();
+    try {
+      return new ArrayList<>(vehicle.getMaintenanceHistory());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** @return number of vehicles in the fleet */
+  public int vehicleCount() {
+    lock.readLock().lock();
+    try {
+      return vehicles.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Makes {@code vehicle} a member; caller holds the write lock. */
+  private void attachVehicle(Vehicle vehicle) {
+    vehicles.add(vehicle);
+    version++;
+    vehicleMembers.add(vehicle);
+    indexVehicleId(vehicle, vehicle.getId());
+    vehicle.addAttributeListener(memberListener);
+    eventBus.publish(FleetEvent.vehicleAdded(vehicle));
+  }
+
+  /** Makes {@code driver} a member; caller holds the write lock. */
+  private void attachDriver(Driver driver) {
+    drivers.add(driver);
+    version++;
+    driverMembers.add(driver);
+    driversByLicense.putIfAbsent(driver.getLicenseNumber(), driver);
+    driver.addAttributeListener(memberListener);
+    eventBus.publish(FleetEvent.driverAdded(driver));
+  }
+
+  /** @return position of {@code member} in {@code list}, compared by identity, or -1 */
+  private static int indexOf(List<?> list, Object member) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == member) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Indexes {@code vehicle} under {@code id} unless another member holds it. */
+  private void indexVehicleId(Vehicle vehicle, long id) {
+    NavigableMap<Long, Vehicle> idOrder = vehiclesInIdOrder;
+    if (vehiclesById.putIfAbsent(id, vehicle) == null && idOrder != null) {
+      idOrder.put(id, vehicle);
+    }
+  }
+
+  /**
+   * Drops {@code vehicle} from the id indexes under {@code id}, promoting
+   * another member with the same id if there is one.
+   */
+  private void unindexVehicleId(Vehicle vehicle, long id) {
+    if (vehiclesById.get(id) != vehicle) {
+      return;
+    }
+    vehiclesById.remove(id);
+    if (vehiclesInIdOrder != null) {
+      vehiclesInIdOrder.remove(id);
+    }
+    for (Vehicle other : vehicles) {
+      if (other != vehicle && other.getId() == id) {
+        indexVehicleId(other, id);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Drops {@code driver} from the licence index under {@code license},
+   * promoting another member with the same licence if there is one.
+   */
+  private void unindexDriverLicense(Driver driver, String license) {
+    if (driversByLicense.get(license) != driver) {
+      return;
+    }
+    driversByLicense.remove(license);
+    for (Driver other : drivers) {
+      if (other != driver && other.getLicenseNumber().equals(license)) {
+        driversByLicense.put(license, other);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Translates an attribute change of a member vehicle or driver into
+   * the matching {@link FleetEvent}, keeping the id and licence indexes
+   * current first.
+   */
+  private void memberChanged(Object source, String attribute, Object oldValue, Object newValue) {
+    if (source instanceof Vehicle && "id".equals(attribute)) {
+      lock.writeLock().lock();
+      try {
+        unindexVehicleId((Vehicle) source, (Long) oldValue);
+        indexVehicleId((Vehicle) source, (Long) newValue);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } else if (source instanceof Driver && "licenseNumber".equals(attribute)) {
+      lock.writeLock().lock();
+      try {
+        unindexDriverLicense((Driver) source, (String) oldValue);
+        driversByLicense.putIfAbsent((String) newValue, (Driver) source);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    if (!eventBus.hasListeners()) {
+      return;
+    }
+    if (source instanceof Vehicle) {
+      Vehicle v = (Vehicle) source;
+      if (Vehicle.DRIVER_ATTRIBUTE.equals(attribute)) {
+        eventBus.publish(newValue != null
+            ? FleetEvent.driverAssigned(v, (Driver) newValue)
+            : FleetEvent.driverReleased(v, (Driver) oldValue));
+      } else if (Vehicle.MAINTENANCE_ATTRIBUTE.equals(attribute)) {
+        eventBus.publish(FleetEvent.maintenanceRegistered(v, (MaintenanceRecord) newValue));
+      } else {
+        eventBus.publish(FleetEvent.vehicleUpdated(v, attribute, oldValue, newValue));
+      }
+    } else if (source instanceof Driver) {
+      eventBus.publish(FleetEvent.driverUpdated((Driver) source, attribute, oldValue, newValue));
+    }
+    if (!lock.isWriteLockedByCurrentThread()) {
+      eventBus.flush(); // otherwise the fleet operation holding the lock flushes
+    }
   }
 
   // ---- Polymorphism demo helper methods ----
@@ -166,28 +1044,61 @@ public class Fleet {
    * @return total operating cost
    */
   public double calculateTotalOperatingCost() {
-    double total = 0.0;
-    for (Vehicle v : vehicles) {
-      if (v != null) {
+    FleetReportEvent jfr = FleetReportEvent.start("totalOperatingCost");
+    List<Vehicle> members = snapshot().vehicles();
+    try {
+      double total = 0.0;
+      for (Vehicle v : members) {
         total += v.calculateOperatingCost(); // dynamic dispatch
       }
+      return total;
+    } finally {
+      jfr.finish(members.size(), 1);
     }
-    return total;
   }
 
   /**
    * Generates a report string for every vehicle (<b>polymorphism</b>).
+   * Reports are memoized per vehicle, so a repeated call only renders
+   * vehicles whose reported fields changed since.
    *
    * @return list of formatted report strings
    */
   public List<String> generateFleetReports() {
+    FleetReportEvent jfr = FleetReportEvent.start("fleetReports");
     List<String> reports = new ArrayList<>();
-    for (Vehicle v : vehicles) {
-      if (v != null) {
+    List<Vehicle> members = snapshot().vehicles();
+    try {
+      for (Vehicle v : members) {
         reports.add(v.generateReport());
       }
+      return reports;
+    } finally {
+      jfr.finish(members.size(), reports.size());
+    }
+  }
+
+  /**
+   * Streaming form of {@link #generateFleetReports()}: writes each report
+   * as it is rendered, so memory use does not grow with the fleet.
+   *
+   * @param out receives one report per vehicle, each followed by {@code '\n'}
+   * @return number of reports written
+   * @throws IOException if {@code out} fails
+   */
+  public int writeFleetReports(Appendable out) throws IOException {
+    FleetReportEvent jfr = FleetReportEvent.start("fleetReports");
+    int written = 0;
+    List<Vehicle> members = snapshot().vehicles();
+    try {
+      for (Vehicle v : members) {
+        out.append(v.generateReport()).append('\n');
+        written++;
+      }
+      return written;
+    } finally {
+      jfr.finish(members.size(), written);
     }
-    return reports;
   }
 
   /**
@@ -201,28 +1112,69 @@ public class Fleet {
    * @return list of detail strings (one per vehicle)
    */
   public List<String> getVehicleSpecificDetails() {
+    FleetReportEvent jfr = FleetReportEvent.start("vehicleSpecificDetails");
     List<String> details = new ArrayList<>();
-    for (Vehicle v : vehicles) {
-      if (v instanceof Truck) {
-        Truck t = (Truck) v;
-        details.add(String.format("Truck [%s] - Payload: %d tons, Axles: %d, Gross Weight: %.1f t",
-            t.getLicensePlate(), t.getPayloadCapacity(), t.getAxleCount(), t.getGrossVehicleWeight()));
-      } else if (v instanceof Bus) {
-        Bus b = (Bus) v;
-        details.add(String.format("Bus [%s] - Passengers: %d, Service: %s, Commercial License: %s",
-            b.getLicensePlate(), b.getPassengerCapacity(), b.getServiceType(),
-            b.requiresCommercialLicense() ? "Yes" : "No"));
-      } else if (v instanceof Car) {
-        Car c = (Car) v;
-        details.add(String.format("Car [%s] - Seats: %d, Fuel: %s",
-            c.getLicensePlate(), c.getSeatingCapacity(), c.getFuelType()));
-      } else if (v instanceof Motorcycle) {
-        Motorcycle m = (Motorcycle) v;
-        details.add(String.format("Motorcycle [%s] - Displacement: %d cc",
-            m.getLicensePlate(), m.getEngineDisplacement()));
-      }
-    }
-    return details;
+    List<Vehicle> members = snapshot().vehicles();
+    try {
+      for (Vehicle v : members) {
+        String line = vehicleDetails(v);
+        if (line != null) {
+          details.add(line);
+        }
+      }
+      return details;
+    } finally {
+      jfr.finish(members.size(), details.size());
+    }
+  }
+
+  /**
+   * Streaming form of {@link #getVehicleSpecificDetails()}: writes each
+   * line as it is formatted instead of collecting them.
+   *
+   * @param out receives one line per vehicle, each followed by {@code '\n'}
+   * @return number of lines written
+   * @throws IOException if {@code out} fails
+   */
+  public int writeVehicleSpecificDetails(Appendable out) throws IOException {
+    FleetReportEvent jfr = FleetReportEvent.start("vehicleSpecificDetails");
+    int lines = 0;
+    List<Vehicle> members = snapshot().vehicles();
+    try {
+      for (Vehicle v : members) {
+        String line = vehicleDetails(v);
+        if (line != null) {
+          out.append(line).append('\n');
+          lines++;
+        }
+      }
+      return lines;
+    } finally {
+      jfr.finish(members.size(), lines);
+    }
+  }
+
+  /** Downcasts {@code v} to its concrete type; {@code null} for an unknown type. */
+  private static String vehicleDetails(Vehicle v) {
+    if (v instanceof Truck) {
+      Truck t = (Truck) v;
+      return String.format("Truck [%s] - Payload: %d tons, Axles: %d, Gross Weight: %.1f t",
+          t.getLicensePlate(), t.getPayloadCapacity(), t.getAxleCount(), t.getGrossVehicleWeight());
+    } else if (v instanceof Bus) {
+      Bus b = (Bus) v;
+      return String.format("Bus [%s] - Passengers: %d, Service: %s, Commercial License: %s",
+          b.getLicensePlate(), b.getPassengerCapacity(), b.getServiceType(),
+          b.requiresCommercialLicense() ? "Yes" : "No");
+    } else if (v instanceof Car) {
+      Car c = (Car) v;
+      return String.format("Car [%s] - Seats: %d, Fuel: %s",
+          c.getLicensePlate(), c.getSeatingCapacity(), c.getFuelType());
+    } else if (v instanceof Motorcycle) {
+      Motorcycle m = (Motorcycle) v;
+      return String.format("Motorcycle [%s] - Displacement: %d cc",
+          m.getLicensePlate(), m.getEngineDisplacement());
+    }
+    return null;
   }
 
   /**
@@ -235,15 +1187,21 @@ public class Fleet {
    * @return list of heavy vehicles exceeding the 3.5-ton threshold
    */
   public List<Vehicle> getVehiclesRequiringCommercialLicense() {
+    FleetReportEvent jfr = FleetReportEvent.start("commercialLicenseVehicles");
     List<Vehicle> result = new ArrayList<>();
-    for (Vehicle v : vehicles) {
-      if (v instanceof HeavyVehicle) {
-        HeavyVehicle hv = (HeavyVehicle) v;
-        if (hv.requiresCommercialLicense()) {
-          result.add(v);
+    List<Vehicle> members = snapshot().vehicles();
+    try {
+      for (Vehicle v : members) {
+        if (v instanceof HeavyVehicle) {
+          HeavyVehicle hv = (HeavyVehicle) v;
+          if (hv.requiresCommercialLicense()) {
+            result.add(v);
+          }
         }
       }
+      return result;
+    } finally {
+      jfr.finish(members.size(), result.size());
     }
-    return result;
   }
 }
@@ -0,0 +1,34 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Immutable point-in-time view of a {@link Fleet}'s membership.
+ *
+ * <p>Both lists are unmodifiable views of one membership version, backed
+ * by persistent sequences that later versions share structure with, so
+ * they can be iterated for as long as needed while writers keep adding
+ * and removing members. {@code get(i)} takes O(log n); iterate rather
+ * than index where possible. Vehicles and drivers themselves are the
+ * live objects: their attributes (mileage, assigned driver, ...) are read
+ * as they are at the moment of the read.</p>
+ *
+ * @param version  membership version this snapshot was taken at
+ * @param vehicles member vehicles in fleet order
+ * @param drivers  member drivers in fleet order
+ */
+public record FleetSnapshot(long version, List<Vehicle> vehicles, List<Driver> drivers) {
+
+  /** @return number of vehicles in this snapshot */
+  public int vehicleCount() {
+    return vehicles.size();
+  }
+
+  /** @return number of drivers in this snapshot */
+  public int driverCount() {
+    return drivers.size();
+  }
+}
@@ -0,0 +1,344 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistent hash array mapped trie (HAMT).
+ *
+ * <p>Every node covers five bits of the key's hash and stores only its
+ * occupied slots, compacted behind a 32-bit bitmap. {@link #put} and
+ * {@link #remove} copy just the nodes on the path from the root to the
+ * changed slot — at most seven small arrays for a 32-bit hash — and share
+ * every other node with the original trie, which stays unchanged.</p>
+ *
+ * <p>Keys must not be {@code null} and must not change their hash while
+ * stored. Instances are immutable and safe to share between threads.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class HashTrie<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final HashTrie<?, ?> EMPTY = new HashTrie<>(new BitmapNode<>(0, new Object[0]), 0);
+
+  private final BitmapNode<K, V> root;
+  private final int size;
+
+  private HashTrie(BitmapNode<K, V> root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns the empty trie.
+   *
+   * @param <K> key type
+   * @param <V> value type
+   * @return the shared empty trie
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> HashTrie<K, V> empty() {
+    return (HashTrie<K, V>) EMPTY;
+  }
+
+  /** @return number of mappings */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Looks up a key.
+   *
+   * @param key key to look up
+   * @return the mapped value, or {@code null}
+   */
+  V get(K key) {
+    return root.find(0, hash(key), key);
+  }
+
+  /**
+   * Returns a trie that also maps {@code key} to {@code value}.
+   *
+   * @param key   key to map
+   * @param value value to store
+   * @return the new trie, or this one if the mapping is already present
+   */
+  @SuppressWarnings("unchecked")
+  HashTrie<K, V> put(K key, V value) {
+    boolean[] added = new boolean[1];
+    BitmapNode<K, V> newRoot = (BitmapNode<K, V>) root.put(0, hash(key), key, value, added);
+    return newRoot == root ? this : new HashTrie<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Returns a trie without a mapping for {@code key}.
+   *
+   * @param key key to unmap
+   * @return the new trie, or this one if the key is absent
+   */
+  @SuppressWarnings("unchecked")
+  HashTrie<K, V> remove(K key) {
+    Object newRoot = root.remove(0, hash(key), key); // the root never collapses into a leaf
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new HashTrie<>((BitmapNode<K, V>) newRoot, size - 1);
+  }
+
+  /**
+   * Visits every mapping, in hash order.
+   *
+   * @param action receives each key and value
+   */
+  void forEach(BiConsumer<? super K, ? super V> action) {
+    root.forEach(action);
+  }
+
+  /** Spreads the key's hash so that sequential ids fan out evenly. */
+  private static int hash(Object key) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /** One key/value mapping stored directly in a slot. */
+  private record Leaf<K, V>(int hash, K key, V value) {
+  }
+
+  /**
+   * Common operations of trie nodes. {@code remove} returns {@code null}
+   * for a node that became empty, or a single remaining {@link Leaf} so
+   * the parent can store it inline.
+   */
+  private interface Node<K, V> {
+    V find(int shift, int hash, K key);
+
+    Object put(int shift, int hash, K key, V value, boolean[] added);
+
+    Object remove(int shift, int hash, K key);
+
+    void forEach(BiConsumer<? super K, ? super V> action);
+  }
+
+  /** Inner node: a bitmap of occupied slots and a compact slot array. */
+  private static final class BitmapNode<K, V> implements Node<K, V> {
+    private final int bitmap;
+    private final Object[] slots; // Leaf or Node
+
+    BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V find(int shift, int hash, K key) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      Object slot = slots[index(bit)];
+      if (slot instanceof Leaf) {
+        Leaf<K, V> leaf = (Leaf<K, V>) slot;
+        return leaf.hash() == hash && leaf.key().equals(key) ? leaf.value() : null;
+      }
+      return ((Node<K, V>) slot).find(shift + BITS, hash, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object put(int shift, int hash, K key, V value, boolean[] added) {
+      int bit = bit(hash, shift);
+      int idx = index(bit);
+      if ((bitmap & bit) == 0) {
+        Object[] copy = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, idx);
+        copy[idx] = new Leaf<>(hash, key, value);
+        System.arraycopy(slots, idx, copy, idx + 1, slots.length - idx);
+        added[0] = true;
+        return new BitmapNode<>(bitmap | bit, copy);
+      }
+      Object slot = slots[idx];
+      Object replacement;
+      if (slot instanceof Leaf) {
+        Leaf<K, V> leaf = (Leaf<K, V>) slot;
+        if (leaf.hash() == hash && leaf.key().equals(key)) {
+          if (leaf.value() == value) {
+            return this;
+          }
+          replacement = new Leaf<>(hash, key, value);
+        } else {
+          added[0] = true;
+          replacement = merge(shift + BITS, leaf, new Leaf<>(hash, key, value));
+        }
+      } else {
+        replacement = ((Node<K, V>) slot).put(shift + BITS, hash, key, value, added);
+        if (replacement == slot) {
+          return this;
+        }
+      }
+      return withSlot(idx, replacement);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object remove(int shift, int hash, K key) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int idx = index(bit);
+      Object slot = slots[idx];
+      Object replacement;
+      if (slot instanceof Leaf) {
+        Leaf<K, V> leaf = (Leaf<K, V>) slot;
+        if (leaf.hash() != hash || !leaf.key().equals(key)) {
+          return this;
+        }
+        replacement = null;
+      } else {
+        replacement = ((Node<K, V>) slot).remove(shift + BITS, hash, key);
+        if (replacement == slot) {
+          return this;
+        }
+      }
+      if (replacement instanceof Leaf && slots.length == 1 && shift > 0) {
+        return replacement; // keep collapsing towards the root
+      }
+      if (replacement != null) {
+        return withSlot(idx, replacement);
+      }
+      if (slots.length == 1) {
+        return null;
+      }
+      if (slots.length == 2 && shift > 0 && slots[1 - idx] instanceof Leaf) {
+        return slots[1 - idx]; // collapse into the parent
+      }
+      Object[] copy = new Object[slots.length - 1];
+      System.arraycopy(slots, 0, copy, 0, idx);
+      System.arraycopy(slots, idx + 1, copy, idx, slots.length - idx - 1);
+      return new BitmapNode<>(bitmap & ~bit, copy);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+      for (Object slot : slots) {
+        if (slot instanceof Leaf) {
+          Leaf<K, V> leaf = (Leaf<K, V>) slot;
+          action.accept(leaf.key(), leaf.value());
+        } else {
+          ((Node<K, V>) slot).forEach(action);
+        }
+      }
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private BitmapNode<K, V> withSlot(int idx, Object slot) {
+      Object[] copy = slots.clone();
+      copy[idx] = slot;
+      return new BitmapNode<>(bitmap, copy);
+    }
+
+    /** Builds the smallest subtree holding two leaves with different keys. */
+    private static <K, V> Object merge(int shift, Leaf<K, V> a, Leaf<K, V> b) {
+      if (a.hash() == b.hash()) {
+        return new CollisionNode<>(a.hash(), new Object[] { a, b });
+      }
+      int bitA = bit(a.hash(), shift);
+      int bitB = bit(b.hash(), shift);
+      if (bitA == bitB) {
+        return new BitmapNode<K, V>(bitA, new Object[] { merge(shift + BITS, a, b) });
+      }
+      Object[] pair = Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[] { a, b } : new Object[] { b, a };
+      return new BitmapNode<K, V>(bitA | bitB, pair);
+    }
+  }
+
+  /** Leaves whose full 32-bit hashes are equal, searched linearly. */
+  private static final class CollisionNode<K, V> implements Node<K, V> {
+    private final int hash;
+    private final Object[] leaves;
+
+    CollisionNode(int hash, Object[] leaves) {
+      this.hash = hash;
+      this.leaves = leaves;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V find(int shift, int hash, K key) {
+      int i = indexOf(key);
+      return hash == this.hash && i >= 0 ? ((Leaf<K, V>) leaves[i]).value() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object put(int shift, int hash, K key, V value, boolean[] added) {
+      Leaf<K, V> leaf = new Leaf<>(hash, key, value);
+      if (hash != this.hash) {
+        added[0] = true;
+        int bitThis = bit(this.hash, shift);
+        BitmapNode<K, V> node = new BitmapNode<>(bitThis, new Object[] { this });
+        return node.put(shift, hash, key, value, new boolean[1]);
+      }
+      int i = indexOf(key);
+      if (i >= 0) {
+        if (((Leaf<K, V>) leaves[i]).value() == value) {
+          return this;
+        }
+        Object[] copy = leaves.clone();
+        copy[i] = leaf;
+        return new CollisionNode<K, V>(hash, copy);
+      }
+      Object[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+      copy[leaves.length] = leaf;
+      added[0] = true;
+      return new CollisionNode<K, V>(hash, copy);
+    }
+
+    @Override
+    public Object remove(int shift, int hash, K key) {
+      int i = hash == this.hash ? indexOf(key) : -1;
+      if (i < 0) {
+        return this;
+      }
+      if (leaves.length == 2) {
+        return leaves[1 - i];
+      }
+      Object[] copy = new Object[leaves.length - 1];
+      System.arraycopy(leaves, 0, copy, 0, i);
+      System.arraycopy(leaves, i + 1, copy, i, leaves.length - i - 1);
+      return new CollisionNode<K, V>(hash, copy);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+      for (Object o : leaves) {
+        Leaf<K, V> leaf = (Leaf<K, V>) o;
+        action.accept(leaf.key(), leaf.value());
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOf(K key) {
+      for (int i = 0; i < leaves.length; i++) {
+        if (((Leaf<K, V>) leaves[i]).key().equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+}
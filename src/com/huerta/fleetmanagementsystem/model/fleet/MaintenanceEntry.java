@@ -0,0 +1,14 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * One item of a batch maintenance registration.
+ *
+ * @param vehicle the vehicle that was serviced
+ * @param record  the maintenance performed on it
+ * @see Fleet#registerMaintenanceBatch(java.util.Collection)
+ */
+public record MaintenanceEntry(Vehicle vehicle, MaintenanceRecord record) {
+}
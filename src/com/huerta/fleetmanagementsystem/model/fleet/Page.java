@@ -0,0 +1,26 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated query on a {@link Fleet}.
+ *
+ * <p>A cursor names the last item of a page by its key (a vehicle id or
+ * a maintenance record's date), not by its position, so the next page
+ * starts right after that item however many items were inserted or
+ * removed meanwhile. Fetching a page costs O(log n + page size); items
+ * are never repeated across pages, and an item present for the whole
+ * walk is never skipped.</p>
+ *
+ * @param <T>   item type
+ * @param items items of this page, in key order
+ * @param next  opaque cursor of the following page, or {@code null} if
+ *              this page reached the end
+ */
+public record Page<T>(List<T> items, String next) {
+
+  /** @return {@code true} if a following page may hold items */
+  public boolean hasNext() {
+    return next != null;
+  }
+}
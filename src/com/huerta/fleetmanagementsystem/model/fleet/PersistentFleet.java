@@ -0,0 +1,246 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.HeavyVehicle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Immutable fleet version for "what-if" scenarios, with structural sharing.
+ *
+ * <p>Vehicles are kept in a hash array mapped trie keyed by id and
+ * drivers in one keyed by licence number. Every {@code with...} /
+ * {@code without...} call returns a new version that copies only the
+ * O(log n) trie nodes on the changed path and shares all others with the
+ * version it was derived from, which stays valid and unchanged. Forking a
+ * version is therefore free, and simulating a change costs memory and
+ * time proportional to the change, not to the fleet.</p>
+ *
+ * <p><b>OOP concept – Immutability:</b> all fields are {@code final} and
+ * no method mutates them, so versions can be handed to any thread without
+ * locking. The {@link Vehicle} and {@link Driver} objects themselves are
+ * shared, not copied: to simulate an attribute change, put a modified
+ * copy of the vehicle with {@link #withVehicle(Vehicle)}.</p>
+ *
+ * <p>Unlike {@link Fleet}, ids are unique: adding a vehicle whose id is
+ * already present replaces the previous one. Iteration follows hash
+ * order, not insertion order.</p>
+ */
+public final class PersistentFleet {
+
+  private static final PersistentFleet EMPTY = new PersistentFleet(HashTrie.empty(), HashTrie.empty());
+
+  private final HashTrie<Long, Vehicle> vehicles;
+  private final HashTrie<String, Driver> drivers;
+
+  private PersistentFleet(HashTrie<Long, Vehicle> vehicles, HashTrie<String, Driver> drivers) {
+    this.vehicles = vehicles;
+    this.drivers = drivers;
+  }
+
+  /** @return the empty fleet version */
+  public static PersistentFleet empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds a persistent version of a mutable fleet's current membership.
+   * When several members share an id or licence, the first one wins, as
+   * in {@link Fleet#findVehicle(long)}.
+   *
+   * @param fleet the fleet to copy
+   * @return the initial version
+   */
+  public static PersistentFleet of(Fleet fleet) {
+    return of(fleet.snapshot());
+  }
+
+  /**
+   * Builds a persistent version of a fleet snapshot.
+   *
+   * @param snapshot the membership to copy
+   * @return the initial version
+   * @see #of(Fleet)
+   */
+  public static PersistentFleet of(FleetSnapshot snapshot) {
+    HashTrie<Long, Vehicle> vs = HashTrie.empty();
+    for (Vehicle v : snapshot.vehicles()) {
+      if (vs.get(v.getId()) == null) {
+        vs = vs.put(v.getId(), v);
+      }
+    }
+    HashTrie<String, Driver> ds = HashTrie.empty();
+    for (Driver d : snapshot.drivers()) {
+      if (d.getLicenseNumber() != null && ds.get(d.getLicenseNumber()) == null) {
+        ds = ds.put(d.getLicenseNumber(), d);
+      }
+    }
+    return new PersistentFleet(vs, ds);
+  }
+
+  // ---- Derived versions ----
+
+  /**
+   * Returns a version that contains {@code vehicle}, replacing any
+   * vehicle with the same id.
+   *
+   * @param vehicle vehicle to add
+   * @return the new version, or this one if nothing changed
+   * @throws IllegalArgumentException if {@code vehicle} is {@code null}
+   */
+  public PersistentFleet withVehicle(Vehicle vehicle) {
+    if (vehicle == null) {
+      throw new IllegalArgumentException("Vehicle is required.");
+    }
+    return derive(vehicles.put(vehicle.getId(), vehicle), drivers);
+  }
+
+  /**
+   * Returns a version without the vehicle registered under {@code id}.
+   *
+   * @param id vehicle identifier
+   * @return the new version, or this one if no such vehicle exists
+   */
+  public PersistentFleet withoutVehicle(long id) {
+    return derive(vehicles.remove(id), drivers);
+  }
+
+  /**
+   * Returns a version without every vehicle matching {@code filter}.
+   * Scans the whole version once; only the removals allocate.
+   *
+   * @param filter condition selecting the vehicles to drop
+   * @return the new version
+   */
+  public PersistentFleet withoutVehicles(Predicate<? super Vehicle> filter) {
+    List<Long> doomed = new ArrayList<>();
+    vehicles.forEach((id, v) -> {
+      if (filter.test(v)) {
+        doomed.add(id);
+      }
+    });
+    HashTrie<Long, Vehicle> vs = vehicles;
+    for (Long id : doomed) {
+      vs = vs.remove(id);
+    }
+    return derive(vs, drivers);
+  }
+
+  /**
+   * Returns a version that contains {@code driver}, replacing any driver
+   * with the same licence number.
+   *
+   * @param driver driver to add
+   * @return the new version, or this one if nothing changed
+   * @throws IllegalArgumentException if {@code driver} or its licence
+   *                                  number is {@code null}
+   */
+  public PersistentFleet withDriver(Driver driver) {
+    if (driver == null || driver.getLicenseNumber() == null) {
+      throw new IllegalArgumentException("Driver with a licence number is required.");
+    }
+    return derive(vehicles, drivers.put(driver.getLicenseNumber(), driver));
+  }
+
+  /**
+   * Returns a version without the driver holding {@code licenseNumber}.
+   *
+   * @param licenseNumber licence identifier
+   * @return the new version, or this one if no such driver exists
+   */
+  public PersistentFleet withoutDriver(String licenseNumber) {
+    return licenseNumber == null ? this : derive(vehicles, drivers.remove(licenseNumber));
+  }
+
+  private PersistentFleet derive(HashTrie<Long, Vehicle> vs, HashTrie<String, Driver> ds) {
+    return vs == vehicles && ds == drivers ? this : new PersistentFleet(vs, ds);
+  }
+
+  // ---- Queries ----
+
+  /**
+   * Looks up a vehicle by identifier.
+   *
+   * @param id vehicle identifier
+   * @return the vehicle, or {@code null}
+   */
+  public Vehicle findVehicle(long id) {
+    return vehicles.get(id);
+  }
+
+  /**
+   * Looks up a driver by licence number.
+   *
+   * @param licenseNumber licence identifier
+   * @return the driver, or {@code null}
+   */
+  public Driver findDriver(String licenseNumber) {
+    return licenseNumber == null ? null : drivers.get(licenseNumber);
+  }
+
+  /** @return number of vehicles in this version */
+  public int vehicleCount() {
+    return vehicles.size();
+  }
+
+  /** @return number of drivers in this version */
+  public int driverCount() {
+    return drivers.size();
+  }
+
+  /**
+   * Visits every vehicle without copying.
+   *
+   * @param action receives each vehicle
+   */
+  public void forEachVehicle(Consumer<? super Vehicle> action) {
+    vehicles.forEach((id, v) -> action.accept(v));
+  }
+
+  /** @return a new list of this version's vehicles */
+  public List<Vehicle> getVehicles() {
+    List<Vehicle> result = new ArrayList<>(vehicles.size());
+    vehicles.forEach((id, v) -> result.add(v));
+    return result;
+  }
+
+  /** @return a new list of this version's drivers */
+  public List<Driver> getDrivers() {
+    List<Driver> result = new ArrayList<>(drivers.size());
+    drivers.forEach((license, d) -> result.add(d));
+    return result;
+  }
+
+  /**
+   * Sums the operating cost of every vehicle (<b>polymorphism</b>).
+   *
+   * @return total operating cost of this version
+   * @see Fleet#calculateTotalOperatingCost()
+   */
+  public double calculateTotalOperatingCost() {
+    double[] total = new double[1];
+    vehicles.forEach((id, v) -> total[0] += v.calculateOperatingCost());
+    return total[0];
+  }
+
+  /**
+   * Filters vehicles that require a commercial driving licence
+   * (<b>downcasting</b>).
+   *
+   * @return heavy vehicles exceeding the 3.5-ton threshold
+   * @see Fleet#getVehiclesRequiringCommercialLicense()
+   */
+  public List<Vehicle> getVehiclesRequiringCommercialLicense() {
+    List<Vehicle> result = new ArrayList<>();
+    vehicles.forEach((id, v) -> {
+      if (v instanceof HeavyVehicle && ((HeavyVehicle) v).requiresCommercialLicense()) {
+        result.add(v);
+      }
+    });
+    return result;
+  }
+}
@@ -0,0 +1,237 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent sequence: an AVL tree ordered by position, whose nodes know
+ * the size of their subtree.
+ *
+ * <p>{@link #appendAll} and {@link #removeAt} copy only the O(log n)
+ * nodes on the changed paths and share every other node with the
+ * original sequence, which stays unchanged; appending {@code k} elements
+ * costs O(k + log n). {@link #asList()} wraps a version as a {@link List}
+ * in O(1), with O(log n) {@code get} and O(1) per element iteration.</p>
+ *
+ * <p>Instances are immutable and safe to share between threads.</p>
+ *
+ * @param <T> element type
+ */
+final class PersistentSequence<T> {
+
+  private static final PersistentSequence<?> EMPTY = new PersistentSequence<>(null);
+
+  private final Node<T> root;
+
+  private static final class Node<T> {
+
+    final T value;
+    final Node<T> left;
+    final Node<T> right;
+    final int size;
+    final int height;
+
+    Node(T value, Node<T> left, Node<T> right) {
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.size = size(left) + size(right) + 1;
+      this.height = Math.max(height(left), height(right)) + 1;
+    }
+  }
+
+  private PersistentSequence(Node<T> root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns the empty sequence.
+   *
+   * @param <T> element type
+   * @return the shared empty sequence
+   */
+  @SuppressWarnings("unchecked")
+  static <T> PersistentSequence<T> empty() {
+    return (PersistentSequence<T>) EMPTY;
+  }
+
+  /** @return number of elements */
+  int size() {
+    return size(root);
+  }
+
+  /**
+   * Returns an element.
+   *
+   * @param index position of the element
+   * @return the element
+   * @throws IndexOutOfBoundsException if there is no such position
+   */
+  T get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+    }
+    Node<T> n = root;
+    while (true) {
+      int left = size(n.left);
+      if (index < left) {
+        n = n.left;
+      } else if (index > left) {
+        index -= left + 1;
+        n = n.right;
+      } else {
+        return n.value;
+      }
+    }
+  }
+
+  /**
+   * Returns a sequence with {@code items} appended.
+   *
+   * @param items elements to append, in order
+   * @return the new sequence, or this one if {@code items} is empty
+   */
+  PersistentSequence<T> appendAll(List<? extends T> items) {
+    if (items.isEmpty()) {
+      return this;
+    }
+    Node<T> tail = balanced(items, 1, items.size());
+    return new PersistentSequence<>(join(root, items.get(0), tail));
+  }
+
+  /**
+   * Returns a sequence without the element at {@code index}.
+   *
+   * @param index position of the element to drop
+   * @return the new sequence
+   * @throws IndexOutOfBoundsException if there is no such position
+   */
+  PersistentSequence<T> removeAt(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+    }
+    Node<T> n = removeAt(root, index);
+    return n == null ? empty() : new PersistentSequence<>(n);
+  }
+
+  /** @return an unmodifiable list view of this version */
+  List<T> asList() {
+    return new View<>(this);
+  }
+
+  private static <T> Node<T> removeAt(Node<T> n, int index) {
+    int left = size(n.left);
+    if (index < left) {
+      return balance(n.value, removeAt(n.left, index), n.right);
+    }
+    if (index > left) {
+      return balance(n.value, n.left, removeAt(n.right, index - left - 1));
+    }
+    if (n.right == null) {
+      return n.left;
+    }
+    Node<T> first = n.right;
+    while (first.left != null) {
+      first = first.left;
+    }
+    return join(n.left, first.value, removeAt(n.right, 0));
+  }
+
+  /** Joins {@code left}, {@code middle} and {@code right}, in that order. */
+  private static <T> Node<T> join(Node<T> left, T middle, Node<T> right) {
+    if (height(left) > height(right) + 1) {
+      return balance(left.value, left.left, join(left.right, middle, right));
+    }
+    if (height(right) > height(left) + 1) {
+      return balance(right.value, join(left, middle, right.left), right.right);
+    }
+    return new Node<>(middle, left, right);
+  }
+
+  /** Builds a node whose subtrees differ in height by at most two, rotating as needed. */
+  private static <T> Node<T> balance(T value, Node<T> left, Node<T> right) {
+    int diff = height(left) - height(right);
+    if (diff > 1) {
+      if (height(left.left) < height(left.right)) {
+        Node<T> lr = left.right;
+        return new Node<>(lr.value, new Node<>(left.value, left.left, lr.left), new Node<>(value, lr.right, right));
+      }
+      return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+    }
+    if (diff < -1) {
+      if (height(right.right) < height(right.left)) {
+        Node<T> rl = right.left;
+        return new Node<>(rl.value, new Node<>(value, left, rl.left), new Node<>(right.value, rl.right, right.right));
+      }
+      return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+    }
+    return new Node<>(value, left, right);
+  }
+
+  /** Links {@code items[from, to)} into a balanced tree. */
+  private static <T> Node<T> balanced(List<? extends T> items, int from, int to) {
+    if (from >= to) {
+      return null;
+    }
+    int mid = (from + to) >>> 1;
+    return new Node<>(items.get(mid), balanced(items, from, mid), balanced(items, mid + 1, to));
+  }
+
+  private static int size(Node<?> n) {
+    return n == null ? 0 : n.size;
+  }
+
+  private static int height(Node<?> n) {
+    return n == null ? 0 : n.height;
+  }
+
+  /** Unmodifiable list over one version. */
+  private static final class View<T> extends AbstractList<T> {
+
+    private final PersistentSequence<T> sequence;
+
+    View(PersistentSequence<T> sequence) {
+      this.sequence = sequence;
+    }
+
+    @Override
+    public T get(int index) {
+      return sequence.get(index);
+    }
+
+    @Override
+    public int size() {
+      return sequence.size();
+    }
+
+    /** {@inheritDoc} Walks the tree in order instead of descending per element. */
+    @Override
+    public Iterator<T> iterator() {
+      ArrayDeque<Node<T>> path = new ArrayDeque<>();
+      for (Node<T> n = sequence.root; n != null; n = n.left) {
+        path.push(n);
+      }
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return !path.isEmpty();
+        }
+
+        @Override
+        public T next() {
+          if (path.isEmpty()) {
+            throw new NoSuchElementException();
+          }
+          Node<T> n = path.pop();
+          for (Node<T> c = n.right; c != null; c = c.left) {
+            path.push(c);
+          }
+          return n.value;
+        }
+      };
+    }
+  }
+}
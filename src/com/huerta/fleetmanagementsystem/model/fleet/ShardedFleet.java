@@ -0,0 +1,444 @@
+package com.huerta.fleetmanagementsystem.model.fleet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * A fleet partitioned into independent {@link Fleet} shards.
+ *
+ * <p>Vehicles are placed by a hash of their id and drivers by a hash of
+ * their licence number. Each shard keeps its own lock, indexes and
+ * snapshots, so writers to different shards never contend. Single-item
+ * writes and lookups go to exactly one shard; batches are split per shard
+ * and applied in parallel; fleet-wide queries, reports and aggregates are
+ * scattered to all shards in parallel and their results gathered in shard
+ * order.</p>
+ *
+ * <p><b>OOP concept – Composition:</b> the shards are created and owned by
+ * this object and are not shared with anyone else.</p>
+ *
+ * <p>Each shard publishes its own events: a listener subscribed with
+ * {@link #subscribe(FleetChangeListener)} receives them from all shards
+ * and may be called from several threads at once. A vehicle's id should
+ * not change while it is a member, since the vehicle would then be looked
+ * up in the wrong shard.</p>
+ *
+ * <p>A driver's assignments may span every shard, so removing a driver is
+ * not a single-shard write: it holds the exclusive side of a driver lock
+ * while it releases the driver everywhere and then removes it, and
+ * assignments hold the shared side. An assignment therefore either
+ * completes before the removal, and is released by it, or sees the driver
+ * already gone.</p>
+ */
+public class ShardedFleet {
+
+  private final Fleet[] shards;
+
+  /** Shared by assignments, exclusive for driver removal. */
+  private final ReentrantReadWriteLock driverLock = new ReentrantReadWriteLock();
+
+  /**
+   * Creates a fleet with {@code shardCount} empty shards.
+   *
+   * @param shardCount number of partitions
+   * @throws IllegalArgumentException if {@code shardCount < 1}
+   */
+  public ShardedFleet(int shardCount) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("A sharded fleet needs at least one shard.");
+    }
+    shards = new Fleet[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Fleet();
+    }
+  }
+
+  /** @return number of shards */
+  public int shardCount() {
+    return shards.length;
+  }
+
+  /**
+   * Returns one shard, for inspection or per-shard subscriptions.
+   *
+   * @param index shard index in {@code [0, shardCount())}
+   * @return the shard
+   */
+  public Fleet shard(int index) {
+    return shards[index];
+  }
+
+  /**
+   * Returns the shard index that holds vehicles with a given id.
+   *
+   * @param vehicleId vehicle identifier
+   * @return shard index
+   */
+  public int shardOf(long vehicleId) {
+    long h = vehicleId * 0x9E3779B97F4A7C15L;
+    return Math.floorMod((int) (h ^ (h >>> 32)), shards.length);
+  }
+
+  private Fleet vehicleShard(Vehicle v) {
+    return shards[shardOf(v.getId())];
+  }
+
+  private int driverShardOf(String licenseNumber) {
+    return Math.floorMod(licenseNumber.hashCode() * 0x9E3779B9, shards.length);
+  }
+
+  private Fleet driverShard(String licenseNumber) {
+    return shards[driverShardOf(licenseNumber)];
+  }
+
+  /**
+   * Subscribes a listener to the events of every shard.
+   *
+   * @param listener listener to add
+   */
+  public void subscribe(FleetChangeListener listener) {
+    for (Fleet shard : shards) {
+      shard.subscribe(listener);
+    }
+  }
+
+  /**
+   * Unsubscribes a listener from every shard.
+   *
+   * @param listener listener to remove
+   */
+  public void unsubscribe(FleetChangeListener listener) {
+    for (Fleet shard : shards) {
+      shard.unsubscribe(listener);
+    }
+  }
+
+  // ---- Single-shard writes ----
+
+  /**
+   * Adds a vehicle to the shard of its id.
+   *
+   * @param vehicle vehicle to add; ignored if {@code null}
+   * @see Fleet#addVehicle(Vehicle)
+   */
+  public void addVehicle(Vehicle vehicle) {
+    if (vehicle != null) {
+      vehicleShard(vehicle).addVehicle(vehicle);
+    }
+  }
+
+  /**
+   * Removes a vehicle from the shard of its id.
+   *
+   * @param vehicle vehicle to remove
+   * @return {@code true} if the vehicle was found and removed
+   */
+  public boolean removeVehicle(Vehicle vehicle) {
+    return vehicle != null && vehicleShard(vehicle).removeVehicle(vehicle);
+  }
+
+  /**
+   * Adds a driver to the shard of its licence number.
+   *
+   * @param driver driver to add; ignored if {@code null}
+   */
+  public void addDriver(Driver driver) {
+    if (driver != null) {
+      driverShard(driver.getLicenseNumber()).addDriver(driver);
+    }
+  }
+
+  /**
+   * Removes a driver, first releasing it from vehicles in every shard.
+   * Assignments wait until the removal is complete.
+   *
+   * @param driver driver to remove
+   * @return {@code true} if the driver was found and removed
+   */
+  public boolean removeDriver(Driver driver) {
+    if (driver == null) {
+      return false;
+    }
+    Fleet home = driverShard(driver.getLicenseNumber());
+    driverLock.writeLock().lock();
+    try {
+      if (home.findDriver(driver.getLicenseNumber()) != driver) {
+        return false;
+      }
+      IntStream.range(0, shards.length).parallel().forEach(i -> {
+        for (Vehicle v : shards[i].findVehicles(v -> v.getDriver() == driver, Integer.MAX_VALUE)) {
+          shards[i].releaseDriver(v);
+        }
+      });
+      return home.removeDriver(driver);
+    } finally {
+      driverLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Registers a maintenance record in the vehicle's shard.
+   *
+   * @param vehicle the target vehicle
+   * @param record  the record to register
+   * @see Fleet#registerMaintenance(Vehicle, MaintenanceRecord)
+   */
+  public void registerMaintenance(Vehicle vehicle, MaintenanceRecord record) {
+    if (vehicle != null) {
+      vehicleShard(vehicle).registerMaintenance(vehicle, record);
+    }
+  }
+
+  /**
+   * Assigns a driver to a vehicle in the vehicle's shard.
+   *
+   * @param vehicle the target vehicle
+   * @param driver  the driver to assign
+   */
+  public void assignDriver(Vehicle vehicle, Driver driver) {
+    if (vehicle == null) {
+      return;
+    }
+    driverLock.readLock().lock();
+    try {
+      vehicleShard(vehicle).assignDriver(vehicle, driver);
+    } finally {
+      driverLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Releases the driver of a vehicle in the vehicle's shard.
+   *
+   * @param vehicle the vehicle whose driver is released
+   */
+  public void releaseDriver(Vehicle vehicle) {
+    if (vehicle != null) {
+      vehicleShard(vehicle).releaseDriver(vehicle);
+    }
+  }
+
+  // ---- Batches, split per shard and applied in parallel ----
+
+  /**
+   * Adds several vehicles; each shard applies its part as one batch.
+   *
+   * @param batch vehicles to add
+   * @return one result per submitted vehicle, in submission order
+   * @see Fleet#addVehicles(Collection)
+   */
+  public List<BatchResult<Vehicle>> addVehicles(Collection<? extends Vehicle> batch) {
+    return scatter(new ArrayList<Vehicle>(batch), v -> v == null ? 0 : shardOf(v.getId()), Fleet::addVehicles);
+  }
+
+  /**
+   * Adds several drivers; each shard applies its part as one batch.
+   *
+   * @param batch drivers to add
+   * @return one result per submitted driver, in submission order
+   * @see Fleet#addDrivers(Collection)
+   */
+  public List<BatchResult<Driver>> addDrivers(Collection<? extends Driver> batch) {
+    return scatter(new ArrayList<Driver>(batch),
+        d -> d == null ? 0 : driverShardOf(d.getLicenseNumber()), Fleet::addDrivers);
+  }
+
+  /**
+   * Registers several maintenance records; each shard applies its part as
+   * one batch.
+   *
+   * @param batch vehicle/record pairs to register
+   * @return one result per submitted entry, in submission order
+   * @see Fleet#registerMaintenanceBatch(Collection)
+   */
+  public List<BatchResult<MaintenanceEntry>> registerMaintenanceBatch(Collection<MaintenanceEntry> batch) {
+    return scatter(new ArrayList<>(batch), e -> e == null || e.vehicle() == null ? 0 : shardOf(e.vehicle().getId()),
+        Fleet::registerMaintenanceBatch);
+  }
+
+  /**
+   * Assigns several drivers. Drivers may live in another shard than their
+   * vehicle, so membership is checked here and each vehicle shard applies
+   * its valid assignments with one event batch. No driver can be removed
+   * between its check and its assignment.
+   *
+   * @param batch vehicle/driver pairs to assign
+   * @return one result per submitted assignment, in submission order
+   */
+  public List<BatchResult<DriverAssignment>> assignDrivers(Collection<DriverAssignment> batch) {
+    driverLock.readLock().lock();
+    try {
+      return assignDriversLocked(batch);
+    } finally {
+      driverLock.readLock().unlock();
+    }
+  }
+
+  private List<BatchResult<DriverAssignment>> assignDriversLocked(Collection<DriverAssignment> batch) {
+    return scatter(new ArrayList<>(batch), a -> a == null || a.vehicle() == null ? 0 : shardOf(a.vehicle().getId()),
+        (shard, items) -> {
+          List<BatchResult<DriverAssignment>> results = new ArrayList<>(items.size());
+          shard.batch(() -> {
+            for (DriverAssignment a : items) {
+              String error = a == null || a.vehicle() == null || a.driver() == null
+                  ? "Vehicle and driver are required."
+                  : shard.findVehicle(a.vehicle().getId()) != a.vehicle() ? "Vehicle is not in the fleet."
+                  : findDriver(a.driver().getLicenseNumber()) != a.driver() ? "Driver is not in the fleet."
+                  : null;
+              if (error == null) {
+                shard.assignDriver(a.vehicle(), a.driver());
+                results.add(BatchResult.applied(a));
+              } else {
+                results.add(BatchResult.rejected(a, error));
+              }
+            }
+          });
+          return results;
+        });
+  }
+
+  /**
+   * Splits {@code items} by shard, runs {@code op} on every non-empty part
+   * in parallel and puts the results back in submission order.
+   */
+  private <T, R> List<BatchResult<R>> scatter(List<T> items, ToIntFunction<T> shardOf,
+      BiFunction<Fleet, List<T>, List<BatchResult<R>>> op) {
+    List<List<T>> parts = new ArrayList<>(shards.length);
+    List<List<Integer>> positions = new ArrayList<>(shards.length);
+    for (int i = 0; i < shards.length; i++) {
+      parts.add(new ArrayList<>());
+      positions.add(new ArrayList<>());
+    }
+    for (int i = 0; i < items.size(); i++) {
+      int s = shardOf.applyAsInt(items.get(i));
+      parts.get(s).add(items.get(i));
+      positions.get(s).add(i);
+    }
+    @SuppressWarnings("unchecked")
+    BatchResult<R>[] merged = (BatchResult<R>[]) new BatchResult<?>[items.size()];
+    IntStream.range(0, shards.length).parallel().filter(s -> !parts.get(s).isEmpty()).forEach(s -> {
+      List<BatchResult<R>> results = op.apply(shards[s], parts.get(s));
+      for (int k = 0; k < results.size(); k++) {
+        merged[positions.get(s).get(k)] = results.get(k);
+      }
+    });
+    return new ArrayList<>(Arrays.asList(merged));
+  }
+
+  // ---- Lookups ----
+
+  /**
+   * Looks up a vehicle in the shard of its id.
+   *
+   * @param id vehicle identifier
+   * @return the vehicle, or {@code null}
+   */
+  public Vehicle findVehicle(long id) {
+    return shards[shardOf(id)].findVehicle(id);
+  }
+
+  /**
+   * Looks up a driver in the shard of its licence number.
+   *
+   * @param licenseNumber licence identifier
+   * @return the driver, or {@code null}
+   */
+  public Driver findDriver(String licenseNumber) {
+    return licenseNumber == null ? null : driverShard(licenseNumber).findDriver(licenseNumber);
+  }
+
+  // ---- Scatter-gather queries ----
+
+  /**
+   * Returns up to {@code limit} vehicles matching a filter, searching all
+   * shards in parallel.
+   *
+   * @param filter condition to satisfy; {@code null} matches all
+   * @param limit  maximum number of results
+   * @return matching vehicles, in shard order
+   */
+  public List<Vehicle> findVehicles(Predicate<? super Vehicle> filter, int limit) {
+    List<Vehicle> all = gather(shard -> shard.findVehicles(filter, limit));
+    return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+  }
+
+  /** @return vehicles of all shards, each shard's part taken from its snapshot */
+  public List<Vehicle> getVehicles() {
+    return gather(Fleet::getVehicles);
+  }
+
+  /** @return drivers of all shards, each shard's part taken from its snapshot */
+  public List<Driver> getDrivers() {
+    return gather(Fleet::getDrivers);
+  }
+
+  /** @return total number of vehicles */
+  public int vehicleCount() {
+    int n = 0;
+    for (Fleet shard : shards) {
+      n += shard.vehicleCount();
+    }
+    return n;
+  }
+
+  /**
+   * Sums the operating cost of every shard in parallel.
+   *
+   * @return total operating cost
+   * @see Fleet#calculateTotalOperatingCost()
+   */
+  public double calculateTotalOperatingCost() {
+    return Arrays.stream(shards).parallel().mapToDouble(Fleet::calculateTotalOperatingCost).sum();
+  }
+
+  /**
+   * Generates every vehicle's report, shards in parallel.
+   *
+   * @return report strings, in shard order
+   * @see Fleet#generateFleetReports()
+   */
+  public List<String> generateFleetReports() {
+    return gather(Fleet::generateFleetReports);
+  }
+
+  /**
+   * Collects subclass-specific details, shards in parallel.
+   *
+   * @return detail strings, in shard order
+   * @see Fleet#getVehicleSpecificDetails()
+   */
+  public List<String> getVehicleSpecificDetails() {
+    return gather(Fleet::getVehicleSpecificDetails);
+  }
+
+  /**
+   * Filters vehicles requiring a commercial licence, shards in parallel.
+   *
+   * @return heavy vehicles above the threshold, in shard order
+   * @see Fleet#getVehiclesRequiringCommercialLicense()
+   */
+  public List<Vehicle> getVehiclesRequiringCommercialLicense() {
+    return gather(Fleet::getVehiclesRequiringCommercialLicense);
+  }
+
+  /** Runs {@code query} on every shard in parallel and concatenates the results. */
+  private <R> List<R> gather(Function<Fleet, List<R>> query) {
+    List<List<R>> parts = Arrays.stream(shards).parallel().map(query).toList();
+    List<R> all = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+    parts.forEach(all::addAll);
+    return all;
+  }
+}
@@ -0,0 +1,221 @@
+package com.huerta.fleetmanagementsystem.model.maintenance;
+
+import java.lang.ref.Cleaner;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.LongSupplier;
+
+/**
+ * A vehicle's maintenance records, kept as row indices into a
+ * {@link MaintenanceRecordStore} rather than as objects.
+ *
+ * <p>{@link #get(int)} returns a fresh flyweight each time, so the history
+ * costs eight bytes per record on the heap and nothing for the garbage
+ * collector to trace. All records of one history share a store: the one
+ * of the first record added.</p>
+ *
+ * <p>A record belongs to at most one history, and every record of a
+ * history refers back to it, so the history stays reachable while any of
+ * its records is. Once it is not, a {@link Cleaner} returns its rows to
+ * the store for reuse.</p>
+ *
+ * <p>Appends must be serialized by the caller (the owning fleet holds its
+ * write lock). Readers need no lock: the row array is replaced before the
+ * size grows, so a reader always sees a complete prefix.</p>
+ *
+ * <p>Besides append order, the history keeps its records sorted by date
+ * for {@link #recordsAfter}. Each record's sort key packs the date it had
+ * when it was appended with its position, so records of the same day
+ * keep their append order and a key never changes. Records usually
+ * arrive in date order and just extend the sorted keys; a back-dated
+ * record is inserted into a copy that then replaces them, so a reader
+ * always holds a consistent set of keys.</p>
+ */
+public final class MaintenanceHistory extends AbstractList<MaintenanceRecord> implements RandomAccess {
+
+  /** Cursor before every record, for the first call of {@link #recordsAfter}. */
+  public static final long START = Long.MIN_VALUE;
+
+  /** Returned by {@link #recordsAfter} when no record follows the page. */
+  public static final long END = Long.MAX_VALUE;
+
+  /** Releases the rows of unreachable histories and of records that never joined one. */
+  static final Cleaner CLEANER = Cleaner.create();
+
+  private final LongSupplier vehicleId;
+  private final Rows data = new Rows();
+  private volatile DateOrder byDate = new DateOrder(new long[2]);
+
+  /**
+   * Row indices in append order. Kept apart from the history so that the
+   * cleaner can release them without keeping the history reachable.
+   */
+  private static final class Rows implements Runnable {
+
+    private MaintenanceRecordStore store;
+    private long[] rows = new long[2];
+    private volatile int size;
+
+    @Override
+    public void run() {
+      if (store != null) {
+        store.release(rows, size);
+      }
+    }
+  }
+
+  /** Sort keys in date order; extended in place, replaced on an insertion. */
+  private static final class DateOrder {
+
+    private final long[] keys;
+    private volatile int size;
+
+    DateOrder(long[] keys) {
+      this.keys = keys;
+    }
+  }
+
+  /** Creates a history that belongs to no vehicle. */
+  public MaintenanceHistory() {
+    this(() -> -1);
+  }
+
+  /**
+   * Creates a history.
+   *
+   * @param vehicleId supplies the current id of the owning vehicle
+   */
+  public MaintenanceHistory(LongSupplier vehicleId) {
+    this.vehicleId = vehicleId;
+  }
+
+  /**
+   * Appends a record.
+   *
+   * @param record record to append
+   * @return {@code true}
+   * @throws IllegalArgumentException if the record is {@code null}, lives
+   *                                  in a different store than earlier ones
+   *                                  or belongs to another history
+   */
+  @Override
+  public boolean add(MaintenanceRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException("Maintenance record cannot be null.");
+    }
+    MaintenanceHistory owner = record.getOwner();
+    if (owner != null && owner != this) {
+      throw new IllegalArgumentException("Maintenance record belongs to another history.");
+    }
+    Rows d = data;
+    if (d.store == null) {
+      d.store = record.getStore();
+      CLEANER.register(this, d);
+    } else if (d.store != record.getStore()) {
+      throw new IllegalArgumentException("Maintenance record belongs to another store.");
+    }
+    record.setOwner(this);
+    int n = d.size;
+    long[] current = d.rows;
+    if (n == current.length) {
+      current = Arrays.copyOf(current, n * 2);
+      current[n] = record.getRow();
+      d.rows = current;
+    } else {
+      current[n] = record.getRow();
+    }
+    d.size = n + 1;
+    indexDate((long) d.store.epochDay(record.getRow()) << 32 | n);
+    modCount++;
+    return true;
+  }
+
+  /** Adds the sort key of the record just appended at position {@code key & 0xffffffff}. */
+  private void indexDate(long key) {
+    DateOrder order = byDate;
+    int n = order.size;
+    long[] keys = order.keys;
+    if (n == 0 || keys[n - 1] < key) {
+      if (n < keys.length) {
+        keys[n] = key;
+        order.size = n + 1;
+        return;
+      }
+      DateOrder grown = new DateOrder(Arrays.copyOf(keys, n * 2));
+      grown.keys[n] = key;
+      grown.size = n + 1;
+      byDate = grown;
+      return;
+    }
+    int at = -Arrays.binarySearch(keys, 0, n, key) - 1; // keys are unique: the position differs
+    DateOrder inserted = new DateOrder(new long[n == keys.length ? n * 2 : keys.length]);
+    System.arraycopy(keys, 0, inserted.keys, 0, at);
+    inserted.keys[at] = key;
+    System.arraycopy(keys, at, inserted.keys, at + 1, n - at);
+    inserted.size = n + 1;
+    byDate = inserted;
+  }
+
+  /**
+   * Copies the records that follow a cursor in date order, in
+   * O(log n + limit). Records dated the same day follow append order.
+   *
+   * @param after {@link #START}, or a cursor returned by an earlier call
+   * @param limit maximum number of records to copy (≥ 1)
+   * @param out   receives the records
+   * @return cursor of the last record copied, or {@link #END} if no record
+   *         follows it
+   * @throws IllegalArgumentException if {@code limit} is not positive
+   */
+  public long recordsAfter(long after, int limit, List<? super MaintenanceRecord> out) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1.");
+    }
+    DateOrder order = byDate;
+    int n = order.size;
+    long[] keys = order.keys;
+    int from = Arrays.binarySearch(keys, 0, n, after);
+    from = from >= 0 ? from + 1 : -from - 1;
+    int to = from + Math.min(limit, n - from);
+    long[] current = data.rows;
+    for (int i = from; i < to; i++) {
+      out.add(new MaintenanceRecord(data.store, current[(int) keys[i]], this));
+    }
+    return to < n ? keys[to - 1] : END;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public MaintenanceRecord get(int index) {
+    int n = data.size;
+    if (index < 0 || index >= n) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + n);
+    }
+    return new MaintenanceRecord(data.store, data.rows[index], this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int size() {
+    return data.size;
+  }
+
+  /** @return current id of the owning vehicle, or {@code -1} */
+  long vehicleId() {
+    return vehicleId.getAsLong();
+  }
+
+  /** {@inheritDoc} Copies a consistent prefix even while records are appended. */
+  @Override
+  public Object[] toArray() {
+    int n = data.size;
+    long[] current = data.rows;
+    Object[] result = new Object[n];
+    for (int i = 0; i < n; i++) {
+      result[i] = new MaintenanceRecord(data.store, current[i], this);
+    }
+    return result;
+  }
+}
@@ -3,39 +3,64 @@ package com.huerta.fleetmanagementsystem.model.maintenance;
 import java.time.LocalDate;
 
 import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
-import lombok.Getter;
 
 /**
  * Immutable-style record of a single maintenance event performed on a vehicle.
  *
- * <p><b>OOP concept – Encapsulation:</b> every field is {@code private}
- * with validated setters that reject invalid data, keeping each record
- * consistent at all times. Getters are generated by Lombok
- * ({@code @Getter}).</p>
+ * <p><b>OOP concept – Encapsulation:</b> callers see validated getters
+ * and setters only; the values actually live in a row of an off-heap
+ * {@link MaintenanceRecordStore}. A record is a <b>flyweight</b> — just a
+ * store and a row index — so two views of the same row are
+ * {@linkplain #equals equal} and changes through either are seen by
+ * both.</p>
  *
  * <p><b>OOP concept – Aggregation:</b> maintenance records are stored
  * inside a {@link com.huerta.fleetmanagementsystem.model.vehicle.Vehicle}
  * but can conceptually exist on their own (weak "has-a").</p>
  *
+ * <p>A new record's row is released when the record becomes unreachable
+ * without ever joining a {@link MaintenanceHistory} — e.g. when a batch
+ * rejects it; once it has joined one, the history releases the row.</p>
+ *
  * @see MaintenanceType
  */
-@Getter
 public class MaintenanceRecord {
 
-  /** Date on which the maintenance was performed. */
-  private LocalDate date;
+  /** Store holding this record's row. */
+  private final MaintenanceRecordStore store;
+
+  /** Index of this record's row in {@link #store}. */
+  private final long row;
+
+  /** History holding the row, which keeps it from being released; set once. */
+  private MaintenanceHistory owner;
+
+  /** Releases the row if this record is dropped before joining a history; {@code null} for views. */
+  private final Orphan orphan;
+
+  /** Cleaning action for a new record's row; does nothing once a history took the row over. */
+  private static final class Orphan implements Runnable {
 
-  /** Category of maintenance (preventive or corrective). */
-  private MaintenanceType type;
+    private final MaintenanceRecordStore store;
+    private final long row;
+    private volatile boolean adopted;
 
-  /** Free-text description of the work done. */
-  private String description;
+    Orphan(MaintenanceRecordStore store, long row) {
+      this.store = store;
+      this.row = row;
+    }
 
-  /** Monetary cost of the maintenance (≥ 0). */
-  private double cost;
+    @Override
+    public void run() {
+      if (!adopted) {
+        store.release(new long[] { row }, 1);
+      }
+    }
+  }
 
   /**
-   * Creates a new maintenance record.
+   * Creates a new maintenance record in the
+   * {@linkplain MaintenanceRecordStore#getDefault() default store}.
    *
    * @param date        the date of the maintenance; must not be {@code null}
    * @param type        the maintenance category; must not be {@code null}
@@ -44,10 +69,96 @@ public class MaintenanceRecord {
    * @throws IllegalArgumentException if any argument violates its constraint
    */
   public MaintenanceRecord(LocalDate date, MaintenanceType type, String description, double cost) {
-    setDate(date);
-    setType(type);
-    setDescription(description);
-    setCost(cost);
+    this(MaintenanceRecordStore.getDefault(), date, type, description, cost);
+  }
+
+  /**
+   * Creates a new maintenance record in {@code store}.
+   *
+   * @param store       store receiving the row
+   * @param date        the date of the maintenance; must not be {@code null}
+   * @param type        the maintenance category; must not be {@code null}
+   * @param description textual description; must not be blank
+   * @param cost        monetary cost; must be ≥ 0
+   * @throws IllegalArgumentException if any argument violates its constraint
+   */
+  public MaintenanceRecord(MaintenanceRecordStore store, LocalDate date, MaintenanceType type, String description,
+      double cost) {
+    if (store == null) {
+      throw new IllegalArgumentException("Store cannot be null.");
+    }
+    this.store = store;
+    this.row = store.append(checkDate(date), checkType(type), checkDescription(description), checkCost(cost));
+    this.orphan = new Orphan(store, row);
+    MaintenanceHistory.CLEANER.register(this, orphan);
+  }
+
+  /** Flyweight over an existing row. */
+  MaintenanceRecord(MaintenanceRecordStore store, long row) {
+    this(store, row, null);
+  }
+
+  /** Flyweight over a row of {@code owner}. */
+  MaintenanceRecord(MaintenanceRecordStore store, long row, MaintenanceHistory owner) {
+    this.store = store;
+    this.row = row;
+    this.owner = owner;
+    this.orphan = null;
+  }
+
+  /** @return the date on which the maintenance was performed */
+  public LocalDate getDate() {
+    return LocalDate.ofEpochDay(store.epochDay(row));
+  }
+
+  /** @return the category of maintenance (preventive or corrective) */
+  public MaintenanceType getType() {
+    return store.type(row);
+  }
+
+  /** @return the free-text description of the work done */
+  public String getDescription() {
+    return store.description(row);
+  }
+
+  /** @return the monetary cost of the maintenance (≥ 0) */
+  public double getCost() {
+    return store.cost(row);
+  }
+
+  /** @return the description's code in the shared string dictionary */
+  public int getDescriptionCode() {
+    return store.descriptionCode(row);
+  }
+
+  /**
+   * @return current id of the vehicle this record is registered against,
+   *         or {@code -1}
+   */
+  public long getVehicleId() {
+    MaintenanceHistory h = owner;
+    return h == null ? -1 : h.vehicleId();
+  }
+
+  /** @return the store holding this record */
+  public MaintenanceRecordStore getStore() {
+    return store;
+  }
+
+  /** @return this record's row index in its store */
+  public long getRow() {
+    return row;
+  }
+
+  MaintenanceHistory getOwner() {
+    return owner;
+  }
+
+  void setOwner(MaintenanceHistory owner) {
+    this.owner = owner;
+    if (orphan != null) {
+      orphan.adopted = true;
+    }
   }
 
   /**
@@ -56,11 +167,8 @@ public class MaintenanceRecord {
    * @param date non-{@code null} date
    * @throws IllegalArgumentException if {@code null}
    */
-    public void setDate(LocalDate date) {
-    if (date == null) {
-      throw new IllegalArgumentException("Date cannot be null.");
-    }
-    this.date = date;
+  public void setDate(LocalDate date) {
+    store.setEpochDay(row, checkDate(date));
   }
 
   /**
@@ -70,10 +178,7 @@ public class MaintenanceRecord {
    * @throws IllegalArgumentException if {@code null}
    */
   public void setType(MaintenanceType type) {
-    if (type == null) {
-      throw new IllegalArgumentException("Type cannot be null.");
-    }
-    this.type = type;
+    store.setType(row, checkType(type));
   }
 
   /**
@@ -83,10 +188,7 @@ public class MaintenanceRecord {
    * @throws IllegalArgumentException if blank or {@code null}
    */
   public void setDescription(String description) {
-    if (description == null || description.isBlank()) {
-      throw new IllegalArgumentException("Description cannot be null or empty.");
-    }
-    this.description = description;
+    store.setDescription(row, checkDescription(description));
   }
 
   /**
@@ -96,9 +198,50 @@ public class MaintenanceRecord {
    * @throws IllegalArgumentException if negative
    */
   public void setCost(double cost) {
+    store.setCost(row, checkCost(cost));
+  }
+
+  /** {@inheritDoc} Records are equal when they view the same row. */
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof MaintenanceRecord r && r.store == store && r.row == row;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(row) * 31 + System.identityHashCode(store);
+  }
+
+  private static int checkDate(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date cannot be null.");
+    }
+    long day = date.toEpochDay();
+    if (day != (int) day) {
+      throw new IllegalArgumentException("Date is out of range.");
+    }
+    return (int) day;
+  }
+
+  private static MaintenanceType checkType(MaintenanceType type) {
+    if (type == null) {
+      throw new IllegalArgumentException("Type cannot be null.");
+    }
+    return type;
+  }
+
+  private static String checkDescription(String description) {
+    if (description == null || description.isBlank()) {
+      throw new IllegalArgumentException("Description cannot be null or empty.");
+    }
+    return description;
+  }
+
+  private static double checkCost(double cost) {
     if (cost < 0) {
       throw new IllegalArgumentException("Cost cannot be negative.");
     }
-    this.cost = cost;
+    return cost;
   }
 }
@@ -0,0 +1,233 @@
+package com.huerta.fleetmanagementsystem.model.maintenance;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.huerta.fleetmanagementsystem.model.dictionary.StringDictionary;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+
+/**
+ * Off-heap, append-only table of maintenance records.
+ *
+ * <p>Every record is a fixed-width row of {@value #ROW_BYTES} bytes in a
+ * direct {@link ByteBuffer} chunk:</p>
+ *
+ * <pre>
+ *  0  long    next free row, while the row is on the free list
+ *  8  double  cost
+ * 16  int     epoch day of the date
+ * 20  int     description code in the {@link StringDictionary#shared() shared dictionary}
+ * 24  byte    {@link MaintenanceType} ordinal, or -1 while the row is free
+ * 25  padding to {@value #ROW_BYTES} bytes
+ * </pre>
+ *
+ * <p>A description is stored once however many records repeat it; a
+ * free-text description that never repeats still costs one dictionary
+ * entry on the heap. Dictionary entries are never released: releasing a
+ * row frees its 32 bytes but not its description, so a stream of unique
+ * descriptions grows the dictionary for the life of the process. {@link MaintenanceRecord}
+ * is a flyweight view of one row, so a history of any length adds no
+ * objects for the garbage collector to trace — only
+ * {@value #CHUNK_ROWS}-row buffers.</p>
+ *
+ * <p>Rows held by a {@link MaintenanceHistory} are {@linkplain #release
+ * released} once the history becomes unreachable — e.g. when a removed
+ * vehicle, or every vehicle of a fleet replaced by a snapshot, is
+ * collected — and so is the row of a record dropped before it joined a
+ * history. Later appends reuse them, so the row count stays as large as
+ * the live records. Direct memory is bounded by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap
+ * size.</p>
+ *
+ * <p>Appends are serialized on the store; reads need no lock. A row is
+ * safely visible to every thread that obtained its record through a
+ * synchronized or volatile hand-off, such as a vehicle's history.</p>
+ */
+public final class MaintenanceRecordStore {
+
+  /** Bytes per record row. */
+  public static final int ROW_BYTES = 32;
+
+  /** Rows per direct buffer chunk (1 MiB). */
+  static final int CHUNK_ROWS = 1 << 15;
+
+  private static final int CHUNK_BITS = Integer.numberOfTrailingZeros(CHUNK_ROWS);
+
+  private static final int NEXT_FREE = 0;
+  private static final int COST = 8;
+  private static final int EPOCH_DAY = 16;
+  private static final int DESCRIPTION = 20;
+  private static final int TYPE = 24;
+
+  private static final byte FREE = -1;
+
+  private static final MaintenanceType[] TYPES = MaintenanceType.values();
+
+  private static final MaintenanceRecordStore DEFAULT = new MaintenanceRecordStore();
+
+  private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+  /** Rows ever allocated, free or not. */
+  private volatile long allocated;
+  /** Rows on the free list. */
+  private volatile long free;
+  /** First row of the free list, or -1. */
+  private long freeHead = -1;
+  private final StringDictionary descriptions = StringDictionary.shared();
+
+  /** Creates an empty store; most callers share the {@linkplain #getDefault() default}. */
+  public MaintenanceRecordStore() {
+  }
+
+  /** @return the store backing records created without an explicit store */
+  public static MaintenanceRecordStore getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Appends a row. Arguments are expected to be validated by
+   * {@link MaintenanceRecord}.
+   *
+   * @return index of the new row
+   */
+  synchronized long append(int epochDay, MaintenanceType type, String description, double cost) {
+    long row = freeHead;
+    if (row >= 0) {
+      freeHead = chunk(row).getLong(offset(row) + NEXT_FREE);
+      free--;
+    } else {
+      row = allocated;
+      int chunk = (int) (row >>> CHUNK_BITS);
+      ByteBuffer[] current = chunks;
+      if (chunk == current.length) {
+        current = Arrays.copyOf(current, chunk + 1);
+        current[chunk] = ByteBuffer.allocateDirect(CHUNK_ROWS * ROW_BYTES).order(ByteOrder.nativeOrder());
+        chunks = current;
+      }
+      allocated = row + 1;
+    }
+    ByteBuffer b = chunk(row);
+    int at = offset(row);
+    b.putDouble(at + COST, cost);
+    b.putInt(at + DESCRIPTION, descriptions.encode(description));
+    b.putInt(at + EPOCH_DAY, epochDay);
+    b.put(at + TYPE, (byte) type.ordinal());
+    return row;
+  }
+
+  /**
+   * Puts rows on the free list for later appends. The caller guarantees
+   * that no record still views them; {@link MaintenanceHistory} releases
+   * its rows only once it and every record it handed out are unreachable.
+   *
+   * @param rows row indices
+   * @param n    number of leading entries of {@code rows} to release
+   */
+  synchronized void release(long[] rows, int n) {
+    for (int i = 0; i < n; i++) {
+      long row = rows[i];
+      ByteBuffer b = chunk(row);
+      int at = offset(row);
+      if (b.get(at + TYPE) == FREE) {
+        continue;
+      }
+      b.put(at + TYPE, FREE);
+      b.putLong(at + NEXT_FREE, freeHead);
+      freeHead = row;
+      free++;
+    }
+  }
+
+  /**
+   * Returns a view of one row. Unlike the records of a
+   * {@link MaintenanceHistory}, the view does not keep the row from being
+   * released.
+   *
+   * @param row row index
+   * @return a flyweight record backed by the row
+   * @throws IndexOutOfBoundsException if the row does not exist
+   */
+  public MaintenanceRecord record(long row) {
+    if (row < 0 || row >= allocated) {
+      throw new IndexOutOfBoundsException("No maintenance row " + row);
+    }
+    return new MaintenanceRecord(this, row);
+  }
+
+  /** @return number of rows in use */
+  public long size() {
+    return allocated - free;
+  }
+
+  /** @return number of released rows waiting to be reused */
+  public long freeRows() {
+    return free;
+  }
+
+  /** @return direct memory held by rows, in bytes */
+  public long offHeapBytes() {
+    return (long) chunks.length * CHUNK_ROWS * ROW_BYTES;
+  }
+
+  /**
+   * Sums the cost column without materializing any record.
+   *
+   * @return total cost of every row in use
+   */
+  public double totalCost() {
+    long n = allocated;
+    ByteBuffer[] current = chunks;
+    double total = 0;
+    for (long row = 0; row < n; row++) {
+      ByteBuffer b = current[(int) (row >>> CHUNK_BITS)];
+      if (b.get(offset(row) + TYPE) != FREE) {
+        total += b.getDouble(offset(row) + COST);
+      }
+    }
+    return total;
+  }
+
+  double cost(long row) {
+    return chunk(row).getDouble(offset(row) + COST);
+  }
+
+  void setCost(long row, double cost) {
+    chunk(row).putDouble(offset(row) + COST, cost);
+  }
+
+  String description(long row) {
+    return descriptions.decode(descriptionCode(row));
+  }
+
+  int descriptionCode(long row) {
+    return chunk(row).getInt(offset(row) + DESCRIPTION);
+  }
+
+  void setDescription(long row, String description) {
+    chunk(row).putInt(offset(row) + DESCRIPTION, descriptions.encode(description));
+  }
+
+  int epochDay(long row) {
+    return chunk(row).getInt(offset(row) + EPOCH_DAY);
+  }
+
+  void setEpochDay(long row, int epochDay) {
+    chunk(row).putInt(offset(row) + EPOCH_DAY, epochDay);
+  }
+
+  MaintenanceType type(long row) {
+    return TYPES[chunk(row).get(offset(row) + TYPE)];
+  }
+
+  void setType(long row, MaintenanceType type) {
+    chunk(row).put(offset(row) + TYPE, (byte) type.ordinal());
+  }
+
+  private ByteBuffer chunk(long row) {
+    return chunks[(int) (row >>> CHUNK_BITS)];
+  }
+
+  private static int offset(long row) {
+    return (int) (row & (CHUNK_ROWS - 1)) * ROW_BYTES;
+  }
+}
@@ -1,5 +1,10 @@
 package com.huerta.fleetmanagementsystem.model.person;
 
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.huerta.fleetmanagementsystem.interfaces.AttributeListener;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
@@ -27,6 +32,13 @@ public class Driver {
   /** Number of years of professional driving experience (≥ 0). */
   private int yearsOfExperience;
 
+  /**
+   * Observers notified after every attribute change: every fleet this
+   * driver belongs to, plus any other interested party.
+   */
+  @Getter(AccessLevel.NONE)
+  private final CopyOnWriteArrayList<AttributeListener> attributeListeners = new CopyOnWriteArrayList<>();
+
   /**
    * Creates a new driver.
    *
@@ -51,7 +63,9 @@ public class Driver {
     if (fullName == null || fullName.isBlank()) {
       throw new IllegalArgumentException("Full name cannot be null or empty.");
     }
+    String old = this.fullName;
     this.fullName = fullName;
+    fireAttributeChanged("fullName", old, fullName);
   }
 
   /**
@@ -64,7 +78,9 @@ public class Driver {
     if (licenseNumber == null || licenseNumber.isBlank()) {
       throw new IllegalArgumentException("License number cannot be null or empty.");
     }
+    String old = this.licenseNumber;
     this.licenseNumber = licenseNumber;
+    fireAttributeChanged("licenseNumber", old, licenseNumber);
   }
 
   /**
@@ -77,7 +93,47 @@ public class Driver {
     if (yearsOfExperience < 0) {
       throw new IllegalArgumentException("Years of experience cannot be negative.");
     }
+    int old = this.yearsOfExperience;
     this.yearsOfExperience = yearsOfExperience;
+    fireAttributeChanged("yearsOfExperience", old, yearsOfExperience);
+  }
+
+  /**
+   * Adds an observer notified after every attribute change. Every
+   * {@link com.huerta.fleetmanagementsystem.model.fleet.Fleet} the driver is
+   * added to registers itself here, so several fleets may share it.
+   *
+   * @param listener the observer; ignored if {@code null} or already added
+   */
+  public void addAttributeListener(AttributeListener listener) {
+    if (listener != null) {
+      attributeListeners.addIfAbsent(listener);
+    }
+  }
+
+  /**
+   * Removes an observer added by {@link #addAttributeListener}.
+   *
+   * @param listener the observer to remove
+   */
+  public void removeAttributeListener(AttributeListener listener) {
+    attributeListeners.remove(listener);
+  }
+
+  /**
+   * Tells whether the given observer is installed.
+   *
+   * @param listener observer to look for
+   * @return {@code true} if {@code listener} is installed on this driver
+   */
+  public boolean hasAttributeListener(AttributeListener listener) {
+    return attributeListeners.contains(listener);
+  }
+
+  private void fireAttributeChanged(String attribute, Object oldValue, Object newValue) {
+    for (AttributeListener l : attributeListeners) {
+      l.attributeChanged(this, attribute, oldValue, newValue);
+    }
   }
 
   /**
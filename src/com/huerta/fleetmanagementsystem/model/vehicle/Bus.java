@@ -1,5 +1,6 @@
 package com.huerta.fleetmanagementsystem.model.vehicle;
 
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
 import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
 
 /**
@@ -56,7 +57,9 @@ public class Bus extends HeavyVehicle {
     if (passengerCapacity < 1) {
       throw new IllegalArgumentException("Passenger capacity must be at least 1.");
     }
+    int old = this.passengerCapacity;
     this.passengerCapacity = passengerCapacity;
+    fireAttributeChanged("passengerCapacity", old, passengerCapacity);
   }
 
   /** @return service type */
@@ -72,39 +75,20 @@ public class Bus extends HeavyVehicle {
     if (serviceType == null) {
       throw new IllegalArgumentException("Service type cannot be null.");
     }
+    ServiceType old = this.serviceType;
     this.serviceType = serviceType;
+    fireAttributeChanged("serviceType", old, serviceType);
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Bus formula: base(150) + mileage×0.025 + passengers×4 + service-type factor.</p>
+   * <p>Bus formula: base + mileage×perKm + passengers×perPassenger + service-type
+   * factor; defaults base(150), 0.025, 4 and 40 (city) or 70 (intercity)
+   * ({@link CostModel}).</p>
    */
   @Override
   public double calculateOperatingCost() {
-
-    double baseCost = 150.0;
-
-    double mileageFactor = getMileage() * 0.025;
-
-    double passengerFactor = this.passengerCapacity * 4.0;
-
-    double serviceFactor;
-    if (this.serviceType != null) {
-      switch (this.serviceType) {
-        case CITY:
-          serviceFactor = 40.0;
-          break;
-        case INTERCITY:
-          serviceFactor = 70.0;
-          break;
-        default:
-          serviceFactor = 50.0;
-      }
-    } else {
-      serviceFactor = 50.0;
-    }
-
-    return baseCost + mileageFactor + passengerFactor + serviceFactor;
+    return CostModel.current().bus(getMileage(), passengerCapacity, serviceType);
   }
 }
@@ -1,5 +1,6 @@
 package com.huerta.fleetmanagementsystem.model.vehicle;
 
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
 import com.huerta.fleetmanagementsystem.model.enums.FuelType;
 
 /**
@@ -66,7 +67,9 @@ public class Car extends Vehicle {
     if (seatingCapacity < 1) {
       throw new IllegalArgumentException("Seating capacity must be at least 1.");
     }
+    int old = this.seatingCapacity;
     this.seatingCapacity = seatingCapacity;
+    fireAttributeChanged("seatingCapacity", old, seatingCapacity);
   }
 
   /**
@@ -88,41 +91,19 @@ public class Car extends Vehicle {
     if (fuelType == null) {
       throw new IllegalArgumentException("Fuel type cannot be null.");
     }
+    FuelType old = this.fuelType;
     this.fuelType = fuelType;
+    fireAttributeChanged("fuelType", old, fuelType);
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Car formula: base(100) + mileage×0.02 + seats×5 + fuel-type factor.</p>
+   * <p>Car formula: base + mileage×perKm + seats×perSeat + fuel-type factor;
+   * defaults base(100), 0.02, 5 and 10–25 by fuel type ({@link CostModel}).</p>
    */
   @Override
   public double calculateOperatingCost() {
-
-    double baseCost = 100.0;
-
-    double mileageFactor = getMileage() * 0.02;
-
-    double seatingFactor = this.seatingCapacity * 5.0;
-
-    double powerFactor;
-    switch (fuelType) {
-      case ELECTRIC:
-        powerFactor = 10.0;
-        break;
-      case DIESEL:
-        powerFactor = 25.0;
-        break;
-      case GASOLINE:
-        powerFactor = 20.0;
-        break;
-      case HYBRID:
-        powerFactor = 15.0;
-        break;
-      default:
-        powerFactor = 15.0;
-    }
-
-    return baseCost + mileageFactor + seatingFactor + powerFactor;
+    return CostModel.current().car(getMileage(), seatingCapacity, fuelType);
   }
 }
@@ -56,7 +56,9 @@ public abstract class HeavyVehicle extends Vehicle {
     if (grossVehicleWeight < 0) {
       throw new IllegalArgumentException("Gross vehicle weight cannot be negative.");
     }
+    double old = this.grossVehicleWeight;
     this.grossVehicleWeight = grossVehicleWeight;
+    fireAttributeChanged("grossVehicleWeight", old, grossVehicleWeight);
   }
 
   /**
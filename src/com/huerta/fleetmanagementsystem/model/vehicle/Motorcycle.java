@@ -1,5 +1,7 @@
 package com.huerta.fleetmanagementsystem.model.vehicle;
 
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+
 /**
  * Concrete vehicle representing a motorcycle.
  *
@@ -46,23 +48,19 @@ public class Motorcycle extends Vehicle {
     if (engineDisplacement < 1) {
       throw new IllegalArgumentException("Engine displacement must be at least 1.");
     }
+    int old = this.engineDisplacement;
     this.engineDisplacement = engineDisplacement;
+    fireAttributeChanged("engineDisplacement", old, engineDisplacement);
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Motorcycle formula: base(60) + mileage×0.015 + displacement×0.05.</p>
+   * <p>Motorcycle formula: base + mileage×perKm + displacement×perCc; defaults
+   * base(60), 0.015 and 0.05 ({@link CostModel}).</p>
    */
   @Override
   public double calculateOperatingCost() {
-
-    double baseCost = 60.0;
-
-    double mileageFactor = getMileage() * 0.015;
-
-    double displacementFactor = this.engineDisplacement * 0.05;
-
-    return baseCost + mileageFactor + displacementFactor;
+    return CostModel.current().motorcycle(getMileage(), engineDisplacement);
   }
 }
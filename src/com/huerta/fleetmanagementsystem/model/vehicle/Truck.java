@@ -1,5 +1,7 @@
 package com.huerta.fleetmanagementsystem.model.vehicle;
 
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+
 /**
  * Concrete vehicle representing a freight truck.
  *
@@ -59,7 +61,9 @@ public class Truck extends HeavyVehicle {
     if (payloadCapacity < 0) {
       throw new IllegalArgumentException("Payload capacity cannot be negative.");
     }
+    int old = this.payloadCapacity;
     this.payloadCapacity = payloadCapacity;
+    fireAttributeChanged("payloadCapacity", old, payloadCapacity);
   }
 
   /** @return number of axles */
@@ -75,25 +79,19 @@ public class Truck extends HeavyVehicle {
     if (axleCount < 2) {
       throw new IllegalArgumentException("Axle count must be at least 2.");
     }
+    int old = this.axleCount;
     this.axleCount = axleCount;
+    fireAttributeChanged("axleCount", old, axleCount);
   }
 
   /**
    * {@inheritDoc}
    *
-   * <p>Truck formula: base(200) + mileage×0.03 + payload×2.5 + axles×30.</p>
+   * <p>Truck formula: base + mileage×perKm + payload×perPayloadKg + axles×perAxle;
+   * defaults base(200), 0.03, 2.5 and 30 ({@link CostModel}).</p>
    */
   @Override
   public double calculateOperatingCost() {
-
-    double baseCost = 200.0;
-
-    double mileageFactor = getMileage() * 0.03;
-
-    double payloadFactor = this.payloadCapacity * 2.5;
-
-    double axleFactor = this.axleCount * 30.0;
-
-    return baseCost + mileageFactor + payloadFactor + axleFactor;
+    return CostModel.current().truck(getMileage(), payloadCapacity, axleCount);
   }
 }
@@ -1,19 +1,23 @@
 package com.huerta.fleetmanagementsystem.model.vehicle;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.huerta.fleetmanagementsystem.interfaces.Assignable;
+import com.huerta.fleetmanagementsystem.interfaces.AttributeListener;
 import com.huerta.fleetmanagementsystem.interfaces.Calculable;
 import com.huerta.fleetmanagementsystem.interfaces.Maintainable;
 import com.huerta.fleetmanagementsystem.interfaces.Reportable;
 import com.huerta.fleetmanagementsystem.model.component.BreakingSystem;
 import com.huerta.fleetmanagementsystem.model.component.Engine;
 import com.huerta.fleetmanagementsystem.model.component.Transmission;
+import com.huerta.fleetmanagementsystem.model.dictionary.StringDictionary;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceHistory;
 import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
 import com.huerta.fleetmanagementsystem.model.person.Driver;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
@@ -61,17 +65,23 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
   /** Depreciation fraction charged per {@link #MILEAGE_BLOCK_KM} (1 %). */
   private static final double DEPRECIATION_PER_MILEAGE_BLOCK = 0.01;
 
+  /** Attribute name reported when the assigned driver changes. */
+  public static final String DRIVER_ATTRIBUTE = "driver";
+
+  /** Attribute name reported when a maintenance record is registered. */
+  public static final String MAINTENANCE_ATTRIBUTE = "maintenanceRecords";
+
   /** Unique numeric identifier (≥ 0). */
   private long id;
 
   /** Official licence-plate string. */
   private String licensePlate;
 
-  /** Manufacturer / brand name. */
-  private String make;
+  /** Manufacturer / brand name as a {@link StringDictionary#shared() shared dictionary} code; -1 until set. */
+  private int makeCode = -1;
 
-  /** Model name. */
-  private String model;
+  /** Model name as a {@link StringDictionary#shared() shared dictionary} code; -1 until set. */
+  private int modelCode = -1;
 
   /** Manufacturing year (1886–next year). */
   private int year;
@@ -85,8 +95,8 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
   /** Currently assigned driver (may be {@code null}). Aggregation. */
   private Driver driver;
 
-  /** History of maintenance events. Aggregation of records. */
-  private List<MaintenanceRecord> maintenanceRecords;
+  /** History of maintenance events. Aggregation of records, held as off-heap row indices. */
+  private final MaintenanceHistory maintenanceRecords = new MaintenanceHistory(this::getId);
 
   /** Engine component. <b>Composition</b> — created and owned by this vehicle. */
   private Engine engine;
@@ -97,6 +107,21 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
   /** Braking-system component. <b>Composition</b> — created and owned by this vehicle. */
   private BreakingSystem breakingSystem;
 
+  /**
+   * Observers notified after every attribute change: every fleet this
+   * vehicle belongs to, plus any other interested party.
+   */
+  @Getter(AccessLevel.NONE)
+  private final CopyOnWriteArrayList<AttributeListener> attributeListeners = new CopyOnWriteArrayList<>();
+
+  /** Bumped after every change to a field shown by {@link #generateReport()}. */
+  @Getter(AccessLevel.NONE)
+  private volatile int reportVersion;
+
+  /** Memoized {@link #generateReport()} result; {@code null} until first rendered. */
+  @Getter(AccessLevel.NONE)
+  private volatile RenderedReport report;
+
   /**
    * Default no-arg constructor.
    */
@@ -126,7 +151,6 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     this.engine = new Engine();
     this.transmission = new Transmission();
     this.breakingSystem = new BreakingSystem();
-    this.maintenanceRecords = new ArrayList<>();
   }
 
   /**
@@ -139,7 +163,9 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     if (id < 0) {
       throw new IllegalArgumentException("ID cannot be negative.");
     }
+    long old = this.id;
     this.id = id;
+    fireAttributeChanged("id", old, id);
   }
 
   /**
@@ -152,7 +178,10 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     if (licensePlate == null || licensePlate.isBlank()) {
       throw new IllegalArgumentException("License plate cannot be null or empty.");
     }
+    String old = this.licensePlate;
     this.licensePlate = licensePlate;
+    reportChanged();
+    fireAttributeChanged("licensePlate", old, licensePlate);
   }
 
   /**
@@ -165,7 +194,10 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     if (make == null || make.isBlank()) {
       throw new IllegalArgumentException("Make cannot be null or empty.");
     }
-    this.make = make;
+    String old = getMake();
+    this.makeCode = StringDictionary.shared().encode(make);
+    reportChanged();
+    fireAttributeChanged("make", old, make);
   }
 
   /**
@@ -178,7 +210,31 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     if (model == null || model.isBlank()) {
       throw new IllegalArgumentException("Model cannot be null or empty.");
     }
-    this.model = model;
+    String old = getModel();
+    this.modelCode = StringDictionary.shared().encode(model);
+    reportChanged();
+    fireAttributeChanged("model", old, model);
+  }
+
+  /** @return the manufacturer name, or {@code null} if never set */
+  public String getMake() {
+    return makeCode < 0 ? null : StringDictionary.shared().decode(makeCode);
+  }
+
+  /** @return the model name, or {@code null} if never set */
+  public String getModel() {
+    return modelCode < 0 ? null : StringDictionary.shared().decode(modelCode);
+  }
+
+  /**
+   * Tells whether two vehicles share make and model, comparing
+   * dictionary codes only.
+   *
+   * @param other vehicle to compare with
+   * @return {@code true} if make and model are equal
+   */
+  public boolean isSameMakeAndModel(Vehicle other) {
+    return other != null && makeCode == other.makeCode && modelCode == other.modelCode;
   }
 
   /**
@@ -191,20 +247,74 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     if (year < 1886 || year > java.time.Year.now().getValue() + 1) {
       throw new IllegalArgumentException("Year must be between 1886 and next year.");
     }
+    int old = this.year;
     this.year = year;
+    reportChanged();
+    fireAttributeChanged("year", old, year);
   }
 
   /**
    * Sets the total mileage.
    *
-   * @param mileage kilometres travelled; must be ≥ 0
-   * @throws IllegalArgumentException if negative
+   * @param mileage kilometres travelled; must be finite and ≥ 0
+   * @throws IllegalArgumentException if negative, infinite or NaN
    */
   public void setMileage(double mileage) {
+    if (!Double.isFinite(mileage)) {
+      throw new IllegalArgumentException("Mileage must be a finite number.");
+    }
     if (mileage < 0) {
       throw new IllegalArgumentException("Mileage cannot be negative.");
     }
+    double old = this.mileage;
     this.mileage = mileage;
+    fireAttributeChanged("mileage", old, mileage);
+  }
+
+  /**
+   * Adds an observer notified after every attribute change. Every
+   * {@link com.huerta.fleetmanagementsystem.model.fleet.Fleet} the vehicle is
+   * added to registers itself here, so several fleets may share it.
+   *
+   * @param listener the observer; ignored if {@code null} or already added
+   */
+  public void addAttributeListener(AttributeListener listener) {
+    if (listener != null) {
+      attributeListeners.addIfAbsent(listener);
+    }
+  }
+
+  /**
+   * Removes an observer added by {@link #addAttributeListener}.
+   *
+   * @param listener the observer to remove
+   */
+  public void removeAttributeListener(AttributeListener listener) {
+    attributeListeners.remove(listener);
+  }
+
+  /**
+   * Tells whether the given observer is installed.
+   *
+   * @param listener observer to look for
+   * @return {@code true} if {@code listener} is installed on this vehicle
+   */
+  public boolean hasAttributeListener(AttributeListener listener) {
+    return attributeListeners.contains(listener);
+  }
+
+  /**
+   * Notifies the installed observers of an attribute change.
+   * Subclasses call this from their own setters.
+   *
+   * @param attribute attribute (field) name
+   * @param oldValue  previous value
+   * @param newValue  new value
+   */
+  protected void fireAttributeChanged(String attribute, Object oldValue, Object newValue) {
+    for (AttributeListener l : attributeListeners) {
+      l.attributeChanged(this, attribute, oldValue, newValue);
+    }
   }
 
   /** {@inheritDoc} */
@@ -212,33 +322,65 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
   public void registerMaintenance(MaintenanceRecord maintenanceRecord) {
     if (maintenanceRecord != null) {
       this.maintenanceRecords.add(maintenanceRecord);
+      fireAttributeChanged(MAINTENANCE_ATTRIBUTE, null, maintenanceRecord);
     }
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The report is memoized: it is rendered again only after the plate,
+   * make, model, year or driver assignment changed, or the assigned driver
+   * was renamed. Any other change (mileage, maintenance) reuses the last
+   * string.</p>
+   */
   @Override
   public String generateReport() {
+    int version = reportVersion; // read before the fields, so a concurrent change leaves the result stale
+    Driver current = this.driver; // read once: reports may run while the driver is released
+    String name = current == null ? null : current.getFullName();
+    RenderedReport cached = report;
+    // names are compared by identity: a rename always stores the new string
+    if (cached != null && cached.version() == version && cached.driver() == current && cached.driverName() == name) {
+      return cached.text();
+    }
+    String text = renderReport(name);
+    report = new RenderedReport(text, version, current, name);
+    return text;
+  }
+
+  private String renderReport(String name) {
     String driverName = "No Driver";
-    if (this.driver != null && this.driver.getFullName() != null && !this.driver.getFullName().isBlank()) {
-      driverName = this.driver.getFullName();
+    if (name != null && !name.isBlank()) {
+      driverName = name;
     }
 
     return String.format(
         "Vehicle Report%nLicense Plate: %s%nMake: %s%nModel: %s%nYear: %d%nDriver: %s",
         this.licensePlate,
-        this.make,
-        this.model,
+        getMake(),
+        getModel(),
         this.year,
         driverName);
   }
 
+  /**
+   * Invalidates the memoized report. Concurrent setters may lose an
+   * increment, but never both leave the version unchanged.
+   */
+  private void reportChanged() {
+    reportVersion++;
+  }
+
   /** {@inheritDoc} */
   @Override
   public void assignDriver(Driver driver) {
-    if (driver != null) {
+    if (driver != null && driver != this.driver) {
+      Driver old = this.driver;
       this.driver = driver;
+      reportChanged();
+      fireAttributeChanged(DRIVER_ATTRIBUTE, old, driver);
     }
-
   }
 
   /** {@inheritDoc} */
@@ -247,8 +389,10 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     if (this.driver == null) {
       return;
     }
+    Driver old = this.driver;
     this.driver = null;
-
+    reportChanged();
+    fireAttributeChanged(DRIVER_ATTRIBUTE, old, null);
   }
 
   /** {@inheritDoc} */
@@ -257,6 +401,20 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
     return Collections.unmodifiableList(this.maintenanceRecords);
   }
 
+  /**
+   * Copies one page of the maintenance history in date order; see
+   * {@link MaintenanceHistory#recordsAfter}.
+   *
+   * @param after {@link MaintenanceHistory#START} or the cursor returned
+   *              for the previous page
+   * @param limit maximum number of records
+   * @param out   receives the records
+   * @return cursor of the next page, or {@link MaintenanceHistory#END}
+   */
+  public long maintenanceRecordsAfter(long after, int limit, List<? super MaintenanceRecord> out) {
+    return this.maintenanceRecords.recordsAfter(after, limit, out);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -283,7 +441,7 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
   @Override
   public String toString() {
     return String.format("%s [%s] - %s %s (%d)",
-        getClass().getSimpleName(), licensePlate, make, model, year);
+        getClass().getSimpleName(), licensePlate, getMake(), getModel(), year);
   }
 
   /**
@@ -296,4 +454,8 @@ public abstract class Vehicle implements Assignable, Calculable, Maintainable, R
    * @return operating cost in monetary units
    */
   public abstract double calculateOperatingCost();
+
+  /** A rendered report and the state it was rendered from. */
+  private record RenderedReport(String text, int version, Driver driver, String driverName) {
+  }
 }
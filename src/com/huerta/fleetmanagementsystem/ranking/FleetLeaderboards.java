@@ -0,0 +1,357 @@
+package com.huerta.fleetmanagementsystem.ranking;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Rankings of the fleet's vehicles kept current from {@link FleetEvent}s.
+ *
+ * <p>Asking for the top vehicles by a {@link RankingMetric} used to mean
+ * sorting the whole fleet. Here every metric has its own
+ * {@link RankTree}; when a vehicle is added, updated or removed, or
+ * gains a maintenance record, only that vehicle's entries move. A
+ * {@link #top top-k} query then costs O(log n + k) and a
+ * {@link #rank rank} query O(log n).</p>
+ *
+ * <p>Vehicles with equal scores are ordered by when this object first
+ * saw them, so a ranking is stable while scores do not change. A new
+ * maintenance record adds its cost to the vehicle's maintenance score
+ * instead of summing the history again.</p>
+ *
+ * <p>Trees are built in bulk: {@link #attach} only registers the fleet's
+ * vehicles while holding the fleet lock and sorts them after releasing
+ * it. Operating cost depends on the installed {@link CostModel} and
+ * depreciation on the current year; when either has changed since the
+ * scores were computed, the next query rebuilds that metric from the
+ * vehicles already known (O(n log n), once).</p>
+ *
+ * <p>Events arrive in commit order after the fleet lock is released, on
+ * whichever thread delivers them; both event handling and queries take
+ * only this object's monitor.</p>
+ */
+public class FleetLeaderboards implements FleetChangeListener {
+
+  /** Scores of one vehicle, indexed by metric ordinal, and its tie-breaker. */
+  private static final class Entry {
+    final long sequence;
+    final double[] scores = new double[METRICS.length];
+    /** Leading records of the history included in the maintenance score. */
+    int records;
+
+    Entry(long sequence) {
+      this.sequence = sequence;
+    }
+  }
+
+  private static final RankingMetric[] METRICS = RankingMetric.values();
+
+  private final Fleet fleet;
+  private final Set<RankingMetric> metrics;
+  /** Tracked metrics that depend on vehicle attributes, not on maintenance. */
+  private final Set<RankingMetric> attributeMetrics;
+  private final Map<Vehicle, Entry> entries = new IdentityHashMap<>();
+  private final List<RankTree<Vehicle>> trees = new ArrayList<>();
+  /** Whether the tree of a metric, by ordinal, holds every entry's current score. */
+  private final boolean[] built = new boolean[METRICS.length];
+
+  /** Model the operating-cost scores were computed with. */
+  private CostModel model = CostModel.current();
+  /** Year the depreciation scores were computed in. */
+  private int year = Year.now().getValue();
+
+  private long nextSequence;
+
+  private FleetLeaderboards(Fleet fleet, Set<RankingMetric> metrics) {
+    this.fleet = fleet;
+    this.metrics = metrics;
+    this.attributeMetrics = EnumSet.copyOf(metrics);
+    attributeMetrics.remove(RankingMetric.MAINTENANCE_COST);
+    for (int i = 0; i < METRICS.length; i++) {
+      trees.add(new RankTree<>());
+    }
+  }
+
+  /**
+   * Creates leaderboards for every metric over {@code fleet} and
+   * subscribes them.
+   *
+   * @param fleet the fleet to follow
+   * @return the attached leaderboards
+   */
+  public static FleetLeaderboards attach(Fleet fleet) {
+    return attach(fleet, EnumSet.allOf(RankingMetric.class));
+  }
+
+  /**
+   * Creates leaderboards for some metrics over {@code fleet} and
+   * subscribes them. Metrics left out cost nothing on updates.
+   *
+   * @param fleet   the fleet to follow
+   * @param metrics metrics to rank by
+   * @return the attached leaderboards
+   * @throws IllegalArgumentException if {@code metrics} is empty
+   */
+  public static FleetLeaderboards attach(Fleet fleet, Set<RankingMetric> metrics) {
+    if (metrics.isEmpty()) {
+      throw new IllegalArgumentException("At least one ranking metric is required.");
+    }
+    FleetLeaderboards boards = new FleetLeaderboards(fleet, EnumSet.copyOf(metrics));
+    fleet.subscribeWithSnapshot(boards, (vehicles, drivers) -> boards.register(vehicles));
+    boards.buildAll();
+    return boards;
+  }
+
+  /** Unsubscribes from the fleet; the last rankings remain readable. */
+  public void detach() {
+    fleet.unsubscribe(this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void fleetChanged(List<FleetEvent> events) {
+    for (FleetEvent e : events) {
+      switch (e.type()) {
+        case VEHICLE_ADDED:
+          rescore(e.vehicle(), metrics);
+          break;
+        case VEHICLE_UPDATED:
+          rescore(e.vehicle(), attributeMetrics);
+          break;
+        case MAINTENANCE_REGISTERED:
+          if (metrics.contains(RankingMetric.MAINTENANCE_COST)) {
+            addRecords(e.vehicle());
+          }
+          break;
+        case VEHICLE_REMOVED:
+          remove(e.vehicle());
+          break;
+        default:
+          break; // drivers do not affect any ranking
+      }
+    }
+  }
+
+  /** @return metrics these leaderboards rank by */
+  public Set<RankingMetric> metrics() {
+    return Collections.unmodifiableSet(metrics);
+  }
+
+  /** @return number of ranked vehicles */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the highest-scoring vehicles.
+   *
+   * @param metric the ranking
+   * @param k      maximum number of rows
+   * @return up to {@code k} rows, best first
+   * @throws IllegalArgumentException if {@code k} is negative or the
+   *                                  metric is not tracked
+   */
+  public synchronized List<Ranked> top(RankingMetric metric, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative: " + k);
+    }
+    RankTree<Vehicle> tree = tree(metric);
+    int n = Math.min(k, tree.size());
+    List<Vehicle> vehicles = new ArrayList<>(n);
+    double[] scores = new double[n];
+    tree.top(n, vehicles, scores);
+    List<Ranked> rows = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      rows.add(new Ranked(i + 1, vehicles.get(i), scores[i]));
+    }
+    return rows;
+  }
+
+  /**
+   * Returns the position of a vehicle.
+   *
+   * @param metric  the ranking
+   * @param vehicle the vehicle
+   * @return its 1-based rank, or {@code -1} if it is not in the fleet
+   * @throws IllegalArgumentException if the metric is not tracked
+   */
+  public synchronized int rank(RankingMetric metric, Vehicle vehicle) {
+    RankTree<Vehicle> tree = tree(metric);
+    Entry entry = entries.get(vehicle);
+    return entry == null ? -1 : tree.rank(entry.scores[metric.ordinal()], entry.sequence);
+  }
+
+  /**
+   * Returns the row of a vehicle: its rank together with the score it is
+   * ranked by, read atomically.
+   *
+   * @param metric  the ranking
+   * @param vehicle the vehicle
+   * @return its row, or {@code null} if it is not in the fleet
+   * @throws IllegalArgumentException if the metric is not tracked
+   */
+  public synchronized Ranked find(RankingMetric metric, Vehicle vehicle) {
+    RankTree<Vehicle> tree = tree(metric);
+    Entry entry = entries.get(vehicle);
+    if (entry == null) {
+      return null;
+    }
+    double score = entry.scores[metric.ordinal()];
+    return new Ranked(tree.rank(score, entry.sequence), vehicle, score);
+  }
+
+  /** @return the tree of {@code metric}, rescored first if its inputs changed */
+  private RankTree<Vehicle> tree(RankingMetric metric) {
+    if (!metrics.contains(metric)) {
+      throw new IllegalArgumentException("Ranking metric not tracked: " + metric.key());
+    }
+    switch (metric) {
+      case OPERATING_COST:
+        if (model != CostModel.current()) {
+          model = CostModel.current();
+          built[metric.ordinal()] = false;
+        }
+        break;
+      case DEPRECIATION: {
+        int now = Year.now().getValue();
+        if (year != now) {
+          year = now;
+          built[metric.ordinal()] = false;
+        }
+        break;
+      }
+      default:
+        break;
+    }
+    if (!built[metric.ordinal()]) {
+      build(metric);
+    }
+    return trees.get(metric.ordinal());
+  }
+
+  /** Recomputes the given scores of one vehicle, moving only those that changed. */
+  private synchronized void rescore(Vehicle v, Set<RankingMetric> which) {
+    Entry entry = entries.get(v);
+    boolean added = entry == null;
+    if (added) {
+      entry = new Entry(nextSequence++);
+      entries.put(v, entry);
+    }
+    for (RankingMetric m : which) {
+      int i = m.ordinal();
+      if (!built[i]) {
+        continue; // the pending build scores every entry
+      }
+      double score = score(m, v, entry);
+      if (!added) {
+        if (Double.compare(score, entry.scores[i]) == 0) {
+          continue;
+        }
+        trees.get(i).remove(entry.scores[i], entry.sequence);
+      }
+      entry.scores[i] = score;
+      trees.get(i).insert(score, entry.sequence, v);
+    }
+  }
+
+  /**
+   * Adds the costs of the records appended to the vehicle's history since
+   * its maintenance score was computed; histories only grow, so a record
+   * is never counted twice.
+   */
+  private synchronized void addRecords(Vehicle v) {
+    int i = RankingMetric.MAINTENANCE_COST.ordinal();
+    Entry entry = entries.get(v);
+    if (entry == null || !built[i]) {
+      return; // removed, or the pending build sums the whole history
+    }
+    List<MaintenanceRecord> history = v.getMaintenanceHistory();
+    int n = history.size();
+    if (n <= entry.records) {
+      return;
+    }
+    double score = entry.scores[i];
+    for (int k = entry.records; k < n; k++) {
+      score += history.get(k).getCost();
+    }
+    entry.records = n;
+    trees.get(i).remove(entry.scores[i], entry.sequence);
+    entry.scores[i] = score;
+    trees.get(i).insert(score, entry.sequence, v);
+  }
+
+  /** Scores a vehicle, noting how much of its history the maintenance score covers. */
+  private static double score(RankingMetric metric, Vehicle v, Entry entry) {
+    if (metric != RankingMetric.MAINTENANCE_COST) {
+      return metric.score(v);
+    }
+    List<MaintenanceRecord> history = v.getMaintenanceHistory();
+    int n = history.size();
+    double sum = 0;
+    for (int k = 0; k < n; k++) {
+      sum += history.get(k).getCost();
+    }
+    entry.records = n;
+    return sum;
+  }
+
+  private synchronized void remove(Vehicle v) {
+    Entry entry = entries.remove(v);
+    if (entry == null) {
+      return;
+    }
+    for (RankingMetric m : metrics) {
+      if (built[m.ordinal()]) {
+        trees.get(m.ordinal()).remove(entry.scores[m.ordinal()], entry.sequence);
+      }
+    }
+  }
+
+  /** Adds the snapshot's vehicles without scoring them; runs under the fleet lock. */
+  private synchronized void register(List<Vehicle> vehicles) {
+    for (Vehicle v : vehicles) {
+      if (!entries.containsKey(v)) {
+        entries.put(v, new Entry(nextSequence++));
+      }
+    }
+  }
+
+  private synchronized void buildAll() {
+    for (RankingMetric m : metrics) {
+      if (!built[m.ordinal()]) {
+        build(m);
+      }
+    }
+  }
+
+  /** Scores every known vehicle under one metric and rebuilds its tree. */
+  private void build(RankingMetric metric) {
+    int i = metric.ordinal();
+    int n = entries.size();
+    List<Vehicle> vehicles = new ArrayList<>(n);
+    double[] scores = new double[n];
+    long[] sequences = new long[n];
+    for (Map.Entry<Vehicle, Entry> e : entries.entrySet()) {
+      Entry entry = e.getValue();
+      int k = vehicles.size();
+      vehicles.add(e.getKey());
+      scores[k] = score(metric, e.getKey(), entry);
+      sequences[k] = entry.sequence;
+      entry.scores[i] = scores[k];
+    }
+    trees.get(i).build(vehicles, scores, sequences);
+    built[i] = true;
+  }
+}
@@ -0,0 +1,255 @@
+package com.huerta.fleetmanagementsystem.ranking;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic tree: a treap whose nodes know the size of their
+ * subtree, so positions can be counted while descending.
+ *
+ * <p>Entries are ordered by score, highest first, and entries with equal
+ * scores by a caller-supplied sequence number, lowest first. The pair
+ * must be unique. Insertion, removal and {@link #rank} take O(log n)
+ * expected time; {@link #top} takes O(log n + k). {@link #build} replaces
+ * the contents in O(n log n), several times faster than inserting the
+ * entries one by one.</p>
+ *
+ * <p>Not thread-safe; {@link FleetLeaderboards} guards it.</p>
+ *
+ * @param <T> type of the ranked items
+ */
+final class RankTree<T> {
+
+  private static final class Node<T> {
+
+    final double score;
+    final long sequence;
+    final T item;
+    int priority;
+    int size = 1;
+    Node<T> left;
+    Node<T> right;
+
+    Node(double score, long sequence, T item, int priority) {
+      this.score = score;
+      this.sequence = sequence;
+      this.item = item;
+      this.priority = priority;
+    }
+  }
+
+  private static final Comparator<Node<?>> ORDER = (a, b) -> compare(a.score, a.sequence, b);
+
+  private final SplittableRandom random = new SplittableRandom(0x5EED);
+  private Node<T> root;
+
+  /** @return number of entries */
+  int size() {
+    return size(root);
+  }
+
+  /** Removes every entry. */
+  void clear() {
+    root = null;
+  }
+
+  /**
+   * Replaces the contents with the given entries, in any order.
+   *
+   * @param items     the ranked items
+   * @param scores    their scores (not NaN)
+   * @param sequences their tie-breakers
+   */
+  @SuppressWarnings("unchecked")
+  void build(List<? extends T> items, double[] scores, long[] sequences) {
+    int n = items.size();
+    Node<T>[] nodes = (Node<T>[]) new Node<?>[n];
+    for (int i = 0; i < n; i++) {
+      nodes[i] = new Node<>(scores[i], sequences[i], items.get(i), 0);
+    }
+    Arrays.sort(nodes, ORDER);
+    root = balanced(nodes, 0, n);
+    // Random priorities handed out largest first in breadth-first order
+    // satisfy the heap property, so later inserts see an ordinary treap.
+    int[] priorities = random.ints(n).toArray();
+    Arrays.sort(priorities);
+    ArrayDeque<Node<T>> queue = new ArrayDeque<>();
+    if (root != null) {
+      queue.add(root);
+    }
+    while (!queue.isEmpty()) {
+      Node<T> node = queue.poll();
+      node.priority = priorities[--n];
+      if (node.left != null) {
+        queue.add(node.left);
+      }
+      if (node.right != null) {
+        queue.add(node.right);
+      }
+    }
+  }
+
+  /**
+   * Adds an entry.
+   *
+   * @param score    ranking score (not NaN)
+   * @param sequence tie-breaker among equal scores
+   * @param item     the ranked item
+   */
+  void insert(double score, long sequence, T item) {
+    root = insert(root, new Node<>(score, sequence, item, random.nextInt()));
+  }
+
+  /**
+   * Removes the entry with the given key, if present.
+   *
+   * @param score    score the entry was inserted with
+   * @param sequence sequence the entry was inserted with
+   */
+  void remove(double score, long sequence) {
+    root = remove(root, score, sequence);
+  }
+
+  /**
+   * Returns the 1-based position of an entry.
+   *
+   * @param score    score the entry was inserted with
+   * @param sequence sequence the entry was inserted with
+   * @return its rank, or {@code -1} if there is no such entry
+   */
+  int rank(double score, long sequence) {
+    int before = 0;
+    Node<T> n = root;
+    while (n != null) {
+      int c = compare(score, sequence, n);
+      if (c < 0) {
+        n = n.left;
+      } else if (c > 0) {
+        before += size(n.left) + 1;
+        n = n.right;
+      } else {
+        return before + size(n.left) + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Appends the first {@code k} entries in rank order.
+   *
+   * @param k       number of entries
+   * @param items   receives the items
+   * @param scores  receives their scores, in the same order
+   */
+  void top(int k, List<? super T> items, double[] scores) {
+    ArrayDeque<Node<T>> path = new ArrayDeque<>();
+    Node<T> n = root;
+    int taken = 0;
+    while (taken < k && (n != null || !path.isEmpty())) {
+      while (n != null) {
+        path.push(n);
+        n = n.left;
+      }
+      n = path.pop();
+      items.add(n.item);
+      scores[taken++] = n.score;
+      n = n.right;
+    }
+  }
+
+  /** Orders higher scores first, then lower sequence numbers. */
+  private static int compare(double score, long sequence, Node<?> n) {
+    int c = Double.compare(n.score, score);
+    return c != 0 ? c : Long.compare(sequence, n.sequence);
+  }
+
+  private Node<T> insert(Node<T> n, Node<T> x) {
+    if (n == null) {
+      return x;
+    }
+    n.size++;
+    if (compare(x.score, x.sequence, n) < 0) {
+      n.left = insert(n.left, x);
+      return n.left.priority > n.priority ? rotateRight(n) : n;
+    }
+    n.right = insert(n.right, x);
+    return n.right.priority > n.priority ? rotateLeft(n) : n;
+  }
+
+  private static <T> Node<T> rotateRight(Node<T> n) {
+    Node<T> l = n.left;
+    n.left = l.right;
+    l.right = n;
+    l.size = n.size;
+    update(n);
+    return l;
+  }
+
+  private static <T> Node<T> rotateLeft(Node<T> n) {
+    Node<T> r = n.right;
+    n.right = r.left;
+    r.left = n;
+    r.size = n.size;
+    update(n);
+    return r;
+  }
+
+  /** Links {@code nodes[from, to)}, already in order, into a balanced tree. */
+  private static <T> Node<T> balanced(Node<T>[] nodes, int from, int to) {
+    if (from >= to) {
+      return null;
+    }
+    int mid = (from + to) >>> 1;
+    Node<T> n = nodes[mid];
+    n.left = balanced(nodes, from, mid);
+    n.right = balanced(nodes, mid + 1, to);
+    update(n);
+    return n;
+  }
+
+  /** Joins two treaps whose entries are already in order ({@code a} first). */
+  private Node<T> merge(Node<T> a, Node<T> b) {
+    if (a == null) {
+      return b;
+    }
+    if (b == null) {
+      return a;
+    }
+    if (a.priority > b.priority) {
+      a.right = merge(a.right, b);
+      update(a);
+      return a;
+    }
+    b.left = merge(a, b.left);
+    update(b);
+    return b;
+  }
+
+  private Node<T> remove(Node<T> n, double score, long sequence) {
+    if (n == null) {
+      return null;
+    }
+    int c = compare(score, sequence, n);
+    if (c == 0) {
+      return merge(n.left, n.right);
+    }
+    if (c < 0) {
+      n.left = remove(n.left, score, sequence);
+    } else {
+      n.right = remove(n.right, score, sequence);
+    }
+    update(n);
+    return n;
+  }
+
+  private static void update(Node<?> n) {
+    n.size = 1 + size(n.left) + size(n.right);
+  }
+
+  private static int size(Node<?> n) {
+    return n == null ? 0 : n.size;
+  }
+}
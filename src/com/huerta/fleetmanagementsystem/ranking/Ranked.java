@@ -0,0 +1,13 @@
+package com.huerta.fleetmanagementsystem.ranking;
+
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * One row of a leaderboard.
+ *
+ * @param rank    1-based position
+ * @param vehicle the vehicle
+ * @param score   its score under the leaderboard's {@link RankingMetric}
+ */
+public record Ranked(int rank, Vehicle vehicle, double score) {
+}
@@ -0,0 +1,72 @@
+package com.huerta.fleetmanagementsystem.ranking;
+
+import java.util.Locale;
+
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Quantities a {@link FleetLeaderboards} ranks vehicles by, highest first.
+ *
+ * <p><b>OOP concept – Polymorphism:</b> {@link #score(Vehicle)} calls the
+ * vehicle's overridden {@code calculate…} methods, so each subclass
+ * contributes its own formula to the same ranking.</p>
+ */
+public enum RankingMetric {
+
+  /** {@link Vehicle#calculateOperatingCost()}; depends on the installed cost model. */
+  OPERATING_COST,
+  /** Odometer reading. */
+  MILEAGE,
+  /** Sum of the costs in the vehicle's maintenance history. */
+  MAINTENANCE_COST,
+  /** {@link Vehicle#calculateDepreciation()}; depends on the current year. */
+  DEPRECIATION;
+
+  /**
+   * Computes the score of a vehicle.
+   *
+   * @param v the vehicle
+   * @return its score; higher ranks first
+   */
+  public double score(Vehicle v) {
+    switch (this) {
+      case OPERATING_COST:
+        return v.calculateOperatingCost();
+      case MILEAGE:
+        return v.getMileage();
+      case MAINTENANCE_COST: {
+        double sum = 0;
+        for (MaintenanceRecord r : v.getMaintenanceHistory()) {
+          sum += r.getCost();
+        }
+        return sum;
+      }
+      case DEPRECIATION:
+        return v.calculateDepreciation();
+      default:
+        throw new AssertionError(this);
+    }
+  }
+
+  /**
+   * Parses a metric name as used in URLs and on the command line
+   * ({@code operating-cost}, {@code mileage}, …).
+   *
+   * @param name the name, case-insensitive; {@code -} and {@code _} are equivalent
+   * @return the metric
+   * @throws IllegalArgumentException if there is no such metric
+   */
+  public static RankingMetric parse(String name) {
+    try {
+      return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown ranking metric: " + name);
+    }
+  }
+
+  /** @return the name in URL form, e.g. {@code operating-cost} */
+  public String key() {
+    return name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+}
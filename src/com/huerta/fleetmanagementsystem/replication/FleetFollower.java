@@ -0,0 +1,215 @@
+package com.huerta.fleetmanagementsystem.replication;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.huerta.fleetmanagementsystem.metrics.LatencyHistogram;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+
+/**
+ * Keeps a local {@link Fleet} in step with a {@link FleetLeader}.
+ *
+ * <p>The follower connects to the leader, replaces its fleet with the
+ * snapshot it receives first, then applies every frame of operations as
+ * one {@linkplain Fleet#batch batch}, so its own listeners (search index,
+ * statistics, scheduler) see each frame at once. Operations at or below
+ * the applied sequence are skipped. When the connection drops the
+ * follower keeps serving its last state and reconnects every
+ * {@value #RECONNECT_MILLIS} ms, resynchronizing from a new snapshot.</p>
+ *
+ * <p>Reads go straight to {@link #getFleet()}. Mutating that fleet
+ * directly makes it diverge from the leader until the next resync.</p>
+ *
+ * <p>{@link #getLag()} records, per frame, the time from the leader
+ * logging its first operation to the follower having applied the whole
+ * frame. It relies on {@link System#nanoTime()} and is only meaningful
+ * when leader and follower run on the same host.</p>
+ */
+public class FleetFollower implements AutoCloseable {
+
+  /** Pause between reconnection attempts. */
+  private static final long RECONNECT_MILLIS = 200;
+
+  private static final System.Logger LOG = System.getLogger(FleetFollower.class.getName());
+
+  private final Fleet fleet;
+  private final InetSocketAddress leader;
+  private final LatencyHistogram lag = new LatencyHistogram();
+
+  private final Object progress = new Object();
+  /** {@code -1} until the first snapshot has been applied. */
+  private volatile long appliedSequence = -1;
+  private volatile long framesApplied;
+  private volatile boolean connected;
+  private volatile boolean running;
+  private volatile Socket socket;
+  private Thread reader;
+
+  /**
+   * Creates (but does not start) a follower.
+   *
+   * @param host  leader host name
+   * @param port  leader replication port
+   * @param fleet local fleet to keep in step; its contents are replaced
+   */
+  public FleetFollower(String host, int port, Fleet fleet) {
+    if (fleet == null) {
+      throw new IllegalArgumentException("Fleet is required.");
+    }
+    this.leader = InetSocketAddress.createUnresolved(host, port);
+    this.fleet = fleet;
+  }
+
+  /** Starts following the leader in a background thread. */
+  public void start() {
+    running = true;
+    reader = Thread.ofPlatform().name("replication-follow").daemon().start(this::followLoop);
+  }
+
+  /** @return the replicated fleet */
+  public Fleet getFleet() {
+    return fleet;
+  }
+
+  /**
+   * @return sequence of the last operation applied locally, or {@code -1}
+   *         before the first snapshot
+   */
+  public long appliedSequence() {
+    return appliedSequence;
+  }
+
+  /** @return number of operation frames applied since start */
+  public long framesApplied() {
+    return framesApplied;
+  }
+
+  /** @return whether the follower is currently connected to the leader */
+  public boolean isConnected() {
+    return connected;
+  }
+
+  /** @return per-frame replication lag in nanoseconds */
+  public LatencyHistogram getLag() {
+    return lag;
+  }
+
+  /**
+   * Waits until the follower has applied at least {@code sequence};
+   * {@code 0} waits for the first snapshot.
+   *
+   * @param sequence      leader sequence to wait for
+   * @param timeoutMillis maximum wait
+   * @return whether the sequence was reached in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+    long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+    synchronized (progress) {
+      while (appliedSequence < sequence) {
+        long left = (deadline - System.nanoTime()) / 1_000_000L;
+        if (left <= 0) {
+          return false;
+        }
+        progress.wait(left);
+      }
+      return true;
+    }
+  }
+
+  /** Stops following; the local fleet keeps its last state. */
+  @Override
+  public void close() {
+    running = false;
+    Socket s = socket;
+    if (s != null) {
+      try {
+        s.close();
+      } catch (IOException ignored) {
+        // closing anyway
+      }
+    }
+    if (reader != null) {
+      reader.interrupt();
+    }
+  }
+
+  private void followLoop() {
+    while (running) {
+      try (Socket s = new Socket()) {
+        socket = s;
+        s.connect(new InetSocketAddress(leader.getHostString(), leader.getPort()));
+        s.setTcpNoDelay(true);
+        connected = true;
+        readFrames(new DataInputStream(new BufferedInputStream(s.getInputStream(), 64 * 1024)));
+      } catch (IOException | RuntimeException e) {
+        // an operation that cannot be applied also ends in a resync
+        if (running && connected && !(e instanceof EOFException)) {
+          LOG.log(System.Logger.Level.WARNING, "Lost replication stream from " + leader, e);
+        }
+      } finally {
+        connected = false;
+        socket = null;
+      }
+      if (running) {
+        try {
+          Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void readFrames(DataInputStream in) throws IOException {
+    while (running) {
+      byte[] body = new byte[in.readInt()];
+      in.readFully(body);
+      DataInputStream frame = new DataInputStream(new ByteArrayInputStream(body));
+      byte kind = frame.readByte();
+      long first = frame.readLong();
+      int count = frame.readInt();
+      long since = frame.readLong();
+      long applied;
+      if (kind == FleetLeader.SNAPSHOT_FRAME) {
+        List<String> dictionary = new ArrayList<>();
+        fleet.batch(() -> {
+          for (int i = 0; i < count; i++) {
+            applyOne(frame, true, dictionary);
+          }
+        });
+        applied = first;
+      } else {
+        long skip = Math.max(0, appliedSequence - first + 1);
+        fleet.batch(() -> {
+          for (int i = 0; i < count; i++) {
+            applyOne(frame, i >= skip, null);
+          }
+        });
+        applied = Math.max(appliedSequence, first + count - 1);
+        lag.record(System.nanoTime() - since);
+        framesApplied++;
+      }
+      synchronized (progress) {
+        appliedSequence = applied;
+        progress.notifyAll();
+      }
+    }
+  }
+
+  private void applyOne(DataInputStream frame, boolean apply, List<String> dictionary) {
+    try {
+      ReplicationCodec.apply(frame, apply ? fleet : null, dictionary);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
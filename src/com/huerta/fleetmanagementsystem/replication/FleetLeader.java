@@ -0,0 +1,317 @@
+package com.huerta.fleetmanagementsystem.replication;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+
+/**
+ * Streams a fleet's ordered mutation log to {@link FleetFollower}s over
+ * TCP.
+ *
+ * <p>The leader installs itself as the fleet's event-bus
+ * {@linkplain com.huerta.fleetmanagementsystem.event.FleetEventBus#setJournal
+ * journal}, so every mutation is encoded by {@link ReplicationCodec} in
+ * commit order and numbered with a sequence. A flusher thread packs all
+ * operations logged since the previous frame into one length-prefixed
+ * frame — under load many operations share a frame, when idle a frame
+ * leaves as soon as its first operation is logged:</p>
+ *
+ * <pre>
+ * int    length of the rest of the frame
+ * byte   kind (ops or snapshot)
+ * long   sequence of the first operation (snapshot: sequence it reflects)
+ * int    operation count
+ * long   leader {@link System#nanoTime()} when the first operation was logged
+ * byte[] operations
+ * </pre>
+ *
+ * <p>A new follower first receives a snapshot frame, taken with the fleet
+ * write lock held so it lines up exactly with the log position. Each
+ * follower has its own writer thread and a bounded frame queue; a follower
+ * that falls {@value #QUEUE_FRAMES} frames behind is disconnected and
+ * resynchronizes from a fresh snapshot when it reconnects.</p>
+ *
+ * <p>Attribute setters publish outside the fleet lock, so their events are
+ * logged in publish order; callers that change the same member from
+ * several threads must serialize those changes, as they already must for
+ * the fleet's other listeners.</p>
+ */
+public class FleetLeader implements AutoCloseable {
+
+  static final byte OPS_FRAME = 0;
+  static final byte SNAPSHOT_FRAME = 1;
+
+  /** Frame header bytes after the length prefix. */
+  static final int HEADER_BYTES = 1 + 8 + 4 + 8;
+
+  /** Frames a follower may lag behind before it is dropped. */
+  private static final int QUEUE_FRAMES = 1024;
+
+  /** Pending bytes at which a frame is cut without waiting for the flusher. */
+  private static final int MAX_FRAME_BYTES = 256 * 1024;
+
+  private static final System.Logger LOG = System.getLogger(FleetLeader.class.getName());
+
+  private final Fleet fleet;
+  private final ServerSocket serverSocket;
+  private final List<Link> links = new CopyOnWriteArrayList<>();
+
+  /** Guards the log tail below; taken after the fleet lock, never before. */
+  private final Object logLock = new Object();
+  private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+  private final DataOutputStream pendingOut = new DataOutputStream(pending);
+  private int pendingOps;
+  private long pendingFirst;
+  private long pendingSince;
+  private long nextSequence = 1;
+
+  private volatile boolean running;
+
+  /**
+   * Creates (but does not start) a leader bound to {@code port}.
+   *
+   * @param fleet the fleet to replicate
+   * @param port  TCP port; {@code 0} picks a free one
+   * @throws IOException if the port cannot be bound
+   */
+  public FleetLeader(Fleet fleet, int port) throws IOException {
+    if (fleet == null) {
+      throw new IllegalArgumentException("Fleet is required.");
+    }
+    this.fleet = fleet;
+    this.serverSocket = new ServerSocket();
+    serverSocket.bind(new InetSocketAddress(port));
+  }
+
+  /** Starts logging mutations and accepting followers. */
+  public void start() {
+    running = true;
+    fleet.getEventBus().setJournal(this::journal);
+    Thread.ofPlatform().name("replication-accept").daemon().start(this::acceptLoop);
+    Thread.ofPlatform().name("replication-flush").daemon().start(this::flushLoop);
+  }
+
+  /** @return the bound port (useful when created with port {@code 0}) */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /** @return sequence of the last logged operation */
+  public long sequence() {
+    synchronized (logLock) {
+      return nextSequence - 1;
+    }
+  }
+
+  /** @return number of connected followers */
+  public int followerCount() {
+    return links.size();
+  }
+
+  /** Stops replicating and disconnects every follower. */
+  @Override
+  public void close() {
+    running = false;
+    fleet.getEventBus().setJournal(null);
+    try {
+      serverSocket.close();
+    } catch (IOException ignored) {
+      // closing anyway
+    }
+    synchronized (logLock) {
+      logLock.notifyAll();
+    }
+    for (Link link : links) {
+      link.disconnect();
+    }
+  }
+
+  // ---- Log ----
+
+  /** Called by the event bus on the mutating thread, in commit order. */
+  private void journal(FleetEvent event) {
+    synchronized (logLock) {
+      long sequence = nextSequence++;
+      if (links.isEmpty()) {
+        return; // a new follower starts from a snapshot anyway
+      }
+      if (pendingOps == 0) {
+        pendingSince = System.nanoTime();
+        pendingFirst = sequence;
+        logLock.notifyAll();
+      }
+      int mark = pending.size();
+      try {
+        ReplicationCodec.encode(event, pendingOut);
+      } catch (IOException | RuntimeException e) {
+        // cannot happen for in-memory output unless the event is unsupported
+        LOG.log(System.Logger.Level.ERROR, "Cannot replicate " + event.type() + "; resyncing followers", e);
+        byte[] kept = pending.toByteArray();
+        pending.reset();
+        pending.write(kept, 0, mark);
+        links.forEach(Link::disconnect);
+        return;
+      }
+      pendingOps++;
+      if (pending.size() >= MAX_FRAME_BYTES) {
+        flushLocked();
+      }
+    }
+  }
+
+  private void flushLoop() {
+    while (running) {
+      synchronized (logLock) {
+        while (running && pendingOps == 0) {
+          try {
+            logLock.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        flushLocked();
+      }
+    }
+  }
+
+  /** Cuts the pending operations into a frame and queues it for every follower. */
+  private void flushLocked() {
+    if (pendingOps == 0) {
+      return;
+    }
+    byte[] frame = frame(OPS_FRAME, pendingFirst, pendingOps, pendingSince, pending);
+    pending.reset();
+    pendingOps = 0;
+    for (Link link : links) {
+      link.send(frame);
+    }
+  }
+
+  private static byte[] frame(byte kind, long firstSequence, int count, long since, ByteArrayOutputStream ops) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + HEADER_BYTES + ops.size());
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      out.writeInt(HEADER_BYTES + ops.size());
+      out.writeByte(kind);
+      out.writeLong(firstSequence);
+      out.writeInt(count);
+      out.writeLong(since);
+      ops.writeTo(out);
+    } catch (IOException e) {
+      throw new IllegalStateException(e); // in-memory stream
+    }
+    return bytes.toByteArray();
+  }
+
+  // ---- Followers ----
+
+  private void acceptLoop() {
+    while (running) {
+      try {
+        Socket socket = serverSocket.accept();
+        Link link = new Link(socket);
+        try {
+          socket.setTcpNoDelay(true);
+          register(link);
+        } catch (IOException | RuntimeException e) {
+          // one bad follower or snapshot must not stop accepting the others
+          LOG.log(System.Logger.Level.WARNING, "Follower " + socket.getRemoteSocketAddress() + " not registered", e);
+          link.disconnect();
+        }
+      } catch (SocketException e) {
+        return; // closed
+      } catch (IOException e) {
+        LOG.log(System.Logger.Level.WARNING, "Follower connection failed", e);
+      }
+    }
+  }
+
+  /**
+   * Queues a snapshot for a new follower and starts streaming to it, with
+   * the fleet write lock held so no operation falls between the two.
+   */
+  private void register(Link link) {
+    fleet.inspectExclusively((vehicles, drivers) -> {
+      synchronized (logLock) {
+        flushLocked(); // older operations go to the existing followers only
+        ByteArrayOutputStream ops = new ByteArrayOutputStream();
+        int count;
+        try {
+          count = ReplicationCodec.encodeSnapshot(vehicles, drivers, new DataOutputStream(ops));
+        } catch (IOException e) {
+          throw new IllegalStateException(e); // in-memory stream
+        }
+        link.send(frame(SNAPSHOT_FRAME, nextSequence - 1, count, System.nanoTime(), ops));
+        links.add(link);
+      }
+    });
+    link.start();
+  }
+
+  /** One connected follower: a bounded frame queue drained by a writer thread. */
+  private final class Link {
+    private final Socket socket;
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_FRAMES);
+    private volatile Thread writer;
+
+    Link(Socket socket) {
+      this.socket = socket;
+    }
+
+    void start() {
+      writer = Thread.ofPlatform().name("replication-" + socket.getRemoteSocketAddress()).daemon()
+          .start(this::writeLoop);
+    }
+
+    void send(byte[] frame) {
+      if (!queue.offer(frame)) {
+        LOG.log(System.Logger.Level.WARNING, "Follower " + socket.getRemoteSocketAddress()
+            + " fell " + QUEUE_FRAMES + " frames behind; disconnecting");
+        disconnect();
+      }
+    }
+
+    void disconnect() {
+      links.remove(this);
+      try {
+        socket.close();
+      } catch (IOException ignored) {
+        // closing anyway
+      }
+      Thread w = writer;
+      if (w != null && w != Thread.currentThread()) {
+        w.interrupt(); // may be parked on an empty queue
+      }
+    }
+
+    private void writeLoop() {
+      try (OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024)) {
+        while (!socket.isClosed()) {
+          out.write(queue.take());
+          byte[] frame;
+          while ((frame = queue.poll()) != null) {
+            out.write(frame);
+          }
+          out.flush();
+        }
+      } catch (IOException | InterruptedException e) {
+        // follower went away; it reconnects and resyncs
+      } finally {
+        disconnect();
+      }
+    }
+  }
+}
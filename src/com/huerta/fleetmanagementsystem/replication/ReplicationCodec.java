@@ -0,0 +1,559 @@
+package com.huerta.fleetmanagementsystem.replication;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.model.enums.FuelType;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.enums.ServiceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.HeavyVehicle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Binary encoding of the replication log: one operation per
+ * {@link FleetEvent}, plus a reset marker that starts a full snapshot.
+ *
+ * <p>Vehicles are identified by id and drivers by licence number on the
+ * wire, so a follower resolves every operation against its own copies.
+ * Each operation starts with a one-byte opcode; values of changed
+ * attributes carry a one-byte type tag. Strings are written as their
+ * UTF-8 byte count and bytes, so no length limit applies.</p>
+ *
+ * <p>A snapshot is dictionary-encoded: it first lists every distinct
+ * make, model and maintenance description once, and its vehicles refer
+ * to them by frame-local code. Log operations stay self-contained.</p>
+ *
+ * <p>Applying is idempotent where it can be: adding a member that already
+ * exists, or touching one that is gone, is ignored.</p>
+ */
+final class ReplicationCodec {
+
+  static final byte RESET = 0;
+  static final byte VEHICLE_ADD = 1;
+  static final byte VEHICLE_REMOVE = 2;
+  static final byte VEHICLE_UPDATE = 3;
+  static final byte DRIVER_ADD = 4;
+  static final byte DRIVER_REMOVE = 5;
+  static final byte DRIVER_UPDATE = 6;
+  static final byte ASSIGN = 7;
+  static final byte RELEASE = 8;
+  static final byte MAINTENANCE = 9;
+  static final byte DICTIONARY = 10;
+  static final byte SNAPSHOT_VEHICLE = 11;
+
+  private static final byte CAR = 0;
+  private static final byte TRUCK = 1;
+  private static final byte BUS = 2;
+  private static final byte MOTORCYCLE = 3;
+
+  private static final byte NULL = 0;
+  private static final byte INT = 1;
+  private static final byte LONG = 2;
+  private static final byte DOUBLE = 3;
+  private static final byte STRING = 4;
+  private static final byte ENUM = 5;
+
+  private ReplicationCodec() {
+  }
+
+  // ---- Encoding ----
+
+  /**
+   * Writes the operation that reproduces {@code e}.
+   *
+   * @throws IllegalArgumentException for a vehicle type or attribute value
+   *                                  the codec does not know
+   */
+  static void encode(FleetEvent e, DataOutput out) throws IOException {
+    switch (e.type()) {
+      case VEHICLE_ADDED:
+        out.writeByte(VEHICLE_ADD);
+        writeVehicle(e.vehicle(), out, null);
+        break;
+      case VEHICLE_REMOVED:
+        out.writeByte(VEHICLE_REMOVE);
+        out.writeLong(e.vehicle().getId());
+        break;
+      case VEHICLE_UPDATED:
+        out.writeByte(VEHICLE_UPDATE);
+        // an id change is keyed by the id the follower still knows
+        out.writeLong("id".equals(e.attribute()) ? (Long) e.oldValue() : e.vehicle().getId());
+        writeUtf8(e.attribute(), out);
+        writeValue(e.newValue(), out);
+        break;
+      case DRIVER_ADDED:
+        out.writeByte(DRIVER_ADD);
+        writeDriver(e.driver(), out);
+        break;
+      case DRIVER_REMOVED:
+        out.writeByte(DRIVER_REMOVE);
+        writeUtf8(e.driver().getLicenseNumber(), out);
+        break;
+      case DRIVER_UPDATED:
+        out.writeByte(DRIVER_UPDATE);
+        writeUtf8("licenseNumber".equals(e.attribute()) ? (String) e.oldValue() : e.driver().getLicenseNumber(),
+            out);
+        writeUtf8(e.attribute(), out);
+        writeValue(e.newValue(), out);
+        break;
+      case DRIVER_ASSIGNED:
+        out.writeByte(ASSIGN);
+        out.writeLong(e.vehicle().getId());
+        writeDriver(e.driver(), out); // the driver need not be a fleet member
+        break;
+      case DRIVER_RELEASED:
+        out.writeByte(RELEASE);
+        out.writeLong(e.vehicle().getId());
+        break;
+      case MAINTENANCE_REGISTERED:
+        out.writeByte(MAINTENANCE);
+        out.writeLong(e.vehicle().getId());
+        writeRecord(e.record(), out, null);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported event: " + e.type());
+    }
+  }
+
+  /**
+   * Writes a reset, the snapshot's string dictionary and operations that
+   * rebuild the given members.
+   *
+   * @return number of operations written
+   */
+  static int encodeSnapshot(List<Vehicle> vehicles, List<Driver> drivers, DataOutput out) throws IOException {
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    for (Vehicle v : vehicles) {
+      dictionary.putIfAbsent(v.getMake(), dictionary.size());
+      dictionary.putIfAbsent(v.getModel(), dictionary.size());
+      for (Object r : v.getMaintenanceHistory().toArray()) {
+        dictionary.putIfAbsent(((MaintenanceRecord) r).getDescription(), dictionary.size());
+      }
+    }
+    dictionary.remove(null);
+    out.writeByte(RESET);
+    out.writeByte(DICTIONARY);
+    out.writeInt(dictionary.size());
+    for (String s : dictionary.keySet()) {
+      writeUtf8(s, out);
+    }
+    for (Driver d : drivers) {
+      out.writeByte(DRIVER_ADD);
+      writeDriver(d, out);
+    }
+    for (Vehicle v : vehicles) {
+      out.writeByte(SNAPSHOT_VEHICLE);
+      writeVehicle(v, out, dictionary);
+    }
+    return 2 + drivers.size() + vehicles.size();
+  }
+
+  /** Writes a vehicle; strings go by code when a dictionary is given. */
+  private static void writeVehicle(Vehicle v, DataOutput out, Map<String, Integer> dictionary) throws IOException {
+    if (v instanceof Car) {
+      out.writeByte(CAR);
+    } else if (v instanceof Truck) {
+      out.writeByte(TRUCK);
+    } else if (v instanceof Bus) {
+      out.writeByte(BUS);
+    } else if (v instanceof Motorcycle) {
+      out.writeByte(MOTORCYCLE);
+    } else {
+      throw new IllegalArgumentException("Cannot replicate vehicle type " + v.getClass().getName());
+    }
+    out.writeLong(v.getId());
+    writeString(v.getLicensePlate(), out);
+    writeText(v.getMake(), out, dictionary);
+    writeText(v.getModel(), out, dictionary);
+    out.writeInt(v.getYear());
+    out.writeDouble(v.getMileage());
+    if (v instanceof Car c) {
+      out.writeInt(c.getSeatingCapacity());
+      writeString(c.getFuelType() == null ? null : c.getFuelType().name(), out);
+    } else if (v instanceof Truck t) {
+      out.writeInt(t.getPayloadCapacity());
+      out.writeInt(t.getAxleCount());
+      out.writeDouble(t.getGrossVehicleWeight());
+    } else if (v instanceof Bus b) {
+      out.writeInt(b.getPassengerCapacity());
+      writeString(b.getServiceType() == null ? null : b.getServiceType().name(), out);
+      out.writeDouble(b.getGrossVehicleWeight());
+    } else {
+      out.writeInt(((Motorcycle) v).getEngineDisplacement());
+    }
+    Driver d = v.getDriver();
+    out.writeBoolean(d != null);
+    if (d != null) {
+      writeDriver(d, out);
+    }
+    Object[] history = v.getMaintenanceHistory().toArray();
+    out.writeInt(history.length);
+    for (Object r : history) {
+      writeRecord((MaintenanceRecord) r, out, dictionary);
+    }
+  }
+
+  private static void writeDriver(Driver d, DataOutput out) throws IOException {
+    writeString(d.getFullName(), out);
+    writeUtf8(d.getLicenseNumber(), out);
+    out.writeInt(d.getYearsOfExperience());
+  }
+
+  private static void writeRecord(MaintenanceRecord r, DataOutput out, Map<String, Integer> dictionary)
+      throws IOException {
+    out.writeLong(r.getDate().toEpochDay());
+    out.writeByte(r.getType().ordinal());
+    writeText(r.getDescription(), out, dictionary);
+    out.writeDouble(r.getCost());
+  }
+
+  private static void writeValue(Object value, DataOutput out) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof Integer i) {
+      out.writeByte(INT);
+      out.writeInt(i);
+    } else if (value instanceof Long l) {
+      out.writeByte(LONG);
+      out.writeLong(l);
+    } else if (value instanceof Double d) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(d);
+    } else if (value instanceof String s) {
+      out.writeByte(STRING);
+      writeUtf8(s, out);
+    } else if (value instanceof Enum<?> en) {
+      out.writeByte(ENUM);
+      writeUtf8(en.name(), out);
+    } else {
+      throw new IllegalArgumentException("Cannot replicate value of type " + value.getClass().getName());
+    }
+  }
+
+  private static void writeString(String s, DataOutput out) throws IOException {
+    out.writeBoolean(s != null);
+    if (s != null) {
+      writeUtf8(s, out);
+    }
+  }
+
+  /**
+   * Writes a string as its UTF-8 length and bytes. Unlike
+   * {@link DataOutput#writeUTF}, which stops at 65 535 bytes, any length
+   * fits, e.g. a long maintenance description.
+   */
+  private static void writeUtf8(String s, DataOutput out) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeText(String s, DataOutput out, Map<String, Integer> dictionary) throws IOException {
+    if (dictionary == null) {
+      writeString(s, out);
+    } else {
+      out.writeInt(s == null ? -1 : dictionary.get(s));
+    }
+  }
+
+  // ---- Decoding ----
+
+  /**
+   * Reads one operation and applies it to {@code fleet}, or only skips
+   * over it when {@code fleet} is {@code null}.
+   *
+   * @param dictionary strings of the current frame's dictionary; filled
+   *                   by a dictionary operation, read by snapshot vehicles
+   */
+  static void apply(DataInput in, Fleet fleet, List<String> dictionary) throws IOException {
+    byte op = in.readByte();
+    switch (op) {
+      case RESET:
+        if (fleet != null) {
+          fleet.clear();
+        }
+        break;
+      case VEHICLE_ADD:
+      case SNAPSHOT_VEHICLE: {
+        Vehicle v = readVehicle(in, fleet, op == SNAPSHOT_VEHICLE ? dictionary : null);
+        if (v != null) {
+          fleet.addVehicle(v);
+        }
+        break;
+      }
+      case VEHICLE_REMOVE: {
+        long id = in.readLong();
+        if (fleet != null) {
+          fleet.removeVehicle(fleet.findVehicle(id));
+        }
+        break;
+      }
+      case VEHICLE_UPDATE: {
+        long id = in.readLong();
+        String attribute = readUtf8(in);
+        Object value = readValue(in);
+        Vehicle v = fleet == null ? null : fleet.findVehicle(id);
+        if (v != null) {
+          setVehicleAttribute(v, attribute, value);
+        }
+        break;
+      }
+      case DRIVER_ADD: {
+        Driver d = readDriver(in);
+        if (fleet != null && fleet.findDriver(d.getLicenseNumber()) == null) {
+          fleet.addDriver(d);
+        }
+        break;
+      }
+      case DRIVER_REMOVE: {
+        String licence = readUtf8(in);
+        Driver d = fleet == null ? null : fleet.findDriver(licence);
+        if (d != null) {
+          fleet.removeDriver(d);
+        }
+        break;
+      }
+      case DRIVER_UPDATE: {
+        String licence = readUtf8(in);
+        String attribute = readUtf8(in);
+        Object value = readValue(in);
+        Driver d = fleet == null ? null : fleet.findDriver(licence);
+        if (d != null) {
+          setDriverAttribute(d, attribute, value);
+        }
+        break;
+      }
+      case ASSIGN: {
+        long id = in.readLong();
+        Driver wire = readDriver(in);
+        if (fleet != null) {
+          Driver member = fleet.findDriver(wire.getLicenseNumber());
+          fleet.assignDriver(fleet.findVehicle(id), member != null ? member : wire);
+        }
+        break;
+      }
+      case RELEASE: {
+        long id = in.readLong();
+        if (fleet != null) {
+          fleet.releaseDriver(fleet.findVehicle(id));
+        }
+        break;
+      }
+      case MAINTENANCE: {
+        long id = in.readLong();
+        Vehicle v = fleet == null ? null : fleet.findVehicle(id);
+        if (v != null) {
+          fleet.registerMaintenance(v, readRecord(in, null));
+        } else {
+          skipRecord(in, null);
+        }
+        break;
+      }
+      case DICTIONARY:
+        for (int i = in.readInt(); i > 0; i--) {
+          dictionary.add(readUtf8(in));
+        }
+        break;
+      default:
+        throw new IOException("Unknown replication opcode " + op);
+    }
+  }
+
+  /**
+   * Reads a vehicle, or only skips over it when {@code fleet} is
+   * {@code null} or already has its id; records of a skipped vehicle are
+   * never stored.
+   *
+   * @return the vehicle to add, or {@code null} if it was skipped
+   */
+  private static Vehicle readVehicle(DataInput in, Fleet fleet, List<String> dictionary) throws IOException {
+    byte kind = in.readByte();
+    long id = in.readLong();
+    boolean skip = fleet == null || fleet.findVehicle(id) != null;
+    String plate = readString(in);
+    String make = readText(in, dictionary);
+    String model = readText(in, dictionary);
+    int year = in.readInt();
+    double mileage = in.readDouble();
+    Vehicle v;
+    switch (kind) {
+      case CAR: {
+        int seats = in.readInt();
+        String fuel = readString(in);
+        v = new Car(id, plate, make, model, year, seats, fuel == null ? null : FuelType.valueOf(fuel), mileage);
+        break;
+      }
+      case TRUCK: {
+        int payload = in.readInt();
+        int axles = in.readInt();
+        v = new Truck(id, plate, make, model, year, payload, axles, mileage, in.readDouble());
+        break;
+      }
+      case BUS: {
+        int passengers = in.readInt();
+        String service = readString(in);
+        v = new Bus(id, plate, make, model, year, passengers,
+            service == null ? null : ServiceType.valueOf(service), mileage, in.readDouble());
+        break;
+      }
+      case MOTORCYCLE:
+        v = new Motorcycle(id, plate, make, model, year, in.readInt(), mileage);
+        break;
+      default:
+        throw new IOException("Unknown vehicle kind " + kind);
+    }
+    if (in.readBoolean()) {
+      Driver wire = readDriver(in);
+      Driver member = skip ? null : fleet.findDriver(wire.getLicenseNumber());
+      v.assignDriver(member != null ? member : wire);
+    }
+    for (int i = in.readInt(); i > 0; i--) {
+      if (skip) {
+        skipRecord(in, dictionary);
+      } else {
+        v.registerMaintenance(readRecord(in, dictionary));
+      }
+    }
+    return skip ? null : v;
+  }
+
+  private static Driver readDriver(DataInput in) throws IOException {
+    String name = readString(in);
+    return new Driver(name, readUtf8(in), in.readInt());
+  }
+
+  private static MaintenanceRecord readRecord(DataInput in, List<String> dictionary) throws IOException {
+    long day = in.readLong();
+    byte type = in.readByte();
+    String description = readText(in, dictionary);
+    return new MaintenanceRecord(LocalDate.ofEpochDay(day), MaintenanceType.values()[type], description,
+        in.readDouble());
+  }
+
+  private static void skipRecord(DataInput in, List<String> dictionary) throws IOException {
+    in.readLong();
+    in.readByte();
+    readText(in, dictionary);
+    in.readDouble();
+  }
+
+  private static Object readValue(DataInput in) throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case INT:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case STRING:
+      case ENUM:
+        return readUtf8(in);
+      default:
+        throw new IOException("Unknown value tag " + tag);
+    }
+  }
+
+  private static String readUtf8(DataInput in) throws IOException {
+    int n = in.readInt();
+    if (n < 0) {
+      throw new IOException("Negative string length " + n);
+    }
+    byte[] bytes = new byte[n];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    return in.readBoolean() ? readUtf8(in) : null;
+  }
+
+  private static String readText(DataInput in, List<String> dictionary) throws IOException {
+    if (dictionary == null) {
+      return readString(in);
+    }
+    int code = in.readInt();
+    return code < 0 ? null : dictionary.get(code);
+  }
+
+  private static void setVehicleAttribute(Vehicle v, String attribute, Object value) {
+    switch (attribute) {
+      case "id":
+        v.setId((Long) value);
+        break;
+      case "licensePlate":
+        v.setLicensePlate((String) value);
+        break;
+      case "make":
+        v.setMake((String) value);
+        break;
+      case "model":
+        v.setModel((String) value);
+        break;
+      case "year":
+        v.setYear((Integer) value);
+        break;
+      case "mileage":
+        v.setMileage((Double) value);
+        break;
+      case "seatingCapacity":
+        ((Car) v).setSeatingCapacity((Integer) value);
+        break;
+      case "fuelType":
+        ((Car) v).setFuelType(value == null ? null : FuelType.valueOf((String) value));
+        break;
+      case "engineDisplacement":
+        ((Motorcycle) v).setEngineDisplacement((Integer) value);
+        break;
+      case "passengerCapacity":
+        ((Bus) v).setPassengerCapacity((Integer) value);
+        break;
+      case "serviceType":
+        ((Bus) v).setServiceType(value == null ? null : ServiceType.valueOf((String) value));
+        break;
+      case "payloadCapacity":
+        ((Truck) v).setPayloadCapacity((Integer) value);
+        break;
+      case "axleCount":
+        ((Truck) v).setAxleCount((Integer) value);
+        break;
+      case "grossVehicleWeight":
+        ((HeavyVehicle) v).setGrossVehicleWeight((Double) value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown vehicle attribute " + attribute);
+    }
+  }
+
+  private static void setDriverAttribute(Driver d, String attribute, Object value) {
+    switch (attribute) {
+      case "fullName":
+        d.setFullName((String) value);
+        break;
+      case "licenseNumber":
+        d.setLicenseNumber((String) value);
+        break;
+      case "yearsOfExperience":
+        d.setYearsOfExperience((Integer) value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown driver attribute " + attribute);
+    }
+  }
+}
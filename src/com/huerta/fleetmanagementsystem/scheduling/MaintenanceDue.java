@@ -0,0 +1,17 @@
+package com.huerta.fleetmanagementsystem.scheduling;
+
+import java.time.LocalDate;
+
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * When a vehicle's next preventive service is due.
+ *
+ * @param vehicle      the vehicle
+ * @param dueDate      date by which the service is due
+ * @param dueMileage   odometer reading at which the service is due
+ * @param mileageDue   {@code true} if the odometer has already reached
+ *                     {@code dueMileage}
+ */
+public record MaintenanceDue(Vehicle vehicle, LocalDate dueDate, double dueMileage, boolean mileageDue) {
+}
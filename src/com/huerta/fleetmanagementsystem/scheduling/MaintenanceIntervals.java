@@ -0,0 +1,74 @@
+package com.huerta.fleetmanagementsystem.scheduling;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.huerta.fleetmanagementsystem.model.vehicle.Bus;
+import com.huerta.fleetmanagementsystem.model.vehicle.Car;
+import com.huerta.fleetmanagementsystem.model.vehicle.Motorcycle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Truck;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Preventive-maintenance intervals per vehicle type.
+ *
+ * <p><b>OOP concept – Inheritance:</b> a vehicle uses the interval of its
+ * own class or, failing that, of the nearest superclass that has one, so
+ * an interval for {@link Vehicle} acts as the fallback for every type.</p>
+ *
+ * <p>Instances are immutable; {@link #with(Class, ServiceInterval)} returns
+ * a modified copy.</p>
+ */
+public final class MaintenanceIntervals {
+
+  /**
+   * Yearly or 15,000 km for cars, half-yearly or 6,000 km for motorcycles,
+   * quarterly or 20,000 km for trucks, quarterly or 15,000 km for buses.
+   */
+  public static final MaintenanceIntervals DEFAULT = new MaintenanceIntervals(Map.of(
+      Vehicle.class, new ServiceInterval(365, 15_000),
+      Car.class, new ServiceInterval(365, 15_000),
+      Motorcycle.class, new ServiceInterval(180, 6_000),
+      Truck.class, new ServiceInterval(90, 20_000),
+      Bus.class, new ServiceInterval(90, 15_000)));
+
+  private final Map<Class<?>, ServiceInterval> intervals;
+
+  private MaintenanceIntervals(Map<Class<?>, ServiceInterval> intervals) {
+    this.intervals = Map.copyOf(intervals);
+  }
+
+  /**
+   * Returns a copy with a different interval for {@code type} and its
+   * subclasses that have none of their own.
+   *
+   * @param type     vehicle class
+   * @param interval interval to use
+   * @return the modified copy
+   * @throws IllegalArgumentException if an argument is {@code null}
+   */
+  public MaintenanceIntervals with(Class<? extends Vehicle> type, ServiceInterval interval) {
+    if (type == null || interval == null) {
+      throw new IllegalArgumentException("Vehicle type and interval are required.");
+    }
+    Map<Class<?>, ServiceInterval> copy = new HashMap<>(intervals);
+    copy.put(type, interval);
+    return new MaintenanceIntervals(copy);
+  }
+
+  /**
+   * Looks up the interval that applies to a vehicle.
+   *
+   * @param vehicle the vehicle
+   * @return its interval
+   */
+  public ServiceInterval intervalFor(Vehicle vehicle) {
+    for (Class<?> c = vehicle.getClass(); c != null; c = c.getSuperclass()) {
+      ServiceInterval interval = intervals.get(c);
+      if (interval != null) {
+        return interval;
+      }
+    }
+    return DEFAULT.intervals.get(Vehicle.class);
+  }
+}
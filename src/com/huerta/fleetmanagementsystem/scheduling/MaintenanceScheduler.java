@@ -0,0 +1,283 @@
+package com.huerta.fleetmanagementsystem.scheduling;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Keeps every vehicle's next preventive-maintenance due date and mileage
+ * current, and answers "which vehicles are due" without scanning the fleet.
+ *
+ * <p>A vehicle is due {@link ServiceInterval#days()} after its latest
+ * {@link MaintenanceType#PREVENTIVE} record, or
+ * {@link ServiceInterval#kilometres()} after the odometer reading at which
+ * that record was registered — whichever comes first. A vehicle without
+ * preventive history counts from January 1st of its model year and from
+ * 0 km; for records that predate the scheduler the current reading is
+ * taken as the service mileage.</p>
+ *
+ * <p>Schedules are indexed two ways: a {@link TreeMap} of due dates to
+ * vehicles, so {@link #dueWithin(int)} visits only the {@code k} due
+ * vehicles (O(log n + k)), and a set of vehicles whose odometer has
+ * already passed the due mileage. Both are updated incrementally from
+ * {@link FleetEvent}s: a registered record or a mileage change touches
+ * only that vehicle.</p>
+ *
+ * <p>The scheduler subscribes to the fleet lazily, on its first query.
+ * Updates and queries are serialized on this object.</p>
+ */
+public class MaintenanceScheduler implements FleetChangeListener {
+
+  private final Fleet fleet;
+  private final Clock clock;
+  private final Object attachLock = new Object();
+
+  private MaintenanceIntervals intervals;
+
+  private final Map<Vehicle, Schedule> schedules = new IdentityHashMap<>();
+  private final NavigableMap<LocalDate, Set<Vehicle>> byDueDate = new TreeMap<>();
+  private final Set<Vehicle> mileageDue = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** Set once the scheduler follows the fleet. */
+  private volatile boolean attached;
+
+  /**
+   * Creates a scheduler with the default intervals and the system clock.
+   *
+   * @param fleet the fleet to schedule
+   */
+  public MaintenanceScheduler(Fleet fleet) {
+    this(fleet, MaintenanceIntervals.DEFAULT, Clock.systemDefaultZone());
+  }
+
+  /**
+   * Creates a scheduler.
+   *
+   * @param fleet     the fleet to schedule
+   * @param intervals service intervals per vehicle type
+   * @param clock     source of "today"
+   * @throws IllegalArgumentException if an argument is {@code null}
+   */
+  public MaintenanceScheduler(Fleet fleet, MaintenanceIntervals intervals, Clock clock) {
+    if (fleet == null || intervals == null || clock == null) {
+      throw new IllegalArgumentException("Fleet, intervals and clock are required.");
+    }
+    this.fleet = fleet;
+    this.intervals = intervals;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the vehicles due for service within {@code days} days from
+   * today, plus those whose odometer has passed the due mileage.
+   *
+   * @param days look-ahead in days; {@code 0} means overdue or due today
+   * @return due vehicles, earliest due date first, then mileage-due ones
+   * @throws IllegalArgumentException if {@code days} is negative
+   */
+  public List<MaintenanceDue> dueWithin(int days) {
+    if (days < 0) {
+      throw new IllegalArgumentException("Days cannot be negative.");
+    }
+    ensureAttached();
+    LocalDate limit = LocalDate.now(clock).plusDays(days);
+    synchronized (this) {
+      List<MaintenanceDue> result = new ArrayList<>();
+      for (Set<Vehicle> bucket : byDueDate.headMap(limit, true).values()) {
+        for (Vehicle v : bucket) {
+          result.add(due(v, schedules.get(v)));
+        }
+      }
+      for (Vehicle v : mileageDue) {
+        Schedule s = schedules.get(v);
+        if (s.dueDate().isAfter(limit)) {
+          result.add(due(v, s));
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Returns the next service of one vehicle.
+   *
+   * @param vehicle a member vehicle
+   * @return its schedule, or {@code null} if it is not in the fleet
+   */
+  public MaintenanceDue dueFor(Vehicle vehicle) {
+    ensureAttached();
+    synchronized (this) {
+      Schedule s = schedules.get(vehicle);
+      return s == null ? null : due(vehicle, s);
+    }
+  }
+
+  /** @return the intervals currently applied */
+  public synchronized MaintenanceIntervals getIntervals() {
+    return intervals;
+  }
+
+  /**
+   * Replaces the service intervals and reschedules every vehicle.
+   *
+   * @param intervals new intervals per vehicle type
+   * @throws IllegalArgumentException if {@code intervals} is {@code null}
+   */
+  public void setIntervals(MaintenanceIntervals intervals) {
+    if (intervals == null) {
+      throw new IllegalArgumentException("Intervals are required.");
+    }
+    ensureAttached();
+    synchronized (this) {
+      this.intervals = intervals;
+      for (Vehicle v : new ArrayList<>(schedules.keySet())) {
+        Schedule s = schedules.get(v);
+        reschedule(v, s.lastService(), s.serviceMileage());
+      }
+    }
+  }
+
+  /** @return number of vehicles with a schedule, {@code 0} until first use */
+  public synchronized int trackedCount() {
+    return schedules.size();
+  }
+
+  private void ensureAttached() {
+    if (attached) {
+      return;
+    }
+    synchronized (attachLock) {
+      if (attached) {
+        return;
+      }
+      fleet.subscribeWithSnapshot(this, (vs, ds) -> {
+        synchronized (this) {
+          vs.forEach(this::track);
+        }
+      });
+      attached = true;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized void fleetChanged(List<FleetEvent> events) {
+    for (FleetEvent e : events) {
+      Vehicle v = e.vehicle();
+      switch (e.type()) {
+        case VEHICLE_ADDED:
+          track(v);
+          break;
+        case VEHICLE_REMOVED:
+          untrack(v);
+          break;
+        case MAINTENANCE_REGISTERED:
+          serviced(v, e.record());
+          break;
+        case VEHICLE_UPDATED:
+          if ("mileage".equals(e.attribute())) {
+            odometerChanged(v);
+          } else if ("year".equals(e.attribute())) {
+            Schedule s = schedules.get(v);
+            if (s != null && s.lastService() == null) {
+              reschedule(v, null, s.serviceMileage());
+            }
+          }
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  /** Schedules a vehicle from its history; members already tracked are kept. */
+  private void track(Vehicle v) {
+    if (schedules.containsKey(v)) {
+      return;
+    }
+    LocalDate last = null;
+    // toArray copies without iterating, so a concurrent registration cannot fail it
+    for (Object o : v.getMaintenanceHistory().toArray()) {
+      MaintenanceRecord r = (MaintenanceRecord) o;
+      if (r != null && r.getType() == MaintenanceType.PREVENTIVE && (last == null || r.getDate().isAfter(last))) {
+        last = r.getDate();
+      }
+    }
+    reschedule(v, last, last == null ? 0 : v.getMileage());
+  }
+
+  private void untrack(Vehicle v) {
+    Schedule s = schedules.remove(v);
+    if (s != null) {
+      removeFromBucket(v, s.dueDate());
+      mileageDue.remove(v);
+    }
+  }
+
+  private void serviced(Vehicle v, MaintenanceRecord r) {
+    Schedule s = schedules.get(v);
+    if (s == null) {
+      track(v); // history already contains the record
+    } else if (r.getType() == MaintenanceType.PREVENTIVE
+        && (s.lastService() == null || !r.getDate().isBefore(s.lastService()))) {
+      reschedule(v, r.getDate(), v.getMileage());
+    }
+  }
+
+  private void odometerChanged(Vehicle v) {
+    Schedule s = schedules.get(v);
+    if (s != null) {
+      updateMileageDue(v, s);
+    }
+  }
+
+  private void reschedule(Vehicle v, LocalDate lastService, double serviceMileage) {
+    ServiceInterval interval = intervals.intervalFor(v);
+    LocalDate from = lastService != null ? lastService : LocalDate.of(v.getYear(), 1, 1);
+    Schedule s = new Schedule(lastService, serviceMileage, from.plusDays(interval.days()),
+        serviceMileage + interval.kilometres());
+    Schedule old = schedules.put(v, s);
+    if (old != null) {
+      removeFromBucket(v, old.dueDate());
+    }
+    byDueDate.computeIfAbsent(s.dueDate(), d -> Collections.newSetFromMap(new IdentityHashMap<>())).add(v);
+    updateMileageDue(v, s);
+  }
+
+  private void removeFromBucket(Vehicle v, LocalDate date) {
+    Set<Vehicle> bucket = byDueDate.get(date);
+    if (bucket != null && bucket.remove(v) && bucket.isEmpty()) {
+      byDueDate.remove(date);
+    }
+  }
+
+  private void updateMileageDue(Vehicle v, Schedule s) {
+    if (v.getMileage() >= s.dueMileage()) {
+      mileageDue.add(v);
+    } else {
+      mileageDue.remove(v);
+    }
+  }
+
+  private MaintenanceDue due(Vehicle v, Schedule s) {
+    return new MaintenanceDue(v, s.dueDate(), s.dueMileage(), mileageDue.contains(v));
+  }
+
+  /** Last preventive service of a vehicle and the next one derived from it. */
+  private record Schedule(LocalDate lastService, double serviceMileage, LocalDate dueDate, double dueMileage) {
+  }
+}
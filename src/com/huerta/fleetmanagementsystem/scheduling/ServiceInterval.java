@@ -0,0 +1,25 @@
+package com.huerta.fleetmanagementsystem.scheduling;
+
+/**
+ * How often a vehicle needs preventive maintenance: whichever of the two
+ * limits is reached first.
+ *
+ * @param days       days between services
+ * @param kilometres kilometres between services
+ */
+public record ServiceInterval(int days, double kilometres) {
+
+  /**
+   * Validates the interval.
+   *
+   * @throws IllegalArgumentException if either limit is not positive
+   */
+  public ServiceInterval {
+    if (days <= 0) {
+      throw new IllegalArgumentException("Service interval must be at least one day.");
+    }
+    if (!(kilometres > 0)) {
+      throw new IllegalArgumentException("Service interval kilometres must be positive.");
+    }
+  }
+}
@@ -0,0 +1,660 @@
+package com.huerta.fleetmanagementsystem.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPlan;
+import com.huerta.fleetmanagementsystem.distribution.DistributionMetric;
+import com.huerta.fleetmanagementsystem.distribution.FleetDistributions;
+import com.huerta.fleetmanagementsystem.distribution.Percentiles;
+import com.huerta.fleetmanagementsystem.metrics.OperationStats;
+import com.huerta.fleetmanagementsystem.model.enums.MaintenanceType;
+import com.huerta.fleetmanagementsystem.model.fleet.Page;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.HeavyVehicle;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.ranking.FleetLeaderboards;
+import com.huerta.fleetmanagementsystem.ranking.Ranked;
+import com.huerta.fleetmanagementsystem.ranking.RankingMetric;
+import com.huerta.fleetmanagementsystem.scheduling.MaintenanceDue;
+import com.huerta.fleetmanagementsystem.service.FleetService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Headless JSON API over a {@link FleetService}, built on the JDK's
+ * {@code com.sun.net.httpserver} with one virtual thread per request.
+ *
+ * <p>Endpoints (all under {@code /api}):</p>
+ * <ul>
+ *   <li>{@code GET  /vehicles?type=&q=&commercial=&limit=} — list or query vehicles</li>
+ *   <li>{@code GET  /vehicles?cursor=&limit=} — one page of all vehicles in id
+ *       order; an empty cursor starts, the response's {@code next} continues</li>
+ *   <li>{@code GET  /vehicles/{id}} — one vehicle with its maintenance history</li>
+ *   <li>{@code GET  /vehicles/{id}/maintenance?cursor=&limit=} — one page of its
+ *       maintenance history in date order</li>
+ *   <li>{@code POST /vehicles/{id}/maintenance} — body
+ *       {@code {"date","type","description","cost"}}</li>
+ *   <li>{@code GET  /drivers} — list drivers</li>
+ *   <li>{@code POST /assignments} — body {@code {"vehicleId","licenseNumber"}}</li>
+ *   <li>{@code DELETE /assignments/{vehicleId}} — release the vehicle's driver</li>
+ *   <li>{@code POST /assignments/auto} — assign idle drivers optimally</li>
+ *   <li>{@code GET  /maintenance/due?days=} — vehicles due for preventive service</li>
+ *   <li>{@code GET  /reports}, {@code /reports/details}, {@code /reports/commercial},
+ *       {@code /reports/cost}</li>
+ *   <li>{@code GET  /leaderboards/{metric}?limit=} — top vehicles by
+ *       {@code operating-cost}, {@code mileage}, {@code maintenance-cost} or
+ *       {@code depreciation}</li>
+ *   <li>{@code GET  /leaderboards/{metric}/{vehicleId}} — one vehicle's rank</li>
+ *   <li>{@code GET  /distributions?type=} — p50/p90/p99 of mileage, operating
+ *       cost, age and maintenance cost per maintenance type, for one vehicle
+ *       type or all</li>
+ *   <li>{@code GET  /metrics} — per-operation counts and latency percentiles</li>
+ *   <li>{@code GET  /health}</li>
+ * </ul>
+ *
+ * <p>Virtual threads make a blocked request cost a few hundred bytes
+ * instead of a platform thread, so thousands of concurrent connections are
+ * served without a tuned pool. Invalid input yields {@code 400}, unknown
+ * resources {@code 404}, a wrong method {@code 405} with an {@code Allow}
+ * header and a body over {@value #MAX_BODY_BYTES} bytes {@code 413},
+ * always with an {@code {"error": ...}} body. Unexpected failures are
+ * logged and answered with a generic {@code 500}.</p>
+ *
+ * <p>Leaderboards and distributions are attached on their first request
+ * and then follow the fleet incrementally.</p>
+ *
+ * <p>A {@linkplain #setReadOnly read-only} server, e.g. in front of a
+ * replication follower, answers every non-{@code GET} request with
+ * {@code 405}.</p>
+ */
+public class FleetHttpServer {
+
+  private static final System.Logger LOG = System.getLogger(FleetHttpServer.class.getName());
+
+  /** Default TCP port. */
+  public static final int DEFAULT_PORT = 8080;
+
+  /** Upper bound on the {@code limit} query parameter. */
+  private static final int MAX_LIMIT = 10_000;
+
+  /** Default number of vehicles returned by a list query. */
+  private static final int DEFAULT_LIMIT = 100;
+
+  /** Default look-ahead of the maintenance due list, in days. */
+  private static final int DEFAULT_DUE_DAYS = 30;
+
+  /** Pending-connection queue length handed to the OS. */
+  private static final int BACKLOG = 4096;
+
+  /** Largest request body accepted. */
+  private static final int MAX_BODY_BYTES = 1 << 20;
+
+  private final FleetService service;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private volatile boolean readOnly;
+  private volatile FleetLeaderboards leaderboards;
+  private volatile FleetDistributions distributions;
+
+  /**
+   * Creates (but does not start) a server bound to {@code port}.
+   *
+   * @param service the service to expose
+   * @param port    TCP port; {@code 0} picks a free one
+   * @throws IOException if the port cannot be bound
+   */
+  public FleetHttpServer(FleetService service, int port) throws IOException {
+    this.service = service;
+    this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    server.setExecutor(executor);
+    server.createContext("/api/", this::handle);
+  }
+
+  /** Starts accepting requests. */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * Stops the server, waiting at most {@code delaySeconds} for exchanges
+   * in progress.
+   *
+   * @param delaySeconds grace period
+   */
+  public void stop(int delaySeconds) {
+    server.stop(delaySeconds);
+    executor.shutdown();
+    synchronized (this) {
+      if (leaderboards != null) {
+        leaderboards.detach();
+      }
+      if (distributions != null) {
+        distributions.detach();
+      }
+    }
+  }
+
+  /**
+   * Rejects (or again accepts) requests that would mutate the fleet.
+   *
+   * @param readOnly whether only {@code GET} requests are served
+   */
+  public void setReadOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
+  /** @return the bound port (useful when created with port {@code 0}) */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  // ---- Routing ----
+
+  private void handle(HttpExchange ex) throws IOException {
+    try {
+      String method = ex.getRequestMethod();
+      String[] path = ex.getRequestURI().getPath().substring("/api/".length()).split("/");
+      Map<String, String> query = parseQuery(ex.getRequestURI().getRawQuery());
+      if (readOnly && !"GET".equals(method)) {
+        throw new MethodNotAllowedException("GET", "Read-only replica; send changes to the leader.");
+      }
+
+      switch (path[0]) {
+        case "health":
+          send(ex, 200, "{\"status\":\"UP\",\"vehicles\":" + service.fleet().vehicleCount() + "}");
+          break;
+        case "vehicles":
+          handleVehicles(ex, method, path, query);
+          break;
+        case "drivers":
+          requireMethod(method, "GET");
+          List<String> drivers = new ArrayList<>();
+          for (Driver d : service.fleet().copyDrivers()) {
+            drivers.add(driverJson(d));
+          }
+          send(ex, 200, Json.array(drivers));
+          break;
+        case "assignments":
+          handleAssignments(ex, method, path);
+          break;
+        case "maintenance":
+          handleMaintenance(ex, method, path, query);
+          break;
+        case "reports":
+          handleReports(ex, method, path);
+          break;
+        case "leaderboards":
+          requireMethod(method, "GET");
+          handleLeaderboards(ex, path, query);
+          break;
+        case "distributions":
+          requireMethod(method, "GET");
+          if (path.length != 1) {
+            throw new NotFoundException("Unknown distribution resource.");
+          }
+          send(ex, 200, distributionsJson(query.get("type")));
+          break;
+        case "metrics":
+          requireMethod(method, "GET");
+          List<String> stats = new ArrayList<>();
+          for (OperationStats s : service.metrics().snapshot()) {
+            stats.add(statsJson(s));
+          }
+          send(ex, 200, "{\"enabled\":" + service.metrics().isEnabled() + ",\"operations\":" + Json.array(stats) + "}");
+          break;
+        default:
+          throw new NotFoundException("Unknown resource: " + path[0]);
+      }
+    } catch (NotFoundException e) {
+      send(ex, 404, error(e.getMessage()));
+    } catch (MethodNotAllowedException e) {
+      ex.getResponseHeaders().set("Allow", e.allow);
+      send(ex, 405, error(e.getMessage()));
+    } catch (PayloadTooLargeException e) {
+      send(ex, 413, error(e.getMessage()));
+    } catch (IllegalArgumentException | IllegalStateException | DateTimeParseException e) {
+      send(ex, 400, error(e.getMessage()));
+    } catch (RuntimeException e) {
+      LOG.log(System.Logger.Level.ERROR, ex.getRequestMethod() + " " + ex.getRequestURI() + " failed", e);
+      send(ex, 500, error("Internal error."));
+    } finally {
+      ex.close();
+    }
+  }
+
+  private void handleVehicles(HttpExchange ex, String method, String[] path, Map<String, String> query)
+      throws IOException {
+    if (path.length == 1) {
+      requireMethod(method, "GET");
+      send(ex, 200, query.containsKey("cursor") ? vehiclePage(query) : Json.array(listVehicles(query)));
+      return;
+    }
+    Vehicle v = requireVehicle(path[1]);
+    if (path.length == 2) {
+      requireMethod(method, "GET");
+      send(ex, 200, vehicleJson(v, true));
+    } else if (path.length == 3 && path[2].equals("maintenance") && method.equals("GET")) {
+      Page<MaintenanceRecord> page = service.maintenancePage(v, cursor(query), limit(query));
+      List<String> records = new ArrayList<>(page.items().size());
+      for (MaintenanceRecord r : page.items()) {
+        records.add(recordJson(r));
+      }
+      send(ex, 200, pageJson(records, page));
+    } else if (path.length == 3 && path[2].equals("maintenance")) {
+      requireMethod(method, "POST");
+      Map<String, Object> body = Json.parseObject(readBody(ex));
+      MaintenanceRecord r = new MaintenanceRecord(
+          LocalDate.parse(requireString(body, "date")),
+          MaintenanceType.valueOf(requireString(body, "type").toUpperCase(Locale.ROOT)),
+          requireString(body, "description"),
+          requireNumber(body, "cost"));
+      service.addMaintenance(v, r);
+      send(ex, 201, recordJson(r));
+    } else {
+      throw new NotFoundException("Unknown vehicle resource.");
+    }
+  }
+
+  private String vehiclePage(Map<String, String> query) {
+    if (query.containsKey("type") || query.containsKey("q") || query.containsKey("commercial")) {
+      throw new IllegalArgumentException("cursor cannot be combined with type, q or commercial.");
+    }
+    Page<Vehicle> page = service.vehiclePage(cursor(query), limit(query));
+    List<String> out = new ArrayList<>(page.items().size());
+    for (Vehicle v : page.items()) {
+      out.add(vehicleJson(v, false));
+    }
+    return pageJson(out, page);
+  }
+
+  private List<String> listVehicles(Map<String, String> query) {
+    int limit = limit(query);
+    String type = query.get("type");
+    boolean commercialOnly = Boolean.parseBoolean(query.get("commercial"));
+    Predicate<Vehicle> filter = v -> (type == null || v.getClass().getSimpleName().equalsIgnoreCase(type))
+        && (!commercialOnly || (v instanceof HeavyVehicle && ((HeavyVehicle) v).requiresCommercialLicense()));
+
+    List<Vehicle> found;
+    String q = query.get("q");
+    if (q != null && !q.isBlank()) {
+      found = new ArrayList<>();
+      for (Vehicle v : service.searchVehicles(q, MAX_LIMIT)) {
+        if (found.size() >= limit) {
+          break;
+        }
+        if (filter.test(v)) {
+          found.add(v);
+        }
+      }
+    } else {
+      found = service.findVehicles(filter, limit);
+    }
+
+    List<String> out = new ArrayList<>(found.size());
+    for (Vehicle v : found) {
+      out.add(vehicleJson(v, false));
+    }
+    return out;
+  }
+
+  private void handleAssignments(HttpExchange ex, String method, String[] path) throws IOException {
+    if (path.length == 1) {
+      requireMethod(method, "POST");
+      Map<String, Object> body = Json.parseObject(readBody(ex));
+      Vehicle v = requireVehicle(String.valueOf((long) requireNumber(body, "vehicleId")));
+      String license = requireString(body, "licenseNumber");
+      Driver d = service.findDriver(license);
+      if (d == null) {
+        throw new NotFoundException("No driver with license " + license + ".");
+      }
+      service.assignDriver(v, d);
+      send(ex, 200, vehicleJson(v, false));
+    } else if (path.length == 2 && path[1].equals("auto")) {
+      requireMethod(method, "POST");
+      AssignmentPlan plan = service.autoAssignDrivers();
+      send(ex, 200, "{\"assigned\":" + plan.assignedCount() + ",\"totalScore\":" + plan.totalScore()
+          + ",\"unmatchedVehicles\":" + plan.unmatchedVehicles() + ",\"idleDrivers\":" + plan.idleDrivers() + "}");
+    } else if (path.length == 2) {
+      requireMethod(method, "DELETE");
+      Vehicle v = requireVehicle(path[1]);
+      service.releaseDriver(v);
+      send(ex, 200, vehicleJson(v, false));
+    } else {
+      throw new NotFoundException("Unknown assignment resource.");
+    }
+  }
+
+  private void handleMaintenance(HttpExchange ex, String method, String[] path, Map<String, String> query)
+      throws IOException {
+    if (path.length != 2 || !path[1].equals("due")) {
+      throw new NotFoundException("Unknown maintenance resource.");
+    }
+    requireMethod(method, "GET");
+    int days = query.containsKey("days") ? Integer.parseInt(query.get("days")) : DEFAULT_DUE_DAYS;
+    List<String> out = new ArrayList<>();
+    for (MaintenanceDue due : service.vehiclesDueForMaintenance(days)) {
+      out.add("{\"vehicle\":" + vehicleJson(due.vehicle(), false)
+          + ",\"dueDate\":" + Json.quote(due.dueDate().toString())
+          + ",\"dueMileage\":" + due.dueMileage()
+          + ",\"mileageDue\":" + due.mileageDue() + "}");
+    }
+    send(ex, 200, Json.array(out));
+  }
+
+  private void handleReports(HttpExchange ex, String method, String[] path) throws IOException {
+    requireMethod(method, "GET");
+    String kind = path.length > 1 ? path[1] : "";
+    switch (kind) {
+      case "":
+        send(ex, 200, stringArray(service.generateFleetReports()));
+        break;
+      case "details":
+        send(ex, 200, stringArray(service.getVehicleSpecificDetails()));
+        break;
+      case "commercial":
+        List<String> out = new ArrayList<>();
+        for (Vehicle v : service.getVehiclesRequiringCommercialLicense()) {
+          out.add(vehicleJson(v, false));
+        }
+        send(ex, 200, Json.array(out));
+        break;
+      case "cost":
+        send(ex, 200, "{\"totalOperatingCost\":" + service.totalOperatingCost()
+            + ",\"vehicles\":" + service.fleet().vehicleCount() + "}");
+        break;
+      default:
+        throw new NotFoundException("Unknown report: " + kind);
+    }
+  }
+
+  private void handleLeaderboards(HttpExchange ex, String[] path, Map<String, String> query) throws IOException {
+    if (path.length < 2 || path.length > 3) {
+      throw new NotFoundException("Unknown leaderboard resource.");
+    }
+    RankingMetric metric = RankingMetric.parse(path[1]);
+    FleetLeaderboards boards = leaderboards();
+    if (path.length == 2) {
+      List<String> out = new ArrayList<>();
+      for (Ranked r : boards.top(metric, limit(query))) {
+        out.add("{\"rank\":" + r.rank() + ",\"score\":" + r.score()
+            + ",\"vehicle\":" + vehicleJson(r.vehicle(), false) + "}");
+      }
+      send(ex, 200, Json.array(out));
+      return;
+    }
+    Vehicle v = requireVehicle(path[2]);
+    Ranked r = boards.find(metric, v);
+    if (r == null) {
+      throw new NotFoundException("Vehicle " + v.getId() + " is not ranked.");
+    }
+    send(ex, 200, "{\"metric\":" + Json.quote(metric.key()) + ",\"vehicleId\":" + v.getId()
+        + ",\"rank\":" + r.rank() + ",\"score\":" + r.score() + ",\"of\":" + boards.size() + "}");
+  }
+
+  /** @return the leaderboards, attaching them on first use */
+  private FleetLeaderboards leaderboards() {
+    FleetLeaderboards boards = leaderboards;
+    if (boards == null) {
+      synchronized (this) {
+        boards = leaderboards;
+        if (boards == null) {
+          boards = FleetLeaderboards.attach(service.fleet());
+          leaderboards = boards;
+        }
+      }
+    }
+    return boards;
+  }
+
+  /** @return the distributions, attaching them on first use */
+  private FleetDistributions distributions() {
+    FleetDistributions d = distributions;
+    if (d == null) {
+      synchronized (this) {
+        d = distributions;
+        if (d == null) {
+          d = FleetDistributions.attach(service.fleet());
+          distributions = d;
+        }
+      }
+    }
+    return d;
+  }
+
+  // ---- JSON rendering ----
+
+  private String distributionsJson(String type) {
+    FleetDistributions d = distributions();
+    if (type != null && !d.vehicleTypes().contains(type)) {
+      throw new NotFoundException("No vehicles of type " + type + ".");
+    }
+    StringBuilder sb = new StringBuilder(512);
+    sb.append("{\"type\":").append(Json.quote(type)).append(",\"vehicles\":{");
+    for (DistributionMetric m : DistributionMetric.values()) {
+      if (m.ordinal() > 0) {
+        sb.append(',');
+      }
+      sb.append(Json.quote(m.key())).append(':').append(percentilesJson(d.percentiles(m, type)));
+    }
+    sb.append("},\"maintenance\":{");
+    for (MaintenanceType t : MaintenanceType.values()) {
+      if (t.ordinal() > 0) {
+        sb.append(',');
+      }
+      sb.append(Json.quote(t.name())).append(':').append(percentilesJson(d.maintenancePercentiles(t, type)));
+    }
+    return sb.append("}}").toString();
+  }
+
+  /** Percentiles of an empty distribution are rendered as {@code null}. */
+  private static String percentilesJson(Percentiles p) {
+    if (p.count() == 0) {
+      return "{\"count\":0,\"p50\":null,\"p90\":null,\"p99\":null}";
+    }
+    return "{\"count\":" + p.count() + ",\"p50\":" + p.p50() + ",\"p90\":" + p.p90() + ",\"p99\":" + p.p99() + "}";
+  }
+
+  private String vehicleJson(Vehicle v, boolean withHistory) {
+    StringBuilder sb = new StringBuilder(256);
+    sb.append("{\"id\":").append(v.getId())
+        .append(",\"type\":").append(Json.quote(v.getClass().getSimpleName()))
+        .append(",\"licensePlate\":").append(Json.quote(v.getLicensePlate()))
+        .append(",\"make\":").append(Json.quote(v.getMake()))
+        .append(",\"model\":").append(Json.quote(v.getModel()))
+        .append(",\"year\":").append(v.getYear())
+        .append(",\"mileage\":").append(v.getMileage())
+        .append(",\"operatingCost\":").append(v.calculateOperatingCost())
+        .append(",\"depreciation\":").append(v.calculateDepreciation());
+    Driver d = v.getDriver();
+    sb.append(",\"driver\":").append(d == null ? "null" : driverJson(d));
+    if (withHistory) {
+      List<String> records = new ArrayList<>();
+      for (MaintenanceRecord r : service.fleet().copyMaintenanceHistory(v)) {
+        records.add(recordJson(r));
+      }
+      sb.append(",\"maintenance\":").append(Json.array(records));
+    }
+    return sb.append('}').toString();
+  }
+
+  private static String pageJson(List<String> items, Page<?> page) {
+    return "{\"items\":" + Json.array(items) + ",\"next\":" + Json.quote(page.next()) + "}";
+  }
+
+  private static String driverJson(Driver d) {
+    return "{\"fullName\":" + Json.quote(d.getFullName())
+        + ",\"licenseNumber\":" + Json.quote(d.getLicenseNumber())
+        + ",\"yearsOfExperience\":" + d.getYearsOfExperience() + "}";
+  }
+
+  private static String recordJson(MaintenanceRecord r) {
+    return "{\"date\":" + Json.quote(r.getDate().toString())
+        + ",\"type\":" + Json.quote(r.getType().name())
+        + ",\"description\":" + Json.quote(r.getDescription())
+        + ",\"cost\":" + r.getCost() + "}";
+  }
+
+  private static String statsJson(OperationStats s) {
+    return "{\"operation\":" + Json.quote(s.operation().name())
+        + ",\"kind\":" + Json.quote(s.operation().kind().name())
+        + ",\"count\":" + s.count()
+        + ",\"ratePerSecond\":" + s.ratePerSecond()
+        + ",\"meanMicros\":" + s.meanMicros()
+        + ",\"p50Micros\":" + s.p50Micros()
+        + ",\"p99Micros\":" + s.p99Micros()
+        + ",\"p999Micros\":" + s.p999Micros()
+        + ",\"maxMicros\":" + s.maxMicros() + "}";
+  }
+
+  private static String stringArray(List<String> values) {
+    List<String> quoted = new ArrayList<>(values.size());
+    for (String s : values) {
+      quoted.add(Json.quote(s));
+    }
+    return Json.array(quoted);
+  }
+
+  private static String error(String message) {
+    return "{\"error\":" + Json.quote(message) + "}";
+  }
+
+  // ---- Helpers ----
+
+  private Vehicle requireVehicle(String idText) {
+    long id;
+    try {
+      id = Long.parseLong(idText);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid vehicle id: " + idText);
+    }
+    Vehicle v = service.findVehicle(id);
+    if (v == null) {
+      throw new NotFoundException("No vehicle with id " + id + ".");
+    }
+    return v;
+  }
+
+  private static String requireString(Map<String, Object> body, String field) {
+    Object value = body.get(field);
+    if (!(value instanceof String)) {
+      throw new IllegalArgumentException("Field '" + field + "' must be a string.");
+    }
+    return (String) value;
+  }
+
+  private static double requireNumber(Map<String, Object> body, String field) {
+    Object value = body.get(field);
+    if (!(value instanceof Double)) {
+      throw new IllegalArgumentException("Field '" + field + "' must be a number.");
+    }
+    return (Double) value;
+  }
+
+  private static int limit(Map<String, String> query) {
+    if (!query.containsKey("limit")) {
+      return DEFAULT_LIMIT;
+    }
+    int limit = Integer.parseInt(query.get("limit"));
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+    }
+    return limit;
+  }
+
+  /** @return the {@code cursor} parameter, {@code null} (first page) if empty or absent */
+  private static String cursor(Map<String, String> query) {
+    String cursor = query.get("cursor");
+    return cursor == null || cursor.isEmpty() ? null : cursor;
+  }
+
+  private static void requireMethod(String actual, String expected) {
+    if (!expected.equals(actual)) {
+      throw new MethodNotAllowedException(expected, "Use " + expected + " for this resource.");
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> params = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return params;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      String key = eq < 0 ? pair : pair.substring(0, eq);
+      String value = eq < 0 ? "" : pair.substring(eq + 1);
+      params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+
+  /** Reads the body, refusing more than {@link #MAX_BODY_BYTES} whatever the declared length. */
+  private static String readBody(HttpExchange ex) throws IOException {
+    String declared = ex.getRequestHeaders().getFirst("Content-Length");
+    if (declared != null) {
+      try {
+        if (Long.parseLong(declared.trim()) > MAX_BODY_BYTES) {
+          throw new PayloadTooLargeException();
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid Content-Length: " + declared);
+      }
+    }
+    try (InputStream in = ex.getRequestBody()) {
+      byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+      if (bytes.length > MAX_BODY_BYTES) {
+        throw new PayloadTooLargeException();
+      }
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static void send(HttpExchange ex, int status, String json) throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    ex.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = ex.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  /** Signals a {@code 404}. */
+  private static final class NotFoundException extends RuntimeException {
+    NotFoundException(String message) {
+      super(message);
+    }
+  }
+
+  /** Signals a {@code 405}. */
+  private static final class MethodNotAllowedException extends RuntimeException {
+    private final String allow;
+
+    MethodNotAllowedException(String allow, String message) {
+      super(message);
+      this.allow = allow;
+    }
+  }
+
+  /** Signals a {@code 413}. */
+  private static final class PayloadTooLargeException extends RuntimeException {
+    PayloadTooLargeException() {
+      super("Request body exceeds " + MAX_BODY_BYTES + " bytes.");
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package com.huerta.fleetmanagementsystem.server;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP API, so the server needs no
+ * third-party library.
+ *
+ * <p>Writing covers strings, numbers and arrays of pre-rendered values;
+ * reading covers the flat request bodies the API accepts (one object
+ * whose values are strings, numbers, booleans or {@code null}).</p>
+ */
+final class Json {
+
+  private Json() {
+  }
+
+  /**
+   * Renders a string literal, escaping as required by RFC 8259.
+   *
+   * @param s string to quote; {@code null} renders as {@code null}
+   * @return JSON literal
+   */
+  static String quote(String s) {
+    if (s == null) {
+      return "null";
+    }
+    StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  /**
+   * Renders an array from already-rendered JSON values.
+   *
+   * @param values rendered elements
+   * @return JSON array
+   */
+  static String array(Collection<String> values) {
+    return "[" + String.join(",", values) + "]";
+  }
+
+  /**
+   * Parses a flat JSON object.
+   *
+   * @param text request body
+   * @return field name to {@link String}, {@link Double}, {@link Boolean}
+   *         or {@code null}, in document order
+   * @throws IllegalArgumentException if the body is not a flat JSON object
+   */
+  static Map<String, Object> parseObject(String text) {
+    Parser p = new Parser(text);
+    Map<String, Object> result = p.object();
+    p.skipWhitespace();
+    if (!p.atEnd()) {
+      throw new IllegalArgumentException("Unexpected content after JSON object.");
+    }
+    return result;
+  }
+
+  /** Recursive-descent reader over a single string. */
+  private static final class Parser {
+    private final String s;
+    private int pos;
+
+    Parser(String s) {
+      this.s = s == null ? "" : s;
+    }
+
+    Map<String, Object> object() {
+      Map<String, Object> map = new LinkedHashMap<>();
+      expect('{');
+      skipWhitespace();
+      if (peek() == '}') {
+        pos++;
+        return map;
+      }
+      while (true) {
+        skipWhitespace();
+        String key = string();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        map.put(key, value());
+        skipWhitespace();
+        char c = next();
+        if (c == '}') {
+          return map;
+        }
+        if (c != ',') {
+          throw error("Expected ',' or '}'");
+        }
+      }
+    }
+
+    private Object value() {
+      char c = peek();
+      if (c == '"') {
+        return string();
+      }
+      if (s.startsWith("true", pos)) {
+        pos += 4;
+        return Boolean.TRUE;
+      }
+      if (s.startsWith("false", pos)) {
+        pos += 5;
+        return Boolean.FALSE;
+      }
+      if (s.startsWith("null", pos)) {
+        pos += 4;
+        return null;
+      }
+      int start = pos;
+      while (!atEnd() && "+-0123456789.eE".indexOf(peek()) >= 0) {
+        pos++;
+      }
+      if (start == pos) {
+        throw error("Only flat objects with string, number, boolean or null values are supported");
+      }
+      double number;
+      try {
+        number = Double.parseDouble(s.substring(start, pos));
+      } catch (NumberFormatException ex) {
+        throw error("Malformed number");
+      }
+      if (!Double.isFinite(number)) {
+        throw error("Number out of range");
+      }
+      return number;
+    }
+
+    private String string() {
+      expect('"');
+      StringBuilder sb = new StringBuilder();
+      while (true) {
+        char c = next();
+        if (c == '"') {
+          return sb.toString();
+        }
+        if (c != '\\') {
+          sb.append(c);
+          continue;
+        }
+        char e = next();
+        switch (e) {
+          case 'n':
+            sb.append('\n');
+            break;
+          case 'r':
+            sb.append('\r');
+            break;
+          case 't':
+            sb.append('\t');
+            break;
+          case 'b':
+            sb.append('\b');
+            break;
+          case 'f':
+            sb.append('\f');
+            break;
+          case 'u':
+            if (pos + 4 > s.length()) {
+              throw error("Truncated unicode escape");
+            }
+            sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+            pos += 4;
+            break;
+          default:
+            sb.append(e); // \" \\ \/
+        }
+      }
+    }
+
+    void skipWhitespace() {
+      while (!atEnd() && Character.isWhitespace(s.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    boolean atEnd() {
+      return pos >= s.length();
+    }
+
+    private char peek() {
+      if (atEnd()) {
+        throw error("Unexpected end of JSON");
+      }
+      return s.charAt(pos);
+    }
+
+    private char next() {
+      char c = peek();
+      pos++;
+      return c;
+    }
+
+    private void expect(char c) {
+      if (next() != c) {
+        throw error("Expected '" + c + "'");
+      }
+    }
+
+    private IllegalArgumentException error(String message) {
+      return new IllegalArgumentException(message + " at position " + pos + ".");
+    }
+  }
+}
@@ -0,0 +1,425 @@
+package com.huerta.fleetmanagementsystem.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPlan;
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPolicy;
+import com.huerta.fleetmanagementsystem.model.fleet.BatchResult;
+import com.huerta.fleetmanagementsystem.model.fleet.DriverAssignment;
+import com.huerta.fleetmanagementsystem.model.fleet.MaintenanceEntry;
+import com.huerta.fleetmanagementsystem.model.fleet.Page;
+import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
+import com.huerta.fleetmanagementsystem.model.person.Driver;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.scheduling.MaintenanceDue;
+
+/**
+ * Non-blocking façade over a {@link FleetService}: every operation runs on
+ * an executor and returns a {@link CompletableFuture}.
+ *
+ * <p><b>OOP concept – Composition:</b> the async service <em>has a</em>
+ * synchronous {@link FleetService} and delegates every call to it, so
+ * validation, locking and metrics stay in one place. Failures complete the
+ * future exceptionally with the exception the synchronous call throws.</p>
+ *
+ * <p>Calls are independent tasks, so reads submitted together run in
+ * parallel and can be combined without blocking the caller:</p>
+ *
+ * <pre>
+ * async.totalOperatingCost()
+ *     .thenCombine(async.getVehiclesRequiringCommercialLicense(), (cost, heavy) -&gt; ...)
+ * </pre>
+ *
+ * <p>By default each call runs on its own virtual thread. Heavy calls —
+ * fleet reports and vehicle details (listed or written), the
+ * commercial-licence report, cost totals and automatic assignment — walk the whole fleet; at most
+ * {@code maxHeavyCalls} of them run at once and the rest wait in a queue
+ * without holding a thread, so a burst of reports cannot crowd out
+ * lookups.</p>
+ *
+ * <p>Mutations submitted concurrently are applied in no particular order;
+ * chain them ({@code thenCompose}) when order matters.</p>
+ */
+public class AsyncFleetService implements AutoCloseable {
+
+  private final FleetService service;
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final HeavyCallGate heavy;
+
+  /**
+   * Creates an async service running each call on a new virtual thread,
+   * with as many concurrent heavy calls as there are processors.
+   *
+   * @param service synchronous service to delegate to
+   */
+  public AsyncFleetService(FleetService service) {
+    this(service, Executors.newVirtualThreadPerTaskExecutor(), Runtime.getRuntime().availableProcessors(), true);
+  }
+
+  /**
+   * Creates an async service on a caller-supplied executor, which the
+   * caller keeps ownership of.
+   *
+   * @param service       synchronous service to delegate to
+   * @param executor      executor running every call
+   * @param maxHeavyCalls maximum heavy calls in flight (≥ 1)
+   * @throws IllegalArgumentException if an argument is invalid
+   */
+  public AsyncFleetService(FleetService service, Executor executor, int maxHeavyCalls) {
+    this(service, executor, maxHeavyCalls, false);
+  }
+
+  private AsyncFleetService(FleetService service, Executor executor, int maxHeavyCalls, boolean owned) {
+    if (service == null || executor == null) {
+      throw new IllegalArgumentException("Service and executor are required.");
+    }
+    if (maxHeavyCalls < 1) {
+      throw new IllegalArgumentException("At least one heavy call must be allowed.");
+    }
+    this.service = service;
+    this.executor = executor;
+    this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    this.heavy = new HeavyCallGate(maxHeavyCalls);
+  }
+
+  /** @return the synchronous service calls are delegated to */
+  public FleetService sync() {
+    return service;
+  }
+
+  /** @return number of heavy calls currently running */
+  public int heavyCallsRunning() {
+    return heavy.running();
+  }
+
+  /** @return number of heavy calls waiting for a free slot */
+  public int heavyCallsQueued() {
+    return heavy.queued();
+  }
+
+  /** @return see {@link FleetService#vehicles()} */
+  public CompletableFuture<List<Vehicle>> vehicles() {
+    return call(service::vehicles);
+  }
+
+  /** @return see {@link FleetService#drivers()} */
+  public CompletableFuture<List<Driver>> drivers() {
+    return call(service::drivers);
+  }
+
+  /**
+   * @param id vehicle identifier
+   * @return see {@link FleetService#findVehicle(long)}
+   */
+  public CompletableFuture<Vehicle> findVehicle(long id) {
+    return call(() -> service.findVehicle(id));
+  }
+
+  /**
+   * @param licenseNumber licence identifier
+   * @return see {@link FleetService#findDriver(String)}
+   */
+  public CompletableFuture<Driver> findDriver(String licenseNumber) {
+    return call(() -> service.findDriver(licenseNumber));
+  }
+
+  /**
+   * @param filter condition to satisfy; {@code null} matches all
+   * @param limit  maximum number of results
+   * @return see {@link FleetService#findVehicles(Predicate, int)}
+   */
+  public CompletableFuture<List<Vehicle>> findVehicles(Predicate<? super Vehicle> filter, int limit) {
+    return call(() -> service.findVehicles(filter, limit));
+  }
+
+  /**
+   * @param prefix text typed so far
+   * @param limit  maximum number of matches
+   * @return see {@link FleetService#searchVehicles(String, int)}
+   */
+  public CompletableFuture<List<Vehicle>> searchVehicles(String prefix, int limit) {
+    return call(() -> service.searchVehicles(prefix, limit));
+  }
+
+  /**
+   * @param prefix text typed so far
+   * @param limit  maximum number of matches
+   * @return see {@link FleetService#searchDrivers(String, int)}
+   */
+  public CompletableFuture<List<Driver>> searchDrivers(String prefix, int limit) {
+    return call(() -> service.searchDrivers(prefix, limit));
+  }
+
+  /**
+   * @param after cursor of the previous page, or {@code null} for the first
+   * @param limit maximum number of vehicles
+   * @return see {@link FleetService#vehiclePage(String, int)}
+   */
+  public CompletableFuture<Page<Vehicle>> vehiclePage(String after, int limit) {
+    return call(() -> service.vehiclePage(after, limit));
+  }
+
+  /**
+   * @param v     the vehicle
+   * @param after cursor of the previous page, or {@code null} for the first
+   * @param limit maximum number of records
+   * @return see {@link FleetService#maintenancePage(Vehicle, String, int)}
+   */
+  public CompletableFuture<Page<MaintenanceRecord>> maintenancePage(Vehicle v, String after, int limit) {
+    return call(() -> service.maintenancePage(v, after, limit));
+  }
+
+  /**
+   * @param v vehicle to add
+   * @return completes when added; see {@link FleetService#addVehicle(Vehicle)}
+   */
+  public CompletableFuture<Void> addVehicle(Vehicle v) {
+    return run(() -> service.addVehicle(v));
+  }
+
+  /**
+   * @param d driver to add
+   * @return completes when added; see {@link FleetService#addDriver(Driver)}
+   */
+  public CompletableFuture<Void> addDriver(Driver d) {
+    return run(() -> service.addDriver(d));
+  }
+
+  /**
+   * @param v the target vehicle
+   * @param d the driver to assign
+   * @return completes when assigned; see {@link FleetService#assignDriver(Vehicle, Driver)}
+   */
+  public CompletableFuture<Void> assignDriver(Vehicle v, Driver d) {
+    return run(() -> service.assignDriver(v, d));
+  }
+
+  /**
+   * @param v the vehicle
+   * @return completes when released; see {@link FleetService#releaseDriver(Vehicle)}
+   */
+  public CompletableFuture<Void> releaseDriver(Vehicle v) {
+    return run(() -> service.releaseDriver(v));
+  }
+
+  /**
+   * @param v the vehicle
+   * @param r the maintenance record
+   * @return completes when registered; see {@link FleetService#addMaintenance(Vehicle, MaintenanceRecord)}
+   */
+  public CompletableFuture<Void> addMaintenance(Vehicle v, MaintenanceRecord r) {
+    return run(() -> service.addMaintenance(v, r));
+  }
+
+  /**
+   * @param vs vehicles to add
+   * @return see {@link FleetService#addVehicles(Collection)}
+   */
+  public CompletableFuture<List<BatchResult<Vehicle>>> addVehicles(Collection<? extends Vehicle> vs) {
+    return call(() -> service.addVehicles(vs));
+  }
+
+  /**
+   * @param ds drivers to add
+   * @return see {@link FleetService#addDrivers(Collection)}
+   */
+  public CompletableFuture<List<BatchResult<Driver>>> addDrivers(Collection<? extends Driver> ds) {
+    return call(() -> service.addDrivers(ds));
+  }
+
+  /**
+   * @param entries vehicle/record pairs
+   * @return see {@link FleetService#addMaintenanceBatch(Collection)}
+   */
+  public CompletableFuture<List<BatchResult<MaintenanceEntry>>> addMaintenanceBatch(
+      Collection<MaintenanceEntry> entries) {
+    return call(() -> service.addMaintenanceBatch(entries));
+  }
+
+  /**
+   * @param assignments vehicle/driver pairs
+   * @return see {@link FleetService#assignDrivers(Collection)}
+   */
+  public CompletableFuture<List<BatchResult<DriverAssignment>>> assignDrivers(
+      Collection<DriverAssignment> assignments) {
+    return call(() -> service.assignDrivers(assignments));
+  }
+
+  /** @return see {@link FleetService#autoAssignDrivers()}; a heavy call */
+  public CompletableFuture<AssignmentPlan> autoAssignDrivers() {
+    return callHeavy(service::autoAssignDrivers);
+  }
+
+  /**
+   * @param policy eligibility and scoring rules
+   * @return see {@link FleetService#autoAssignDrivers(AssignmentPolicy)}; a heavy call
+   */
+  public CompletableFuture<AssignmentPlan> autoAssignDrivers(AssignmentPolicy policy) {
+    return callHeavy(() -> service.autoAssignDrivers(policy));
+  }
+
+  /**
+   * @param days look-ahead in days
+   * @return see {@link FleetService#vehiclesDueForMaintenance(int)}
+   */
+  public CompletableFuture<List<MaintenanceDue>> vehiclesDueForMaintenance(int days) {
+    return call(() -> service.vehiclesDueForMaintenance(days));
+  }
+
+  /** @return see {@link FleetService#generateFleetReports()}; a heavy call */
+  public CompletableFuture<List<String>> generateFleetReports() {
+    return callHeavy(service::generateFleetReports);
+  }
+
+  /** @return see {@link FleetService#getVehicleSpecificDetails()}; a heavy call */
+  public CompletableFuture<List<String>> getVehicleSpecificDetails() {
+    return callHeavy(service::getVehicleSpecificDetails);
+  }
+
+  /**
+   * @param out receives one report line per vehicle; written from the
+   *            executor's thread
+   * @return see {@link FleetService#writeFleetReports(Appendable)}; a heavy
+   *         call, failing with the {@link IOException} if {@code out} fails
+   */
+  public CompletableFuture<Integer> writeFleetReports(Appendable out) {
+    return callHeavy(() -> service.writeFleetReports(out));
+  }
+
+  /**
+   * @param out receives one detail line per vehicle; written from the
+   *            executor's thread
+   * @return see {@link FleetService#writeVehicleSpecificDetails(Appendable)};
+   *         a heavy call, failing with the {@link IOException} if
+   *         {@code out} fails
+   */
+  public CompletableFuture<Integer> writeVehicleSpecificDetails(Appendable out) {
+    return callHeavy(() -> service.writeVehicleSpecificDetails(out));
+  }
+
+  /** @return see {@link FleetService#getVehiclesRequiringCommercialLicense()}; a heavy call */
+  public CompletableFuture<List<Vehicle>> getVehiclesRequiringCommercialLicense() {
+    return callHeavy(service::getVehiclesRequiringCommercialLicense);
+  }
+
+  /** @return see {@link FleetService#totalOperatingCost()}; a heavy call */
+  public CompletableFuture<Double> totalOperatingCost() {
+    return callHeavy(service::totalOperatingCost);
+  }
+
+  /**
+   * Shuts down the default virtual-thread executor after the calls already
+   * submitted; a caller-supplied executor is left running.
+   */
+  @Override
+  public void close() {
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  private <T> CompletableFuture<T> call(Supplier<T> operation) {
+    return CompletableFuture.supplyAsync(operation, executor);
+  }
+
+  private CompletableFuture<Void> run(Runnable operation) {
+    return CompletableFuture.runAsync(operation, executor);
+  }
+
+  /** Runs a heavy call; a checked exception such as an {@link IOException} fails the future as is. */
+  private <T> CompletableFuture<T> callHeavy(Callable<T> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    heavy.submit(new HeavyCall(() -> {
+      try {
+        result.complete(operation.call());
+      } catch (Exception | Error e) {
+        result.completeExceptionally(e);
+      } finally {
+        heavy.finished();
+      }
+    }, result));
+    return result;
+  }
+
+  /** A heavy call's task and the future to fail if the executor rejects it. */
+  private record HeavyCall(Runnable task, CompletableFuture<?> result) {
+  }
+
+  /**
+   * Admits at most a fixed number of heavy calls to the executor at once;
+   * the others wait in a FIFO queue and are handed to the executor as
+   * running ones finish. Waiting calls hold no thread.
+   */
+  private final class HeavyCallGate {
+
+    private final int limit;
+    private final Queue<HeavyCall> waiting = new ArrayDeque<>();
+    private int running;
+
+    HeavyCallGate(int limit) {
+      this.limit = limit;
+    }
+
+    void submit(HeavyCall call) {
+      synchronized (this) {
+        if (running == limit) {
+          waiting.add(call);
+          return;
+        }
+        running++;
+      }
+      start(call);
+    }
+
+    /** Frees the caller's slot, passing it straight on to the next waiting call. */
+    void finished() {
+      HeavyCall next;
+      synchronized (this) {
+        next = waiting.poll();
+        if (next == null) {
+          running--;
+          return;
+        }
+      }
+      start(next);
+    }
+
+    synchronized int running() {
+      return running;
+    }
+
+    synchronized int queued() {
+      return waiting.size();
+    }
+
+    /** Hands calls to the executor; a rejected one fails its future and frees its slot. */
+    private void start(HeavyCall call) {
+      while (call != null) {
+        try {
+          executor.execute(call.task());
+          return;
+        } catch (RuntimeException e) {
+          call.result().completeExceptionally(e);
+        }
+        synchronized (this) {
+          call = waiting.poll();
+          if (call == null) {
+            running--;
+          }
+        }
+      }
+    }
+  }
+}
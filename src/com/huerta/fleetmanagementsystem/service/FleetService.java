@@ -1,11 +1,30 @@
 package com.huerta.fleetmanagementsystem.service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPlan;
+import com.huerta.fleetmanagementsystem.assignment.AssignmentPolicy;
+import com.huerta.fleetmanagementsystem.assignment.AssignmentSolver;
+import com.huerta.fleetmanagementsystem.assignment.VehicleCategory;
+import com.huerta.fleetmanagementsystem.index.FleetSearchIndex;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.metrics.FleetMetrics;
+import com.huerta.fleetmanagementsystem.metrics.ServiceOperation;
+import com.huerta.fleetmanagementsystem.model.fleet.BatchResult;
+import com.huerta.fleetmanagementsystem.model.fleet.DriverAssignment;
 import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.fleet.MaintenanceEntry;
+import com.huerta.fleetmanagementsystem.model.fleet.Page;
 import com.huerta.fleetmanagementsystem.model.maintenance.MaintenanceRecord;
 import com.huerta.fleetmanagementsystem.model.person.Driver;
 import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+import com.huerta.fleetmanagementsystem.scheduling.MaintenanceDue;
+import com.huerta.fleetmanagementsystem.scheduling.MaintenanceScheduler;
 
 /**
  * Service façade that mediates between the GUI layer and the
@@ -19,9 +38,27 @@ import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
  * reference to a {@link Fleet} but does not create it; the fleet can
  * outlive the service (weak "has-a").</p>
  *
- * @param fleet the {@link Fleet} managed by this service
+ * <p><b>Instrumentation:</b> every operation is timed into
+ * {@link #metrics()}, one histogram per {@link ServiceOperation}; see
+ * {@link FleetMetrics#snapshot()}.</p>
+ *
+ * @param fleet       the {@link Fleet} managed by this service
+ * @param searchIndex type-ahead index over the fleet's vehicles and drivers
+ * @param metrics     latency and throughput timers of this service's operations
+ * @param scheduler   preventive-maintenance due dates of the fleet's vehicles
  */
-public record FleetService(Fleet fleet) {
+public record FleetService(Fleet fleet, FleetSearchIndex searchIndex, FleetMetrics metrics,
+    MaintenanceScheduler scheduler) {
+
+  /**
+   * Creates a service over {@code fleet} with its own (lazily built)
+   * search index and maintenance scheduler, and enabled metrics.
+   *
+   * @param fleet the {@link Fleet} managed by this service
+   */
+  public FleetService(Fleet fleet) {
+    this(fleet, new FleetSearchIndex(fleet), new FleetMetrics(), new MaintenanceScheduler(fleet));
+  }
 
   /**
    * Returns the read-only list of vehicles in the fleet.
@@ -41,14 +78,137 @@ public record FleetService(Fleet fleet) {
     return fleet.getDrivers();
   }
 
+  /**
+   * Looks up a vehicle by identifier.
+   *
+   * @param id vehicle identifier
+   * @return the vehicle, or {@code null} if none has that id
+   */
+  public Vehicle findVehicle(long id) {
+    long t = metrics.start();
+    try {
+      return fleet.findVehicle(id);
+    } finally {
+      metrics.stop(ServiceOperation.FIND_VEHICLE, t);
+    }
+  }
+
+  /**
+   * Looks up a driver by licence number.
+   *
+   * @param licenseNumber licence identifier
+   * @return the driver, or {@code null} if none has that licence
+   */
+  public Driver findDriver(String licenseNumber) {
+    long t = metrics.start();
+    try {
+      return fleet.findDriver(licenseNumber);
+    } finally {
+      metrics.stop(ServiceOperation.FIND_DRIVER, t);
+    }
+  }
+
+  /**
+   * Returns the vehicles matching a filter (thread-safe copy).
+   *
+   * @param filter condition to satisfy; {@code null} matches all
+   * @param limit  maximum number of results
+   * @return matching vehicles
+   */
+  public List<Vehicle> findVehicles(Predicate<? super Vehicle> filter, int limit) {
+    long t = metrics.start();
+    try {
+      return fleet.findVehicles(filter, limit);
+    } finally {
+      metrics.stop(ServiceOperation.FIND_VEHICLES, t);
+    }
+  }
+
+  /**
+   * Type-ahead search over licence plate, make and model.
+   *
+   * @param prefix text typed so far (case-insensitive)
+   * @param limit  maximum number of matches
+   * @return up to {@code limit} matching vehicles
+   */
+  public List<Vehicle> searchVehicles(String prefix, int limit) {
+    long t = metrics.start();
+    try {
+      return searchIndex.searchVehicles(prefix, limit);
+    } finally {
+      metrics.stop(ServiceOperation.SEARCH_VEHICLES, t);
+    }
+  }
+
+  /**
+   * Type-ahead search over driver name and licence number.
+   *
+   * @param prefix text typed so far (case-insensitive)
+   * @param limit  maximum number of matches
+   * @return up to {@code limit} matching drivers
+   */
+  public List<Driver> searchDrivers(String prefix, int limit) {
+    long t = metrics.start();
+    try {
+      return searchIndex.searchDrivers(prefix, limit);
+    } finally {
+      metrics.stop(ServiceOperation.SEARCH_DRIVERS, t);
+    }
+  }
+
+  /**
+   * Returns one page of the vehicles in id order; see
+   * {@link Fleet#vehiclePage(String, int)}.
+   *
+   * @param after cursor of the previous page, or {@code null} for the first
+   * @param limit maximum number of vehicles
+   * @return the page
+   */
+  public Page<Vehicle> vehiclePage(String after, int limit) {
+    long t = metrics.start();
+    try {
+      return fleet.vehiclePage(after, limit);
+    } finally {
+      metrics.stop(ServiceOperation.VEHICLE_PAGE, t);
+    }
+  }
+
+  /**
+   * Returns one page of a vehicle's maintenance history in date order;
+   * see {@link Fleet#maintenancePage(Vehicle, String, int)}.
+   *
+   * @param v     the vehicle
+   * @param after cursor of the previous page, or {@code null} for the first
+   * @param limit maximum number of records
+   * @return the page
+   */
+  public Page<MaintenanceRecord> maintenancePage(Vehicle v, String after, int limit) {
+    long t = metrics.start();
+    try {
+      return fleet.maintenancePage(v, after, limit);
+    } finally {
+      metrics.stop(ServiceOperation.MAINTENANCE_PAGE, t);
+    }
+  }
+
   /** @param v vehicle to add to the fleet */
   public void addVehicle(Vehicle v) {
-    fleet.addVehicle(v);
+    long t = metrics.start();
+    try {
+      fleet.addVehicle(v);
+    } finally {
+      metrics.stop(ServiceOperation.ADD_VEHICLE, t);
+    }
   }
 
   /** @param d driver to add to the fleet */
   public void addDriver(Driver d) {
-    fleet.addDriver(d);
+    long t = metrics.start();
+    try {
+      fleet.addDriver(d);
+    } finally {
+      metrics.stop(ServiceOperation.ADD_DRIVER, t);
+    }
   }
 
   /**
@@ -58,7 +218,26 @@ public record FleetService(Fleet fleet) {
    * @param d the driver to assign
    */
   public void assignDriver(Vehicle v, Driver d) {
-    v.assignDriver(d);
+    long t = metrics.start();
+    try {
+      fleet.assignDriver(v, d);
+    } finally {
+      metrics.stop(ServiceOperation.ASSIGN_DRIVER, t);
+    }
+  }
+
+  /**
+   * Releases the driver currently assigned to a vehicle, if any.
+   *
+   * @param v the vehicle
+   */
+  public void releaseDriver(Vehicle v) {
+    long t = metrics.start();
+    try {
+      fleet.releaseDriver(v);
+    } finally {
+      metrics.stop(ServiceOperation.RELEASE_DRIVER, t);
+    }
   }
 
   /**
@@ -68,22 +247,225 @@ public record FleetService(Fleet fleet) {
    * @param r the maintenance record
    */
   public void addMaintenance(Vehicle v, MaintenanceRecord r) {
-    v.registerMaintenance(r);
+    long t = metrics.start();
+    try {
+      fleet.registerMaintenance(v, r);
+    } finally {
+      metrics.stop(ServiceOperation.ADD_MAINTENANCE, t);
+    }
+  }
+
+  // ---- Batch variants ----
+
+  /**
+   * Adds many vehicles at once; see {@link Fleet#addVehicles(Collection)}.
+   *
+   * @param vs vehicles to add
+   * @return per-vehicle results, in submission order
+   */
+  public List<BatchResult<Vehicle>> addVehicles(Collection<? extends Vehicle> vs) {
+    long t = metrics.start();
+    try {
+      return fleet.addVehicles(vs);
+    } finally {
+      metrics.stop(ServiceOperation.ADD_VEHICLES, t);
+    }
+  }
+
+  /**
+   * Adds many drivers at once; see {@link Fleet#addDrivers(Collection)}.
+   *
+   * @param ds drivers to add
+   * @return per-driver results, in submission order
+   */
+  public List<BatchResult<Driver>> addDrivers(Collection<? extends Driver> ds) {
+    long t = metrics.start();
+    try {
+      return fleet.addDrivers(ds);
+    } finally {
+      metrics.stop(ServiceOperation.ADD_DRIVERS, t);
+    }
+  }
+
+  /**
+   * Registers many maintenance records at once; see
+   * {@link Fleet#registerMaintenanceBatch(Collection)}.
+   *
+   * @param entries vehicle/record pairs
+   * @return per-entry results, in submission order
+   */
+  public List<BatchResult<MaintenanceEntry>> addMaintenanceBatch(Collection<MaintenanceEntry> entries) {
+    long t = metrics.start();
+    try {
+      return fleet.registerMaintenanceBatch(entries);
+    } finally {
+      metrics.stop(ServiceOperation.ADD_MAINTENANCE_BATCH, t);
+    }
+  }
+
+  /**
+   * Performs many driver assignments at once; see
+   * {@link Fleet#assignDrivers(Collection)}.
+   *
+   * @param assignments vehicle/driver pairs
+   * @return per-assignment results, in submission order
+   */
+  public List<BatchResult<DriverAssignment>> assignDrivers(Collection<DriverAssignment> assignments) {
+    long t = metrics.start();
+    try {
+      return fleet.assignDrivers(assignments);
+    } finally {
+      metrics.stop(ServiceOperation.ASSIGN_DRIVERS, t);
+    }
+  }
+
+  /**
+   * Assigns idle drivers to unassigned vehicles using the optimal plan
+   * under {@link AssignmentPolicy#DEFAULT}.
+   *
+   * @return the applied plan
+   * @see #autoAssignDrivers(AssignmentPolicy)
+   */
+  public AssignmentPlan autoAssignDrivers() {
+    return autoAssignDrivers(AssignmentPolicy.DEFAULT);
+  }
+
+  /**
+   * Plans the optimal assignment of idle drivers to unassigned vehicles
+   * on a fleet snapshot and applies it as one batch.
+   *
+   * <p>Pairs that went stale between planning and applying — the vehicle
+   * or driver left the fleet, the vehicle got a driver or the driver a
+   * vehicle — are rejected by {@link Fleet#assignIdleDrivers} and left out
+   * of the returned plan.</p>
+   *
+   * @param policy eligibility and scoring rules
+   * @return the applied plan
+   */
+  public AssignmentPlan autoAssignDrivers(AssignmentPolicy policy) {
+    long t = metrics.start();
+    try {
+      AssignmentPlan plan = new AssignmentSolver(policy).plan(fleet.snapshot());
+      List<DriverAssignment> applied = new ArrayList<>(plan.assignedCount());
+      long score = 0;
+      for (BatchResult<DriverAssignment> r : fleet.assignIdleDrivers(plan.assignments())) {
+        if (r.isApplied()) {
+          applied.add(r.item());
+          score += policy.score(VehicleCategory.of(r.item().vehicle()), r.item().driver().getYearsOfExperience());
+        }
+      }
+      int dropped = plan.assignedCount() - applied.size();
+      return new AssignmentPlan(applied, score, plan.unmatchedVehicles() + dropped, plan.idleDrivers() + dropped);
+    } finally {
+      metrics.stop(ServiceOperation.AUTO_ASSIGN_DRIVERS, t);
+    }
+  }
+
+  /**
+   * Returns the vehicles due for preventive maintenance; see
+   * {@link MaintenanceScheduler#dueWithin(int)}.
+   *
+   * @param days look-ahead in days
+   * @return due vehicles, earliest first
+   */
+  public List<MaintenanceDue> vehiclesDueForMaintenance(int days) {
+    long t = metrics.start();
+    try {
+      return scheduler.dueWithin(days);
+    } finally {
+      metrics.stop(ServiceOperation.MAINTENANCE_DUE, t);
+    }
+  }
+
+  /**
+   * Subscribes a listener to the fleet's change events.
+   *
+   * @param listener listener receiving batches of
+   *                 {@link com.huerta.fleetmanagementsystem.event.FleetEvent}s
+   */
+  public void subscribe(FleetChangeListener listener) {
+    fleet.subscribe(listener);
+  }
+
+  /**
+   * Subscribes a listener and hands it the members it must start from.
+   *
+   * @param listener    listener receiving every event after the snapshot
+   * @param initializer receives the vehicles and drivers at subscription time
+   * @see Fleet#subscribeWithSnapshot(FleetChangeListener, BiConsumer)
+   */
+  public void subscribeWithSnapshot(FleetChangeListener listener,
+      BiConsumer<List<Vehicle>, List<Driver>> initializer) {
+    fleet.subscribeWithSnapshot(listener, initializer);
+  }
+
+  /** @param listener listener to unsubscribe from the fleet's change events */
+  public void unsubscribe(FleetChangeListener listener) {
+    fleet.unsubscribe(listener);
   }
 
   /** Delegates to {@link Fleet#generateFleetReports()} (<b>polymorphism</b>). */
   public List<String> generateFleetReports() {
-    return fleet.generateFleetReports();
+    long t = metrics.start();
+    try {
+      return fleet.generateFleetReports();
+    } finally {
+      metrics.stop(ServiceOperation.FLEET_REPORTS, t);
+    }
   }
 
   /** Delegates to {@link Fleet#getVehicleSpecificDetails()} (<b>downcasting</b>). */
   public List<String> getVehicleSpecificDetails() {
-    return fleet.getVehicleSpecificDetails();
+    long t = metrics.start();
+    try {
+      return fleet.getVehicleSpecificDetails();
+    } finally {
+      metrics.stop(ServiceOperation.VEHICLE_DETAILS, t);
+    }
+  }
+
+  /**
+   * Delegates to {@link Fleet#writeFleetReports(Appendable)}; timed as
+   * {@link ServiceOperation#FLEET_REPORTS}.
+   *
+   * @param out receives one report line per vehicle
+   * @return number of reports written
+   * @throws IOException if {@code out} fails
+   */
+  public int writeFleetReports(Appendable out) throws IOException {
+    long t = metrics.start();
+    try {
+      return fleet.writeFleetReports(out);
+    } finally {
+      metrics.stop(ServiceOperation.FLEET_REPORTS, t);
+    }
+  }
+
+  /**
+   * Delegates to {@link Fleet#writeVehicleSpecificDetails(Appendable)};
+   * timed as {@link ServiceOperation#VEHICLE_DETAILS}.
+   *
+   * @param out receives one detail line per vehicle
+   * @return number of lines written
+   * @throws IOException if {@code out} fails
+   */
+  public int writeVehicleSpecificDetails(Appendable out) throws IOException {
+    long t = metrics.start();
+    try {
+      return fleet.writeVehicleSpecificDetails(out);
+    } finally {
+      metrics.stop(ServiceOperation.VEHICLE_DETAILS, t);
+    }
   }
 
   /** Delegates to {@link Fleet#getVehiclesRequiringCommercialLicense()} (<b>downcasting</b>). */
   public List<Vehicle> getVehiclesRequiringCommercialLicense() {
-    return fleet.getVehiclesRequiringCommercialLicense();
+    long t = metrics.start();
+    try {
+      return fleet.getVehiclesRequiringCommercialLicense();
+    } finally {
+      metrics.stop(ServiceOperation.COMMERCIAL_LICENSE_REPORT, t);
+    }
   }
 
   /**
@@ -95,10 +477,11 @@ public record FleetService(Fleet fleet) {
    * @return sum of all vehicle operating costs
    */
   public double totalOperatingCost() {
-    double total = 0.0;
-    for (Vehicle v : vehicles()) {
-      total += v.calculateOperatingCost(); // polymorphism
+    long t = metrics.start();
+    try {
+      return fleet.calculateTotalOperatingCost(); // polymorphism
+    } finally {
+      metrics.stop(ServiceOperation.TOTAL_OPERATING_COST, t);
     }
-    return total;
   }
 }
@@ -0,0 +1,146 @@
+package com.huerta.fleetmanagementsystem.telemetry;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.huerta.fleetmanagementsystem.event.FleetEvent;
+import com.huerta.fleetmanagementsystem.interfaces.FleetChangeListener;
+import com.huerta.fleetmanagementsystem.model.cost.CostModel;
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Fleet-wide operating cost kept current from {@link FleetEvent}s.
+ *
+ * <p>{@link Fleet#calculateTotalOperatingCost()} walks every vehicle; with
+ * telemetry moving mileages many times per second that is too slow to
+ * call on each change. This aggregate remembers the last cost of every
+ * vehicle and, when a vehicle is added, updated or removed, recomputes
+ * only that vehicle and applies the difference to the total
+ * (compensated summation keeps the running total from drifting).</p>
+ *
+ * <p>The initial vehicles are priced inside the subscription, under the
+ * fleet's write lock, so every later event applies to them in commit
+ * order; a vehicle removed right after subscribing is never re-added.
+ * Recomputing a vehicle twice, or removing one that was never seen,
+ * leaves the total unchanged.</p>
+ *
+ * <p>When a new {@link CostModel} is installed every remembered cost is
+ * stale; an install listener reprices the vehicles already known on the
+ * installing thread, without going back to the fleet.</p>
+ *
+ * <p>Updates are serialized on this object. {@link #total()} and
+ * {@link #recomputations()} read volatile copies published after each
+ * update, so readers such as JMX clients never wait for event handling
+ * or trigger a reprice.</p>
+ */
+public class CostAggregate implements FleetChangeListener {
+
+  private final Fleet fleet;
+  private final Map<Vehicle, Double> costs = new IdentityHashMap<>();
+  private final Runnable reprice = this::repriceAll;
+
+  private double total;
+  private double compensation;
+
+  /** {@link #total} as of the last completed update. */
+  private volatile double published;
+  private volatile long recomputations;
+
+  private CostAggregate(Fleet fleet) {
+    this.fleet = fleet;
+  }
+
+  /**
+   * Creates an aggregate over {@code fleet} and subscribes it.
+   *
+   * @param fleet the fleet to follow
+   * @return the attached aggregate
+   */
+  public static CostAggregate attach(Fleet fleet) {
+    CostAggregate aggregate = new CostAggregate(fleet);
+    CostModel.addInstallListener(aggregate.reprice);
+    fleet.subscribeWithSnapshot(aggregate, (vehicles, drivers) -> vehicles.forEach(aggregate::recompute));
+    return aggregate;
+  }
+
+  /** Unsubscribes from the fleet; the last totals remain readable. */
+  public void detach() {
+    fleet.unsubscribe(this);
+    CostModel.removeInstallListener(reprice);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void fleetChanged(List<FleetEvent> events) {
+    for (FleetEvent e : events) {
+      switch (e.type()) {
+        case VEHICLE_ADDED:
+        case VEHICLE_UPDATED:
+          recompute(e.vehicle());
+          break;
+        case VEHICLE_REMOVED:
+          remove(e.vehicle());
+          break;
+        default:
+          break; // drivers and maintenance do not affect operating cost
+      }
+    }
+  }
+
+  /** @return total operating cost of the fleet as of the last update */
+  public double total() {
+    return published;
+  }
+
+  /** @return number of vehicles contributing to the total */
+  public synchronized int vehicleCount() {
+    return costs.size();
+  }
+
+  /** @return number of single-vehicle recomputations performed so far */
+  public long recomputations() {
+    return recomputations;
+  }
+
+  private synchronized void recompute(Vehicle v) {
+    double cost = v.calculateOperatingCost();
+    Double previous = costs.put(v, cost);
+    add(previous == null ? cost : cost - previous);
+    published = total;
+    recomputations++;
+  }
+
+  private synchronized void remove(Vehicle v) {
+    Double previous = costs.remove(v);
+    if (previous != null) {
+      add(-previous);
+      published = total;
+    }
+  }
+
+  /**
+   * Recomputes every known vehicle under the current model; readers keep
+   * seeing the previous total until the new one is complete.
+   */
+  private synchronized void repriceAll() {
+    total = 0;
+    compensation = 0;
+    for (Map.Entry<Vehicle, Double> e : costs.entrySet()) {
+      double cost = e.getKey().calculateOperatingCost();
+      e.setValue(cost);
+      add(cost);
+    }
+    published = total;
+    recomputations += costs.size();
+  }
+
+  /** Kahan-compensated {@code total += delta}. */
+  private void add(double delta) {
+    double y = delta - compensation;
+    double t = total + y;
+    compensation = (t - total) - y;
+    total = t;
+  }
+}
@@ -0,0 +1,28 @@
+package com.huerta.fleetmanagementsystem.telemetry;
+
+/**
+ * Point-in-time counters of a {@link TelemetryIngestor}.
+ *
+ * @param accepted       readings stored in the ring buffer
+ * @param rejectedFull   readings refused because the buffer was full
+ * @param applied        readings that advanced a vehicle's mileage
+ * @param duplicates     readings equal to the vehicle's current mileage
+ * @param nonMonotonic   readings lower than the current mileage
+ * @param invalid        readings that are not a finite number
+ * @param unknownVehicle readings for ids not in the fleet
+ * @param batches        batches processed by the consumer
+ * @param vehicleUpdates mileage writes after coalescing per vehicle and batch
+ * @param backlog        readings waiting in the buffer
+ * @param meanLagMicros  mean enqueue-to-apply latency
+ * @param maxLagMicros   maximum enqueue-to-apply latency since start
+ * @param lastLagMicros  maximum enqueue-to-apply latency of the last batch
+ */
+public record IngestStats(long accepted, long rejectedFull, long applied, long duplicates,
+    long nonMonotonic, long invalid, long unknownVehicle, long batches, long vehicleUpdates, long backlog,
+    double meanLagMicros, long maxLagMicros, long lastLagMicros) {
+
+  /** @return readings drained from the buffer so far */
+  public long processed() {
+    return applied + duplicates + nonMonotonic + invalid + unknownVehicle;
+  }
+}
@@ -0,0 +1,120 @@
+package com.huerta.fleetmanagementsystem.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free, multi-producer / single-consumer ring buffer of
+ * odometer readings.
+ *
+ * <p>Readings are stored column-wise in primitive arrays (vehicle id,
+ * mileage, enqueue timestamp), so publishing one allocates nothing.
+ * Producers claim a sequence number with a CAS on a shared counter, write
+ * their slot and then mark it published; the consumer reads published
+ * slots in sequence order and frees them in bulk by advancing its cursor
+ * once per drained batch.</p>
+ *
+ * <p>When the buffer is full {@link #offer} fails immediately instead of
+ * blocking, leaving the back-pressure policy to the caller.</p>
+ */
+public final class OdometerRingBuffer {
+
+  private final int capacity;
+  private final int mask;
+
+  private final long[] vehicleIds;
+  private final double[] mileages;
+  private final long[] timestamps;
+
+  /** Per slot: {@code seq + 1} once the reading with sequence {@code seq} is visible. */
+  private final AtomicLongArray published;
+
+  /** Next sequence number to hand out to a producer. */
+  private final AtomicLong claimed = new AtomicLong();
+
+  /** Next sequence number the consumer will read; written by the consumer only. */
+  private volatile long consumed;
+
+  /**
+   * Creates a ring buffer.
+   *
+   * @param capacity number of slots; must be a power of two
+   * @throws IllegalArgumentException if {@code capacity} is not a positive power of two
+   */
+  public OdometerRingBuffer(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a positive power of two.");
+    }
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    this.vehicleIds = new long[capacity];
+    this.mileages = new double[capacity];
+    this.timestamps = new long[capacity];
+    this.published = new AtomicLongArray(capacity);
+  }
+
+  /**
+   * Publishes a reading. Safe to call from any number of threads.
+   *
+   * @param vehicleId      reporting vehicle
+   * @param mileage        odometer value
+   * @param timestampNanos {@link System#nanoTime()} at which the reading was taken
+   * @return {@code false} if the buffer is full and the reading was not stored
+   */
+  public boolean offer(long vehicleId, double mileage, long timestampNanos) {
+    long seq;
+    do {
+      seq = claimed.get();
+      if (seq - consumed >= capacity) {
+        return false;
+      }
+    } while (!claimed.compareAndSet(seq, seq + 1));
+
+    int slot = (int) seq & mask;
+    vehicleIds[slot] = vehicleId;
+    mileages[slot] = mileage;
+    timestamps[slot] = timestampNanos;
+    published.lazySet(slot, seq + 1); // release: the writes above become visible first
+    return true;
+  }
+
+  /**
+   * Moves up to {@code max} published readings into the given arrays, in
+   * publication order. Must only be called by the single consumer thread.
+   *
+   * @param ids        receives vehicle ids
+   * @param miles      receives mileages
+   * @param stamps     receives enqueue timestamps
+   * @param max        maximum number of readings to drain
+   * @return number of readings drained
+   */
+  public int drainTo(long[] ids, double[] miles, long[] stamps, int max) {
+    long seq = consumed;
+    int n = 0;
+    while (n < max) {
+      int slot = (int) seq & mask;
+      if (published.get(slot) != seq + 1) {
+        break; // not yet published (or the buffer is empty)
+      }
+      ids[n] = vehicleIds[slot];
+      miles[n] = mileages[slot];
+      stamps[n] = timestamps[slot];
+      n++;
+      seq++;
+    }
+    if (n > 0) {
+      consumed = seq; // frees the drained slots for producers
+    }
+    return n;
+  }
+
+  /** @return number of claimed but not yet consumed readings (approximate) */
+  public long backlog() {
+    return Math.max(0, claimed.get() - consumed);
+  }
+
+  /** @return number of slots */
+  public int capacity() {
+    return capacity;
+  }
+}
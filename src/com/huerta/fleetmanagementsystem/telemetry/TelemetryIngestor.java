@@ -0,0 +1,269 @@
+package com.huerta.fleetmanagementsystem.telemetry;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.huerta.fleetmanagementsystem.model.fleet.Fleet;
+import com.huerta.fleetmanagementsystem.model.vehicle.Vehicle;
+
+/**
+ * Ingests streams of odometer readings and applies them to the vehicles
+ * of a {@link Fleet}.
+ *
+ * <p>Producers call {@link #submit(long, double)} from any thread; the
+ * reading goes into an {@link OdometerRingBuffer} without locking or
+ * allocation. A single consumer thread drains the buffer in batches and,
+ * per batch:</p>
+ * <ol>
+ *   <li>resolves all vehicle ids under one fleet read lock,</li>
+ *   <li>validates the readings — one that is not a finite number, or is
+ *       lower than the vehicle's current (or pending) mileage, is rejected
+ *       and counted,</li>
+ *   <li>coalesces the accepted readings to the latest value per vehicle,</li>
+ *   <li>writes those values with {@link Vehicle#setMileage(double)} inside
+ *       one {@link Fleet#batch(Runnable)}, so listeners such as
+ *       {@link CostAggregate} receive a single delivery per batch,</li>
+ *   <li>records the enqueue-to-apply lag of every reading.</li>
+ * </ol>
+ */
+public class TelemetryIngestor implements AutoCloseable {
+
+  /** Default ring-buffer capacity. */
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  /** Default maximum number of readings processed per batch. */
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  /** Empty polls spent spinning before the consumer starts parking. */
+  private static final int SPIN_POLLS = 100;
+
+  /** Park time of an idle consumer. */
+  private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Fleet fleet;
+  private final OdometerRingBuffer ring;
+  private final int batchSize;
+
+  // consumer-owned scratch space, reused for every batch
+  private final long[] ids;
+  private final double[] miles;
+  private final long[] stamps;
+  private final Vehicle[] resolved;
+  private final Vehicle[] touched;
+  private final double[] latest;
+  private final Map<Vehicle, Integer> slots = new IdentityHashMap<>();
+
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder rejectedFull = new LongAdder();
+
+  // written by the consumer only, read by anyone
+  private volatile long applied;
+  private volatile long duplicates;
+  private volatile long nonMonotonic;
+  private volatile long invalid;
+  private volatile long unknownVehicle;
+  private volatile long batches;
+  private volatile long vehicleUpdates;
+  private volatile long lagSumNanos;
+  private volatile long maxLagNanos;
+  private volatile long lastLagNanos;
+
+  private volatile boolean running;
+  private Thread consumer;
+
+  /**
+   * Creates an ingestor with the default capacity and batch size.
+   *
+   * @param fleet fleet whose vehicles receive the readings
+   */
+  public TelemetryIngestor(Fleet fleet) {
+    this(fleet, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates an ingestor.
+   *
+   * @param fleet     fleet whose vehicles receive the readings
+   * @param capacity  ring-buffer capacity (a power of two)
+   * @param batchSize maximum readings per consumer batch
+   * @throws IllegalArgumentException if {@code capacity} or {@code batchSize} is invalid
+   */
+  public TelemetryIngestor(Fleet fleet, int capacity, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1.");
+    }
+    this.fleet = fleet;
+    this.ring = new OdometerRingBuffer(capacity);
+    this.batchSize = batchSize;
+    this.ids = new long[batchSize];
+    this.miles = new double[batchSize];
+    this.stamps = new long[batchSize];
+    this.resolved = new Vehicle[batchSize];
+    this.touched = new Vehicle[batchSize];
+    this.latest = new double[batchSize];
+  }
+
+  /**
+   * Starts the consumer thread.
+   *
+   * @throws IllegalStateException if already started
+   */
+  public synchronized void start() {
+    if (consumer != null) {
+      throw new IllegalStateException("Ingestor already started.");
+    }
+    running = true;
+    consumer = Thread.ofPlatform().name("telemetry-ingestor").daemon().start(this::consumeLoop);
+  }
+
+  /**
+   * Stops the consumer after it has applied every reading accepted so far.
+   */
+  @Override
+  public synchronized void close() {
+    running = false;
+    if (consumer != null) {
+      try {
+        consumer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      consumer = null;
+    }
+  }
+
+  /**
+   * Submits an odometer reading taken now. Never blocks.
+   *
+   * @param vehicleId reporting vehicle
+   * @param mileage   odometer value
+   * @return {@code false} if the buffer is full and the reading was dropped
+   */
+  public boolean submit(long vehicleId, double mileage) {
+    if (ring.offer(vehicleId, mileage, System.nanoTime())) {
+      accepted.increment();
+      return true;
+    }
+    rejectedFull.increment();
+    return false;
+  }
+
+  /**
+   * Processes one batch on the calling thread. Used by the consumer loop;
+   * may also be called directly when no consumer thread is started.
+   *
+   * @return number of readings processed
+   */
+  public int drainOnce() {
+    int n = ring.drainTo(ids, miles, stamps, batchSize);
+    if (n == 0) {
+      return 0;
+    }
+    fleet.resolveVehicles(ids, n, resolved);
+
+    long ok = 0;
+    long same = 0;
+    long backwards = 0;
+    long notFinite = 0;
+    long unknown = 0;
+    int touchedCount = 0;
+    for (int i = 0; i < n; i++) {
+      Vehicle v = resolved[i];
+      if (v == null) {
+        unknown++;
+        continue;
+      }
+      double reading = miles[i];
+      if (!Double.isFinite(reading)) {
+        notFinite++;
+        continue;
+      }
+      Integer slot = slots.get(v);
+      double current = slot == null ? v.getMileage() : latest[slot];
+      if (reading < current) {
+        backwards++;
+      } else if (reading == current) {
+        same++;
+      } else {
+        if (slot == null) {
+          slot = touchedCount++;
+          slots.put(v, slot);
+          touched[slot] = v;
+        }
+        latest[slot] = reading;
+        ok++;
+      }
+    }
+
+    int updates = touchedCount;
+    fleet.batch(() -> {
+      for (int k = 0; k < updates; k++) {
+        touched[k].setMileage(latest[k]);
+      }
+    });
+
+    long now = System.nanoTime();
+    long lagSum = 0;
+    long lagMax = 0;
+    for (int i = 0; i < n; i++) {
+      long lag = now - stamps[i];
+      lagSum += lag;
+      lagMax = Math.max(lagMax, lag);
+    }
+
+    Arrays.fill(resolved, 0, n, null);
+    Arrays.fill(touched, 0, touchedCount, null);
+    slots.clear();
+
+    applied += ok;
+    duplicates += same;
+    nonMonotonic += backwards;
+    invalid += notFinite;
+    unknownVehicle += unknown;
+    vehicleUpdates += updates;
+    lagSumNanos += lagSum;
+    lastLagNanos = lagMax;
+    if (lagMax > maxLagNanos) {
+      maxLagNanos = lagMax;
+    }
+    batches++;
+    return n;
+  }
+
+  /**
+   * Returns a snapshot of the ingestion counters.
+   *
+   * @return current statistics
+   */
+  public IngestStats stats() {
+    long ok = applied;
+    long same = duplicates;
+    long backwards = nonMonotonic;
+    long notFinite = invalid;
+    long unknown = unknownVehicle;
+    long processed = ok + same + backwards + notFinite + unknown;
+    double meanLagMicros = processed == 0 ? 0 : lagSumNanos / 1000.0 / processed;
+    return new IngestStats(accepted.sum(), rejectedFull.sum(), ok, same, backwards, notFinite, unknown,
+        batches, vehicleUpdates, ring.backlog(), meanLagMicros, maxLagNanos / 1000, lastLagNanos / 1000);
+  }
+
+  private void consumeLoop() {
+    int idle = 0;
+    while (running) {
+      if (drainOnce() > 0) {
+        idle = 0;
+      } else if (++idle > SPIN_POLLS) {
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+    while (drainOnce() > 0) {
+      // apply what producers managed to publish before close()
+    }
+  }
+}